@@ -0,0 +1,273 @@
+package org.project1;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Контроль допуска перед обработкой догадок при перегрузке.
+ *
+ * <p>Каждый ввод проходит проверки от самой дешевой к самой дорогой и при первом отказе
+ * отклоняется явно, не накапливая работу:
+ * <ol>
+ *     <li>сессия заблокирована за поток неверного ввода - отказ без разбора ввода;</li>
+ *     <li>ввод не является одной буквой - отказ; после {@code invalidInputLimit} неверных вводов
+ *     подряд сессия блокируется на время {@code floodCooldown};</li>
+ *     <li>маркерная корзина сессии;</li>
+ *     <li>общая маркерная корзина;</li>
+ *     <li>ограниченная очередь работ пула обработчиков.</li>
+ * </ol>
+ * Счетчики исходов показывают, сколько нагрузки сброшено и на каком этапе.
+ *
+ * <p>Состояние сессии, которая не присылала ввод дольше времени пополнения ее корзины и времени блокировки,
+ * неотличимо от нового (кроме серии неверных вводов, которую такая пауза прерывает), поэтому оно забывается:
+ * когда количество сессий превышает порог, простаивающие сессии удаляются, а порог устанавливается вдвое
+ * больше оставшегося количества. Владелец сессий может забыть сессию сразу через {@link #removeSession(long)}.
+ */
+public class AdmissionController implements AutoCloseable {
+    private static final int MIN_SWEEP_THRESHOLD = 1024;
+
+    private final TokenBucket globalBucket;
+    private final double sessionRatePerSecond;
+    private final int sessionBurst;
+    private final int invalidInputLimit;
+    private final long floodCooldownNanos;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, SessionLimiter> sessions = new ConcurrentHashMap<>();
+    private final Map<Admission, LongAdder> counters = new EnumMap<>(Admission.class);
+    private volatile int sweepThreshold = MIN_SWEEP_THRESHOLD;
+
+    /**
+     * Исход попытки допуска.
+     */
+    public enum Admission {
+        /** Ввод принят в очередь обработки. */
+        ACCEPTED,
+        /** Ввод не является одной буквой. */
+        REJECTED_INVALID_INPUT,
+        /** Сессия заблокирована за поток неверного ввода. */
+        REJECTED_FLOODING,
+        /** Превышен лимит частоты сессии. */
+        REJECTED_SESSION_RATE,
+        /** Превышен общий лимит частоты. */
+        REJECTED_GLOBAL_RATE,
+        /** Очередь обработки заполнена. */
+        REJECTED_QUEUE_FULL
+    }
+
+    /**
+     * Конструктор для создания контроля допуска.
+     *
+     * @param globalRatePerSecond Общий лимит догадок в секунду.
+     * @param globalBurst Емкость общей корзины.
+     * @param sessionRatePerSecond Лимит догадок в секунду для одной сессии.
+     * @param sessionBurst Емкость корзины сессии.
+     * @param invalidInputLimit Количество неверных вводов подряд, после которого сессия блокируется.
+     * @param floodCooldown Время блокировки сессии.
+     * @param unit Единица измерения времени блокировки.
+     * @param workers Количество потоков обработки.
+     * @param queueCapacity Емкость очереди обработки.
+     */
+    public AdmissionController(double globalRatePerSecond, int globalBurst, double sessionRatePerSecond,
+                               int sessionBurst, int invalidInputLimit, long floodCooldown, TimeUnit unit,
+                               int workers, int queueCapacity) {
+        this(globalRatePerSecond, globalBurst, sessionRatePerSecond, sessionBurst, invalidInputLimit,
+                floodCooldown, unit, workers, queueCapacity, System::nanoTime);
+    }
+
+    AdmissionController(double globalRatePerSecond, int globalBurst, double sessionRatePerSecond,
+                        int sessionBurst, int invalidInputLimit, long floodCooldown, TimeUnit unit,
+                        int workers, int queueCapacity, LongSupplier nanoClock) {
+        if (invalidInputLimit <= 0 || workers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Лимиты контроля допуска должны быть положительными");
+        }
+        this.globalBucket = new TokenBucket(globalRatePerSecond, globalBurst, nanoClock);
+        this.sessionRatePerSecond = sessionRatePerSecond;
+        this.sessionBurst = sessionBurst;
+        this.invalidInputLimit = invalidInputLimit;
+        this.floodCooldownNanos = unit.toNanos(floodCooldown);
+        long refillNanos = (long) (TimeUnit.SECONDS.toNanos(1) / sessionRatePerSecond * sessionBurst);
+        this.idleNanos = Math.max(floodCooldownNanos, refillNanos);
+        this.nanoClock = nanoClock;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "hangman-guess-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        for (Admission admission : Admission.values()) {
+            counters.put(admission, new LongAdder());
+        }
+    }
+
+    /**
+     * Пытается допустить ввод сессии к обработке.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param input Ввод пользователя.
+     * @param handler Обработчик догадки; вызывается в потоке обработки, если ввод принят.
+     * @return Исход попытки допуска.
+     */
+    public Admission submit(long sessionId, String input, GuessHandler handler) {
+        long now = nanoClock.getAsLong();
+        SessionLimiter session = sessions.computeIfAbsent(sessionId, id -> new SessionLimiter());
+        session.lastSeenNanos = now;
+        if (sessions.size() > sweepThreshold) {
+            removeIdleSessions(now);
+        }
+        Admission admission = admit(session, now, input, handler);
+        counters.get(admission).increment();
+        return admission;
+    }
+
+    private Admission admit(SessionLimiter session, long now, String input, GuessHandler handler) {
+        if (session.isBlocked(now)) {
+            return Admission.REJECTED_FLOODING;
+        }
+        char letter = Game.parseLetter(input);
+        if (letter == Game.NO_LETTER) {
+            session.invalidInput(now);
+            return Admission.REJECTED_INVALID_INPUT;
+        }
+        session.validInput();
+        if (!session.bucket.tryAcquire()) {
+            return Admission.REJECTED_SESSION_RATE;
+        }
+        if (!globalBucket.tryAcquire()) {
+            return Admission.REJECTED_GLOBAL_RATE;
+        }
+        try {
+            executor.execute(() -> handler.handle(letter));
+            return Admission.ACCEPTED;
+        } catch (RejectedExecutionException e) {
+            return Admission.REJECTED_QUEUE_FULL;
+        }
+    }
+
+    /**
+     * Удаляет сессии, которые простаивают дольше времени пополнения корзины и блокировки,
+     * и поднимает порог следующей очистки до удвоенного количества оставшихся сессий.
+     */
+    private synchronized void removeIdleSessions(long now) {
+        if (sessions.size() <= sweepThreshold) {
+            return;
+        }
+        sessions.values().removeIf(session -> session.isIdle(now));
+        sweepThreshold = Math.max(MIN_SWEEP_THRESHOLD, sessions.size() * 2);
+    }
+
+    /**
+     * Забывает состояние лимитов сессии, например после завершения игры.
+     *
+     * @param sessionId Идентификатор сессии.
+     */
+    public void removeSession(long sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Возвращает количество сессий, состояние лимитов которых хранится.
+     *
+     * @return Количество сессий.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Возвращает количество попыток допуска с заданным исходом.
+     *
+     * @param admission Исход.
+     * @return Количество попыток.
+     */
+    public long getCount(Admission admission) {
+        return counters.get(admission).sum();
+    }
+
+    /**
+     * Возвращает количество отклоненных попыток - сброшенную нагрузку.
+     *
+     * @return Количество отказов.
+     */
+    public long getShedCount() {
+        long shed = 0;
+        for (Admission admission : Admission.values()) {
+            if (admission != Admission.ACCEPTED) {
+                shed += counters.get(admission).sum();
+            }
+        }
+        return shed;
+    }
+
+    /**
+     * Возвращает текущую длину очереди обработки.
+     *
+     * @return Количество ожидающих догадок.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Останавливает потоки обработки. Уже принятые догадки дообрабатываются.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Обработчик принятой догадки.
+     */
+    @FunctionalInterface
+    public interface GuessHandler {
+        /**
+         * Обрабатывает догадку.
+         *
+         * @param letter Введенная буква в нижнем регистре.
+         */
+        void handle(char letter);
+    }
+
+    /**
+     * Лимиты одной сессии.
+     */
+    private final class SessionLimiter {
+        private final TokenBucket bucket = new TokenBucket(sessionRatePerSecond, sessionBurst, nanoClock);
+        private int consecutiveInvalid;
+        private long blockedUntilNanos;
+        private boolean blocked;
+        private volatile long lastSeenNanos;
+
+        private synchronized boolean isBlocked(long now) {
+            if (blocked && now - blockedUntilNanos >= 0) {
+                blocked = false;
+                consecutiveInvalid = 0;
+            }
+            return blocked;
+        }
+
+        private synchronized void invalidInput(long now) {
+            if (++consecutiveInvalid >= invalidInputLimit) {
+                blocked = true;
+                blockedUntilNanos = now + floodCooldownNanos;
+            }
+        }
+
+        private synchronized void validInput() {
+            consecutiveInvalid = 0;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return now - lastSeenNanos >= idleNanos && !isBlocked(now);
+        }
+    }
+}
\ No newline at end of file
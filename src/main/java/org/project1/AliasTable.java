@@ -0,0 +1,211 @@
+package org.project1;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Таблица для выбора случайного номера с заданными весами за O(1) методом псевдонимов Воуза.
+ *
+ * <p>Номера разбиты на блоки примерно по √n. Для каждого блока строится своя таблица псевдонимов,
+ * а еще одна таблица выбирает блок по сумме весов в нем. Выбор - два обращения к таблицам, то есть O(1)
+ * независимо от количества номеров. При изменении одного веса перестраиваются только его блок
+ * и таблица блоков, то есть O(√n) вместо O(n) для перестройки всей таблицы.
+ *
+ * <p>Таблицы блоков неизменяемы и публикуются одним снимком, поэтому выбор не блокируется
+ * и может идти из нескольких потоков одновременно с изменением весов. Изменения весов синхронизированы.
+ */
+public class AliasTable {
+    private final double[] weights;
+    private final int blockSize;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Конструктор для создания таблицы.
+     *
+     * @param weights Неотрицательные веса номеров; массив копируется.
+     * @throws IllegalArgumentException Если массив пуст или вес отрицателен или не конечен.
+     */
+    public AliasTable(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Нужен хотя бы один вес");
+        }
+        for (double weight : weights) {
+            checkWeight(weight);
+        }
+        this.weights = weights.clone();
+        this.blockSize = (int) Math.ceil(Math.sqrt(weights.length));
+
+        int blockCount = (weights.length + blockSize - 1) / blockSize;
+        Block[] blocks = new Block[blockCount];
+        double[] totals = new double[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            blocks[b] = buildBlock(b);
+            totals[b] = blocks[b].total;
+        }
+        this.snapshot = new Snapshot(blocks, totals, Block.build(totals, 0, blockCount));
+    }
+
+    private static void checkWeight(double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Вес должен быть неотрицательным конечным числом: " + weight);
+        }
+    }
+
+    private Block buildBlock(int block) {
+        int from = block * blockSize;
+        return Block.build(weights, from, Math.min(weights.length, from + blockSize));
+    }
+
+    /**
+     * Выбирает случайный номер с вероятностью, пропорциональной его весу.
+     *
+     * @param random Источник случайных чисел.
+     * @return Номер от 0 до {@link #size()}.
+     * @throws IllegalStateException Если все веса равны нулю.
+     */
+    public int sample(RandomGenerator random) {
+        Snapshot current = snapshot;
+        if (!(current.top.total > 0)) {
+            throw new IllegalStateException("Все веса равны нулю");
+        }
+        int block = current.top.sample(random);
+        return block * blockSize + current.blocks[block].sample(random);
+    }
+
+    /**
+     * Изменяет вес номера, перестраивая только его блок и таблицу блоков.
+     *
+     * @param index Номер.
+     * @param weight Новый неотрицательный вес.
+     * @throws IllegalArgumentException Если вес отрицателен или не конечен.
+     * @throws IndexOutOfBoundsException Если номер вне диапазона.
+     */
+    public synchronized void setWeight(int index, double weight) {
+        checkWeight(weight);
+        if (index < 0 || index >= weights.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        weights[index] = weight;
+
+        Snapshot current = snapshot;
+        int block = index / blockSize;
+        Block[] blocks = current.blocks.clone();
+        double[] totals = current.totals.clone();
+        blocks[block] = buildBlock(block);
+        totals[block] = blocks[block].total;
+        snapshot = new Snapshot(blocks, totals, Block.build(totals, 0, totals.length));
+    }
+
+    /**
+     * Возвращает вес номера.
+     *
+     * @param index Номер.
+     * @return Вес.
+     */
+    public synchronized double getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Возвращает сумму весов.
+     *
+     * @return Сумма весов.
+     */
+    public double getTotalWeight() {
+        return snapshot.top.total;
+    }
+
+    /**
+     * Возвращает количество номеров.
+     *
+     * @return Количество номеров.
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Согласованный набор таблиц: таблицы блоков, суммы весов блоков и таблица выбора блока.
+     */
+    private record Snapshot(Block[] blocks, double[] totals, Block top) {
+    }
+
+    /**
+     * Неизменяемая таблица псевдонимов для отрезка весов.
+     */
+    private static final class Block {
+        private final double[] probability;
+        private final int[] alias;
+        private final double total;
+
+        private Block(double[] probability, int[] alias, double total) {
+            this.probability = probability;
+            this.alias = alias;
+            this.total = total;
+        }
+
+        /**
+         * Строит таблицу методом Воуза: веса масштабируются так, чтобы средний был равен 1,
+         * и каждая ячейка с весом меньше 1 дополняется до 1 частью веса из ячейки с весом больше 1.
+         */
+        private static Block build(double[] weights, int from, int to) {
+            int n = to - from;
+            double total = 0;
+            for (int i = from; i < to; i++) {
+                total += weights[i];
+            }
+            double[] probability = new double[n];
+            int[] alias = new int[n];
+            if (!(total > 0)) {
+                for (int i = 0; i < n; i++) {
+                    probability[i] = 1;
+                    alias[i] = i;
+                }
+                return new Block(probability, alias, total);
+            }
+
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[from + i] * n / total;
+                if (scaled[i] < 1) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = scaled[more] + scaled[less] - 1;
+                if (scaled[more] < 1) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // Остатки из-за погрешности округления считаются ячейками с вероятностью 1.
+            while (largeCount > 0) {
+                int i = large[--largeCount];
+                probability[i] = 1;
+                alias[i] = i;
+            }
+            while (smallCount > 0) {
+                int i = small[--smallCount];
+                probability[i] = 1;
+                alias[i] = i;
+            }
+            return new Block(probability, alias, total);
+        }
+
+        private int sample(RandomGenerator random) {
+            double u = random.nextDouble() * probability.length;
+            int i = Math.min((int) u, probability.length - 1);
+            return u - i < probability[i] ? i : alias[i];
+        }
+    }
+}
\ No newline at end of file
@@ -1,21 +1,144 @@
 package org.project1;
 
+import java.io.Console;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Класс, который запускает игру "Виселица".
  * Создает необходимые объекты (словарь, интерфейс пользователя и саму игру) и начинает игровой процесс.
  */
 public class App {
+    /**
+     * Системное свойство с путем к бинарному снимку словаря.
+     */
+    public static final String DICTIONARY_PROPERTY = "hangman.dictionary";
+
+    /**
+     * Системное свойство со временем на ход в секундах. Если не задано, время не ограничено.
+     */
+    public static final String MOVE_TIME_LIMIT_PROPERTY = "hangman.move.seconds";
+
+    /**
+     * Системное свойство с каталогом частот слов ({@code <категория>.freq}). Если не задано,
+     * слова выбираются без учета частот.
+     */
+    public static final String FREQUENCIES_PROPERTY = "hangman.frequencies";
+
+    /**
+     * Системное свойство с портом сервера построчного протокола. Если задано, вместо игры в консоли
+     * запускается {@link LineProtocolServer}.
+     */
+    public static final String SERVER_PORT_PROPERTY = "hangman.server.port";
+
+    /**
+     * Системное свойство, включающее ({@code true}) или выключающее ({@code false}) пакетный режим.
+     * Если не задано, пакетный режим включается, когда программа запущена не из терминала.
+     */
+    public static final String BATCH_PROPERTY = "hangman.batch";
+
+    /**
+     * Системное свойство с количеством синтетических игр для прогрева JIT-компилятора перед началом работы.
+     * Если не задано, прогрева нет.
+     */
+    public static final String WARMUP_GAMES_PROPERTY = "hangman.warmup.games";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(App.class);
+    private static final long TIMING_WHEEL_TICK_MILLIS = 10;
+
     /**
      * Точка входа в программу.
      * Создает экземпляры {@link WordDictionary}, {@link ConsoleUserInterface} и {@link Game},
-     * а затем запускает игру.
+     * а затем запускает игру. Если задано системное свойство {@value #DICTIONARY_PROPERTY},
+     * словарь открывается из бинарного снимка {@link DictionarySnapshot}. Если задано
+     * {@value #FREQUENCIES_PROPERTY}, в словарь загружаются частоты слов. Если задано
+     * {@value #SERVER_PORT_PROPERTY}, вместо игры в консоли запускается сервер построчного протокола.
+     * Если задано {@value #MOVE_TIME_LIMIT_PROPERTY}, включается режим с ограничением времени на ход.
+     * Если ввод или вывод идет не через терминал (или задано {@value #BATCH_PROPERTY}), игра запускается в пакетном режиме
+     * с {@link BatchUserInterface} и завершается, когда ввод закончится. Если задано
+     * {@value #WARMUP_GAMES_PROPERTY}, до открытия порта сервера и до первой игры проходит прогрев
+     * {@link GameWarmup}, после которого сообщается о готовности (кроме пакетного режима, где вывод - только
+     * результаты игр). Если игрок подряд вводит слишком много неверных букв ({@value Game#MAX_INVALID_INPUTS}),
+     * игра прерывается с сообщением, без трассировки стека.
      *
      * @param args Аргументы командной строки (не используются).
+     * @throws IOException Если не удалось открыть снимок словаря, частоты слов или порт сервера.
      */
-    public static void main(String[] args) {
-        WordDictionary wordDictionary = new WordDictionary();
-        UserInterface userInterface = new ConsoleUserInterface();
+    public static void main(String[] args) throws IOException {
+        WordDictionary wordDictionary = createWordDictionary();
+        String batchProperty = System.getProperty(BATCH_PROPERTY);
+        Console console = System.console();
+        boolean batchMode = batchProperty == null
+                ? console == null
+                : Boolean.parseBoolean(batchProperty);
+        Integer warmupGames = Integer.getInteger(WARMUP_GAMES_PROPERTY);
+        if (warmupGames != null && warmupGames > 0) {
+            GameWarmup.Report report = GameWarmup.run(wordDictionary, warmupGames);
+            if (!batchMode) {
+                LOGGER.info("Прогрев завершен: {} игр, {} догадок за {} мс (JIT: {} мс). Готово к работе.",
+                        report.games(), report.guesses(), TimeUnit.NANOSECONDS.toMillis(report.elapsedNanos()),
+                        report.compilationMillis());
+            }
+        }
+        Integer serverPort = Integer.getInteger(SERVER_PORT_PROPERTY);
+        if (serverPort != null) {
+            try (LineProtocolServer server = new LineProtocolServer(wordDictionary, serverPort)) {
+                server.serve();
+            }
+            return;
+        }
+        BatchUserInterface batchUserInterface = batchMode
+                ? new BatchUserInterface(System.in, new FileOutputStream(FileDescriptor.out))
+                : null;
+        UserInterface userInterface = batchMode ? batchUserInterface : new ConsoleUserInterface();
         Game game = new Game(wordDictionary, userInterface);
-        game.startGame();
+        game.setBatchMode(batchMode);
+        Long moveSeconds = Long.getLong(MOVE_TIME_LIMIT_PROPERTY);
+        if (moveSeconds != null) {
+            TimingWheel timingWheel = new TimingWheel(TIMING_WHEEL_TICK_MILLIS, TimeUnit.MILLISECONDS);
+            timingWheel.start();
+            game.setMoveTimeLimit(timingWheel, moveSeconds);
+        }
+        try {
+            game.startGame();
+        } catch (NoSuchElementException e) {
+            if (!batchMode) {
+                throw e;
+            }
+            // Конец ввода в пакетном режиме - обычное завершение сценария.
+        } catch (InvalidInputLimitException e) {
+            userInterface.displayMessage("Игра прервана: " + e.getMessage());
+        } finally {
+            if (batchMode) {
+                batchUserInterface.flush();
+            }
+        }
+    }
+
+    /**
+     * Создает словарь: из снимка, если задан путь в {@value #DICTIONARY_PROPERTY}, иначе встроенный.
+     * Если задан каталог в {@value #FREQUENCIES_PROPERTY}, загружает частоты слов его категорий.
+     *
+     * @return Словарь слов для игры.
+     * @throws IOException Если не удалось открыть снимок словаря или частоты слов.
+     */
+    private static WordDictionary createWordDictionary() throws IOException {
+        String snapshotPath = System.getProperty(DICTIONARY_PROPERTY);
+        WordDictionary wordDictionary = snapshotPath == null
+                ? new WordDictionary()
+                : new WordDictionary(DictionarySnapshot.open(Path.of(snapshotPath)).asCategoryMap());
+        String frequenciesPath = System.getProperty(FREQUENCIES_PROPERTY);
+        if (frequenciesPath != null) {
+            Map<String, Map<String, Long>> frequencies = WordDictionary.readWordFrequencies(Path.of(frequenciesPath));
+            frequencies.forEach(wordDictionary::setWordFrequencies);
+        }
+        return wordDictionary;
     }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package org.project1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Интерфейс пользователя для пакетного режима, когда ввод идет не с терминала, а из файла
+ * или от другой программы.
+ *
+ * <p>Ввод читается большими блоками в переиспользуемый буфер байт, строки ищутся и декодируются
+ * из UTF-8 прямо в нем, без {@link java.util.Scanner} и регулярных выражений. Вывод кодируется в UTF-8
+ * в переиспользуемый буфер и пишется большими блоками: когда буфер заполнен, перед ожиданием нового
+ * ввода (чтобы клиент, который ждет ответа, его получил) и при {@link #flush()}.
+ * Результат хода пишется в буфер напрямую, без промежуточных строк.
+ *
+ * <p>Класс не потокобезопасен.
+ */
+public class BatchUserInterface implements UserInterface {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte REPLACEMENT_CHARACTER = '?';
+
+    private final InputStream in;
+    private final OutputStream out;
+    private byte[] input = new byte[BUFFER_SIZE];
+    private int inputPosition;
+    private int inputLimit;
+    private final byte[] output = new byte[BUFFER_SIZE];
+    private int outputPosition;
+
+    /**
+     * Конструктор для создания интерфейса над потоками ввода и вывода.
+     *
+     * @param in Поток ввода в UTF-8.
+     * @param out Поток вывода, в который пишется UTF-8.
+     */
+    public BatchUserInterface(InputStream in, OutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Записывает сообщение и перевод строки в буфер вывода.
+     *
+     * @param message Сообщение.
+     */
+    @Override
+    public void displayMessage(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < message.length()
+                    && Character.isLowSurrogate(message.charAt(i + 1))) {
+                putCodePoint(Character.toCodePoint(c, message.charAt(++i)));
+            } else {
+                putChar(c);
+            }
+        }
+        putByte((byte) '\n');
+    }
+
+    /**
+     * Записывает результат хода в буфер вывода без промежуточных строк.
+     *
+     * @param letter Введенная буква.
+     * @param gameState Состояние игры после хода.
+     */
+    @Override
+    public void displayTurnResult(char letter, GameState gameState) {
+        putChar(letter);
+        putByte((byte) ' ');
+        CharSequence wordState = gameState.getCurrentWordStateView();
+        for (int i = 0; i < wordState.length(); i += 2) {
+            putChar(wordState.charAt(i));
+        }
+        putByte((byte) ' ');
+        putDecimal(gameState.getRemainingAttempts());
+        putByte((byte) '\n');
+    }
+
+    /**
+     * Возвращает следующую строку ввода без перевода строки (и без {@code \r} перед ним).
+     * Перед ожиданием нового ввода накопленный вывод отправляется.
+     *
+     * @return Строка ввода.
+     * @throws NoSuchElementException Если ввод закончился.
+     * @throws UncheckedIOException Если ввод не удалось прочитать или вывод не удалось записать.
+     */
+    @Override
+    public String getUserInput() {
+        int scanned = inputPosition;
+        while (true) {
+            for (int i = scanned; i < inputLimit; i++) {
+                if (input[i] == '\n') {
+                    return takeLine(i, i + 1);
+                }
+            }
+            // После дочитывания необработанный остаток начинается с нуля и уже просмотрен.
+            scanned = inputLimit - inputPosition;
+            if (!fill()) {
+                if (inputPosition == inputLimit) {
+                    throw new NoSuchElementException("Ввод закончился");
+                }
+                return takeLine(inputLimit, inputLimit);
+            }
+        }
+    }
+
+    /**
+     * Отправляет накопленный вывод.
+     *
+     * @throws UncheckedIOException Если вывод не удалось записать.
+     */
+    public void flush() {
+        try {
+            writeOutput();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String takeLine(int end, int next) {
+        int start = inputPosition;
+        inputPosition = next;
+        if (end > start && input[end - 1] == '\r') {
+            end--;
+        }
+        return new String(input, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Дочитывает ввод в буфер: необработанный остаток переносится в начало, при нехватке места
+     * буфер увеличивается. Перед блокирующим чтением отправляет накопленный вывод.
+     *
+     * @return false, если ввод закончился.
+     */
+    private boolean fill() {
+        int remaining = inputLimit - inputPosition;
+        if (inputPosition > 0) {
+            System.arraycopy(input, inputPosition, input, 0, remaining);
+        } else if (remaining == input.length) {
+            input = Arrays.copyOf(input, input.length * 2);
+        }
+        inputPosition = 0;
+        inputLimit = remaining;
+        try {
+            if (in.available() == 0) {
+                flush();
+            }
+            int read = in.read(input, inputLimit, input.length - inputLimit);
+            if (read < 0) {
+                return false;
+            }
+            inputLimit += read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void putByte(byte b) {
+        if (outputPosition == output.length) {
+            try {
+                writeOutput();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        output[outputPosition++] = b;
+    }
+
+    private void writeOutput() throws IOException {
+        out.write(output, 0, outputPosition);
+        outputPosition = 0;
+    }
+
+    /**
+     * Кодирует символ базовой плоскости в UTF-8. Одиночные суррогаты заменяются на {@code ?}.
+     */
+    private void putChar(char c) {
+        if (c < 0x80) {
+            putByte((byte) c);
+        } else if (c < 0x800) {
+            putByte((byte) (0xC0 | c >> 6));
+            putByte((byte) (0x80 | c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            putByte(REPLACEMENT_CHARACTER);
+        } else {
+            putByte((byte) (0xE0 | c >> 12));
+            putByte((byte) (0x80 | c >> 6 & 0x3F));
+            putByte((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    private void putCodePoint(int codePoint) {
+        putByte((byte) (0xF0 | codePoint >> 18));
+        putByte((byte) (0x80 | codePoint >> 12 & 0x3F));
+        putByte((byte) (0x80 | codePoint >> 6 & 0x3F));
+        putByte((byte) (0x80 | codePoint & 0x3F));
+    }
+
+    /**
+     * Пишет неотрицательное число десятичными цифрами.
+     */
+    private void putDecimal(int value) {
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            putByte((byte) ('0' + value / divisor % 10));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package org.project1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Кольцо консистентного хеширования для распределения игровых сессий по рабочим процессам.
+ * Каждый узел представлен на кольце несколькими виртуальными точками, поэтому при добавлении
+ * или удалении узла перемещается только доля сессий, примыкающая к его точкам.
+ *
+ * <p>Класс не потокобезопасен, синхронизацию обеспечивает {@link ShardRouter}.
+ */
+public class ConsistentHashRing {
+    private final int virtualNodes;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes = new ArrayList<>();
+
+    /**
+     * Конструктор для создания пустого кольца.
+     *
+     * @param virtualNodes Количество виртуальных точек на узел.
+     * @throws IllegalArgumentException Если количество виртуальных точек не положительно.
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Количество виртуальных точек должно быть положительным");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Добавляет узел на кольцо.
+     *
+     * @param node Имя узла, например адрес рабочего процесса.
+     * @throws IllegalArgumentException Если узел уже есть на кольце.
+     */
+    public void addNode(String node) {
+        if (nodes.contains(node)) {
+            throw new IllegalArgumentException("Узел уже есть на кольце: " + node);
+        }
+        nodes.add(node);
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.put(Hashing.hash(node + "#" + i), node);
+        }
+    }
+
+    /**
+     * Удаляет узел с кольца.
+     *
+     * @param node Имя узла.
+     * @return true, если узел был на кольце.
+     */
+    public boolean removeNode(String node) {
+        if (!nodes.remove(node)) {
+            return false;
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.remove(Hashing.hash(node + "#" + i), node);
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает узел, которому принадлежит сессия.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return Имя узла.
+     * @throws IllegalStateException Если на кольце нет узлов.
+     */
+    public String nodeFor(long sessionId) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("На кольце нет ни одного узла");
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(Hashing.mix(sessionId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Возвращает узлы кольца в порядке добавления.
+     *
+     * @return Неизменяемый список узлов.
+     */
+    public List<String> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package org.project1;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch - оценка частот ключей в потоке в памяти фиксированного размера.
+ *
+ * <p>Оценка никогда не меньше истинной частоты и с вероятностью не ниже {@code 1 - δ} превышает ее
+ * не более чем на {@code ε·N}, где {@code N} - сумма всех добавленных значений,
+ * {@code ε = e / ширина}, {@code δ = e^(-глубина)}. Счетчики лежат в {@link AtomicLongArray},
+ * поэтому обновления из разных потоков не блокируют друг друга. Наброски одинакового размера
+ * складываются ({@link #merge(CountMinSketch)}), в том числе полученные с других узлов
+ * через {@link #toByteArray()}.
+ */
+public class CountMinSketch {
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final int width;
+    private final int depth;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    /**
+     * Конструктор для создания наброска заданного размера.
+     *
+     * @param width Ширина строки (округляется вверх до степени двойки).
+     * @param depth Количество строк (независимых хеш-функций).
+     * @throws IllegalArgumentException Если размеры не положительны или слишком велики.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || width > 1 << 26 || depth <= 0 || depth > 32) {
+            throw new IllegalArgumentException("Некорректный размер наброска: " + width + "x" + depth);
+        }
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.widthMask = this.width - 1;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * Создает набросок с заданными границами погрешности.
+     *
+     * @param epsilon Допустимая относительная погрешность {@code ε} (доля от суммы всех значений).
+     * @param delta Допустимая вероятность превышения погрешности {@code δ}.
+     * @return Набросок подходящего размера.
+     * @throws IllegalArgumentException Если параметры вне интервала (0, 1).
+     */
+    public static CountMinSketch withErrorBounds(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("Параметры погрешности должны лежать в интервале (0, 1)");
+        }
+        return new CountMinSketch((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    /**
+     * Увеличивает частоту ключа на единицу.
+     *
+     * @param key Ключ.
+     */
+    public void add(CharSequence key) {
+        add(Hashing.hash(key), 1);
+    }
+
+    /**
+     * Увеличивает частоту ключа, заданного хешем.
+     *
+     * @param keyHash 64-битный хеш ключа.
+     * @param count Величина увеличения.
+     */
+    public void add(long keyHash, long count) {
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters.getAndAdd(row * width + ((h1 + row * h2) & widthMask), count);
+        }
+    }
+
+    /**
+     * Оценивает частоту ключа.
+     *
+     * @param key Ключ.
+     * @return Оценка частоты сверху.
+     */
+    public long estimate(CharSequence key) {
+        return estimate(Hashing.hash(key));
+    }
+
+    /**
+     * Оценивает частоту ключа, заданного хешем.
+     *
+     * @param keyHash 64-битный хеш ключа.
+     * @return Оценка частоты сверху.
+     */
+    public long estimate(long keyHash) {
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + ((h1 + row * h2) & widthMask)));
+        }
+        return min;
+    }
+
+    /**
+     * Добавляет к наброску счетчики другого наброска того же размера.
+     *
+     * @param other Другой набросок.
+     * @throws IllegalArgumentException Если размеры набросков различаются.
+     */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Нельзя объединить наброски разного размера");
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndAdd(i, other.counters.get(i));
+        }
+    }
+
+    /**
+     * Возвращает ширину строки.
+     *
+     * @return Ширина.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Возвращает количество строк.
+     *
+     * @return Глубина.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Возвращает объем памяти под счетчики. Не зависит от количества ключей в потоке.
+     *
+     * @return Размер счетчиков в байтах.
+     */
+    public long getMemoryBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    /**
+     * Сериализует набросок для передачи на другой узел.
+     *
+     * @return Байтовое представление наброска.
+     */
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + counters.length() * Long.BYTES);
+        buffer.putInt(width).putInt(depth);
+        for (int i = 0; i < counters.length(); i++) {
+            buffer.putLong(counters.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Восстанавливает набросок, сериализованный {@link #toByteArray()}.
+     *
+     * @param bytes Байтовое представление наброска.
+     * @return Набросок.
+     * @throws IllegalArgumentException Если данные имеют неверный формат.
+     */
+    public static CountMinSketch fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        CountMinSketch sketch = new CountMinSketch(buffer.getInt(), buffer.getInt());
+        if (buffer.remaining() != sketch.counters.length() * Long.BYTES) {
+            throw new IllegalArgumentException("Неверный размер сериализованного наброска");
+        }
+        for (int i = 0; i < sketch.counters.length(); i++) {
+            sketch.counters.set(i, buffer.getLong());
+        }
+        return sketch;
+    }
+}
\ No newline at end of file
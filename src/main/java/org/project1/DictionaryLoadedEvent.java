@@ -0,0 +1,24 @@
+package org.project1;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие Java Flight Recorder: загружен словарь. Длительность события - время загрузки.
+ */
+@Name(DictionaryLoadedEvent.NAME)
+@Label("Dictionary Loaded")
+@Category("Hangman")
+@Description("Загрузка словаря слов")
+final class DictionaryLoadedEvent extends Event {
+    static final String NAME = "org.project1.DictionaryLoaded";
+
+    @Label("Categories")
+    int categoryCount;
+
+    @Label("Words")
+    int wordCount;
+}
\ No newline at end of file
@@ -0,0 +1,534 @@
+package org.project1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Предварительно скомпилированный бинарный снимок словаря, который открывается через отображение файла в память.
+ *
+ * <p>Файл состоит из заголовка и секций, выровненных по своему типу:
+ * <pre>
+ * заголовок (32 байта): magic, версия, контрольная сумма CRC32C, количество категорий,
+ *                       слов, валидных слов и символов в арене
+ * таблица категорий:    для каждой категории смещение и длина имени в арене, первое слово,
+ *                       количество слов, начало и количество записей в индексе валидных слов
+ * таблица смещений:     int[слов + 1], начало каждого слова в арене
+ * индекс валидности:    int[валидных слов], номера валидных слов, по категориям и по возрастанию длины
+ * индекс длин:          short[слов], длина слова, старший бит - признак валидности
+ * арена символов:       char[], сначала имена категорий, затем все слова подряд в UTF-16
+ * </pre>
+ * Контрольная сумма покрывает весь файл, кроме magic и самого поля суммы, включая счетчики заголовка.
+ * Данные читаются прямо из отображенного буфера, строки создаются только при обращении к конкретному слову.
+ *
+ * <p>При открытии всегда проверяются размеры секций и таблица категорий: это не зависит от количества слов.
+ * Полная проверка (контрольная сумма, таблица смещений и индекс валидности) читает весь файл, поэтому
+ * ее можно отложить ({@link #open(Path, boolean)}) и выполнить позже через {@link #verify()}. Пока она
+ * не выполнена, слова со смещениями за пределами арены отвергаются при чтении.
+ */
+public final class DictionarySnapshot {
+    /**
+     * Текущая версия формата файла.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x48474453;
+    private static final int HEADER_SIZE = 32;
+    private static final int CHECKSUM_POSITION = 8;
+    private static final int CATEGORY_ENTRY_SIZE = 24;
+    private static final int VALID_FLAG = 0x8000;
+    private static final int LENGTH_MASK = 0x7FFF;
+
+    private final ByteBuffer buffer;
+    private final List<String> categories;
+    private final Map<String, Integer> categoryIndex;
+    private final int wordCount;
+    private final int validCount;
+    private final int offsetsPosition;
+    private final int validPosition;
+    private final int lengthsPosition;
+    private final CharBuffer arena;
+
+    private DictionarySnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Файл не является снимком словаря");
+        }
+        int version = buffer.getShort(4);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Неподдерживаемая версия снимка словаря: " + version);
+        }
+
+        int categoryCount = buffer.getInt(12);
+        this.wordCount = buffer.getInt(16);
+        this.validCount = buffer.getInt(20);
+        int arenaChars = buffer.getInt(24);
+        if (categoryCount < 0 || wordCount < 0 || validCount < 0 || arenaChars < 0
+                || fileSize(categoryCount, wordCount, validCount, arenaChars) != buffer.capacity()) {
+            throw new IllegalStateException("Поврежденный снимок словаря: неверные размеры секций");
+        }
+        // Размер файла совпал с суммой секций, поэтому все позиции ниже помещаются в int.
+        this.offsetsPosition = HEADER_SIZE + categoryCount * CATEGORY_ENTRY_SIZE;
+        this.validPosition = offsetsPosition + (wordCount + 1) * Integer.BYTES;
+        this.lengthsPosition = validPosition + validCount * Integer.BYTES;
+        int arenaPosition = lengthsPosition + wordCount * Short.BYTES;
+
+        this.arena = buffer.slice(arenaPosition, arenaChars * Character.BYTES).order(buffer.order()).asCharBuffer();
+        List<String> names = new ArrayList<>(categoryCount);
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < categoryCount; i++) {
+            int entry = HEADER_SIZE + i * CATEGORY_ENTRY_SIZE;
+            checkRange(buffer.getInt(entry), buffer.getInt(entry + 4), arenaChars, "имя категории");
+            checkRange(buffer.getInt(entry + 8), buffer.getInt(entry + 12), wordCount, "слова категории");
+            checkRange(buffer.getInt(entry + 16), buffer.getInt(entry + 20), validCount, "валидные слова категории");
+            String name = arenaString(buffer.getInt(entry), buffer.getInt(entry + 4));
+            names.add(name);
+            index.put(name, i);
+        }
+        this.categories = Collections.unmodifiableList(names);
+        this.categoryIndex = index;
+    }
+
+    /**
+     * Открывает снимок словаря с полной проверкой, отображая файл в память.
+     *
+     * @param file Путь к файлу снимка.
+     * @return Открытый снимок словаря.
+     * @throws IOException Если файл не удалось прочитать.
+     * @throws IllegalStateException Если файл поврежден или имеет неподдерживаемый формат.
+     */
+    public static DictionarySnapshot open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    /**
+     * Открывает снимок словаря, отображая файл в память. Отображение и проверка снимка записываются
+     * событием JFR {@code DictionaryLoaded}.
+     *
+     * @param file Путь к файлу снимка.
+     * @param verify true, чтобы сразу выполнить полную проверку ({@link #verify()}); иначе проверяются
+     *               только размеры секций и таблица категорий.
+     * @return Открытый снимок словаря.
+     * @throws IOException Если файл не удалось прочитать.
+     * @throws IllegalStateException Если файл поврежден или имеет неподдерживаемый формат.
+     */
+    public static DictionarySnapshot open(Path file, boolean verify) throws IOException {
+        DictionaryLoadedEvent event = GameEvents.beginDictionaryLoad();
+        DictionarySnapshot snapshot;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Снимок словаря слишком большой: " + size + " байт");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            snapshot = new DictionarySnapshot(mapped.order(ByteOrder.LITTLE_ENDIAN));
+        }
+        if (verify) {
+            snapshot.verify();
+        }
+        GameEvents.commitDictionaryLoad(event, snapshot.categories.size(), snapshot.wordCount);
+        return snapshot;
+    }
+
+    /**
+     * Полностью проверяет снимок: контрольную сумму, возрастание смещений слов и их согласие с индексом
+     * длин, а также то, что индекс валидности каждой категории ссылается на ее слова с признаком валидности.
+     * Читает весь файл.
+     *
+     * @throws IllegalStateException Если снимок поврежден.
+     */
+    public void verify() {
+        if (checksum(buffer) != buffer.getInt(CHECKSUM_POSITION)) {
+            throw new IllegalStateException("Поврежденный снимок словаря: неверная контрольная сумма");
+        }
+        int previous = 0;
+        int flagged = 0;
+        for (int i = 0; i < wordCount; i++) {
+            int start = buffer.getInt(offsetsPosition + i * Integer.BYTES);
+            int end = buffer.getInt(offsetsPosition + (i + 1) * Integer.BYTES);
+            int lengthEntry = buffer.getShort(lengthsPosition + i * Short.BYTES);
+            if (start < previous || end < start || end > arena.capacity()
+                    || (lengthEntry & LENGTH_MASK) != end - start) {
+                throw new IllegalStateException("Поврежденный снимок словаря: неверное смещение слова " + i);
+            }
+            if ((lengthEntry & VALID_FLAG) != 0) {
+                flagged++;
+            }
+            previous = start;
+        }
+        if (flagged != validCount) {
+            throw new IllegalStateException("Поврежденный снимок словаря: индекс валидности не совпадает с признаками слов");
+        }
+        for (String category : categories) {
+            int entry = HEADER_SIZE + categoryIndex.get(category) * CATEGORY_ENTRY_SIZE;
+            int firstWord = buffer.getInt(entry + 8);
+            int lastWord = firstWord + buffer.getInt(entry + 12);
+            int firstValid = buffer.getInt(entry + 16);
+            int lastValid = firstValid + buffer.getInt(entry + 20);
+            for (int i = firstValid; i < lastValid; i++) {
+                int wordIndex = buffer.getInt(validPosition + i * Integer.BYTES);
+                if (wordIndex < firstWord || wordIndex >= lastWord
+                        || (buffer.getShort(lengthsPosition + wordIndex * Short.BYTES) & VALID_FLAG) == 0) {
+                    throw new IllegalStateException("Поврежденный снимок словаря: неверный индекс валидности категории "
+                            + category);
+                }
+            }
+        }
+    }
+
+    /**
+     * Компилирует словарь в бинарный снимок.
+     *
+     * @param categoryMap Слова, разделенные по категориям.
+     * @param file Путь к создаваемому файлу снимка.
+     * @throws IOException Если файл не удалось записать.
+     * @throws IllegalArgumentException Если слово длиннее поддерживаемого форматом или словарь
+     *                                  не помещается в снимок.
+     */
+    public static void write(Map<String, List<String>> categoryMap, Path file) throws IOException {
+        int categoryCount = categoryMap.size();
+        long totalWords = 0;
+        long totalValid = 0;
+        long totalChars = 0;
+        for (Map.Entry<String, List<String>> entry : categoryMap.entrySet()) {
+            totalChars += entry.getKey().length();
+            for (String word : entry.getValue()) {
+                if (word.length() > LENGTH_MASK) {
+                    throw new IllegalArgumentException("Слово слишком длинное для снимка словаря: " + word.length());
+                }
+                totalChars += word.length();
+                totalWords++;
+                if (WordDictionary.isValidWord(word)) {
+                    totalValid++;
+                }
+            }
+        }
+        if (fileSize(categoryCount, totalWords, totalValid, totalChars) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Словарь слишком большой для снимка: " + totalWords + " слов, "
+                    + totalChars + " символов");
+        }
+        int wordCount = (int) totalWords;
+        int validCount = (int) totalValid;
+        int arenaChars = (int) totalChars;
+
+        int offsetsPosition = HEADER_SIZE + categoryCount * CATEGORY_ENTRY_SIZE;
+        int validPosition = offsetsPosition + (wordCount + 1) * Integer.BYTES;
+        int lengthsPosition = validPosition + validCount * Integer.BYTES;
+        int arenaPosition = lengthsPosition + wordCount * Short.BYTES;
+        ByteBuffer out = ByteBuffer.allocate(arenaPosition + arenaChars * Character.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        int arenaOffset = 0;
+        int category = 0;
+        for (String name : categoryMap.keySet()) {
+            int entryPosition = HEADER_SIZE + category * CATEGORY_ENTRY_SIZE;
+            out.putInt(entryPosition, arenaOffset);
+            out.putInt(entryPosition + 4, name.length());
+            arenaOffset = putChars(out, arenaPosition, arenaOffset, name);
+            category++;
+        }
+
+        int wordIndex = 0;
+        int validIndex = 0;
+        category = 0;
+        for (Map.Entry<String, List<String>> entry : categoryMap.entrySet()) {
+            int entryPosition = HEADER_SIZE + category * CATEGORY_ENTRY_SIZE;
+            List<String> words = entry.getValue();
+            int firstWord = wordIndex;
+            int firstValid = validIndex;
+            for (String word : words) {
+                boolean valid = WordDictionary.isValidWord(word);
+                out.putInt(offsetsPosition + wordIndex * Integer.BYTES, arenaOffset);
+                out.putShort(lengthsPosition + wordIndex * Short.BYTES,
+                        (short) (word.length() | (valid ? VALID_FLAG : 0)));
+                arenaOffset = putChars(out, arenaPosition, arenaOffset, word);
+                wordIndex++;
+            }
+
+            List<Integer> valid = new ArrayList<>();
+            for (int i = firstWord; i < wordIndex; i++) {
+                if (WordDictionary.isValidWord(words.get(i - firstWord))) {
+                    valid.add(i);
+                }
+            }
+            valid.sort(Comparator.comparingInt(i -> words.get(i - firstWord).length()));
+            for (int i : valid) {
+                out.putInt(validPosition + validIndex * Integer.BYTES, i);
+                validIndex++;
+            }
+
+            out.putInt(entryPosition + 8, firstWord);
+            out.putInt(entryPosition + 12, wordIndex - firstWord);
+            out.putInt(entryPosition + 16, firstValid);
+            out.putInt(entryPosition + 20, validIndex - firstValid);
+            category++;
+        }
+        out.putInt(offsetsPosition + wordCount * Integer.BYTES, arenaOffset);
+
+        out.putInt(0, MAGIC);
+        out.putShort(4, (short) FORMAT_VERSION);
+        out.putInt(12, categoryCount);
+        out.putInt(16, wordCount);
+        out.putInt(20, validCount);
+        out.putInt(24, arenaChars);
+        out.putInt(CHECKSUM_POSITION, checksum(out));
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Читает текстовые списки слов из каталога: каждый файл {@code <категория>.txt} в UTF-8
+     * содержит по одному слову в строке.
+     *
+     * @param directory Каталог со списками слов.
+     * @return Слова, разделенные по категориям.
+     * @throws IOException Если каталог или файлы не удалось прочитать.
+     */
+    public static Map<String, List<String>> readWordLists(Path directory) throws IOException {
+        Map<String, List<String>> categoryMap = new LinkedHashMap<>();
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(".txt")).sorted().toList();
+        }
+        for (Path path : files) {
+            String fileName = path.getFileName().toString();
+            String category = fileName.substring(0, fileName.length() - ".txt".length());
+            List<String> words = Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .toList();
+            categoryMap.put(category, words);
+        }
+        return categoryMap;
+    }
+
+    /**
+     * Компилятор снимка словаря для запуска из командной строки.
+     * Первый аргумент - путь к создаваемому файлу, второй (необязательный) - каталог с текстовыми
+     * списками слов; без него компилируется встроенный словарь.
+     *
+     * @param args Аргументы командной строки.
+     * @throws IOException Если файлы не удалось прочитать или записать.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Использование: DictionarySnapshot <файл снимка> [каталог со словами]");
+        }
+        Map<String, List<String>> categoryMap;
+        if (args.length > 1) {
+            categoryMap = readWordLists(Path.of(args[1]));
+        } else {
+            WordDictionary builtIn = new WordDictionary();
+            categoryMap = new LinkedHashMap<>();
+            for (String category : builtIn.getCategories()) {
+                categoryMap.put(category, builtIn.getWordsForCategory(category));
+            }
+        }
+        write(categoryMap, Path.of(args[0]));
+    }
+
+    /**
+     * Возвращает список категорий снимка.
+     *
+     * @return Неизменяемый список категорий.
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Возвращает общее количество слов в снимке.
+     *
+     * @return Количество слов.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Возвращает слова категории в виде представления над отображенным файлом.
+     *
+     * @param category Категория.
+     * @return Список слов категории. Если категория не найдена, возвращает пустой список.
+     */
+    public List<String> getWordsForCategory(String category) {
+        Integer index = categoryIndex.get(category);
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        int entry = HEADER_SIZE + index * CATEGORY_ENTRY_SIZE;
+        return new WordList(buffer.getInt(entry + 8), buffer.getInt(entry + 12),
+                buffer.getInt(entry + 16), buffer.getInt(entry + 20));
+    }
+
+    /**
+     * Возвращает слова в виде отображения категорий на списки-представления над файлом.
+     *
+     * @return Неизменяемое отображение категорий на списки слов.
+     */
+    public Map<String, List<String>> asCategoryMap() {
+        Map<String, List<String>> categoryMap = new LinkedHashMap<>();
+        for (String category : categories) {
+            categoryMap.put(category, getWordsForCategory(category));
+        }
+        return Collections.unmodifiableMap(categoryMap);
+    }
+
+    private String word(int wordIndex) {
+        int start = buffer.getInt(offsetsPosition + wordIndex * Integer.BYTES);
+        int end = buffer.getInt(offsetsPosition + (wordIndex + 1) * Integer.BYTES);
+        if (start < 0 || end < start || end > arena.capacity()) {
+            throw new IllegalStateException("Поврежденный снимок словаря: неверное смещение слова " + wordIndex);
+        }
+        return arenaString(start, end - start);
+    }
+
+    private int wordLength(int wordIndex) {
+        return buffer.getShort(lengthsPosition + wordIndex * Short.BYTES) & LENGTH_MASK;
+    }
+
+    private String arenaString(int offset, int length) {
+        return arena.subSequence(offset, offset + length).toString();
+    }
+
+    /**
+     * Размер файла снимка в байтах, посчитанный в long, чтобы большие счетчики не переполняли int.
+     */
+    private static long fileSize(long categoryCount, long wordCount, long validCount, long arenaChars) {
+        return HEADER_SIZE + categoryCount * CATEGORY_ENTRY_SIZE + (wordCount + 1) * Integer.BYTES
+                + validCount * Integer.BYTES + wordCount * Short.BYTES + arenaChars * Character.BYTES;
+    }
+
+    private static void checkRange(int start, int length, int limit, String what) {
+        if (start < 0 || length < 0 || (long) start + length > limit) {
+            throw new IllegalStateException("Поврежденный снимок словаря: " + what + " за пределами секции");
+        }
+    }
+
+    /**
+     * Контрольная сумма всего файла, кроме magic и поля самой суммы.
+     */
+    private static int checksum(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(4, CHECKSUM_POSITION - 4));
+        crc.update(buffer.slice(CHECKSUM_POSITION + Integer.BYTES,
+                buffer.capacity() - CHECKSUM_POSITION - Integer.BYTES));
+        return (int) crc.getValue();
+    }
+
+    private static int putChars(ByteBuffer out, int arenaPosition, int arenaOffset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            out.putChar(arenaPosition + (arenaOffset + i) * Character.BYTES, value.charAt(i));
+        }
+        return arenaOffset + value.length();
+    }
+
+    /**
+     * Список слов одной категории, читающий слова прямо из снимка.
+     * Дополнительно дает доступ к предпостроенному индексу валидных слов.
+     */
+    public final class WordList extends AbstractList<String> implements RandomAccess {
+        private final int firstWord;
+        private final int size;
+        private final int firstValid;
+        private final int validCount;
+
+        private WordList(int firstWord, int size, int firstValid, int validCount) {
+            this.firstWord = firstWord;
+            this.size = size;
+            this.firstValid = firstValid;
+            this.validCount = validCount;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return word(firstWord + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Возвращает количество валидных слов категории.
+         *
+         * @return Количество валидных слов.
+         */
+        public int getValidCount() {
+            return validCount;
+        }
+
+        /**
+         * Возвращает валидное слово по его номеру в индексе валидности.
+         * Валидные слова упорядочены по возрастанию длины.
+         *
+         * @param validIndex Номер в индексе валидности, от 0 до {@link #getValidCount()}.
+         * @return Валидное слово.
+         */
+        public String getValidWord(int validIndex) {
+            if (validIndex < 0 || validIndex >= validCount) {
+                throw new IndexOutOfBoundsException(validIndex);
+            }
+            return word(validWordIndex(validIndex));
+        }
+
+        /**
+         * Возвращает номер первого валидного слова, длина которого не меньше заданной.
+         * Вместе с {@link #getValidWord(int)} позволяет выбирать слова по диапазону длин без перебора.
+         *
+         * @param length Минимальная длина слова.
+         * @return Номер в индексе валидности или {@link #getValidCount()}, если таких слов нет.
+         */
+        public int firstValidWithLengthAtLeast(int length) {
+            int low = 0;
+            int high = validCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (wordLength(validWordIndex(middle)) < length) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int validWordIndex(int validIndex) {
+            int wordIndex = buffer.getInt(validPosition + (firstValid + validIndex) * Integer.BYTES);
+            if (wordIndex < 0 || wordIndex >= wordCount) {
+                throw new IllegalStateException("Поврежденный снимок словаря: неверный индекс валидности");
+            }
+            return wordIndex;
+        }
+    }
+}
\ No newline at end of file
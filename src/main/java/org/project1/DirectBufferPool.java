@@ -0,0 +1,132 @@
+package org.project1;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Пул прямых буферов одинакового размера, нарезанных из одной области памяти вне кучи.
+ *
+ * <p>Буферы выдаются только на время, пока они нужны (например, пока ответ клиенту не отправлен),
+ * поэтому память пула зависит от количества одновременно занятых буферов, а не от количества
+ * подключений. Если свободных буферов нет, выдается новый буфер вне пула; такой буфер при возврате
+ * не сохраняется, а счетчик {@link #getOverflowCount()} показывает, что пул мал.
+ *
+ * <p>Принадлежность буфера пулу определяется по адресу в общей области памяти: в пул возвращаются
+ * только его собственные буферы, чужие отбрасываются. Повторный возврат буфера пула - ошибка
+ * вызывающего кода, иначе один буфер выдавался бы дважды.
+ *
+ * <p>Класс не потокобезопасен: рассчитан на один поток цикла событий, например {@link LineProtocolServer}.
+ */
+public class DirectBufferPool {
+    private final int bufferSize;
+    private final int capacity;
+    private final ArrayDeque<ByteBuffer> free;
+    private final ByteBuffer[] slices;
+    private final boolean[] released;
+    private final long slabAddress;
+    private long overflowCount;
+
+    /**
+     * Конструктор для создания пула.
+     *
+     * @param bufferSize Размер одного буфера в байтах.
+     * @param capacity Количество буферов в пуле.
+     * @throws IllegalArgumentException Если размер или количество не положительны или пул слишком велик.
+     */
+    public DirectBufferPool(int bufferSize, int capacity) {
+        if (bufferSize <= 0 || capacity <= 0 || (long) bufferSize * capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Некорректный размер пула буферов: " + capacity + " x " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+        this.free = new ArrayDeque<>(capacity);
+        this.slices = new ByteBuffer[capacity];
+        this.released = new boolean[capacity];
+        ByteBuffer slab = ByteBuffer.allocateDirect(bufferSize * capacity);
+        this.slabAddress = MemorySegment.ofBuffer(slab).address();
+        for (int i = 0; i < capacity; i++) {
+            slices[i] = slab.slice(i * bufferSize, bufferSize);
+            released[i] = true;
+            free.push(slices[i]);
+        }
+    }
+
+    /**
+     * Выдает очищенный буфер.
+     *
+     * @return Буфер из пула или новый буфер, если пул исчерпан.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            overflowCount++;
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        released[indexOf(buffer)] = false;
+        return buffer.clear();
+    }
+
+    /**
+     * Возвращает буфер в пул. Буфер вне пула (выданный при исчерпании пула или чужой) отбрасывается.
+     *
+     * @param buffer Буфер, выданный {@link #acquire()}.
+     * @throws IllegalStateException Если буфер пула уже возвращен.
+     */
+    public void release(ByteBuffer buffer) {
+        int index = indexOf(buffer);
+        if (index < 0) {
+            return;
+        }
+        if (released[index]) {
+            throw new IllegalStateException("Буфер уже возвращен в пул");
+        }
+        released[index] = true;
+        free.push(buffer);
+    }
+
+    /**
+     * Находит буфер среди буферов пула по его адресу.
+     *
+     * @return Номер буфера в пуле или -1, если буфер не принадлежит пулу.
+     */
+    private int indexOf(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            return -1;
+        }
+        // Сегмент буфера начинается с его текущей позиции.
+        long offset = MemorySegment.ofBuffer(buffer).address() - buffer.position() - slabAddress;
+        if (offset < 0 || offset % bufferSize != 0 || offset / bufferSize >= capacity) {
+            return -1;
+        }
+        int index = (int) (offset / bufferSize);
+        return slices[index] == buffer ? index : -1;
+    }
+
+    /**
+     * Возвращает размер одного буфера.
+     *
+     * @return Размер в байтах.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Возвращает количество свободных буферов в пуле.
+     *
+     * @return Количество свободных буферов.
+     */
+    public int getAvailable() {
+        return free.size();
+    }
+
+    /**
+     * Возвращает количество выдач при исчерпанном пуле.
+     *
+     * @return Количество буферов, выданных вне пула.
+     */
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+}
\ No newline at end of file
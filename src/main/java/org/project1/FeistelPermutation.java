@@ -0,0 +1,69 @@
+package org.project1;
+
+/**
+ * Псевдослучайная перестановка чисел {@code [0, n)}, заданная ключом, без хранения самой перестановки.
+ *
+ * <p>Индекс шифруется сбалансированной сетью Фейстеля на ближайшей сверху четной степени двойки,
+ * а значения за пределами {@code [0, n)} шифруются повторно (cycle walking), пока не попадут в диапазон.
+ * Сеть Фейстеля обратима при любой функции раунда, поэтому результат - биекция. Домен сети меньше
+ * {@code 4n}, так что в среднем нужно меньше четырех шифрований.
+ */
+public final class FeistelPermutation {
+    private static final int ROUNDS = 4;
+
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    /**
+     * Конструктор для создания перестановки.
+     *
+     * @param size Размер диапазона {@code n}.
+     * @param key Ключ перестановки: разные ключи дают разный порядок.
+     * @throws IllegalArgumentException Если размер не положителен.
+     */
+    public FeistelPermutation(int size, long key) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Размер перестановки должен быть положительным");
+        }
+        this.size = size;
+        int bits = Math.max(2, Long.SIZE - Long.numberOfLeadingZeros(size - 1L));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state = Hashing.mix(state);
+            roundKeys[i] = state;
+        }
+    }
+
+    /**
+     * Возвращает элемент перестановки с заданным номером.
+     *
+     * @param index Номер от 0 до {@code n - 1}.
+     * @return Число из {@code [0, n)}; разные номера дают разные числа.
+     * @throws IndexOutOfBoundsException Если номер вне диапазона.
+     */
+    public int apply(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (Hashing.mix(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+}
\ No newline at end of file
@@ -3,7 +3,7 @@ package org.project1;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,15 +12,41 @@ import org.slf4j.LoggerFactory;
  * Управляет логикой игры, включая выбор категории, уровня сложности и взаимодействие с пользователем.
  */
 public class Game {
+    /**
+     * Результат {@link #parseLetter(String)} для ввода, который не является одной буквой.
+     */
+    public static final char NO_LETTER = '\0';
+
+    /**
+     * Максимальное количество неверных вводов подряд при запросе буквы.
+     */
+    public static final int MAX_INVALID_INPUTS = 100;
+
+    /**
+     * Количество уровней сложности.
+     */
+    public static final int NUMBER_OF_LEVELS = 3;
+
     private GameState gameState;
     private final WordDictionary wordDictionary;
     private final UserInterface userInterface;
     private static final Logger LOGGER = LoggerFactory.getLogger(Game.class);
-    private static final int NUMBER_OF_LEVELS = 3;
     private static final int EASY_LVL_MISTAKES = 10;
     private static final int MEDIUM_LVL_MISTAKES = 8;
     private static final int HARD_LVL_MISTAKES = 6;
     private final Random random = new SecureRandom();
+    private final WordSequence wordSequence = new WordSequence(random.nextLong());
+    private GameAuditLog auditLog = new GameAuditLog();
+    private long sessionId;
+    private long gameStartNanos;
+    private TimingWheel timingWheel;
+    private long moveTimeLimitSeconds;
+    private MoveTimeLimit moveTimeLimit;
+    private GameAnalytics analytics;
+    private String playerId;
+    private String chosenCategory;
+    private SpectatorBroadcast spectatorBroadcast;
+    private boolean batchMode;
 
     /**
      * Конструктор для создания экземпляра игры.
@@ -34,39 +60,139 @@ public class Game {
     }
 
     /**
-     * Запускает игру "Виселица".
-     * Выбирает категорию и слово, устанавливает уровень сложности и управляет процессом игры.
+     * Запускает игру "Виселица" и повторяет ее, пока пользователь хочет продолжать.
+     * Выбирает категорию, уровень сложности и слово и управляет процессом игры.
+     * Если для категории загружены частоты слов, слово выбирается с учетом частоты и уровня сложности,
+     * иначе слова категории не повторяются, пока в ней не будут сыграны все слова.
      */
     public void startGame() {
-        LOGGER.info("Добро пожаловать в игру Виселица!");
+        do {
+            playGame();
+        } while (playAgainPrompt());
+    }
 
-        String chosenCategory = chooseCategory();
-        List<String> wordsInCategory = wordDictionary.getWordsForCategory(chosenCategory);
-        String word = wordDictionary.getRandomValidWordFromList(wordsInCategory);
+    /**
+     * Играет одну игру от выбора категории до результата.
+     */
+    private void playGame() {
+        if (!batchMode) {
+            LOGGER.info("Добро пожаловать в игру Виселица!");
+        }
 
+        chosenCategory = chooseCategory();
         int maxAttempts = chooseDifficulty();
+        String word = chooseWord(maxAttempts);
+
         gameState = new GameState(maxAttempts);
         gameState.setChosenWord(word);
 
-        while (!isGameOver()) {
-            clearScreen();
-            LOGGER.info("Категория: {}", chosenCategory);
-            displayGameState();
+        sessionId = auditLog.newSessionId();
+        gameStartNanos = System.nanoTime();
+        auditLog.gameStarted(sessionId, chosenCategory, word, maxAttempts);
+        GameEvents.gameStarted(sessionId, chosenCategory, getDifficultyForAttempts(maxAttempts) + 1);
+        GameFinishedEvent finishedEvent = GameEvents.beginGame();
+        if (timingWheel != null) {
+            moveTimeLimit = new MoveTimeLimit(timingWheel, gameState, moveTimeLimitSeconds, TimeUnit.SECONDS,
+                    () -> {
+                        LOGGER.info("Время на ход истекло! Засчитана ошибка.");
+                        broadcast();
+                    });
+            moveTimeLimit.restart();
+        }
+        broadcast();
 
-            char letter = getValidLetterFromUser();
-            gameState.updateGuessedLetters(letter);
+        while (!isGameOver()) {
+            playTurn();
         }
 
-        clearScreen();
+        if (moveTimeLimit != null) {
+            moveTimeLimit.stop();
+            moveTimeLimit = null;
+        }
+        if (!batchMode) {
+            clearScreen();
+        }
+        long gameNanos = System.nanoTime() - gameStartNanos;
+        auditLog.gameFinished(sessionId, word, gameState.isWordGuessed(),
+                gameState.getHangmanState().getMistakes(), gameNanos);
+        GameEvents.commitGameFinished(finishedEvent, sessionId, gameState.isWordGuessed(),
+                gameState.getHangmanState().getMistakes());
+        if (analytics != null) {
+            analytics.gameFinished(playerId, chosenCategory, word, gameState.isWordGuessed());
+        }
 
-        if (gameState.isWordGuessed()) {
+        if (batchMode) {
+            userInterface.displayMessage((gameState.isWordGuessed() ? "WON " : "LOST ") + word);
+        } else if (gameState.isWordGuessed()) {
             LOGGER.info("Поздравляем! Вы угадали слово: {}", word);
         } else {
             gameState.getHangmanState().drawHangman();
             LOGGER.info("Игра окончена. Слово было: {}", word);
         }
+    }
+
+    /**
+     * Выполняет один ход: выводит состояние игры, получает букву от пользователя и применяет догадку.
+     * В пакетном режиме состояние перед ходом не выводится, а после хода выводится кратко
+     * через {@link UserInterface#displayTurnResult(char, GameState)}, если догадка применена.
+     * В установившемся режиме ход не создает объектов, если их не создают интерфейс пользователя
+     * и настройка журнала.
+     */
+    public void playTurn() {
+        if (!batchMode) {
+            clearScreen();
+            LOGGER.info("Категория: {}", chosenCategory);
+            displayGameState();
+        }
+
+        char letter = getValidLetterFromUser();
+        if (processGuess(letter) && batchMode) {
+            userInterface.displayTurnResult(letter, gameState);
+        }
+    }
+
+    /**
+     * Применяет догадку к текущему состоянию игры, записывает ее в журнал аудита и аналитику
+     * и публикует новое состояние зрителям.
+     * В режиме с ограничением времени перезапускает отсчет времени на ход.
+     * Если игра уже завершилась (например, по времени), догадка игнорируется.
+     *
+     * @param letter Буква, введенная пользователем.
+     * @return true, если догадка применена; false, если игра уже завершилась.
+     */
+    public boolean processGuess(char letter) {
+        SpectatorFrame frame = null;
+        synchronized (gameState) {
+            if (isGameOver()) {
+                return false;
+            }
+            int mistakesBefore = gameState.getHangmanState().getMistakes();
+            boolean firstGuess = gameState.getGuessCount() == 0;
+            gameState.updateGuessedLetters(letter);
+            boolean hit = gameState.getHangmanState().getMistakes() == mistakesBefore;
+            auditLog.guessProcessed(sessionId, letter, hit, gameState.getRemainingAttempts(),
+                    System.nanoTime() - gameStartNanos);
+            if (analytics != null) {
+                analytics.guessProcessed(letter, firstGuess);
+            }
+            if (moveTimeLimit != null && !isGameOver()) {
+                moveTimeLimit.restart();
+            }
+            if (spectatorBroadcast != null) {
+                frame = spectatorBroadcast.capture(gameState);
+            }
+        }
+        // Кадр отрисован под блокировкой игры, а раздается зрителям уже без нее.
+        if (frame != null) {
+            spectatorBroadcast.deliver(frame);
+        }
+        return true;
+    }
 
-        playAgainPrompt();
+    private void broadcast() {
+        if (spectatorBroadcast != null) {
+            spectatorBroadcast.publish(gameState);
+        }
     }
 
     /**
@@ -80,53 +206,65 @@ public class Game {
     /**
      * Возвращает строку с буквами, которые уже были введены пользователем.
      *
-     * @return Строка с введенными буквами, разделенными запятыми.
+     * @return Строка с введенными буквами в порядке ввода, разделенными запятыми.
      */
     public String getGuessedLettersString() {
-        Set<Character> guessedLetters = gameState.getAllGuessedLetters();
-        if (!guessedLetters.isEmpty()) {
-            return String.join(", ", guessedLetters.stream()
-                    .map(String::valueOf)
-                    .toArray(String[]::new));
-        } else {
-            return "";
-        }
+        return gameState.getGuessedLettersView().toString();
     }
 
     /**
-     * Отображает буквы, которые уже были введены пользователем.
+     * Отображает буквы, которые уже были введены пользователем, в порядке ввода.
      */
     public void displayGuessedLetters() {
-        String guessedLettersStr = getGuessedLettersString();
-        LOGGER.info("Введенные ранее буквы: {}", guessedLettersStr);
+        LOGGER.info("Введенные ранее буквы: {}", gameState.getGuessedLettersView());
     }
 
     /**
      * Получает корректную букву от пользователя.
      *
      * @return Введенная пользователем буква.
+     * @throws InvalidInputLimitException Если пользователь ввел неверные данные {@value #MAX_INVALID_INPUTS} раз подряд.
      */
     public char getValidLetterFromUser() {
-        displayGuessedLetters();
-
-        LOGGER.info("Введите букву:");
-
-        String input;
-        while (true) {
-            input = userInterface.getUserInput().trim();
+        if (!batchMode) {
+            displayGuessedLetters();
+            LOGGER.info("Введите букву:");
+        }
 
-            if (input.length() == 1 && Character.isLetter(input.charAt(0))) {
-                char letter = Character.toLowerCase(input.charAt(0));
+        for (int attempt = 0; attempt < MAX_INVALID_INPUTS; attempt++) {
+            char letter = parseLetter(userInterface.getUserInput());
 
-                if (gameState.getAllGuessedLetters().contains(letter)) {
-                    userInterface.displayMessage("Буква была введена ранее! Повторите ввод.");
-                } else {
-                    return letter;
-                }
-            } else {
+            if (letter == NO_LETTER) {
                 userInterface.displayMessage("Неверный ввод! Введите одну букву.");
+            } else if (gameState.isLetterGuessed(letter)) {
+                userInterface.displayMessage("Буква была введена ранее! Повторите ввод.");
+            } else {
+                return letter;
             }
         }
+        throw new InvalidInputLimitException("Слишком много неверных вводов подряд");
+    }
+
+    /**
+     * Разбирает ввод пользователя как одну букву.
+     * Пробелы по краям ввода пропускаются без создания обрезанной строки.
+     *
+     * @param input Ввод пользователя.
+     * @return Буква в нижнем регистре или {@link #NO_LETTER}, если ввод не является одной буквой.
+     */
+    public static char parseLetter(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start == 1 && Character.isLetter(input.charAt(start))) {
+            return Character.toLowerCase(input.charAt(start));
+        }
+        return NO_LETTER;
     }
 
     /**
@@ -135,10 +273,12 @@ public class Game {
      * @return Выбранная категория.
      */
     public String chooseCategory() {
-        LOGGER.info("Выберите номер категории или нажмите Enter для случайного выбора категории:");
         List<String> categories = wordDictionary.getCategories();
-        for (int i = 0; i < categories.size(); i++) {
-            LOGGER.info("Категория {}: {}", i + 1, categories.get(i));
+        if (!batchMode) {
+            LOGGER.info("Выберите номер категории или нажмите Enter для случайного выбора категории:");
+            for (int i = 0; i < categories.size(); i++) {
+                LOGGER.info("Категория {}: {}", i + 1, categories.get(i));
+            }
         }
 
         String input;
@@ -146,7 +286,9 @@ public class Game {
             input = userInterface.getUserInput().trim();
             if (input.isEmpty()) {
                 String randomCategory = categories.get(random.nextInt(categories.size()));
-                LOGGER.info("Выбрана случайная категория: {}", randomCategory);
+                if (!batchMode) {
+                    LOGGER.info("Выбрана случайная категория: {}", randomCategory);
+                }
                 return randomCategory;
             } else {
                 try {
@@ -168,19 +310,21 @@ public class Game {
      * @return Количество попыток, соответствующее выбранному уровню сложности.
      */
     public int chooseDifficulty() {
-        LOGGER.info(
-                """
-                    Выберите номер с уровнем сложности или нажмите Enter для выбора случайного уровня:
-                    1. Легкий (10 попыток)
-                    2. Средний (8 попыток)
-                    3. Сложный (6 попыток)""");
+        if (!batchMode) {
+            LOGGER.info(
+                    """
+                        Выберите номер с уровнем сложности или нажмите Enter для выбора случайного уровня:
+                        1. Легкий (10 попыток)
+                        2. Средний (8 попыток)
+                        3. Сложный (6 попыток)""");
+        }
 
         String input;
         String invalidInputMessage = "Ошибка ввода! Введите число от 1 до 3.";
         while (true) {
             input = userInterface.getUserInput().trim();
             if (input.isEmpty()) {
-                int randomDifficulty = random.nextInt(NUMBER_OF_LEVELS) + 1;
+                int randomDifficulty = random.nextInt(NUMBER_OF_LEVELS);
                 return getAttemptsForDifficulty(randomDifficulty);
             } else {
                 try {
@@ -202,7 +346,7 @@ public class Game {
      * @return Количество попыток.
      * @throws IllegalArgumentException Если уровень сложности некорректен.
      */
-    private int getAttemptsForDifficulty(int difficulty) {
+    public static int getAttemptsForDifficulty(int difficulty) {
         return switch (difficulty) {
             case 0 -> EASY_LVL_MISTAKES;
             case 1 -> MEDIUM_LVL_MISTAKES;
@@ -211,6 +355,32 @@ public class Game {
         };
     }
 
+    /**
+     * Возвращает уровень сложности для заданного количества попыток.
+     *
+     * @param maxAttempts Количество попыток.
+     * @return Уровень сложности (0 - легкий, 1 - средний, 2 - сложный).
+     * @throws IllegalArgumentException Если количество попыток не соответствует ни одному уровню.
+     */
+    private static int getDifficultyForAttempts(int maxAttempts) {
+        return switch (maxAttempts) {
+            case EASY_LVL_MISTAKES -> WordDictionary.DIFFICULTY_EASY;
+            case MEDIUM_LVL_MISTAKES -> WordDictionary.DIFFICULTY_MEDIUM;
+            case HARD_LVL_MISTAKES -> WordDictionary.DIFFICULTY_HARD;
+            default -> throw new IllegalArgumentException("Некорректное количество попыток: " + maxAttempts);
+        };
+    }
+
+    /**
+     * Выбирает слово выбранной категории для заданного уровня сложности.
+     */
+    private String chooseWord(int maxAttempts) {
+        if (wordDictionary.hasWordFrequencies(chosenCategory)) {
+            return wordDictionary.getWeightedRandomWord(chosenCategory, getDifficultyForAttempts(maxAttempts));
+        }
+        return wordSequence.next(wordDictionary, chosenCategory);
+    }
+
     /**
      * Проверяет, завершена ли игра.
      *
@@ -224,31 +394,38 @@ public class Game {
      * Отображает текущее состояние игры, включая текущее состояние слова, оставшиеся попытки и виселицу.
      */
     public void displayGameState() {
-        LOGGER.info("Текущее состояние слова: {}", gameState.getCurrentWordState());
+        LOGGER.info("Текущее состояние слова: {}", gameState.getCurrentWordStateView());
         LOGGER.info("Оставшиеся попытки: {}", gameState.getRemainingAttempts());
         gameState.getHangmanState().drawHangman();
     }
 
     /**
      * Предлагает пользователю сыграть еще раз.
+     *
+     * @return true, если пользователь хочет сыграть еще раз.
      */
-    public void playAgainPrompt() {
-        LOGGER.info(
-                """
-                    Хотите продолжить игру? (введите цифру):
-                    1. Да
-                    2. Нет""");
+    public boolean playAgainPrompt() {
+        if (!batchMode) {
+            LOGGER.info(
+                    """
+                        Хотите продолжить игру? (введите цифру):
+                        1. Да
+                        2. Нет""");
+        }
 
         String choice;
         while (true) {
             choice = userInterface.getUserInput().trim();
             if ("1".equals(choice)) {
-                clearScreen();
-                startGame();
-                break;
+                if (!batchMode) {
+                    clearScreen();
+                }
+                return true;
             } else if ("2".equals(choice)) {
-                LOGGER.info("Спасибо за игру! До встречи!");
-                break;
+                if (!batchMode) {
+                    LOGGER.info("Спасибо за игру! До встречи!");
+                }
+                return false;
             } else {
                 userInterface.displayMessage("Неверный выбор! Введите 1 для \"Да\" или 2 для \"Нет\".");
             }
@@ -263,4 +440,57 @@ public class Game {
     public void setGameState(GameState gameState) {
         this.gameState = gameState;
     }
+
+    /**
+     * Включает режим с ограничением времени на ход: если игрок не сделал догадку вовремя,
+     * засчитывается ошибка.
+     *
+     * @param timingWheel Запущенное колесо таймеров, общее для всех сессий.
+     * @param seconds Время на ход в секундах.
+     */
+    public void setMoveTimeLimit(TimingWheel timingWheel, long seconds) {
+        this.timingWheel = timingWheel;
+        this.moveTimeLimitSeconds = seconds;
+    }
+
+    /**
+     * Включает сбор потоковой аналитики игр.
+     *
+     * @param analytics Аналитика, общая для всех игр.
+     * @param playerId Идентификатор игрока для подсчета различных игроков.
+     */
+    public void setAnalytics(GameAnalytics analytics, String playerId) {
+        this.analytics = analytics;
+        this.playerId = playerId;
+    }
+
+    /**
+     * Включает трансляцию игры для зрителей: каждое изменение состояния публикуется одним кадром.
+     *
+     * @param spectatorBroadcast Трансляция игры.
+     */
+    public void setSpectatorBroadcast(SpectatorBroadcast spectatorBroadcast) {
+        this.spectatorBroadcast = spectatorBroadcast;
+    }
+
+    /**
+     * Заменяет журнал аудита игры, например на выключенный для синтетических игр.
+     *
+     * @param auditLog Журнал аудита.
+     */
+    public void setAuditLog(GameAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Включает пакетный режим для сценариев и автоматических клиентов: подсказки, очистка экрана
+     * и виселица не выводятся, после каждого хода выводится краткий результат
+     * ({@link UserInterface#displayTurnResult(char, GameState)}), после игры - строка
+     * {@code WON <слово>} или {@code LOST <слово>}. Сообщения об ошибках ввода выводятся как обычно.
+     *
+     * @param batchMode true, чтобы включить пакетный режим.
+     */
+    public void setBatchMode(boolean batchMode) {
+        this.batchMode = batchMode;
+    }
 }
\ No newline at end of file
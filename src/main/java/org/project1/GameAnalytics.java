@@ -0,0 +1,208 @@
+package org.project1;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Потоковая аналитика игр в ограниченной памяти: частота первых букв, самые часто проигрываемые слова
+ * по категориям и количество различных игроков по дням.
+ *
+ * <p>Точные словари по ключам на сотнях миллионов игр не помещаются в память, поэтому частоты считаются
+ * {@link CountMinSketch}, самые частые ключи - {@link SpaceSavingTopK}, различные игроки - {@link HyperLogLog}.
+ * Игроки хранятся только за последние дни окна хранения, более старые дни отбрасываются с началом нового дня
+ * и при объединении. Поэтому объем памяти зависит только от параметров набросков, количества категорий
+ * и длины окна. Все методы потокобезопасны, аналитику нескольких экземпляров или узлов можно объединить
+ * {@link #merge(GameAnalytics)}.
+ */
+public class GameAnalytics {
+    /**
+     * Окно хранения количества игроков по дням по умолчанию, в днях.
+     */
+    public static final int DEFAULT_RETENTION_DAYS = 90;
+
+    private static final double FREQUENCY_EPSILON = 0.001;
+    private static final double FREQUENCY_DELTA = 0.001;
+    private static final int HYPER_LOG_LOG_PRECISION = 14;
+    private static final int TOP_K = 100;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final Clock clock;
+    private final int retentionDays;
+    private final CountMinSketch firstLetterCounts;
+    private final SpaceSavingTopK topFirstLetters;
+    private final CountMinSketch failedWordCounts;
+    private final Map<String, SpaceSavingTopK> topFailedWords = new ConcurrentHashMap<>();
+    private final Map<LocalDate, HyperLogLog> playersPerDay = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор для создания аналитики с системными часами.
+     */
+    public GameAnalytics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Конструктор для создания аналитики с заданными часами, по которым определяется день игры,
+     * и окном хранения по умолчанию.
+     *
+     * @param clock Часы.
+     */
+    public GameAnalytics(Clock clock) {
+        this(clock, DEFAULT_RETENTION_DAYS);
+    }
+
+    /**
+     * Конструктор для создания аналитики с заданными часами и окном хранения количества игроков по дням.
+     *
+     * @param clock Часы.
+     * @param retentionDays Сколько последних дней, включая текущий, хранить количество игроков.
+     * @throws IllegalArgumentException Если окно хранения не положительно.
+     */
+    public GameAnalytics(Clock clock, int retentionDays) {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("Окно хранения должно быть положительным: " + retentionDays);
+        }
+        this.clock = clock;
+        this.retentionDays = retentionDays;
+        this.firstLetterCounts = CountMinSketch.withErrorBounds(FREQUENCY_EPSILON, FREQUENCY_DELTA);
+        this.topFirstLetters = new SpaceSavingTopK(TOP_K);
+        this.failedWordCounts = CountMinSketch.withErrorBounds(FREQUENCY_EPSILON, FREQUENCY_DELTA);
+    }
+
+    /**
+     * Учитывает догадку игрока.
+     *
+     * @param letter Введенная буква.
+     * @param firstGuess true, если это первая догадка в игре.
+     */
+    public void guessProcessed(char letter, boolean firstGuess) {
+        if (firstGuess) {
+            String key = String.valueOf(letter);
+            firstLetterCounts.add(key);
+            topFirstLetters.add(key);
+        }
+    }
+
+    /**
+     * Учитывает завершенную игру.
+     *
+     * @param playerId Идентификатор игрока.
+     * @param category Категория слова.
+     * @param word Загаданное слово.
+     * @param won true, если слово угадано.
+     */
+    public void gameFinished(String playerId, String category, String word, boolean won) {
+        LocalDate today = LocalDate.now(clock);
+        HyperLogLog players = playersPerDay.get(today);
+        if (players == null) {
+            players = playersPerDay.computeIfAbsent(today, day -> new HyperLogLog(HYPER_LOG_LOG_PRECISION));
+            removeExpiredDays(today);
+        }
+        players.add(playerId);
+        if (!won) {
+            failedWordCounts.add(failedWordKey(category, word));
+            topFailedWords.computeIfAbsent(category, key -> new SpaceSavingTopK(TOP_K)).add(word);
+        }
+    }
+
+    /**
+     * Оценивает, сколько раз игра начиналась с заданной буквы.
+     *
+     * @param letter Буква.
+     * @return Оценка частоты сверху.
+     */
+    public long getFirstLetterCount(char letter) {
+        return firstLetterCounts.estimate(String.valueOf(letter));
+    }
+
+    /**
+     * Возвращает буквы, с которых чаще всего начинают игру.
+     *
+     * @param limit Максимальное количество букв.
+     * @return Буквы с оценками частоты по убыванию.
+     */
+    public List<SpaceSavingTopK.Entry> getTopFirstLetters(int limit) {
+        return topFirstLetters.top(limit);
+    }
+
+    /**
+     * Оценивает, сколько раз было проиграно слово категории.
+     *
+     * @param category Категория.
+     * @param word Слово.
+     * @return Оценка количества проигрышей сверху.
+     */
+    public long getFailedWordCount(String category, String word) {
+        return failedWordCounts.estimate(failedWordKey(category, word));
+    }
+
+    /**
+     * Возвращает самые часто проигрываемые слова категории.
+     *
+     * @param category Категория.
+     * @param limit Максимальное количество слов.
+     * @return Слова с оценками количества проигрышей по убыванию.
+     */
+    public List<SpaceSavingTopK.Entry> getTopFailedWords(String category, int limit) {
+        SpaceSavingTopK topK = topFailedWords.get(category);
+        return topK == null ? List.of() : topK.top(limit);
+    }
+
+    /**
+     * Оценивает количество различных игроков за день.
+     *
+     * @param day День.
+     * @return Оценка количества игроков; 0, если игр не было или день вышел из окна хранения.
+     */
+    public long getDistinctPlayers(LocalDate day) {
+        HyperLogLog players = playersPerDay.get(day);
+        return players == null ? 0 : players.estimate();
+    }
+
+    /**
+     * Добавляет данные другой аналитики, например собранной на другом узле. Дни вне окна хранения
+     * этой аналитики не добавляются.
+     *
+     * @param other Другая аналитика.
+     */
+    public void merge(GameAnalytics other) {
+        firstLetterCounts.merge(other.firstLetterCounts);
+        topFirstLetters.merge(other.topFirstLetters);
+        failedWordCounts.merge(other.failedWordCounts);
+        other.topFailedWords.forEach((category, topK) ->
+                topFailedWords.computeIfAbsent(category, key -> new SpaceSavingTopK(TOP_K)).merge(topK));
+        LocalDate today = LocalDate.now(clock);
+        LocalDate oldest = oldestRetainedDay(today);
+        other.playersPerDay.forEach((day, players) -> {
+            if (!day.isBefore(oldest)) {
+                playersPerDay.computeIfAbsent(day, key -> new HyperLogLog(HYPER_LOG_LOG_PRECISION)).merge(players);
+            }
+        });
+        removeExpiredDays(today);
+    }
+
+    /**
+     * Возвращает количество дней, за которые сейчас хранится количество игроков.
+     *
+     * @return Количество дней.
+     */
+    public int getRetainedDayCount() {
+        return playersPerDay.size();
+    }
+
+    private LocalDate oldestRetainedDay(LocalDate today) {
+        return today.minusDays(retentionDays - 1L);
+    }
+
+    private void removeExpiredDays(LocalDate today) {
+        LocalDate oldest = oldestRetainedDay(today);
+        playersPerDay.keySet().removeIf(day -> day.isBefore(oldest));
+    }
+
+    private static String failedWordKey(String category, String word) {
+        return category + KEY_SEPARATOR + word;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package org.project1;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+/**
+ * Журнал аудита игровых событий "Виселицы".
+ * Пишет структурированные записи (идентификатор сессии, категория, слово, каждая догадка, исход и тайминги)
+ * в отдельный логгер {@value #AUDIT_LOGGER_NAME}, который в {@code log4j2.xml} настроен как асинхронный
+ * и не связан с консольным выводом для пользователя.
+ *
+ * <p>Запись не создает мусора: используются перегрузки log4j2 API без varargs, а примитивы упаковываются
+ * через {@link Unbox}, который переиспользует буферы потока.
+ */
+public class GameAuditLog {
+    /**
+     * Имя логгера аудита.
+     */
+    public static final String AUDIT_LOGGER_NAME = "org.project1.audit";
+
+    /**
+     * Имя логгера синтетических игр прогрева. В {@code log4j2.xml} он асинхронный, как и логгер аудита,
+     * но пишет в приемник, который отбрасывает записи.
+     */
+    public static final String WARMUP_LOGGER_NAME = AUDIT_LOGGER_NAME + ".warmup";
+
+    private static final Logger AUDIT = LogManager.getLogger(AUDIT_LOGGER_NAME);
+    private static final Logger WARMUP = LogManager.getLogger(WARMUP_LOGGER_NAME);
+    private static final AtomicLong SESSION_COUNTER = new AtomicLong();
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final Logger logger;
+    private final boolean enabled;
+    private final AtomicLong sessionCounter;
+
+    /**
+     * Конструктор для создания журнала, который пишет записи.
+     */
+    public GameAuditLog() {
+        this(true);
+    }
+
+    /**
+     * Конструктор для создания журнала, который пишет записи или молча их пропускает,
+     * например когда журнал игр не нужен.
+     *
+     * @param enabled true, если записи нужно писать.
+     */
+    public GameAuditLog(boolean enabled) {
+        this(AUDIT, enabled, SESSION_COUNTER);
+    }
+
+    private GameAuditLog(Logger logger, boolean enabled, AtomicLong sessionCounter) {
+        this.logger = logger;
+        this.enabled = enabled;
+        this.sessionCounter = sessionCounter;
+    }
+
+    /**
+     * Создает журнал для синтетических игр прогрева ({@link GameWarmup}): записи проходят тот же путь,
+     * что и записи настоящих игр, включая асинхронную очередь, но пишутся в логгер
+     * {@value #WARMUP_LOGGER_NAME}, который их отбрасывает. Идентификаторы сессий журнал выдает
+     * из своего счетчика и не расходует идентификаторы настоящих игр.
+     *
+     * @return Журнал прогрева.
+     */
+    public static GameAuditLog discarding() {
+        return new GameAuditLog(WARMUP, true, new AtomicLong());
+    }
+
+    /**
+     * Выдает новый уникальный в пределах процесса идентификатор игровой сессии.
+     *
+     * @return Идентификатор сессии.
+     */
+    public static long nextSessionId() {
+        return SESSION_COUNTER.incrementAndGet();
+    }
+
+    /**
+     * Выдает идентификатор сессии для игры, которая пишется в этот журнал: для журнала прогрева
+     * из его собственного счетчика, иначе как {@link #nextSessionId()}.
+     *
+     * @return Идентификатор сессии.
+     */
+    public long newSessionId() {
+        return sessionCounter.incrementAndGet();
+    }
+
+    /**
+     * Записывает событие начала игры.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param category Выбранная категория.
+     * @param word Загаданное слово.
+     * @param maxAttempts Максимальное количество попыток.
+     */
+    public void gameStarted(long sessionId, String category, String word, int maxAttempts) {
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("event=start session={} category=\"{}\" word={} maxAttempts={}",
+                    Unbox.box(sessionId), category, word, Unbox.box(maxAttempts));
+        }
+    }
+
+    /**
+     * Записывает событие обработки догадки.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param letter Введенная буква.
+     * @param hit true, если буква есть в слове.
+     * @param remainingAttempts Оставшиеся попытки после догадки.
+     * @param elapsedNanos Время от начала игры до догадки в наносекундах.
+     */
+    public void guessProcessed(long sessionId, char letter, boolean hit, int remainingAttempts, long elapsedNanos) {
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("event=guess session={} letter={} hit={} remaining={} elapsedUs={}",
+                    Unbox.box(sessionId), Unbox.box(letter), Unbox.box(hit), Unbox.box(remainingAttempts),
+                    Unbox.box(elapsedNanos / NANOS_PER_MICRO));
+        }
+    }
+
+    /**
+     * Записывает событие завершения игры.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param word Загаданное слово.
+     * @param won true, если слово угадано.
+     * @param mistakes Количество сделанных ошибок.
+     * @param durationNanos Длительность игры в наносекундах.
+     */
+    public void gameFinished(long sessionId, String word, boolean won, int mistakes, long durationNanos) {
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("event=finish session={} word={} outcome={} mistakes={} durationUs={}",
+                    Unbox.box(sessionId), word, won ? "win" : "loss", Unbox.box(mistakes),
+                    Unbox.box(durationNanos / NANOS_PER_MICRO));
+        }
+    }
+
+    /**
+     * Записывает событие окончания прогрева {@link GameWarmup}. Синтетические игры прогрева пишутся
+     * в журнал из {@link #discarding()} и в журнал аудита не попадают.
+     *
+     * @param games Количество игр прогрева.
+     * @param guesses Количество догадок прогрева.
+     * @param durationNanos Длительность прогрева в наносекундах.
+     */
+    public void warmupFinished(int games, long guesses, long durationNanos) {
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("event=warmup games={} guesses={} durationUs={}",
+                    Unbox.box(games), Unbox.box(guesses), Unbox.box(durationNanos / NANOS_PER_MICRO));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package org.project1;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Запись событий игры в Java Flight Recorder.
+ *
+ * <p>Пока запись JFR не запущена, методы сводятся к чтению одного флага: классы событий даже не
+ * загружаются, поэтому инициализация JFR не замедляет запуск игры. Когда запись запущена, но событие
+ * выключено в настройках, объект события не создается, и ход игры по-прежнему не создает объектов.
+ *
+ * <p>События игр можно выключить в отдельном потоке ({@link #setSuppressed(boolean)}), например
+ * на время синтетических игр прогрева, чтобы они не смешивались в записи с настоящими играми.
+ */
+final class GameEvents {
+    private static final ThreadLocal<Boolean> SUPPRESSED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private GameEvents() {
+    }
+
+    /**
+     * Выключает или снова включает события начала игры, догадки и завершения игры в текущем потоке.
+     * Событие загрузки словаря не выключается.
+     *
+     * @param suppressed true, чтобы не записывать события игр текущего потока.
+     */
+    static void setSuppressed(boolean suppressed) {
+        SUPPRESSED.set(suppressed);
+    }
+
+    /**
+     * Начинает событие обработки догадки.
+     *
+     * @return Событие или null, если оно выключено.
+     */
+    static GuessProcessedEvent beginGuess() {
+        if (!FlightRecorder.isInitialized() || !Types.GUESS_PROCESSED.isEnabled() || SUPPRESSED.get()) {
+            return null;
+        }
+        GuessProcessedEvent event = new GuessProcessedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершает событие обработки догадки, если оно было начато и проходит порог длительности.
+     *
+     * @param event Событие из {@link #beginGuess()} или null.
+     * @param letter Введенная буква.
+     * @param hit true, если буква есть в слове.
+     * @param remainingAttempts Оставшиеся попытки.
+     */
+    static void commitGuess(GuessProcessedEvent event, char letter, boolean hit, int remainingAttempts) {
+        if (event != null && event.shouldCommit()) {
+            event.letter = letter;
+            event.hit = hit;
+            event.remainingAttempts = remainingAttempts;
+            event.commit();
+        }
+    }
+
+    /**
+     * Записывает событие начала игры.
+     *
+     * @param sessionId Идентификатор игровой сессии.
+     * @param category Категория слова.
+     * @param difficulty Уровень сложности от 1 (легкий) до 3 (сложный).
+     */
+    static void gameStarted(long sessionId, String category, int difficulty) {
+        if (!FlightRecorder.isInitialized() || !Types.GAME_STARTED.isEnabled() || SUPPRESSED.get()) {
+            return;
+        }
+        GameStartedEvent event = new GameStartedEvent();
+        event.sessionId = sessionId;
+        event.category = category;
+        event.difficulty = difficulty;
+        event.commit();
+    }
+
+    /**
+     * Начинает событие завершения игры в момент начала игры, чтобы длительность события была временем игры.
+     *
+     * @return Событие или null, если оно выключено.
+     */
+    static GameFinishedEvent beginGame() {
+        if (!FlightRecorder.isInitialized() || !Types.GAME_FINISHED.isEnabled() || SUPPRESSED.get()) {
+            return null;
+        }
+        GameFinishedEvent event = new GameFinishedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершает событие завершения игры, если оно было начато и игра длилась не меньше порога.
+     *
+     * @param event Событие из {@link #beginGame()} или null.
+     * @param sessionId Идентификатор игровой сессии.
+     * @param won true, если слово угадано.
+     * @param mistakes Количество ошибок.
+     */
+    static void commitGameFinished(GameFinishedEvent event, long sessionId, boolean won, int mistakes) {
+        if (event != null && event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.won = won;
+            event.mistakes = mistakes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Начинает событие загрузки словаря.
+     *
+     * @return Событие или null, если оно выключено.
+     */
+    static DictionaryLoadedEvent beginDictionaryLoad() {
+        if (!FlightRecorder.isInitialized() || !Types.DICTIONARY_LOADED.isEnabled()) {
+            return null;
+        }
+        DictionaryLoadedEvent event = new DictionaryLoadedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершает событие загрузки словаря, если оно было начато и проходит порог длительности.
+     *
+     * @param event Событие из {@link #beginDictionaryLoad()} или null.
+     * @param categoryCount Количество категорий.
+     * @param wordCount Количество слов.
+     */
+    static void commitDictionaryLoad(DictionaryLoadedEvent event, int categoryCount, int wordCount) {
+        if (event != null && event.shouldCommit()) {
+            event.categoryCount = categoryCount;
+            event.wordCount = wordCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Типы событий. Вынесены в отдельный класс, чтобы регистрировать их в JFR только после запуска записи.
+     */
+    private static final class Types {
+        private static final EventType GAME_STARTED = EventType.getEventType(GameStartedEvent.class);
+        private static final EventType GUESS_PROCESSED = EventType.getEventType(GuessProcessedEvent.class);
+        private static final EventType GAME_FINISHED = EventType.getEventType(GameFinishedEvent.class);
+        private static final EventType DICTIONARY_LOADED = EventType.getEventType(DictionaryLoadedEvent.class);
+    }
+}
\ No newline at end of file
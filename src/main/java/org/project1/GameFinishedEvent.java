@@ -0,0 +1,29 @@
+package org.project1;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие Java Flight Recorder: игра завершилась. Событие начинается в начале игры, поэтому его
+ * длительность - время игры, и порог длительности отсекает короткие игры.
+ */
+@Name(GameFinishedEvent.NAME)
+@Label("Game Finished")
+@Category("Hangman")
+@Description("Завершение игры")
+final class GameFinishedEvent extends Event {
+    static final String NAME = "org.project1.GameFinished";
+
+    @Label("Session Id")
+    long sessionId;
+
+    @Label("Won")
+    boolean won;
+
+    @Label("Mistakes")
+    int mistakes;
+
+}
\ No newline at end of file
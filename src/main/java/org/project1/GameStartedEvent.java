@@ -0,0 +1,29 @@
+package org.project1;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие Java Flight Recorder: началась новая игра. Мгновенное событие, без длительности:
+ * длительность игры записывает {@link GameFinishedEvent}.
+ */
+@Name(GameStartedEvent.NAME)
+@Label("Game Started")
+@Category("Hangman")
+@Description("Начало новой игры")
+final class GameStartedEvent extends Event {
+    static final String NAME = "org.project1.GameStarted";
+
+    @Label("Session Id")
+    long sessionId;
+
+    @Label("Category")
+    String category;
+
+    @Label("Difficulty")
+    @Description("Уровень сложности: 1 - легкий, 2 - средний, 3 - сложный")
+    int difficulty;
+}
\ No newline at end of file
@@ -1,17 +1,35 @@
 package org.project1;
 
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * Класс, представляющий состояние игры "Виселица".
  * Управляет состоянием угаданных букв, количеством оставшихся попыток и текущим состоянием слова.
+ *
+ * <p>Введенные буквы хранятся в массиве в порядке ввода, а наборы {@link #getGuessedLetters()} и
+ * {@link #getAllGuessedLetters()} - представления над ним. Поэтому ход игры в установившемся режиме
+ * не создает объектов: нет упаковки букв в {@link Character} и узлов хеш-таблицы.
  */
 public class GameState {
+    private static final char HIDDEN_LETTER = '-';
+    private static final char LETTER_SEPARATOR = ' ';
+    private static final String GUESS_SEPARATOR = ", ";
+    private static final int INITIAL_GUESS_CAPACITY = 16;
+
     private String chosenWord;
-    private final Set<Character> guessedLetters;
+    private final Set<Character> guessedLetters = new GuessedLetterSet(true);
     private final HangmanState hangmanState;
-    private final Set<Character> allGuessedLetters;
+    private final Set<Character> allGuessedLetters = new GuessedLetterSet(false);
+    private final TextBuffer wordState = new TextBuffer(0);
+    private final TextBuffer guessedLettersText = new TextBuffer(INITIAL_GUESS_CAPACITY * 3);
+    private char[] guessOrder = new char[INITIAL_GUESS_CAPACITY];
+    private boolean[] guessHits = new boolean[INITIAL_GUESS_CAPACITY];
+    private int guessCount;
+    private int hiddenLetters;
 
     /**
      * Конструктор для создания экземпляра состояния игры.
@@ -19,9 +37,24 @@ public class GameState {
      * @param maxAttempts Максимальное количество попыток для угадывания слова.
      */
     public GameState(int maxAttempts) {
-        this.guessedLetters = new HashSet<>();
         this.hangmanState = new HangmanState(maxAttempts);
-        this.allGuessedLetters = new HashSet<>();
+    }
+
+    /**
+     * Конструктор для создания полной копии состояния игры. Копия не зависит от исходного состояния.
+     * Для частого ветвления состояния дешевле {@link ImmutableGameState}.
+     *
+     * @param other Исходное состояние игры.
+     */
+    public GameState(GameState other) {
+        this.hangmanState = new HangmanState(other.hangmanState);
+        this.chosenWord = other.chosenWord;
+        this.wordState.copyFrom(other.wordState);
+        this.guessedLettersText.copyFrom(other.guessedLettersText);
+        this.guessOrder = other.guessOrder.clone();
+        this.guessHits = other.guessHits.clone();
+        this.guessCount = other.guessCount;
+        this.hiddenLetters = other.hiddenLetters;
     }
 
     /**
@@ -31,12 +64,54 @@ public class GameState {
      */
     public void setChosenWord(String word) {
         this.chosenWord = word.toLowerCase();
+        rebuildWordState();
+    }
+
+    /**
+     * Начинает игру заново с тем же словом: сбрасывает введенные буквы и ошибки.
+     * Буферы состояния переиспользуются, поэтому сброс не создает объектов.
+     */
+    public void reset() {
+        guessCount = 0;
+        guessedLettersText.reset(0);
+        hangmanState.reset();
+        if (chosenWord != null) {
+            rebuildWordState();
+        }
+    }
+
+    private void rebuildWordState() {
+        int length = chosenWord.length();
+        wordState.reset(Math.max(0, length * 2 - 1));
+        hiddenLetters = 0;
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                wordState.append(LETTER_SEPARATOR);
+            }
+            char c = chosenWord.charAt(i);
+            int guess = indexOfGuess(c);
+            if (guess >= 0 && guessHits[guess]) {
+                wordState.append(c);
+            } else {
+                wordState.append(HIDDEN_LETTER);
+                hiddenLetters++;
+            }
+        }
+    }
+
+    /**
+     * Возвращает слово, которое нужно угадать.
+     *
+     * @return Загаданное слово в нижнем регистре.
+     */
+    public String getChosenWord() {
+        return chosenWord;
     }
 
     /**
      * Возвращает набор букв, которые были угаданы.
      *
-     * @return Набор угаданных букв.
+     * @return Неизменяемое представление набора угаданных букв.
      */
     public Set<Character> getGuessedLetters() {
         return guessedLetters;
@@ -45,12 +120,39 @@ public class GameState {
     /**
      * Возвращает набор всех букв, которые были введены пользователем.
      *
-     * @return Набор всех введенных букв.
+     * @return Неизменяемое представление набора всех введенных букв.
      */
     public Set<Character> getAllGuessedLetters() {
         return allGuessedLetters;
     }
 
+    /**
+     * Проверяет, вводилась ли буква ранее. В отличие от {@code getAllGuessedLetters().contains(letter)}
+     * не упаковывает букву в {@link Character}.
+     *
+     * @param letter Буква.
+     * @return true, если буква уже вводилась.
+     */
+    public boolean isLetterGuessed(char letter) {
+        return indexOfGuess(Character.toLowerCase(letter)) >= 0;
+    }
+
+    /**
+     * Ищет букву в истории догадок. Букв в алфавите несколько десятков, поэтому
+     * линейный просмотр массива быстрее хеш-таблицы.
+     *
+     * @param letter Буква в нижнем регистре.
+     * @return Номер догадки или -1, если буква не вводилась.
+     */
+    private int indexOfGuess(char letter) {
+        for (int i = 0; i < guessCount; i++) {
+            if (guessOrder[i] == letter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Обновляет состояние угаданных букв на основе введенной пользователем буквы.
      *
@@ -59,17 +161,96 @@ public class GameState {
      */
     public void updateGuessedLetters(char letter) {
         char normalizedLetter = Character.toLowerCase(letter);
-        if (allGuessedLetters.contains(normalizedLetter)) {
+        if (indexOfGuess(normalizedLetter) >= 0) {
             throw new IllegalArgumentException("Эта буква уже вводилась ранее!");
         }
 
-        if (chosenWord.contains(String.valueOf(normalizedLetter))) {
-            guessedLetters.add(normalizedLetter);
-        } else {
+        GuessProcessedEvent event = GameEvents.beginGuess();
+        boolean hit = revealLetter(normalizedLetter);
+        if (!hit) {
             hangmanState.incrementMistakes();
         }
+        appendGuess(normalizedLetter, hit);
+        GameEvents.commitGuess(event, normalizedLetter, hit, getRemainingAttempts());
+    }
 
-        allGuessedLetters.add(normalizedLetter);
+    /**
+     * Восстанавливает уже проверенную историю догадок, например из {@link ImmutableGameState#toGameState()}:
+     * без проверки повторов и без событий JFR, потому что это не новые догадки игрока. Вызывается
+     * для состояния без догадок.
+     *
+     * @param letters Введенные буквы в нижнем регистре в порядке ввода, без повторов.
+     * @param mistakes Количество ошибок, включая ошибки сверх промахов (например, за истекшее время хода).
+     */
+    void restoreGuesses(char[] letters, int mistakes) {
+        if (guessOrder.length < letters.length) {
+            guessOrder = new char[letters.length];
+            guessHits = new boolean[letters.length];
+        }
+        for (char letter : letters) {
+            appendGuess(letter, revealLetter(letter));
+        }
+        while (hangmanState.getMistakes() < mistakes) {
+            hangmanState.incrementMistakes();
+        }
+    }
+
+    /**
+     * Открывает в буфере состояния слова все позиции, где стоит угаданная буква.
+     *
+     * @param letter Буква в нижнем регистре.
+     * @return true, если буква есть в слове, иначе false.
+     */
+    private boolean revealLetter(char letter) {
+        boolean found = false;
+        for (int i = chosenWord.indexOf(letter); i >= 0; i = chosenWord.indexOf(letter, i + 1)) {
+            wordState.set(i * 2, letter);
+            hiddenLetters--;
+            found = true;
+        }
+        return found;
+    }
+
+    /**
+     * Дописывает букву в историю догадок и в строку введенных букв в порядке ввода.
+     *
+     * @param letter Буква в нижнем регистре.
+     * @param hit true, если буква есть в слове.
+     */
+    private void appendGuess(char letter, boolean hit) {
+        if (guessCount == guessOrder.length) {
+            guessOrder = Arrays.copyOf(guessOrder, guessOrder.length * 2);
+            guessHits = Arrays.copyOf(guessHits, guessHits.length * 2);
+        }
+        guessHits[guessCount] = hit;
+        guessOrder[guessCount++] = letter;
+
+        if (guessCount > 1) {
+            guessedLettersText.append(GUESS_SEPARATOR);
+        }
+        guessedLettersText.append(letter);
+    }
+
+    /**
+     * Возвращает количество сделанных догадок.
+     *
+     * @return Количество введенных букв.
+     */
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    /**
+     * Возвращает букву, введенную при догадке с заданным номером.
+     *
+     * @param index Номер догадки, от 0 до {@link #getGuessCount()}.
+     * @return Введенная буква.
+     */
+    public char getGuessedLetterAt(int index) {
+        if (index < 0 || index >= guessCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return guessOrder[index];
     }
 
     /**
@@ -78,12 +259,7 @@ public class GameState {
      * @return true, если слово угадано, иначе false.
      */
     public boolean isWordGuessed() {
-        for (char c : chosenWord.toCharArray()) {
-            if (!guessedLetters.contains(c)) {
-                return false;
-            }
-        }
-        return true;
+        return hiddenLetters == 0;
     }
 
     /**
@@ -92,16 +268,27 @@ public class GameState {
      * @return Строка, представляющая текущее состояние слова.
      */
     public String getCurrentWordState() {
-        StringBuilder currentState = new StringBuilder();
-        for (char c : chosenWord.toCharArray()) {
-            if (guessedLetters.contains(c)) {
-                currentState.append(c);
-            } else {
-                currentState.append('-');
-            }
-            currentState.append(' ');
-        }
-        return currentState.toString().trim();
+        return wordState.toString();
+    }
+
+    /**
+     * Возвращает представление текущего состояния слова без копирования.
+     * Представление изменяется вместе с состоянием игры.
+     *
+     * @return Последовательность символов, представляющая текущее состояние слова.
+     */
+    public CharSequence getCurrentWordStateView() {
+        return wordState;
+    }
+
+    /**
+     * Возвращает представление введенных букв в порядке ввода, разделенных запятыми, без копирования.
+     * Представление изменяется вместе с состоянием игры.
+     *
+     * @return Последовательность символов с введенными буквами.
+     */
+    public CharSequence getGuessedLettersView() {
+        return guessedLettersText;
     }
 
     /**
@@ -121,4 +308,134 @@ public class GameState {
     public HangmanState getHangmanState() {
         return hangmanState;
     }
+
+    /**
+     * Представление введенных букв в виде набора: всех или только угаданных.
+     */
+    private final class GuessedLetterSet extends AbstractSet<Character> {
+        private final boolean hitsOnly;
+
+        private GuessedLetterSet(boolean hitsOnly) {
+            this.hitsOnly = hitsOnly;
+        }
+
+        private boolean includes(int guess) {
+            return !hitsOnly || guessHits[guess];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Character letter)) {
+                return false;
+            }
+            int guess = indexOfGuess(letter);
+            return guess >= 0 && includes(guess);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (int i = 0; i < guessCount; i++) {
+                if (includes(i)) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public Iterator<Character> iterator() {
+            return new Iterator<>() {
+                private int next = advance(0);
+
+                private int advance(int from) {
+                    int i = from;
+                    while (i < guessCount && !includes(i)) {
+                        i++;
+                    }
+                    return i;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < guessCount;
+                }
+
+                @Override
+                public Character next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    char letter = guessOrder[next];
+                    next = advance(next + 1);
+                    return letter;
+                }
+            };
+        }
+    }
+
+    /**
+     * Изменяемый буфер символов, который одновременно служит представлением для чтения.
+     * Расширяется только при нехватке места, поэтому в установившемся режиме не создает объектов.
+     */
+    private static final class TextBuffer implements CharSequence {
+        private char[] chars;
+        private int length;
+
+        private TextBuffer(int capacity) {
+            this.chars = new char[capacity];
+        }
+
+        private void reset(int capacity) {
+            if (chars.length < capacity) {
+                chars = new char[capacity];
+            }
+            length = 0;
+        }
+
+        private void append(char c) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(INITIAL_GUESS_CAPACITY, chars.length * 2));
+            }
+            chars[length++] = c;
+        }
+
+        private void append(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                append(value.charAt(i));
+            }
+        }
+
+        private void set(int index, char c) {
+            chars[index] = c;
+        }
+
+        private void copyFrom(TextBuffer other) {
+            chars = Arrays.copyOf(other.chars, other.chars.length);
+            length = other.length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package org.project1;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодировщики состояния игры для удаленных клиентов. Пишут {@link GameState} и {@link HangmanState}
+ * прямо в переданный {@link ByteBuffer} в виде JSON в кодировке UTF-8 или в компактном двоичном виде.
+ * Промежуточных строк и других объектов не создается: буфер можно переиспользовать от хода к ходу.
+ *
+ * <p>JSON:
+ * <pre>
+ * {"status":"PLAYING","word":"---о-о","remaining":5,"stage":1,"maxAttempts":6,"guessed":"ож"}
+ * </pre>
+ * В {@code word} скрытые буквы заменены на {@code -}, {@code stage} - номер этапа виселицы,
+ * он же количество ошибок, {@code guessed} - введенные буквы в порядке ввода.
+ *
+ * <p>Двоичный формат (числа без знака, символы - UTF-16 в порядке байт буфера):
+ * <pre>
+ * byte  состояние: 0 - игра идет, 1 - слово угадано, 2 - игра проиграна
+ * byte  максимальное количество попыток
+ * byte  номер этапа виселицы (количество ошибок)
+ * byte  длина слова N
+ * byte  количество догадок M
+ * char[N]  маска слова, 0 - скрытая буква
+ * char[M]  введенные буквы в порядке ввода
+ * </pre>
+ */
+public final class GameStateEncoder {
+    /**
+     * Игра идет.
+     */
+    public static final byte STATUS_PLAYING = 0;
+
+    /**
+     * Слово угадано.
+     */
+    public static final byte STATUS_WON = 1;
+
+    /**
+     * Игра проиграна.
+     */
+    public static final byte STATUS_LOST = 2;
+
+    /**
+     * Размер заголовка двоичного формата в байтах.
+     */
+    public static final int BINARY_HEADER_SIZE = 5;
+
+    private static final int MAX_BINARY_FIELD = 0xFF;
+    private static final char HIDDEN_LETTER = '-';
+    private static final char REPLACEMENT_CHARACTER = '?';
+
+    private static final byte[] STATUS_PREFIX = ascii("{\"status\":\"");
+    private static final byte[] WORD_PREFIX = ascii("\",\"word\":\"");
+    private static final byte[] REMAINING_PREFIX = ascii("\",\"remaining\":");
+    private static final byte[] STAGE_PREFIX = ascii(",\"stage\":");
+    private static final byte[] MAX_ATTEMPTS_PREFIX = ascii(",\"maxAttempts\":");
+    private static final byte[] GUESSED_PREFIX = ascii(",\"guessed\":\"");
+    private static final byte[] SUFFIX = ascii("\"}");
+    private static final byte[][] STATUS_NAMES = {ascii("PLAYING"), ascii("WON"), ascii("LOST")};
+    private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+
+    private GameStateEncoder() {
+    }
+
+    /**
+     * Возвращает код состояния игры.
+     *
+     * @param gameState Состояние игры.
+     * @return {@link #STATUS_PLAYING}, {@link #STATUS_WON} или {@link #STATUS_LOST}.
+     */
+    public static byte status(GameState gameState) {
+        if (gameState.isWordGuessed()) {
+            return STATUS_WON;
+        }
+        return gameState.getHangmanState().isGameOver() ? STATUS_LOST : STATUS_PLAYING;
+    }
+
+    /**
+     * Записывает состояние игры в буфер в виде JSON в кодировке UTF-8.
+     *
+     * @param gameState Состояние игры.
+     * @param buffer Буфер, в который пишется JSON начиная с текущей позиции.
+     * @return Количество записанных байт.
+     * @throws BufferOverflowException Если в буфере не хватило места; позиция буфера при этом не меняется.
+     */
+    public static int writeJson(GameState gameState, ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            HangmanState hangmanState = gameState.getHangmanState();
+            buffer.put(STATUS_PREFIX).put(STATUS_NAMES[status(gameState)]).put(WORD_PREFIX);
+            CharSequence wordState = gameState.getCurrentWordStateView();
+            for (int i = 0; i < wordState.length(); i += 2) {
+                putJsonChar(buffer, wordState.charAt(i));
+            }
+            buffer.put(REMAINING_PREFIX);
+            putDecimal(buffer, gameState.getRemainingAttempts());
+            buffer.put(STAGE_PREFIX);
+            putDecimal(buffer, hangmanState.getMistakes());
+            buffer.put(MAX_ATTEMPTS_PREFIX);
+            putDecimal(buffer, hangmanState.getMaxAttempts());
+            buffer.put(GUESSED_PREFIX);
+            for (int i = 0; i < gameState.getGuessCount(); i++) {
+                putJsonChar(buffer, gameState.getGuessedLetterAt(i));
+            }
+            buffer.put(SUFFIX);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Возвращает размер состояния игры в двоичном формате.
+     *
+     * @param gameState Состояние игры.
+     * @return Количество байт.
+     */
+    public static int binarySize(GameState gameState) {
+        return BINARY_HEADER_SIZE + (gameState.getChosenWord().length() + gameState.getGuessCount()) * Character.BYTES;
+    }
+
+    /**
+     * Записывает состояние игры в буфер в двоичном формате.
+     *
+     * @param gameState Состояние игры.
+     * @param buffer Буфер, в который пишется состояние начиная с текущей позиции.
+     * @return Количество записанных байт.
+     * @throws BufferOverflowException Если в буфере не хватило места; позиция буфера при этом не меняется.
+     * @throws IllegalArgumentException Если слово, количество попыток или догадок не помещается в байт.
+     */
+    public static int writeBinary(GameState gameState, ByteBuffer buffer) {
+        HangmanState hangmanState = gameState.getHangmanState();
+        CharSequence wordState = gameState.getCurrentWordStateView();
+        int wordLength = gameState.getChosenWord().length();
+        int guessCount = gameState.getGuessCount();
+        if (wordLength > MAX_BINARY_FIELD || guessCount > MAX_BINARY_FIELD
+                || hangmanState.getMaxAttempts() > MAX_BINARY_FIELD) {
+            throw new IllegalArgumentException("Состояние игры не помещается в двоичный формат");
+        }
+        int size = binarySize(gameState);
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        buffer.put(status(gameState))
+                .put((byte) hangmanState.getMaxAttempts())
+                .put((byte) hangmanState.getMistakes())
+                .put((byte) wordLength)
+                .put((byte) guessCount);
+        for (int i = 0; i < wordState.length(); i += 2) {
+            char c = wordState.charAt(i);
+            buffer.putChar(c == HIDDEN_LETTER ? '\0' : c);
+        }
+        for (int i = 0; i < guessCount; i++) {
+            buffer.putChar(gameState.getGuessedLetterAt(i));
+        }
+        return size;
+    }
+
+    /**
+     * Пишет символ внутри строки JSON: экранирует кавычку, обратную косую черту и управляющие символы
+     * и кодирует остальное в UTF-8. Одиночные суррогаты заменяются на {@code ?}: в слова и догадки
+     * попадают только буквы базовой плоскости.
+     */
+    private static void putJsonChar(ByteBuffer buffer, char c) {
+        if (c == '"' || c == '\\') {
+            buffer.put((byte) '\\').put((byte) c);
+        } else if (c < 0x20) {
+            buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                    .put(HEX_DIGITS[c >> 4]).put(HEX_DIGITS[c & 0xF]);
+        } else if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) REPLACEMENT_CHARACTER);
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    /**
+     * Пишет неотрицательное число десятичными цифрами.
+     */
+    private static void putDecimal(ByteBuffer buffer, int value) {
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package org.project1;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Прогрев JIT-компилятора перед приемом настоящих игроков: синтетические игры проходят через настоящие
+ * {@link Game}, {@link GameState}, {@link HangmanState} и {@link WordDictionary}, чтобы горячие методы
+ * успели скомпилироваться и первые настоящие сессии не работали в интерпретаторе.
+ *
+ * <p>Ввод дает сценарий: случайная категория, уровни сложности по кругу и буквы алфавита по порядку
+ * со сдвигом от игры к игре. Игры идут в пакетном режиме ({@link Game#setBatchMode(boolean)}) и ничего
+ * не выводят. Журнал аудита прогревается вместе с асинхронной очередью, но записи уходят в отбрасывающий
+ * логгер ({@link GameAuditLog#discarding()}) и не расходуют идентификаторы сессий настоящих игр; события
+ * JFR игр прогрева не записываются. В настоящий журнал аудита пишется только запись об окончании прогрева.
+ *
+ * <p>Заодно прогревается путь сервера: буквы декодируются из UTF-8 так же, как их читает
+ * {@link LineProtocolServer}, а состояние после каждого хода кодируется в JSON {@link GameStateEncoder}
+ * в прямой буфер. Словарь только читается.
+ */
+public final class GameWarmup {
+    private static final String ALPHABET = "абвгдеёжзийклмнопрстуфхцчшщъыьэюяabcdefghijklmnopqrstuvwxyz";
+    private static final String[] LETTER_INPUTS = new String[ALPHABET.length()];
+    private static final int[] LETTER_OFFSETS = new int[ALPHABET.length() + 1];
+    private static final ByteBuffer LETTER_BYTES;
+    private static final String[] DIFFICULTY_INPUTS = {"1", "2", "3"};
+    private static final String RANDOM_CATEGORY_INPUT = "";
+    private static final String PLAY_AGAIN_INPUT = "1";
+    private static final String STOP_INPUT = "2";
+
+    static {
+        byte[] encoded = ALPHABET.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < LETTER_INPUTS.length; i++) {
+            LETTER_INPUTS[i] = String.valueOf(ALPHABET.charAt(i));
+            LETTER_OFFSETS[i + 1] = LETTER_OFFSETS[i] + LETTER_INPUTS[i].getBytes(StandardCharsets.UTF_8).length;
+        }
+        LETTER_BYTES = ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+    }
+
+    private GameWarmup() {
+    }
+
+    /**
+     * Итоги прогрева.
+     *
+     * @param games Количество сыгранных игр.
+     * @param guesses Количество сделанных догадок.
+     * @param elapsedNanos Длительность прогрева в наносекундах.
+     * @param compilationMillis Время работы JIT-компилятора за прогрев в миллисекундах
+     *                          или -1, если JVM его не сообщает.
+     */
+    public record Report(int games, long guesses, long elapsedNanos, long compilationMillis) {
+    }
+
+    /**
+     * Играет заданное количество синтетических игр.
+     *
+     * @param wordDictionary Словарь, из которого выбираются слова.
+     * @param games Количество игр.
+     * @return Итоги прогрева.
+     * @throws IllegalArgumentException Если количество игр не положительно.
+     */
+    public static Report run(WordDictionary wordDictionary, int games) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Количество игр прогрева должно быть положительным: " + games);
+        }
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        boolean compilationTimeSupported = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        long compilationBefore = compilationTimeSupported ? compilation.getTotalCompilationTime() : 0;
+        long start = System.nanoTime();
+
+        ScriptedUserInterface userInterface = new ScriptedUserInterface(games);
+        Game game = new Game(wordDictionary, userInterface);
+        game.setBatchMode(true);
+        game.setAuditLog(GameAuditLog.discarding());
+        GameEvents.setSuppressed(true);
+        try {
+            game.startGame();
+        } finally {
+            GameEvents.setSuppressed(false);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        new GameAuditLog().warmupFinished(games, userInterface.guesses, elapsed);
+        long compilationMillis = compilationTimeSupported
+                ? compilation.getTotalCompilationTime() - compilationBefore
+                : -1;
+        return new Report(games, userInterface.guesses, elapsed, compilationMillis);
+    }
+
+    /**
+     * Сценарий ввода: отвечает на запросы игры по этапам и узнает об окончании игры
+     * из результата хода.
+     */
+    private static final class ScriptedUserInterface implements UserInterface {
+        private static final int CATEGORY = 0;
+        private static final int DIFFICULTY = 1;
+        private static final int LETTERS = 2;
+        private static final int PLAY_AGAIN = 3;
+
+        private final int games;
+        private final ByteBuffer response = ByteBuffer.allocateDirect(LineProtocolServer.RESPONSE_BUFFER_SIZE);
+        private int game;
+        private int phase = CATEGORY;
+        private int letterIndex;
+        private long guesses;
+
+        private ScriptedUserInterface(int games) {
+            this.games = games;
+        }
+
+        @Override
+        public String getUserInput() {
+            switch (phase) {
+                case CATEGORY -> {
+                    phase = DIFFICULTY;
+                    return RANDOM_CATEGORY_INPUT;
+                }
+                case DIFFICULTY -> {
+                    phase = LETTERS;
+                    letterIndex = 0;
+                    return DIFFICULTY_INPUTS[game % DIFFICULTY_INPUTS.length];
+                }
+                case LETTERS -> {
+                    if (letterIndex == LETTER_INPUTS.length) {
+                        throw new IllegalStateException("Буквы сценария прогрева закончились");
+                    }
+                    int letter = (game + letterIndex++) % LETTER_INPUTS.length;
+                    char decoded = LineProtocolServer.decodeLetter(LETTER_BYTES, LETTER_OFFSETS[letter],
+                            LETTER_OFFSETS[letter + 1]);
+                    if (decoded != ALPHABET.charAt(letter)) {
+                        throw new IllegalStateException("Буква сценария прогрева декодирована неверно: " + decoded);
+                    }
+                    return LETTER_INPUTS[letter];
+                }
+                default -> {
+                    phase = CATEGORY;
+                    return ++game < games ? PLAY_AGAIN_INPUT : STOP_INPUT;
+                }
+            }
+        }
+
+        @Override
+        public void displayTurnResult(char letter, GameState gameState) {
+            guesses++;
+            response.clear();
+            GameStateEncoder.writeJson(gameState, response);
+            if (gameState.isWordGuessed() || gameState.getHangmanState().isGameOver()) {
+                phase = PLAY_AGAIN;
+            }
+        }
+
+        @Override
+        public void displayMessage(String message) {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.project1;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие Java Flight Recorder: обработана догадка. Длительность события - время обновления
+ * состояния игры.
+ */
+@Name(GuessProcessedEvent.NAME)
+@Label("Guess Processed")
+@Category("Hangman")
+@Description("Обработка введенной буквы")
+final class GuessProcessedEvent extends Event {
+    static final String NAME = "org.project1.GuessProcessed";
+
+    @Label("Letter")
+    char letter;
+
+    @Label("Hit")
+    @Description("Буква есть в слове")
+    boolean hit;
+
+    @Label("Remaining Attempts")
+    int remainingAttempts;
+}
\ No newline at end of file
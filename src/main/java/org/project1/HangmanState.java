@@ -99,6 +99,42 @@ public class HangmanState {
              |
             ‾‾‾""";
 
+    private static final String[] EASY_HANGMAN_STAGES = {
+            EMPTY_HANGMAN_STAGE,
+            FIRST_HANGMAN_STAGE,
+            SECOND_HANGMAN_STAGE,
+            THIRTEEN_HANGMAN_STAGE,
+            FOURTEEN_HANGMAN_STAGE,
+            FIFTEEN_HANGMAN_STAGE,
+            SIXTH_HANGMAN_STAGE,
+            SEVENTH_HANGMAN_STAGE,
+            EIGHTH_HANGMAN_STAGE,
+            NINTH_HANGMAN_STAGE,
+            TENTH_HANGMAN_STAGE
+    };
+
+    private static final String[] MEDIUM_HANGMAN_STAGES = {
+            EMPTY_HANGMAN_STAGE,
+            FIRST_HANGMAN_STAGE,
+            SECOND_HANGMAN_STAGE,
+            THIRTEEN_HANGMAN_STAGE,
+            FOURTEEN_HANGMAN_STAGE,
+            FIFTEEN_HANGMAN_STAGE,
+            SIXTH_HANGMAN_STAGE,
+            EIGHTH_HANGMAN_STAGE,
+            TENTH_HANGMAN_STAGE
+    };
+
+    private static final String[] HARD_HANGMAN_STAGES = {
+            EMPTY_HANGMAN_STAGE,
+            THIRTEEN_HANGMAN_STAGE,
+            FOURTEEN_HANGMAN_STAGE,
+            FIFTEEN_HANGMAN_STAGE,
+            SIXTH_HANGMAN_STAGE,
+            EIGHTH_HANGMAN_STAGE,
+            TENTH_HANGMAN_STAGE
+    };
+
     /**
      * Конструктор для создания экземпляра состояния виселицы.
      *
@@ -109,6 +145,16 @@ public class HangmanState {
         this.maxAttempts = maxAttempts;
     }
 
+    /**
+     * Конструктор для создания копии состояния виселицы.
+     *
+     * @param other Исходное состояние виселицы.
+     */
+    public HangmanState(HangmanState other) {
+        this.mistakes = other.mistakes;
+        this.maxAttempts = other.maxAttempts;
+    }
+
     /**
      * Возвращает количество сделанных ошибок.
      *
@@ -136,6 +182,13 @@ public class HangmanState {
         }
     }
 
+    /**
+     * Сбрасывает количество ошибок для новой игры.
+     */
+    public void reset() {
+        mistakes = 0;
+    }
+
     /**
      * Проверяет, завершена ли игра (количество ошибок достигло максимума).
      *
@@ -149,75 +202,29 @@ public class HangmanState {
      * Отображает текущее состояние виселицы в зависимости от количества ошибок.
      */
     public void drawHangman() {
+        LOGGER.info("Виселица: {}", getCurrentStage());
+    }
+
+    /**
+     * Возвращает изображение виселицы для текущего количества ошибок.
+     * Этапы для каждого уровня сложности - общие неизменяемые массивы, поэтому вызов не создает объектов.
+     *
+     * @return Строка с изображением виселицы.
+     * @throws IllegalArgumentException Если уровень сложности не поддерживается.
+     */
+    public String getCurrentStage() {
         String[] hangmanStages;
 
         if (maxAttempts == EASY_LVL_MISTAKES) {
-            hangmanStages = getEasyHangmanStages();
+            hangmanStages = EASY_HANGMAN_STAGES;
         } else if (maxAttempts == MEDIUM_LVL_MISTAKES) {
-            hangmanStages = getMediumHangmanStages();
+            hangmanStages = MEDIUM_HANGMAN_STAGES;
         } else if (maxAttempts == HARD_LVL_MISTAKES) {
-            hangmanStages = getHardHangmanStages();
+            hangmanStages = HARD_HANGMAN_STAGES;
         } else {
             throw new IllegalArgumentException("Unsupported difficulty level");
         }
 
-        LOGGER.info("Виселица: {}", hangmanStages[mistakes]);
-    }
-
-    /**
-     * Возвращает массив строк, представляющих этапы виселицы для легкого уровня сложности.
-     *
-     * @return Массив строк с этапами виселицы.
-     */
-    private String[] getEasyHangmanStages() {
-        return new String[] {
-                EMPTY_HANGMAN_STAGE,
-                FIRST_HANGMAN_STAGE,
-                SECOND_HANGMAN_STAGE,
-                THIRTEEN_HANGMAN_STAGE,
-                FOURTEEN_HANGMAN_STAGE,
-                FIFTEEN_HANGMAN_STAGE,
-                SIXTH_HANGMAN_STAGE,
-                SEVENTH_HANGMAN_STAGE,
-                EIGHTH_HANGMAN_STAGE,
-                NINTH_HANGMAN_STAGE,
-                TENTH_HANGMAN_STAGE
-        };
-    }
-
-    /**
-     * Возвращает массив строк, представляющих этапы виселицы для среднего уровня сложности.
-     *
-     * @return Массив строк с этапами виселицы.
-     */
-    private String[] getMediumHangmanStages() {
-        return new String[] {
-                EMPTY_HANGMAN_STAGE,
-                FIRST_HANGMAN_STAGE,
-                SECOND_HANGMAN_STAGE,
-                THIRTEEN_HANGMAN_STAGE,
-                FOURTEEN_HANGMAN_STAGE,
-                FIFTEEN_HANGMAN_STAGE,
-                SIXTH_HANGMAN_STAGE,
-                EIGHTH_HANGMAN_STAGE,
-                TENTH_HANGMAN_STAGE
-        };
-    }
-
-    /**
-     * Возвращает массив строк, представляющих этапы виселицы для сложного уровня сложности.
-     *
-     * @return Массив строк с этапами виселицы.
-     */
-    private String[] getHardHangmanStages() {
-        return new String[] {
-                EMPTY_HANGMAN_STAGE,
-                THIRTEEN_HANGMAN_STAGE,
-                FOURTEEN_HANGMAN_STAGE,
-                FIFTEEN_HANGMAN_STAGE,
-                SIXTH_HANGMAN_STAGE,
-                EIGHTH_HANGMAN_STAGE,
-                TENTH_HANGMAN_STAGE
-        };
+        return hangmanStages[mistakes];
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package org.project1;
+
+/**
+ * 64-битное хеширование ключей для вероятностных структур {@link CountMinSketch} и {@link HyperLogLog}
+ * и для точек кольца {@link ConsistentHashRing}. Стандартный {@link String#hashCode()} для них не подходит:
+ * 32 бит мало для оценки сотен миллионов различных значений, а младшие биты плохо перемешаны.
+ */
+final class Hashing {
+    private Hashing() {
+    }
+
+    /**
+     * Вычисляет 64-битный хеш последовательности символов (FNV-1a по символам с финальным перемешиванием).
+     *
+     * @param value Последовательность символов.
+     * @return Хеш.
+     */
+    static long hash(CharSequence value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Перемешивает биты числа (финализатор SplitMix64).
+     *
+     * @param value Исходное значение.
+     * @return Перемешанное значение.
+     */
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
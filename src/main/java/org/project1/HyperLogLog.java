@@ -0,0 +1,142 @@
+package org.project1;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * HyperLogLog - оценка количества различных значений в потоке в памяти фиксированного размера.
+ *
+ * <p>Стандартная относительная погрешность - {@code 1.04 / √m}, где {@code m = 2^точность} регистров:
+ * при точности 14 это около 0,8% при 64 КБ памяти независимо от размера потока.
+ * Регистры обновляются через CAS в {@link AtomicIntegerArray} без блокировок.
+ * Объединение ({@link #merge(HyperLogLog)}) - поэлементный максимум регистров, поэтому оценки
+ * с разных потоков и узлов складываются без потери точности.
+ */
+public class HyperLogLog {
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final AtomicIntegerArray registers;
+
+    /**
+     * Конструктор для создания пустой оценки.
+     *
+     * @param precision Количество бит хеша, выбирающих регистр (от 4 до 18).
+     * @throws IllegalArgumentException Если точность вне допустимого диапазона.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Точность должна быть от " + MIN_PRECISION + " до " + MAX_PRECISION);
+        }
+        this.precision = precision;
+        this.registers = new AtomicIntegerArray(1 << precision);
+    }
+
+    /**
+     * Учитывает значение.
+     *
+     * @param value Значение, например идентификатор игрока.
+     */
+    public void add(CharSequence value) {
+        add(Hashing.hash(value));
+    }
+
+    /**
+     * Учитывает значение, заданное хешем.
+     *
+     * @param valueHash 64-битный хеш значения.
+     */
+    public void add(long valueHash) {
+        int index = (int) (valueHash >>> (Long.SIZE - precision));
+        int rank = Long.numberOfLeadingZeros((valueHash << precision) | (1L << (precision - 1))) + 1;
+        int current = registers.get(index);
+        while (rank > current && !registers.compareAndSet(index, current, rank)) {
+            current = registers.get(index);
+        }
+    }
+
+    /**
+     * Оценивает количество различных значений.
+     *
+     * @return Оценка количества.
+     */
+    public long estimate() {
+        int m = registers.length();
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < m; i++) {
+            int register = registers.get(i);
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Объединяет с другой оценкой той же точности.
+     *
+     * @param other Другая оценка.
+     * @throws IllegalArgumentException Если точность различается.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Нельзя объединить оценки разной точности");
+        }
+        for (int i = 0; i < registers.length(); i++) {
+            int rank = other.registers.get(i);
+            int current = registers.get(i);
+            while (rank > current && !registers.compareAndSet(i, current, rank)) {
+                current = registers.get(i);
+            }
+        }
+    }
+
+    /**
+     * Возвращает объем памяти под регистры. Не зависит от количества значений в потоке.
+     *
+     * @return Размер регистров в байтах.
+     */
+    public long getMemoryBytes() {
+        return (long) registers.length() * Integer.BYTES;
+    }
+
+    /**
+     * Сериализует оценку для передачи на другой узел (по байту на регистр).
+     *
+     * @return Байтовое представление оценки.
+     */
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + registers.length());
+        buffer.put((byte) precision);
+        for (int i = 0; i < registers.length(); i++) {
+            buffer.put((byte) registers.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Восстанавливает оценку, сериализованную {@link #toByteArray()}.
+     *
+     * @param bytes Байтовое представление оценки.
+     * @return Оценка.
+     * @throws IllegalArgumentException Если данные имеют неверный формат.
+     */
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        HyperLogLog hyperLogLog = new HyperLogLog(bytes[0]);
+        if (bytes.length != 1 + hyperLogLog.registers.length()) {
+            throw new IllegalArgumentException("Неверный размер сериализованной оценки");
+        }
+        for (int i = 0; i < hyperLogLog.registers.length(); i++) {
+            hyperLogLog.registers.set(i, bytes[i + 1]);
+        }
+        return hyperLogLog;
+    }
+}
\ No newline at end of file
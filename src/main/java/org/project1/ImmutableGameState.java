@@ -0,0 +1,317 @@
+package org.project1;
+
+/**
+ * Неизменяемое состояние игры "Виселица" со структурным разделением, предназначенное для дешевого
+ * ветвления: например, для перебора ходов подсказчиком или для хранения истории партии.
+ *
+ * <p>Каждое состояние - узел односвязного списка догадок. Узел хранит ссылку на предыдущее состояние,
+ * последнюю введенную букву и несколько упакованных примитивов: маску введенных букв алфавита,
+ * количество ошибок, количество скрытых букв и количество догадок. Слово и предвычисленные для него
+ * маски букв общие для всех состояний одной партии. Поэтому {@link #withGuess(char)} выполняется за O(1)
+ * и создает один объект в несколько десятков байт, а исходное состояние остается доступным без изменений.
+ *
+ * <p>Буквы русского и латинского алфавитов (59 букв) хранятся битами в одном {@code long}.
+ * Прочие буквы ищутся по цепочке предыдущих состояний, поэтому для них проверка линейна
+ * по количеству догадок. Для совместимости с остальным кодом есть преобразования
+ * {@link #from(GameState)} и {@link #toGameState()}.
+ */
+public final class ImmutableGameState {
+    private static final char HIDDEN_LETTER = '-';
+    private static final char LETTER_SEPARATOR = ' ';
+    private static final int CYRILLIC_LETTERS = 'я' - 'а' + 1;
+    private static final int YO_INDEX = CYRILLIC_LETTERS;
+    private static final int LATIN_OFFSET = YO_INDEX + 1;
+    private static final int ALPHABET_SIZE = LATIN_OFFSET + ('z' - 'a' + 1);
+
+    private final Word word;
+    private final ImmutableGameState previous;
+    private final char letter;
+    private final long guessedMask;
+    private final int mistakes;
+    private final int hiddenLetters;
+    private final int guessCount;
+
+    private ImmutableGameState(Word word, ImmutableGameState previous, char letter, long guessedMask,
+                               int mistakes, int hiddenLetters, int guessCount) {
+        this.word = word;
+        this.previous = previous;
+        this.letter = letter;
+        this.guessedMask = guessedMask;
+        this.mistakes = mistakes;
+        this.hiddenLetters = hiddenLetters;
+        this.guessCount = guessCount;
+    }
+
+    /**
+     * Создает начальное состояние партии: ни одной догадки и ни одной ошибки.
+     *
+     * @param word Слово для угадывания.
+     * @param maxAttempts Максимальное количество попыток для угадывания слова.
+     * @return Начальное состояние игры.
+     * @throws IllegalArgumentException Если слово пустое или количество попыток не положительно.
+     */
+    public static ImmutableGameState of(String word, int maxAttempts) {
+        if (word == null || word.isEmpty()) {
+            throw new IllegalArgumentException("Слово для угадывания не задано");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Количество попыток должно быть положительным");
+        }
+        String chosenWord = word.toLowerCase();
+        return new ImmutableGameState(new Word(chosenWord, maxAttempts), null, '\0', 0L,
+                0, chosenWord.length(), 0);
+    }
+
+    /**
+     * Создает неизменяемую копию изменяемого состояния игры. Ошибки сверх промахов
+     * (например, за истекшее время хода) сохраняются.
+     *
+     * @param gameState Изменяемое состояние игры.
+     * @return Неизменяемое состояние с теми же словом, догадками и ошибками.
+     * @throws IllegalArgumentException Если слово в состоянии не задано.
+     */
+    public static ImmutableGameState from(GameState gameState) {
+        if (gameState.getChosenWord() == null) {
+            throw new IllegalArgumentException("Слово для угадывания не задано");
+        }
+        HangmanState hangmanState = gameState.getHangmanState();
+        ImmutableGameState state = of(gameState.getChosenWord(), hangmanState.getMaxAttempts());
+        for (int i = 0; i < gameState.getGuessCount(); i++) {
+            state = state.withGuess(gameState.getGuessedLetterAt(i));
+        }
+        if (state.mistakes < hangmanState.getMistakes()) {
+            state = new ImmutableGameState(state.word, state.previous, state.letter, state.guessedMask,
+                    hangmanState.getMistakes(), state.hiddenLetters, state.guessCount);
+        }
+        return state;
+    }
+
+    /**
+     * Создает изменяемое состояние игры с теми же словом, догадками и ошибками. Догадки собираются
+     * одним проходом по цепочке состояний от последнего к первому, поэтому преобразование линейно
+     * по количеству догадок. Это восстановление истории, а не новые ходы: события JFR о догадках
+     * не записываются.
+     *
+     * @return Новое изменяемое состояние игры.
+     */
+    public GameState toGameState() {
+        char[] letters = new char[guessCount];
+        ImmutableGameState state = this;
+        for (int i = guessCount - 1; i >= 0; i--) {
+            letters[i] = state.letter;
+            state = state.previous;
+        }
+        GameState gameState = new GameState(word.maxAttempts);
+        gameState.setChosenWord(word.text);
+        gameState.restoreGuesses(letters, mistakes);
+        return gameState;
+    }
+
+    /**
+     * Возвращает состояние после догадки. Текущее состояние не изменяется и остается общей частью
+     * нового состояния.
+     *
+     * @param guess Буква, введенная пользователем.
+     * @return Новое состояние игры.
+     * @throws IllegalArgumentException Если буква уже была введена ранее.
+     */
+    public ImmutableGameState withGuess(char guess) {
+        char normalizedLetter = Character.toLowerCase(guess);
+        if (isLetterGuessed(normalizedLetter)) {
+            throw new IllegalArgumentException("Эта буква уже вводилась ранее!");
+        }
+
+        int index = alphabetIndex(normalizedLetter);
+        int occurrences = index >= 0 ? word.occurrences[index] : word.countOf(normalizedLetter);
+        long mask = index >= 0 ? guessedMask | 1L << index : guessedMask;
+        int newMistakes = occurrences == 0 && mistakes < word.maxAttempts ? mistakes + 1 : mistakes;
+        return new ImmutableGameState(word, this, normalizedLetter, mask,
+                newMistakes, hiddenLetters - occurrences, guessCount + 1);
+    }
+
+    /**
+     * Проверяет, вводилась ли буква ранее.
+     *
+     * @param guess Буква.
+     * @return true, если буква уже вводилась.
+     */
+    public boolean isLetterGuessed(char guess) {
+        char normalizedLetter = Character.toLowerCase(guess);
+        int index = alphabetIndex(normalizedLetter);
+        if (index >= 0) {
+            return (guessedMask & 1L << index) != 0;
+        }
+        for (ImmutableGameState state = this; state.previous != null; state = state.previous) {
+            if (state.letter == normalizedLetter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает предыдущее состояние партии.
+     *
+     * @return Состояние до последней догадки или null для начального состояния.
+     */
+    public ImmutableGameState getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Возвращает последнюю введенную букву.
+     *
+     * @return Буква или {@code '\0'} для начального состояния.
+     */
+    public char getLastGuess() {
+        return letter;
+    }
+
+    /**
+     * Возвращает букву, введенную при догадке с заданным номером.
+     * Работает за время, линейное по количеству последующих догадок.
+     *
+     * @param index Номер догадки, от 0 до {@link #getGuessCount()}.
+     * @return Введенная буква.
+     */
+    public char getGuessedLetterAt(int index) {
+        if (index < 0 || index >= guessCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        ImmutableGameState state = this;
+        for (int i = guessCount - 1; i > index; i--) {
+            state = state.previous;
+        }
+        return state.letter;
+    }
+
+    /**
+     * Возвращает количество сделанных догадок.
+     *
+     * @return Количество введенных букв.
+     */
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    /**
+     * Возвращает слово, которое нужно угадать.
+     *
+     * @return Загаданное слово в нижнем регистре.
+     */
+    public String getChosenWord() {
+        return word.text;
+    }
+
+    /**
+     * Возвращает количество сделанных ошибок.
+     *
+     * @return Количество ошибок.
+     */
+    public int getMistakes() {
+        return mistakes;
+    }
+
+    /**
+     * Возвращает максимальное количество попыток.
+     *
+     * @return Максимальное количество попыток.
+     */
+    public int getMaxAttempts() {
+        return word.maxAttempts;
+    }
+
+    /**
+     * Возвращает количество оставшихся попыток.
+     *
+     * @return Количество оставшихся попыток.
+     */
+    public int getRemainingAttempts() {
+        return word.maxAttempts - mistakes;
+    }
+
+    /**
+     * Проверяет, было ли слово полностью угадано.
+     *
+     * @return true, если слово угадано, иначе false.
+     */
+    public boolean isWordGuessed() {
+        return hiddenLetters == 0;
+    }
+
+    /**
+     * Проверяет, проиграна ли игра (количество ошибок достигло максимума).
+     *
+     * @return true, если игра проиграна, иначе false.
+     */
+    public boolean isGameOver() {
+        return mistakes == word.maxAttempts;
+    }
+
+    /**
+     * Возвращает текущее состояние слова в том же виде, что и {@link GameState#getCurrentWordState()}.
+     *
+     * @return Строка, представляющая текущее состояние слова.
+     */
+    public String getCurrentWordState() {
+        String text = word.text;
+        StringBuilder wordState = new StringBuilder(text.length() * 2);
+        for (int i = 0; i < text.length(); i++) {
+            if (i > 0) {
+                wordState.append(LETTER_SEPARATOR);
+            }
+            char c = text.charAt(i);
+            wordState.append(isLetterGuessed(c) ? c : HIDDEN_LETTER);
+        }
+        return wordState.toString();
+    }
+
+    /**
+     * Возвращает номер буквы в упакованном алфавите: русские буквы, затем латинские.
+     *
+     * @param c Буква в нижнем регистре.
+     * @return Номер от 0 до 58 или -1, если буквы нет в алфавите.
+     */
+    private static int alphabetIndex(char c) {
+        if (c >= 'а' && c <= 'я') {
+            return c - 'а';
+        }
+        if (c == 'ё') {
+            return YO_INDEX;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return LATIN_OFFSET + c - 'a';
+        }
+        return -1;
+    }
+
+    /**
+     * Общая для всех состояний партии информация о слове.
+     */
+    private static final class Word {
+        private final String text;
+        private final int maxAttempts;
+        private final byte[] occurrences = new byte[ALPHABET_SIZE];
+
+        private Word(String text, int maxAttempts) {
+            this.text = text;
+            this.maxAttempts = maxAttempts;
+            for (int i = 0; i < text.length(); i++) {
+                int index = alphabetIndex(text.charAt(i));
+                if (index >= 0) {
+                    occurrences[index]++;
+                }
+            }
+        }
+
+        private int countOf(char c) {
+            int count = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == c) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
\ No newline at end of file
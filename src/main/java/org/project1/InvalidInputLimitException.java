@@ -0,0 +1,16 @@
+package org.project1;
+
+/**
+ * Исключение, которое бросается, когда пользователь ввел неверные данные
+ * {@value Game#MAX_INVALID_INPUTS} раз подряд, и игру нужно прервать.
+ */
+public class InvalidInputLimitException extends IllegalStateException {
+    /**
+     * Конструктор для создания исключения с сообщением.
+     *
+     * @param message Сообщение.
+     */
+    public InvalidInputLimitException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
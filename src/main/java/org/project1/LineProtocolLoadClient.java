@@ -0,0 +1,235 @@
+package org.project1;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Нагрузочный клиент для {@link LineProtocolServer}: держит заданное количество простаивающих подключений
+ * и играет на активных подключениях без пауз, измеряя количество догадок в секунду.
+ *
+ * <p>Активное подключение начинает легкую игру, называет буквы в порядке их частоты в русском языке,
+ * пока игра не закончится, и начинает новую. Все подключения обслуживает один поток с {@link Selector}.
+ * Для подключений к локальному адресу больше {@value #CONNECTIONS_PER_SOURCE_ADDRESS} исходящие адреса
+ * распределяются по {@code 127.0.0.2}, {@code 127.0.0.3} и так далее, чтобы не исчерпать локальные порты.
+ */
+public class LineProtocolLoadClient {
+    /**
+     * Количество подключений с одного исходящего адреса.
+     */
+    public static final int CONNECTIONS_PER_SOURCE_ADDRESS = 20_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LineProtocolLoadClient.class);
+    private static final String LETTERS_BY_FREQUENCY = "оеаинтсрвлкмдпуяыьгзбчйхжшюцщэфъё";
+    private static final byte[] NEW_GAME = "NEW 1\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] GUESSES = new byte[LETTERS_BY_FREQUENCY.length()][];
+    private static final int STATUS_OFFSET = "{\"status\":\"".length();
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    static {
+        for (int i = 0; i < GUESSES.length; i++) {
+            GUESSES[i] = (LETTERS_BY_FREQUENCY.charAt(i) + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private LineProtocolLoadClient() {
+    }
+
+    /**
+     * Результат нагрузочного прогона.
+     *
+     * @param idleConnections Количество простаивавших подключений.
+     * @param activeConnections Количество активных подключений.
+     * @param guesses Количество догадок, на которые получен ответ.
+     * @param games Количество завершенных игр.
+     * @param elapsedNanos Длительность прогона в наносекундах.
+     */
+    public record Result(int idleConnections, int activeConnections, long guesses, long games, long elapsedNanos) {
+        /**
+         * Возвращает количество догадок в секунду.
+         *
+         * @return Догадок в секунду.
+         */
+        public double guessesPerSecond() {
+            return guesses * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Открывает подключения и играет на активных подключениях заданное время.
+     *
+     * @param address Адрес сервера.
+     * @param activeConnections Количество активных подключений.
+     * @param idleConnections Количество простаивающих подключений.
+     * @param duration Длительность игры.
+     * @param unit Единица измерения длительности.
+     * @return Результат прогона.
+     * @throws IOException Если подключения не удалось открыть.
+     */
+    public static Result run(InetSocketAddress address, int activeConnections, int idleConnections,
+                             long duration, TimeUnit unit) throws IOException {
+        List<SocketChannel> idle = new ArrayList<>(idleConnections);
+        try (Selector selector = Selector.open()) {
+            int opened = 0;
+            for (int i = 0; i < idleConnections; i++) {
+                idle.add(connect(address, opened++));
+            }
+            List<Player> players = new ArrayList<>(activeConnections);
+            for (int i = 0; i < activeConnections; i++) {
+                SocketChannel channel = connect(address, opened++);
+                channel.configureBlocking(false);
+                Player player = new Player(channel);
+                channel.register(selector, SelectionKey.OP_READ, player);
+                players.add(player);
+            }
+
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            long start = System.nanoTime();
+            long deadline = start + unit.toNanos(duration);
+            for (Player player : players) {
+                player.send(NEW_GAME);
+            }
+            while (System.nanoTime() < deadline) {
+                selector.select(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Player player = (Player) key.attachment();
+                    readBuffer.clear();
+                    if (player.channel.read(readBuffer) < 0) {
+                        throw new IOException("Сервер закрыл подключение");
+                    }
+                    readBuffer.flip();
+                    player.receive(readBuffer);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long guesses = 0;
+            long games = 0;
+            for (Player player : players) {
+                guesses += player.guesses;
+                games += player.games;
+                player.channel.close();
+            }
+            return new Result(idleConnections, activeConnections, guesses, games, elapsed);
+        } finally {
+            for (SocketChannel channel : idle) {
+                channel.close();
+            }
+        }
+    }
+
+    private static SocketChannel connect(InetSocketAddress address, int index) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        if (address.getAddress().isLoopbackAddress() && index >= CONNECTIONS_PER_SOURCE_ADDRESS) {
+            int host = 1 + index / CONNECTIONS_PER_SOURCE_ADDRESS;
+            channel.bind(new InetSocketAddress("127.0.0." + host, 0));
+        }
+        channel.connect(address);
+        return channel;
+    }
+
+    /**
+     * Активное подключение: отправляет следующую команду после каждого полного ответа.
+     * Ответ завершается строкой JSON или строкой ошибки; по началу строки JSON определяется,
+     * продолжается ли игра.
+     */
+    private static final class Player {
+        private final SocketChannel channel;
+        private final ByteBuffer request = ByteBuffer.allocate(16);
+        private boolean lineStart = true;
+        private boolean terminalLine;
+        private boolean jsonLine;
+        private boolean playing;
+        private int lineIndex;
+        private int nextLetter;
+        private boolean guessing;
+        private long guesses;
+        private long games;
+
+        private Player(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void receive(ByteBuffer input) throws IOException {
+            while (input.hasRemaining()) {
+                byte b = input.get();
+                if (lineStart) {
+                    jsonLine = b == '{';
+                    terminalLine = jsonLine || b == 'E';
+                    lineIndex = 0;
+                    lineStart = false;
+                }
+                if (jsonLine && lineIndex == STATUS_OFFSET) {
+                    playing = b == 'P';
+                }
+                lineIndex++;
+                if (b == '\n') {
+                    lineStart = true;
+                    if (terminalLine) {
+                        responseReceived();
+                    }
+                }
+            }
+        }
+
+        private void responseReceived() throws IOException {
+            if (guessing && jsonLine) {
+                guesses++;
+            }
+            if (jsonLine && playing && nextLetter < GUESSES.length) {
+                guessing = true;
+                send(GUESSES[nextLetter++]);
+            } else {
+                if (guessing) {
+                    games++;
+                }
+                guessing = false;
+                nextLetter = 0;
+                send(NEW_GAME);
+            }
+        }
+
+        private void send(byte[] line) throws IOException {
+            request.clear().put(line).flip();
+            while (request.hasRemaining()) {
+                channel.write(request);
+            }
+        }
+    }
+
+    /**
+     * Точка входа нагрузочного клиента.
+     * Аргументы: хост, порт, количество активных подключений, количество простаивающих подключений
+     * и длительность в секундах.
+     *
+     * @param args Аргументы командной строки.
+     * @throws IOException Если подключения не удалось открыть.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(
+                    "Использование: LineProtocolLoadClient <хост> <порт> [активные] [простаивающие] [секунды]");
+        }
+        InetSocketAddress address = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+        int active = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int idle = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        long seconds = args.length > 4 ? Long.parseLong(args[4]) : 10;
+        Result result = run(address, active, idle, seconds, TimeUnit.SECONDS);
+        LOGGER.info("Подключений: {} активных, {} простаивающих; догадок: {}, игр: {}, догадок в секунду: {}",
+                result.activeConnections(), result.idleConnections(), result.guesses(), result.games(),
+                String.format("%.0f", result.guessesPerSecond()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,734 @@
+package org.project1;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Сервер игры по построчному протоколу для простых терминалов (например, telnet).
+ * Все подключения обслуживает один поток цикла событий {@link Selector} с неблокирующими каналами.
+ *
+ * <p>Команды клиента, по одной в строке:
+ * <pre>
+ * NEW [1|2|3]   новая игра: легкий, средний или сложный уровень; без уровня - случайный
+ * &lt;буква&gt;       догадка
+ * STATE         текущее состояние игры
+ * ID            номер подключения для зрителей
+ * WATCH &lt;номер&gt; смотреть игру подключения с этим номером
+ * QUIT          закрыть подключение
+ * </pre>
+ * Ответ на {@code NEW}, догадку и {@code STATE} - изображение виселицы и строка состояния в формате JSON
+ * ({@link GameStateEncoder}). Ответ на {@code ID} и {@code WATCH} - строка, начинающаяся с {@code OK}.
+ * Ответ на ошибку - одна строка, начинающаяся с {@code ERR}.
+ *
+ * <p>После {@code WATCH} зритель получает кадры {@link SpectatorBroadcast} смотримой игры: строку
+ * {@code FRAME <номер кадра>} и текст кадра. Трансляция подключения создается при появлении первого
+ * зрителя. Кадры ждут отправки в ограниченной очереди подписки зрителя, поэтому медленный зритель
+ * пропускает промежуточные кадры и не задерживает игрока и цикл событий.
+ *
+ * <p>Простаивающее подключение занимает только канал и небольшой объект сессии: входные данные читаются
+ * в общий буфер цикла, а прямой буфер ответа берется из {@link DirectBufferPool} только до отправки ответа.
+ * Изображения виселицы для всех уровней и этапов закодированы один раз в общий буфер и отправляются
+ * сборной записью вместе со строкой состояния, без копирования. Пока ответ не отправлен полностью,
+ * чтение из подключения приостанавливается.
+ *
+ * <p>Если задана {@link GameAnalytics}, в нее записываются первые догадки и завершенные игры;
+ * игроком считается адрес подключения.
+ */
+public class LineProtocolServer implements AutoCloseable {
+    /**
+     * Максимальная длина строки команды в байтах.
+     */
+    public static final int MAX_LINE_LENGTH = 256;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LineProtocolServer.class);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    static final int RESPONSE_BUFFER_SIZE = 2048;
+    private static final int RESPONSE_BUFFERS = 1024;
+    private static final int BACKLOG = 1024;
+    private static final int SPECTATOR_QUEUE_CAPACITY = 16;
+    private static final int MAX_ID_DIGITS = 18;
+
+    private static final byte[] NEW_COMMAND = ascii("NEW");
+    private static final byte[] STATE_COMMAND = ascii("STATE");
+    private static final byte[] QUIT_COMMAND = ascii("QUIT");
+    private static final byte[] ID_COMMAND = ascii("ID");
+    private static final byte[] WATCH_COMMAND = ascii("WATCH");
+    private static final byte[] OK = ascii("OK\n");
+    private static final byte[] ERR_NOT_STARTED = utf8("ERR Игра не начата, отправьте NEW\n");
+    private static final byte[] ERR_GAME_OVER = utf8("ERR Игра окончена, отправьте NEW\n");
+    private static final byte[] ERR_REPEATED = utf8("ERR Эта буква уже вводилась ранее!\n");
+    private static final byte[] ERR_INVALID = utf8("ERR Неверный ввод! Введите одну букву.\n");
+    private static final byte[] ERR_LEVEL = utf8("ERR Уровень сложности - число от 1 до 3\n");
+    private static final byte[] ERR_LINE_TOO_LONG = utf8("ERR Слишком длинная строка\n");
+    private static final byte[] ERR_NO_SUCH_GAME = utf8("ERR Нет игры с таким номером\n");
+
+    private final WordDictionary wordDictionary;
+    private final List<String> categories;
+    private final SplittableRandom random = new SplittableRandom();
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final DirectBufferPool responseBuffers = new DirectBufferPool(RESPONSE_BUFFER_SIZE, RESPONSE_BUFFERS);
+    private final ByteBuffer gallows;
+    private final int[][] stageOffsets = new int[Game.NUMBER_OF_LEVELS][];
+    private final Map<Long, Connection> connections = new HashMap<>();
+    private long nextConnectionId;
+    private GameAnalytics analytics;
+    private volatile boolean running = true;
+    private volatile boolean serving;
+    private volatile int connectionCount;
+    private volatile long guessCount;
+
+    /**
+     * Конструктор для создания сервера на локальном порту.
+     *
+     * @param wordDictionary Словарь слов.
+     * @param port Порт или 0 для выбора свободного порта.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public LineProtocolServer(WordDictionary wordDictionary, int port) throws IOException {
+        this.wordDictionary = wordDictionary;
+        this.categories = List.copyOf(wordDictionary.getCategories());
+        this.gallows = encodeGallows();
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Кодирует изображения виселицы для всех уровней и этапов в один общий буфер
+     * и запоминает границы каждого изображения.
+     */
+    private ByteBuffer encodeGallows() {
+        byte[][][] stages = new byte[Game.NUMBER_OF_LEVELS][][];
+        int size = 0;
+        for (int level = 0; level < Game.NUMBER_OF_LEVELS; level++) {
+            int maxAttempts = Game.getAttemptsForDifficulty(level);
+            HangmanState hangmanState = new HangmanState(maxAttempts);
+            stages[level] = new byte[maxAttempts + 1][];
+            for (int mistakes = 0; mistakes <= maxAttempts; mistakes++) {
+                stages[level][mistakes] = utf8(hangmanState.getCurrentStage() + "\n");
+                size += stages[level][mistakes].length;
+                hangmanState.incrementMistakes();
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        for (int level = 0; level < Game.NUMBER_OF_LEVELS; level++) {
+            stageOffsets[level] = new int[stages[level].length + 1];
+            for (int mistakes = 0; mistakes < stages[level].length; mistakes++) {
+                stageOffsets[level][mistakes] = buffer.position();
+                buffer.put(stages[level][mistakes]);
+            }
+            stageOffsets[level][stages[level].length] = buffer.position();
+        }
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Включает сбор потоковой аналитики игр. Вызывается до {@link #serve()}.
+     *
+     * @param analytics Аналитика, общая для всех подключений.
+     */
+    public void setAnalytics(GameAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Возвращает порт, на котором сервер принимает подключения.
+     *
+     * @return Номер порта.
+     * @throws IOException Если адрес канала недоступен.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Возвращает количество открытых клиентских подключений.
+     *
+     * @return Количество подключений.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Возвращает количество обработанных догадок.
+     *
+     * @return Количество догадок.
+     */
+    public long getGuessCount() {
+        return guessCount;
+    }
+
+    /**
+     * Обслуживает подключения в текущем потоке, пока сервер не будет закрыт.
+     *
+     * @throws IOException Если цикл событий завершился с ошибкой.
+     */
+    public void serve() throws IOException {
+        serving = true;
+        LOGGER.info("Сервер принимает подключения на порту {}", getPort());
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptAll();
+                    } else {
+                        handle(key);
+                    }
+                }
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    /**
+     * Принимает все ожидающие подключения. Ошибка приема (например, исчерпание дескрипторов файлов)
+     * не останавливает цикл событий: ожидающие подключения будут приняты при следующей выборке.
+     */
+    private void acceptAll() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection connection = new Connection(++nextConnectionId, channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connections.put(connection.id, connection);
+                connectionCount++;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Ошибка приема подключения: {}", e.getMessage());
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable()) {
+                flush(connection);
+            }
+            if (key.isValid() && key.isReadable()) {
+                read(connection);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Подключение закрыто с ошибкой: {}", e.getMessage());
+            close(connection);
+        } catch (RuntimeException e) {
+            // Ошибка одной сессии (например, категория без подходящих слов) не должна останавливать
+            // цикл событий и закрывать остальные подключения.
+            LOGGER.warn("Ошибка обработки подключения, подключение закрыто", e);
+            close(connection);
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        readBuffer.clear();
+        int read = connection.channel.read(readBuffer);
+        if (read < 0) {
+            close(connection);
+            return;
+        }
+        readBuffer.flip();
+        if (connection.pendingLength == 0) {
+            process(connection, readBuffer);
+        } else {
+            connection.appendPending(readBuffer);
+            processPending(connection);
+        }
+    }
+
+    private void processPending(Connection connection) throws IOException {
+        ByteBuffer input = ByteBuffer.wrap(connection.pending, 0, connection.pendingLength);
+        connection.pendingLength = 0;
+        process(connection, input);
+    }
+
+    /**
+     * Обрабатывает полные строки из входных данных. Если ответ не удалось отправить сразу
+     * или осталась неполная строка, необработанные байты сохраняются в подключении.
+     */
+    private void process(Connection connection, ByteBuffer input) throws IOException {
+        int lineStart = input.position();
+        for (int i = lineStart; i < input.limit(); i++) {
+            if (input.get(i) != '\n') {
+                continue;
+            }
+            handleLine(connection, input, lineStart, i);
+            lineStart = i + 1;
+            if (!connection.channel.isOpen()) {
+                return;
+            }
+            if (connection.response != null) {
+                break;
+            }
+        }
+        input.position(lineStart);
+        if (!input.hasRemaining()) {
+            return;
+        }
+        if (connection.response == null && input.remaining() > MAX_LINE_LENGTH) {
+            respond(connection, ERR_LINE_TOO_LONG);
+            connection.closeAfterFlush = true;
+            if (connection.response == null) {
+                close(connection);
+            }
+            return;
+        }
+        connection.appendPending(input);
+    }
+
+    private void handleLine(Connection connection, ByteBuffer input, int start, int end) throws IOException {
+        while (start < end && isWhitespace(input.get(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(input.get(end - 1))) {
+            end--;
+        }
+
+        if (startsWithCommand(input, start, end, NEW_COMMAND)) {
+            newGame(connection, input, start + NEW_COMMAND.length, end);
+        } else if (startsWithCommand(input, start, end, WATCH_COMMAND)) {
+            watch(connection, input, start + WATCH_COMMAND.length, end);
+        } else if (equalsIgnoreCase(input, start, end, ID_COMMAND)) {
+            respond(connection, ascii("OK " + connection.id + "\n"));
+        } else if (equalsIgnoreCase(input, start, end, STATE_COMMAND)) {
+            if (connection.gameState == null) {
+                respond(connection, ERR_NOT_STARTED);
+            } else {
+                respondState(connection);
+            }
+        } else if (equalsIgnoreCase(input, start, end, QUIT_COMMAND)) {
+            close(connection);
+        } else {
+            guess(connection, decodeLetter(input, start, end));
+        }
+    }
+
+    private void newGame(Connection connection, ByteBuffer input, int start, int end) throws IOException {
+        while (start < end && isWhitespace(input.get(start))) {
+            start++;
+        }
+        int level;
+        if (start == end) {
+            level = random.nextInt(Game.NUMBER_OF_LEVELS);
+        } else if (end - start == 1 && input.get(start) >= '1' && input.get(start) <= '0' + Game.NUMBER_OF_LEVELS) {
+            level = input.get(start) - '1';
+        } else {
+            respond(connection, ERR_LEVEL);
+            return;
+        }
+
+        String category = categories.get(random.nextInt(categories.size()));
+        GameState gameState = new GameState(Game.getAttemptsForDifficulty(level));
+        gameState.setChosenWord(wordDictionary.getWeightedRandomWord(category, level));
+        connection.gameState = gameState;
+        connection.level = level;
+        connection.category = category;
+        respondState(connection);
+        broadcast(connection);
+    }
+
+    /**
+     * Подписывает подключение на трансляцию игры другого подключения. Прежняя подписка, если была,
+     * отменяется.
+     */
+    private void watch(Connection connection, ByteBuffer input, int start, int end) throws IOException {
+        while (start < end && isWhitespace(input.get(start))) {
+            start++;
+        }
+        Connection player = connections.get(parseId(input, start, end));
+        if (player == null || player == connection || player.gameState == null) {
+            respond(connection, ERR_NO_SUCH_GAME);
+            return;
+        }
+        unwatch(connection);
+        if (player.broadcast == null) {
+            player.broadcast = new SpectatorBroadcast(SPECTATOR_QUEUE_CAPACITY);
+            player.watchers = new ArrayList<>();
+            player.broadcast.publish(player.gameState);
+        }
+        connection.subscription = player.broadcast.subscribe();
+        connection.watched = player;
+        player.watchers.add(connection);
+        respond(connection, OK);
+    }
+
+    /**
+     * Разбирает номер подключения из десятичных цифр.
+     *
+     * @return Номер или -1, если это не номер.
+     */
+    private static long parseId(ByteBuffer input, int start, int end) {
+        if (start == end || end - start > MAX_ID_DIGITS) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            byte b = input.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            id = id * 10 + b - '0';
+        }
+        return id;
+    }
+
+    private void unwatch(Connection connection) {
+        Connection player = connection.watched;
+        if (player == null) {
+            return;
+        }
+        player.broadcast.unsubscribe(connection.subscription);
+        player.watchers.remove(connection);
+        if (player.watchers.isEmpty()) {
+            player.broadcast = null;
+            player.watchers = null;
+        }
+        connection.subscription = null;
+        connection.watched = null;
+    }
+
+    /**
+     * Публикует кадр игры подключения, если у нее есть зрители, и начинает отправку зрителям,
+     * которые не заняты предыдущим ответом. Ошибка отправки закрывает только подключение зрителя.
+     */
+    private void broadcast(Connection player) {
+        if (player.broadcast == null) {
+            return;
+        }
+        player.broadcast.publish(player.gameState);
+        for (Connection watcher : List.copyOf(player.watchers)) {
+            try {
+                sendFrame(watcher);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("Подключение зрителя закрыто с ошибкой: {}", e.getMessage());
+                close(watcher);
+            }
+        }
+    }
+
+    /**
+     * Отправляет зрителю самый старый непрочитанный кадр, если предыдущий ответ уже отправлен.
+     * Следующий кадр отправляется из {@link #flush(Connection)} после завершения записи.
+     */
+    private void sendFrame(Connection watcher) throws IOException {
+        if (watcher.response != null || watcher.subscription == null) {
+            return;
+        }
+        SpectatorFrame frame = watcher.subscription.poll();
+        if (frame == null) {
+            return;
+        }
+        ByteBuffer response = responseBuffers.acquire();
+        try {
+            response.put(ascii("FRAME " + frame.getSequence() + "\n"));
+            frame.writeTo(response);
+            response.put((byte) '\n').flip();
+        } catch (RuntimeException e) {
+            responseBuffers.release(response);
+            throw e;
+        }
+        send(watcher, response, 0, 0);
+    }
+
+    private void guess(Connection connection, char letter) throws IOException {
+        if (letter == Game.NO_LETTER) {
+            respond(connection, ERR_INVALID);
+            return;
+        }
+        GameState gameState = connection.gameState;
+        if (gameState == null) {
+            respond(connection, ERR_NOT_STARTED);
+        } else if (gameState.isWordGuessed() || gameState.getHangmanState().isGameOver()) {
+            respond(connection, ERR_GAME_OVER);
+        } else if (gameState.isLetterGuessed(letter)) {
+            respond(connection, ERR_REPEATED);
+        } else {
+            boolean firstGuess = gameState.getGuessCount() == 0;
+            gameState.updateGuessedLetters(letter);
+            guessCount++;
+            if (analytics != null) {
+                recordGuess(connection, letter, firstGuess);
+            }
+            respondState(connection);
+            broadcast(connection);
+        }
+    }
+
+    private void recordGuess(Connection connection, char letter, boolean firstGuess) throws IOException {
+        GameState gameState = connection.gameState;
+        analytics.guessProcessed(letter, firstGuess);
+        if (gameState.isWordGuessed() || gameState.getHangmanState().isGameOver()) {
+            analytics.gameFinished(connection.channel.getRemoteAddress().toString(), connection.category,
+                    gameState.getChosenWord(), gameState.isWordGuessed());
+        }
+    }
+
+    /**
+     * Отправляет изображение виселицы и строку состояния одной сборной записью.
+     */
+    private void respondState(Connection connection) throws IOException {
+        ByteBuffer response = responseBuffers.acquire();
+        try {
+            GameStateEncoder.writeJson(connection.gameState, response);
+            response.put((byte) '\n').flip();
+        } catch (RuntimeException e) {
+            responseBuffers.release(response);
+            throw e;
+        }
+        int mistakes = connection.gameState.getHangmanState().getMistakes();
+        int[] offsets = stageOffsets[connection.level];
+        send(connection, response, offsets[mistakes], offsets[mistakes + 1]);
+    }
+
+    private void respond(Connection connection, byte[] message) throws IOException {
+        ByteBuffer response = responseBuffers.acquire();
+        response.put(message).flip();
+        send(connection, response, 0, 0);
+    }
+
+    private void send(Connection connection, ByteBuffer response, int gallowsStart, int gallowsEnd) throws IOException {
+        ByteBuffer[] gather = connection.gather();
+        gather[0].limit(gallowsEnd).position(gallowsStart);
+        gather[1] = response;
+        connection.response = response;
+        flush(connection);
+    }
+
+    /**
+     * Дописывает ответ подключения. Если ответ отправлен полностью, возвращает буфер в пул,
+     * возобновляет чтение и обрабатывает накопленные строки.
+     */
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer[] gather = connection.gather;
+        connection.channel.write(gather);
+        if (connection.response.hasRemaining()) {
+            connection.key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+
+        responseBuffers.release(connection.response);
+        connection.response = null;
+        gather[1] = null;
+        if (connection.closeAfterFlush) {
+            close(connection);
+            return;
+        }
+        if (connection.key.interestOps() != SelectionKey.OP_READ) {
+            connection.key.interestOps(SelectionKey.OP_READ);
+            if (connection.pendingLength > 0) {
+                processPending(connection);
+            }
+        }
+        if (connection.channel.isOpen()) {
+            sendFrame(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            LOGGER.debug("Ошибка закрытия подключения: {}", e.getMessage());
+        }
+        if (connection.response != null) {
+            responseBuffers.release(connection.response);
+            connection.response = null;
+        }
+        connections.remove(connection.id);
+        unwatch(connection);
+        if (connection.watchers != null) {
+            for (Connection watcher : connection.watchers) {
+                watcher.subscription = null;
+                watcher.watched = null;
+            }
+            connection.broadcast = null;
+            connection.watchers = null;
+        }
+        connectionCount--;
+    }
+
+    /**
+     * Останавливает цикл событий и закрывает все подключения.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        if (!serving) {
+            closeAll();
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection) {
+                close(connection);
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            LOGGER.warn("Ошибка закрытия сервера: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Декодирует строку из одного символа UTF-8 и проверяет, что это буква.
+     *
+     * @return Буква в нижнем регистре или {@link Game#NO_LETTER}.
+     */
+    static char decodeLetter(ByteBuffer input, int start, int end) {
+        int length = end - start;
+        int first = length > 0 ? input.get(start) & 0xFF : 0;
+        int c;
+        if (length == 1 && first < 0x80) {
+            c = first;
+        } else if (length == 2 && (first & 0xE0) == 0xC0 && isContinuation(input.get(start + 1))) {
+            c = (first & 0x1F) << 6 | input.get(start + 1) & 0x3F;
+        } else if (length == 3 && (first & 0xF0) == 0xE0
+                && isContinuation(input.get(start + 1)) && isContinuation(input.get(start + 2))) {
+            c = (first & 0x0F) << 12 | (input.get(start + 1) & 0x3F) << 6 | input.get(start + 2) & 0x3F;
+        } else {
+            return Game.NO_LETTER;
+        }
+        return Character.isLetter(c) ? Character.toLowerCase((char) c) : Game.NO_LETTER;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean startsWithIgnoreCase(ByteBuffer input, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            byte b = input.get(start + i);
+            if (b != prefix[i] && b != prefix[i] + ('a' - 'A')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithCommand(ByteBuffer input, int start, int end, byte[] command) {
+        int commandEnd = start + command.length;
+        return startsWithIgnoreCase(input, start, end, command)
+                && (commandEnd == end || isWhitespace(input.get(commandEnd)));
+    }
+
+    private static boolean equalsIgnoreCase(ByteBuffer input, int start, int end, byte[] command) {
+        return end - start == command.length && startsWithIgnoreCase(input, start, end, command);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Подключение клиента и его игровая сессия. Буферы создаются только при необходимости:
+     * простаивающее подключение не держит ни входного, ни выходного буфера. Трансляция и список
+     * зрителей создаются только при появлении первого зрителя.
+     */
+    private final class Connection {
+        private final long id;
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private GameState gameState;
+        private int level;
+        private String category;
+        private byte[] pending;
+        private int pendingLength;
+        private ByteBuffer[] gather;
+        private ByteBuffer response;
+        private boolean closeAfterFlush;
+        private SpectatorBroadcast broadcast;
+        private List<Connection> watchers;
+        private Connection watched;
+        private SpectatorBroadcast.Subscription subscription;
+
+        private Connection(long id, SocketChannel channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+
+        /**
+         * Возвращает массив для сборной записи: представление общего буфера виселицы и буфер ответа.
+         */
+        private ByteBuffer[] gather() {
+            if (gather == null) {
+                gather = new ByteBuffer[] {gallows.duplicate(), null};
+            }
+            return gather;
+        }
+
+        private void appendPending(ByteBuffer input) {
+            int length = pendingLength + input.remaining();
+            if (pending == null || pending.length < length) {
+                byte[] grown = new byte[Math.max(length, MAX_LINE_LENGTH)];
+                if (pending != null) {
+                    System.arraycopy(pending, 0, grown, 0, pendingLength);
+                }
+                pending = grown;
+            }
+            input.get(pending, pendingLength, input.remaining());
+            pendingLength = length;
+        }
+    }
+
+    /**
+     * Точка входа сервера. Первый аргумент - порт (0 - любой свободный).
+     *
+     * @param args Аргументы командной строки.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try (LineProtocolServer server = new LineProtocolServer(new WordDictionary(), port)) {
+            server.serve();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.project1;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение времени на ход для одной игровой сессии.
+ * Если игрок не сделал догадку за отведенное время, засчитывается ошибка
+ * через {@link HangmanState#incrementMistakes()}, и отсчет начинается заново.
+ *
+ * <p>Срабатывание происходит в потоке {@link TimingWheel}, поэтому изменения состояния игры
+ * выполняются под монитором {@link GameState}; догадки игрока должны применяться под тем же монитором.
+ * Колесо выполняет задачи сработавших таймеров вне своей блокировки, поэтому между срабатыванием
+ * и засчитанной ошибкой игрок может успеть сделать догадку и перезапустить отсчет. Такое устаревшее
+ * срабатывание ничего не меняет: перезапуск и остановка отмечаются под монитором {@link GameState},
+ * и ошибка засчитывается, только если отсчет не остановлен и таймер не поставлен заново.
+ */
+public final class MoveTimeLimit {
+    private final TimingWheel timingWheel;
+    private final TimingWheel.Timer timer;
+    private final GameState gameState;
+    private final long limitNanos;
+    private final Runnable onExpired;
+    private boolean armed;
+
+    /**
+     * Конструктор для создания ограничения времени на ход.
+     *
+     * @param timingWheel Колесо таймеров, общее для всех сессий.
+     * @param gameState Состояние игры сессии.
+     * @param limit Время на ход.
+     * @param unit Единица измерения времени на ход.
+     * @param onExpired Действие после засчитанной по времени ошибки, например уведомление игрока.
+     */
+    public MoveTimeLimit(TimingWheel timingWheel, GameState gameState, long limit, TimeUnit unit, Runnable onExpired) {
+        this.timingWheel = timingWheel;
+        this.gameState = gameState;
+        this.limitNanos = unit.toNanos(limit);
+        this.onExpired = onExpired;
+        this.timer = timingWheel.newTimer(this::expire);
+    }
+
+    /**
+     * Запускает или перезапускает отсчет времени на ход. Вызывается в начале игры и после каждой догадки.
+     */
+    public void restart() {
+        synchronized (gameState) {
+            armed = true;
+            timingWheel.schedule(timer, limitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Останавливает отсчет времени, например по окончании игры.
+     */
+    public void stop() {
+        synchronized (gameState) {
+            armed = false;
+            timingWheel.cancel(timer);
+        }
+    }
+
+    private void expire() {
+        synchronized (gameState) {
+            if (!armed || timer.isScheduled()) {
+                return;
+            }
+            if (gameState.isWordGuessed() || gameState.getHangmanState().isGameOver()) {
+                return;
+            }
+            gameState.getHangmanState().incrementMistakes();
+            if (!gameState.getHangmanState().isGameOver()) {
+                restart();
+            }
+        }
+        onExpired.run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,332 @@
+package org.project1;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * Вне-кучевое хранилище неактивных игровых сессий в виде записей фиксированного размера.
+ *
+ * <p>Сессии хранятся в блоках {@link MemorySegment}, разбитых на записи по {@value #RECORD_SIZE} байт:
+ * <pre>
+ * long   идентификатор сессии
+ * short  максимальное количество попыток
+ * short  количество ошибок
+ * short  длина слова
+ * short  количество догадок
+ * char[{@value #MAX_WORD_LENGTH}]  загаданное слово
+ * char[{@value #MAX_GUESSES}]  введенные буквы в порядке ввода
+ * </pre>
+ * Индекс от идентификатора к записи - открытая адресация на примитивных массивах, поэтому
+ * количество объектов в куче не зависит от количества припаркованных сессий.
+ *
+ * <p>Память выделяется по мере заполнения: записи - блоками по {@value #CHUNK_RECORDS}, индекс удваивается
+ * при заполнении наполовину. Поэтому емкость в миллионы сессий не занимает память, пока сессий мало.
+ * Класс не потокобезопасен, синхронизацию обеспечивает {@link SessionStore}.
+ */
+public class ParkedSessionSlab implements AutoCloseable {
+    /**
+     * Максимальная длина слова, которое можно припарковать.
+     */
+    public static final int MAX_WORD_LENGTH = 32;
+
+    /**
+     * Максимальное количество догадок, которое можно припарковать.
+     */
+    public static final int MAX_GUESSES = 48;
+
+    /**
+     * Размер одной записи в байтах.
+     */
+    public static final int RECORD_SIZE = 16 + (MAX_WORD_LENGTH + MAX_GUESSES) * Character.BYTES;
+
+    /**
+     * Количество записей в одном блоке памяти вне кучи.
+     */
+    public static final int CHUNK_RECORDS = 16_384;
+
+    private static final int MAX_ATTEMPTS_OFFSET = 8;
+    private static final int MISTAKES_OFFSET = 10;
+    private static final int WORD_LENGTH_OFFSET = 12;
+    private static final int GUESS_COUNT_OFFSET = 14;
+    private static final int WORD_OFFSET = 16;
+    private static final int GUESSES_OFFSET = WORD_OFFSET + MAX_WORD_LENGTH * Character.BYTES;
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_RECORDS);
+    private static final int EMPTY = -1;
+    private static final int MIN_INDEX_SIZE = 64;
+
+    private final Arena arena;
+    private MemorySegment[] chunks = new MemorySegment[0];
+    private final int capacity;
+    private int allocatedSlots;
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private long[] indexKeys;
+    private int[] indexSlots;
+    private int indexMask;
+    private int size;
+
+    /**
+     * Конструктор для создания хранилища на заданное количество сессий.
+     *
+     * @param capacity Максимальное количество припаркованных сессий.
+     * @throws IllegalArgumentException Если емкость не положительна или слишком велика.
+     */
+    public ParkedSessionSlab(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Некорректная емкость хранилища сессий: " + capacity);
+        }
+        this.capacity = capacity;
+        this.arena = Arena.ofShared();
+        allocateIndex(MIN_INDEX_SIZE);
+    }
+
+    /**
+     * Проверяет, поместится ли состояние игры в запись фиксированного размера.
+     *
+     * @param gameState Состояние игры.
+     * @return true, если слово и история догадок укладываются в размер записи.
+     */
+    public static boolean fits(GameState gameState) {
+        return gameState.getChosenWord().length() <= MAX_WORD_LENGTH && gameState.getGuessCount() <= MAX_GUESSES;
+    }
+
+    /**
+     * Паркует сессию, записывая ее состояние вне кучи.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param gameState Состояние игры.
+     * @return true, если сессия припаркована; false, если нет свободных записей или состояние не помещается.
+     */
+    public boolean park(long sessionId, GameState gameState) {
+        if (!fits(gameState)) {
+            return false;
+        }
+        int position = find(sessionId);
+        int slot;
+        if (indexSlots[position] != EMPTY) {
+            slot = indexSlots[position];
+        } else if (size == capacity) {
+            return false;
+        } else {
+            slot = freeCount > 0 ? freeSlots[--freeCount] : allocateSlot();
+            if ((size + 1) * 2 > indexSlots.length) {
+                growIndex();
+                position = find(sessionId);
+            }
+            indexKeys[position] = sessionId;
+            indexSlots[position] = slot;
+            size++;
+        }
+
+        MemorySegment records = chunks[slot >>> CHUNK_SHIFT];
+        long base = offset(slot);
+        String word = gameState.getChosenWord();
+        HangmanState hangmanState = gameState.getHangmanState();
+        records.set(ValueLayout.JAVA_LONG, base, sessionId);
+        records.set(ValueLayout.JAVA_SHORT, base + MAX_ATTEMPTS_OFFSET, (short) hangmanState.getMaxAttempts());
+        records.set(ValueLayout.JAVA_SHORT, base + MISTAKES_OFFSET, (short) hangmanState.getMistakes());
+        records.set(ValueLayout.JAVA_SHORT, base + WORD_LENGTH_OFFSET, (short) word.length());
+        records.set(ValueLayout.JAVA_SHORT, base + GUESS_COUNT_OFFSET, (short) gameState.getGuessCount());
+        for (int i = 0; i < word.length(); i++) {
+            records.set(ValueLayout.JAVA_CHAR, base + WORD_OFFSET + (long) i * Character.BYTES, word.charAt(i));
+        }
+        for (int i = 0; i < gameState.getGuessCount(); i++) {
+            records.set(ValueLayout.JAVA_CHAR, base + GUESSES_OFFSET + (long) i * Character.BYTES,
+                    gameState.getGuessedLetterAt(i));
+        }
+        return true;
+    }
+
+    /**
+     * Извлекает припаркованную сессию и восстанавливает ее состояние в куче.
+     * Запись при этом освобождается.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return Восстановленное состояние игры или null, если сессия не припаркована.
+     */
+    public GameState unpark(long sessionId) {
+        int position = find(sessionId);
+        int slot = indexSlots[position];
+        if (slot == EMPTY) {
+            return null;
+        }
+
+        MemorySegment records = chunks[slot >>> CHUNK_SHIFT];
+        long base = offset(slot);
+        int maxAttempts = records.get(ValueLayout.JAVA_SHORT, base + MAX_ATTEMPTS_OFFSET);
+        int mistakes = records.get(ValueLayout.JAVA_SHORT, base + MISTAKES_OFFSET);
+        int wordLength = records.get(ValueLayout.JAVA_SHORT, base + WORD_LENGTH_OFFSET);
+        int guessCount = records.get(ValueLayout.JAVA_SHORT, base + GUESS_COUNT_OFFSET);
+        char[] word = new char[wordLength];
+        for (int i = 0; i < wordLength; i++) {
+            word[i] = records.get(ValueLayout.JAVA_CHAR, base + WORD_OFFSET + (long) i * Character.BYTES);
+        }
+
+        char[] letters = new char[guessCount];
+        for (int i = 0; i < guessCount; i++) {
+            letters[i] = records.get(ValueLayout.JAVA_CHAR, base + GUESSES_OFFSET + (long) i * Character.BYTES);
+        }
+
+        GameState gameState = new GameState(maxAttempts);
+        gameState.setChosenWord(new String(word));
+        gameState.restoreGuesses(letters, mistakes);
+
+        removeAt(position);
+        release(slot);
+        return gameState;
+    }
+
+    /**
+     * Удаляет припаркованную сессию без восстановления.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return true, если сессия была припаркована.
+     */
+    public boolean remove(long sessionId) {
+        int position = find(sessionId);
+        int slot = indexSlots[position];
+        if (slot == EMPTY) {
+            return false;
+        }
+        removeAt(position);
+        release(slot);
+        return true;
+    }
+
+    /**
+     * Проверяет, припаркована ли сессия.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return true, если сессия припаркована.
+     */
+    public boolean contains(long sessionId) {
+        return indexSlots[find(sessionId)] != EMPTY;
+    }
+
+    /**
+     * Возвращает идентификаторы припаркованных сессий.
+     *
+     * @return Идентификаторы в порядке индекса.
+     */
+    public long[] sessionIds() {
+        long[] ids = new long[size];
+        int count = 0;
+        for (int i = 0; i < indexSlots.length; i++) {
+            if (indexSlots[i] != EMPTY) {
+                ids[count++] = indexKeys[i];
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Возвращает количество припаркованных сессий.
+     *
+     * @return Количество сессий.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает максимальное количество припаркованных сессий.
+     *
+     * @return Емкость хранилища.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Освобождает память вне кучи. После закрытия хранилище использовать нельзя.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Выделяет еще не использованную запись, при необходимости выделяя новый блок памяти.
+     */
+    private int allocateSlot() {
+        int slot = allocatedSlots++;
+        int chunk = slot >>> CHUNK_SHIFT;
+        if (chunk == chunks.length) {
+            long records = Math.min(CHUNK_RECORDS, capacity - ((long) chunk << CHUNK_SHIFT));
+            chunks = Arrays.copyOf(chunks, chunk + 1);
+            chunks[chunk] = arena.allocate(records * RECORD_SIZE, Long.BYTES);
+        }
+        return slot;
+    }
+
+    private void release(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    private static long offset(int slot) {
+        return (long) (slot & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+    }
+
+    private void allocateIndex(int indexSize) {
+        indexKeys = new long[indexSize];
+        indexSlots = new int[indexSize];
+        Arrays.fill(indexSlots, EMPTY);
+        indexMask = indexSize - 1;
+    }
+
+    /**
+     * Удваивает индекс и заново раскладывает в нем ключи.
+     */
+    private void growIndex() {
+        long[] oldKeys = indexKeys;
+        int[] oldSlots = indexSlots;
+        allocateIndex(oldSlots.length * 2);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                int position = find(oldKeys[i]);
+                indexKeys[position] = oldKeys[i];
+                indexSlots[position] = oldSlots[i];
+            }
+        }
+    }
+
+    /**
+     * Ищет позицию ключа в индексе или пустую позицию, куда его можно вставить.
+     */
+    private int find(long sessionId) {
+        int position = mix(sessionId) & indexMask;
+        while (indexSlots[position] != EMPTY && indexKeys[position] != sessionId) {
+            position = (position + 1) & indexMask;
+        }
+        return position;
+    }
+
+    /**
+     * Удаляет ключ из индекса со сдвигом следующих ключей, чтобы не оставлять надгробий.
+     */
+    private void removeAt(int position) {
+        int hole = position;
+        int next = (hole + 1) & indexMask;
+        while (indexSlots[next] != EMPTY) {
+            int home = mix(indexKeys[next]) & indexMask;
+            if (((next - home) & indexMask) >= ((next - hole) & indexMask)) {
+                indexKeys[hole] = indexKeys[next];
+                indexSlots[hole] = indexSlots[next];
+                hole = next;
+            }
+            next = (next + 1) & indexMask;
+        }
+        indexSlots[hole] = EMPTY;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,400 @@
+package org.project1;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Хранилище игровых сессий с вытеснением неактивных сессий из кучи.
+ *
+ * <p>Активные сессии лежат в куче в порядке последнего обращения. Сессия вытесняется, если к ней
+ * не обращались дольше заданного времени ({@link #evictIdle()}) или если активных сессий больше лимита.
+ * Вытесненная сессия паркуется в компактном виде вне кучи ({@link ParkedSessionSlab}) и восстанавливается
+ * при следующем обращении. Поэтому после {@link #get(long)} нельзя держать ссылку на {@link GameState}
+ * между ходами: после вытеснения сессия будет восстановлена в новом объекте. Изменять состояние следует
+ * через {@link #update(long, Function)}: на время действия сессия закрепляется и не вытесняется.
+ *
+ * <p>Сессия, которая не помещается в запись фиксированного размера (длинное слово или много догадок,
+ * см. {@link ParkedSessionSlab#fits(GameState)}), при вытеснении остается в куче вне лимита активных сессий,
+ * но не больше своего лимита. Существующие сессии никогда не теряются: если вытесняемую сессию некуда
+ * положить, она остается активной, а новые сессии отклоняются ({@link #put(long, GameState)} бросает
+ * {@link IllegalStateException}, отказы учитываются в {@link #getRejected()}).
+ *
+ * <p>Поиск, восстановление, вытеснение и закрепление сессий синхронизированы на хранилище. Действие
+ * {@link #update(long, Function)} выполняется вне блокировки хранилища под блокировкой своего
+ * {@link GameState}, поэтому ходы в разных сессиях идут параллельно.
+ */
+public class SessionStore implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionStore.class);
+
+    private final int maxHotSessions;
+    private final int maxOversizedSessions;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<Long, HotSession> hotSessions = new LinkedHashMap<>(16, 0.75f, true);
+    private final ParkedSessionSlab parkedSessions;
+    private final Map<Long, GameState> oversizedSessions = new HashMap<>();
+    private long hits;
+    private long rehydrations;
+    private long misses;
+    private long evictions;
+    private long rejected;
+    private boolean closed;
+
+    /**
+     * Конструктор для создания хранилища сессий, в котором не помещающихся в запись сессий
+     * может быть столько же, сколько активных.
+     *
+     * @param maxHotSessions Максимальное количество сессий в куче.
+     * @param idleTimeout Время без обращений, после которого сессия вытесняется.
+     * @param unit Единица измерения времени без обращений.
+     * @param maxParkedSessions Максимальное количество припаркованных вне кучи сессий.
+     */
+    public SessionStore(int maxHotSessions, long idleTimeout, TimeUnit unit, int maxParkedSessions) {
+        this(maxHotSessions, idleTimeout, unit, maxParkedSessions, maxHotSessions);
+    }
+
+    /**
+     * Конструктор для создания хранилища сессий.
+     *
+     * @param maxHotSessions Максимальное количество сессий в куче.
+     * @param idleTimeout Время без обращений, после которого сессия вытесняется.
+     * @param unit Единица измерения времени без обращений.
+     * @param maxParkedSessions Максимальное количество припаркованных вне кучи сессий.
+     * @param maxOversizedSessions Максимальное количество вытесненных сессий, которые не помещаются
+     *                             в запись и остаются в куче.
+     */
+    public SessionStore(int maxHotSessions, long idleTimeout, TimeUnit unit, int maxParkedSessions,
+                        int maxOversizedSessions) {
+        this(maxHotSessions, idleTimeout, unit, maxParkedSessions, maxOversizedSessions, System::nanoTime);
+    }
+
+    SessionStore(int maxHotSessions, long idleTimeout, TimeUnit unit, int maxParkedSessions, int maxOversizedSessions,
+                 LongSupplier nanoClock) {
+        if (maxHotSessions <= 0) {
+            throw new IllegalArgumentException("Лимит активных сессий должен быть положительным");
+        }
+        if (maxOversizedSessions < 0) {
+            throw new IllegalArgumentException("Лимит не помещающихся в запись сессий не может быть отрицательным");
+        }
+        this.maxHotSessions = maxHotSessions;
+        this.maxOversizedSessions = maxOversizedSessions;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.parkedSessions = new ParkedSessionSlab(maxParkedSessions);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Добавляет или заменяет сессию. Если активных сессий становится больше лимита,
+     * наиболее давно использованные вытесняются.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param gameState Состояние игры сессии.
+     * @throws IllegalStateException Если сессия новая, а хранилище заполнено: вытесняемую ради нее
+     *                               сессию некуда положить.
+     */
+    public synchronized void put(long sessionId, GameState gameState) {
+        boolean known = hotSessions.containsKey(sessionId) | parkedSessions.remove(sessionId)
+                | oversizedSessions.remove(sessionId) != null;
+        if (!known && hotSessions.size() >= maxHotSessions && evictionCandidate() == null) {
+            rejected++;
+            LOGGER.warn("Хранилище сессий заполнено, сессия {} отклонена", sessionId);
+            throw new IllegalStateException("Хранилище сессий заполнено, повторите позже");
+        }
+        activate(sessionId, gameState);
+    }
+
+    /**
+     * Делает сессию активной и вытесняет лишние активные сессии, пока их есть куда положить.
+     */
+    private HotSession activate(long sessionId, GameState gameState) {
+        HotSession session = new HotSession(sessionId, gameState, nanoClock.getAsLong());
+        hotSessions.put(sessionId, session);
+        while (hotSessions.size() > maxHotSessions) {
+            HotSession candidate = evictionCandidate();
+            if (candidate == null) {
+                break;
+            }
+            hotSessions.remove(candidate.sessionId);
+            park(candidate.sessionId, candidate.gameState);
+        }
+        return session;
+    }
+
+    /**
+     * Ищет наиболее давно использованную сессию, которая не закреплена и которую есть куда положить.
+     *
+     * @return Сессия или null, если вытеснять некого.
+     */
+    private HotSession evictionCandidate() {
+        for (HotSession session : hotSessions.values()) {
+            if (session.pins == 0 && canPark(session.gameState)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Возвращает состояние игры сессии, при необходимости восстанавливая его из припаркованной записи.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return Состояние игры или null, если сессия не найдена.
+     */
+    public synchronized GameState get(long sessionId) {
+        HotSession session = lookup(sessionId);
+        return session == null ? null : session.gameState;
+    }
+
+    private HotSession lookup(long sessionId) {
+        HotSession session = hotSessions.get(sessionId);
+        if (session != null) {
+            hits++;
+            session.lastAccessNanos = nanoClock.getAsLong();
+            return session;
+        }
+
+        GameState gameState = oversizedSessions.remove(sessionId);
+        if (gameState != null) {
+            hits++;
+            return activate(sessionId, gameState);
+        }
+        gameState = parkedSessions.unpark(sessionId);
+        if (gameState == null) {
+            misses++;
+            return null;
+        }
+        rehydrations++;
+        return activate(sessionId, gameState);
+    }
+
+    /**
+     * Проверяет, есть ли сессия в хранилище, не восстанавливая ее и не меняя порядок вытеснения.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return true, если сессия есть в хранилище.
+     */
+    public synchronized boolean contains(long sessionId) {
+        return hotSessions.containsKey(sessionId) || oversizedSessions.containsKey(sessionId)
+                || parkedSessions.contains(sessionId);
+    }
+
+    /**
+     * Выполняет действие над состоянием игры сессии. Под блокировкой хранилища сессия только находится
+     * (при необходимости восстанавливается) и закрепляется, чтобы ее не вытеснили во время действия.
+     * Само действие выполняется под блокировкой {@link GameState} сессии, поэтому действия над одной
+     * сессией упорядочены, а над разными идут параллельно.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param action Действие над состоянием игры.
+     * @param <T> Тип результата действия.
+     * @return Результат действия или null, если сессия не найдена.
+     */
+    public <T> T update(long sessionId, Function<GameState, T> action) {
+        HotSession session;
+        synchronized (this) {
+            session = lookup(sessionId);
+            if (session == null) {
+                return null;
+            }
+            session.pins++;
+        }
+        try {
+            synchronized (session.gameState) {
+                return action.apply(session.gameState);
+            }
+        } finally {
+            synchronized (this) {
+                session.pins--;
+            }
+        }
+    }
+
+    /**
+     * Удаляет сессию, например после окончания игры.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return true, если сессия была в хранилище.
+     */
+    public synchronized boolean remove(long sessionId) {
+        return hotSessions.remove(sessionId) != null
+                | oversizedSessions.remove(sessionId) != null
+                | parkedSessions.remove(sessionId);
+    }
+
+    /**
+     * Возвращает идентификаторы всех сессий хранилища: активных, оставленных в куче и припаркованных.
+     *
+     * @return Идентификаторы сессий.
+     */
+    public synchronized long[] sessionIds() {
+        long[] parked = parkedSessions.sessionIds();
+        long[] ids = new long[hotSessions.size() + oversizedSessions.size() + parked.length];
+        int count = 0;
+        for (long sessionId : hotSessions.keySet()) {
+            ids[count++] = sessionId;
+        }
+        for (long sessionId : oversizedSessions.keySet()) {
+            ids[count++] = sessionId;
+        }
+        System.arraycopy(parked, 0, ids, count, parked.length);
+        return ids;
+    }
+
+    /**
+     * Возвращает общее количество сессий хранилища.
+     *
+     * @return Количество сессий.
+     */
+    public synchronized int size() {
+        return hotSessions.size() + oversizedSessions.size() + parkedSessions.size();
+    }
+
+    /**
+     * Вытесняет сессии, к которым не обращались дольше заданного времени, пока их есть куда положить.
+     * Предназначен для периодического вызова, например из {@link TimingWheel}, как в {@link ShardWorker}.
+     *
+     * @return Количество вытесненных сессий.
+     */
+    public synchronized int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        Iterator<Map.Entry<Long, HotSession>> iterator = hotSessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, HotSession> entry = iterator.next();
+            if (now - entry.getValue().lastAccessNanos < idleTimeoutNanos) {
+                break;
+            }
+            if (entry.getValue().pins > 0 || !canPark(entry.getValue().gameState)) {
+                continue;
+            }
+            iterator.remove();
+            park(entry.getKey(), entry.getValue().gameState);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private boolean canPark(GameState gameState) {
+        return ParkedSessionSlab.fits(gameState)
+                ? parkedSessions.size() < parkedSessions.capacity()
+                : oversizedSessions.size() < maxOversizedSessions;
+    }
+
+    private void park(long sessionId, GameState gameState) {
+        evictions++;
+        if (!ParkedSessionSlab.fits(gameState)) {
+            oversizedSessions.put(sessionId, gameState);
+        } else if (!parkedSessions.park(sessionId, gameState)) {
+            throw new IllegalStateException("Нет свободных записей для парковки сессии " + sessionId);
+        }
+    }
+
+    /**
+     * Возвращает количество сессий в куче.
+     *
+     * @return Количество активных сессий.
+     */
+    public synchronized int getHotSize() {
+        return hotSessions.size();
+    }
+
+    /**
+     * Возвращает количество припаркованных вне кучи сессий.
+     *
+     * @return Количество припаркованных сессий.
+     */
+    public synchronized int getParkedSize() {
+        return parkedSessions.size();
+    }
+
+    /**
+     * Возвращает количество обращений к сессиям, найденным в куче.
+     *
+     * @return Количество попаданий.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Возвращает количество обращений к сессиям, восстановленным из припаркованных записей.
+     *
+     * @return Количество восстановлений.
+     */
+    public synchronized long getRehydrations() {
+        return rehydrations;
+    }
+
+    /**
+     * Возвращает количество обращений к неизвестным сессиям.
+     *
+     * @return Количество промахов.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Возвращает количество вытеснений сессий из кучи.
+     *
+     * @return Количество вытеснений.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Возвращает количество сессий, которые не помещаются в запись и при вытеснении остались в куче.
+     *
+     * @return Количество сессий вне лимита активных.
+     */
+    public synchronized int getOversizedSize() {
+        return oversizedSessions.size();
+    }
+
+    /**
+     * Возвращает количество новых сессий, отклоненных из-за заполненного хранилища.
+     *
+     * @return Количество отклоненных сессий.
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Освобождает память припаркованных сессий. Повторный вызов ничего не делает.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hotSessions.clear();
+        oversizedSessions.clear();
+        parkedSessions.close();
+    }
+
+    /**
+     * Активная сессия, время последнего обращения к ней и количество выполняемых над ней действий.
+     */
+    private static final class HotSession {
+        private final long sessionId;
+        private final GameState gameState;
+        private long lastAccessNanos;
+        private int pins;
+
+        private HotSession(long sessionId, GameState gameState, long lastAccessNanos) {
+            this.sessionId = sessionId;
+            this.gameState = gameState;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,431 @@
+package org.project1;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Маршрутизатор шардированного режима. Распределяет игровые сессии по рабочим процессам
+ * ({@link ShardWorker}) консистентным хешированием идентификатора сессии и пересылает им команды
+ * по локальным сокетам.
+ *
+ * <p>При добавлении или удалении рабочего процесса переносятся только сессии, у которых сменился
+ * владелец. Перенос идет в два этапа: сначала все такие сессии копируются у прежних процессов
+ * в сериализованном виде новым владельцам, и только когда все копии приняты, кольцо переключается
+ * на новую топологию, а сессии удаляются у прежних процессов. Если копирование не удалось (например,
+ * новый процесс упал), уже сделанные копии удаляются, а кольцо и сессии остаются прежними.
+ * На время переноса пересылка команд приостанавливается.
+ */
+public class ShardRouter implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardRouter.class);
+    private static final int VIRTUAL_NODES = 128;
+
+    private final int connectionsPerWorker;
+    private final ConsistentHashRing ring = new ConsistentHashRing(VIRTUAL_NODES);
+    private final Map<String, WorkerClient> workers = new HashMap<>();
+    private final ReadWriteLock topologyLock = new ReentrantReadWriteLock();
+    private ServerSocket serverSocket;
+    private volatile boolean running = true;
+
+    /**
+     * Конструктор для создания маршрутизатора.
+     *
+     * @param connectionsPerWorker Размер пула соединений с каждым рабочим процессом.
+     */
+    public ShardRouter(int connectionsPerWorker) {
+        this.connectionsPerWorker = connectionsPerWorker;
+    }
+
+    /**
+     * Добавляет рабочий процесс и переносит на него сессии, которые теперь ему принадлежат.
+     *
+     * @param address Адрес рабочего процесса в виде {@code хост:порт}.
+     * @return Количество перенесенных сессий.
+     * @throws IOException Если не удалось связаться с рабочими процессами.
+     * @throws IllegalArgumentException Если процесс с таким адресом уже добавлен.
+     */
+    public int addWorker(String address) throws IOException {
+        topologyLock.writeLock().lock();
+        try {
+            if (workers.containsKey(address)) {
+                throw new IllegalArgumentException("Рабочий процесс уже добавлен: " + address);
+            }
+            WorkerClient client = new WorkerClient(address, connectionsPerWorker);
+            ConsistentHashRing target = ringWith(ring.getNodes());
+            target.addNode(address);
+
+            List<Copy> copies = new ArrayList<>();
+            try {
+                for (String node : ring.getNodes()) {
+                    WorkerClient owner = workers.get(node);
+                    for (long sessionId : listSessions(owner)) {
+                        if (target.nodeFor(sessionId).equals(address)) {
+                            copy(sessionId, owner, client, copies);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                rollBack(copies);
+                client.close();
+                throw e;
+            }
+
+            ring.addNode(address);
+            workers.put(address, client);
+            dropOriginals(copies);
+            LOGGER.info("Добавлен рабочий процесс {}, перенесено сессий: {}", address, copies.size());
+            return copies.size();
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет рабочий процесс, предварительно перенеся все его сессии на оставшиеся процессы.
+     *
+     * @param address Адрес рабочего процесса.
+     * @return Количество перенесенных сессий.
+     * @throws IOException Если не удалось связаться с рабочими процессами.
+     * @throws IllegalStateException Если это последний рабочий процесс.
+     */
+    public int removeWorker(String address) throws IOException {
+        topologyLock.writeLock().lock();
+        try {
+            WorkerClient client = workers.get(address);
+            if (client == null) {
+                return 0;
+            }
+            if (workers.size() == 1) {
+                throw new IllegalStateException("Нельзя удалить последний рабочий процесс");
+            }
+            List<String> remaining = new ArrayList<>(ring.getNodes());
+            remaining.remove(address);
+            ConsistentHashRing target = ringWith(remaining);
+
+            List<Copy> copies = new ArrayList<>();
+            try {
+                for (long sessionId : listSessions(client)) {
+                    copy(sessionId, client, workers.get(target.nodeFor(sessionId)), copies);
+                }
+            } catch (IOException e) {
+                rollBack(copies);
+                throw e;
+            }
+
+            ring.removeNode(address);
+            workers.remove(address);
+            dropOriginals(copies);
+            client.close();
+            LOGGER.info("Удален рабочий процесс {}, перенесено сессий: {}", address, copies.size());
+            return copies.size();
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Пересылает команду рабочему процессу, которому принадлежит сессия.
+     * Идентификатор сессии - второе слово команды ({@code NEW}, {@code GUESS}, {@code STATE}, {@code DROP}).
+     *
+     * @param line Строка команды.
+     * @return Строка ответа рабочего процесса.
+     * @throws IOException Если не удалось связаться с рабочим процессом.
+     */
+    public String forward(String line) throws IOException {
+        String[] parts = line.trim().split(" ", 3);
+        if (parts.length < 2 || !List.of("NEW", "GUESS", "STATE", "DROP").contains(parts[0])) {
+            return "ERR Некорректная команда: " + line;
+        }
+        long sessionId;
+        try {
+            sessionId = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return "ERR Некорректный идентификатор сессии: " + parts[1];
+        }
+
+        topologyLock.readLock().lock();
+        try {
+            return workers.get(ring.nodeFor(sessionId)).request(line);
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает адрес рабочего процесса, которому принадлежит сессия.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @return Адрес рабочего процесса.
+     */
+    public String workerFor(long sessionId) {
+        topologyLock.readLock().lock();
+        try {
+            return ring.nodeFor(sessionId);
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Принимает клиентские подключения на локальном порту в отдельном потоке и пересылает их команды.
+     *
+     * @param port Порт или 0 для выбора свободного порта.
+     * @return Порт, на котором маршрутизатор принимает подключения.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public int serve(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptClients, "shard-router-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptClients() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> serveClient(socket), "shard-router-client");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.error("Ошибка приема подключения", e);
+                }
+            }
+        }
+    }
+
+    private void serveClient(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(forward(line));
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Клиентское подключение закрыто с ошибкой: {}", e.getMessage());
+        }
+    }
+
+    private static List<Long> listSessions(WorkerClient client) throws IOException {
+        String response = client.request("LIST");
+        List<Long> ids = new ArrayList<>();
+        if (response.length() > "OK ".length()) {
+            for (String id : response.substring("OK ".length()).split(",")) {
+                ids.add(Long.parseLong(id));
+            }
+        }
+        return ids;
+    }
+
+    private static ConsistentHashRing ringWith(List<String> nodes) {
+        ConsistentHashRing target = new ConsistentHashRing(VIRTUAL_NODES);
+        nodes.forEach(target::addNode);
+        return target;
+    }
+
+    /**
+     * Копирует сессию у прежнего владельца новому, не удаляя ее у прежнего, и запоминает копию.
+     *
+     * @throws IOException Если новый владелец не принял сессию или связь с процессом прервалась.
+     */
+    private static void copy(long sessionId, WorkerClient from, WorkerClient to, List<Copy> copies)
+            throws IOException {
+        String data = from.request("COPY " + sessionId);
+        if (!data.startsWith("OK ")) {
+            LOGGER.warn("Сессию {} не удалось прочитать для переноса: {}", sessionId, data);
+            return;
+        }
+        String response = to.request("PUT " + sessionId + " " + data.substring("OK ".length()));
+        if (!response.startsWith("OK")) {
+            throw new IOException("Сессию " + sessionId + " не удалось перенести: " + response);
+        }
+        copies.add(new Copy(sessionId, from, to));
+    }
+
+    /**
+     * Удаляет сделанные копии у новых владельцев после неудачного переноса. Процесс, с которым
+     * связи уже нет, пропускается: оригиналы сессий остаются у прежних владельцев.
+     */
+    private static void rollBack(List<Copy> copies) {
+        for (Copy copy : copies) {
+            try {
+                copy.to.request("DROP " + copy.sessionId);
+            } catch (IOException e) {
+                LOGGER.warn("Копию сессии {} не удалось удалить при откате переноса: {}", copy.sessionId,
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Удаляет перенесенные сессии у прежних владельцев после переключения кольца.
+     */
+    private static void dropOriginals(List<Copy> copies) {
+        for (Copy copy : copies) {
+            try {
+                String dropped = copy.from.request("DROP " + copy.sessionId);
+                if (!dropped.startsWith("OK")) {
+                    LOGGER.warn("Перенесенную сессию {} не удалось удалить у прежнего процесса: {}",
+                            copy.sessionId, dropped);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Перенесенную сессию {} не удалось удалить у прежнего процесса: {}",
+                        copy.sessionId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Копия сессии, сделанная при переносе.
+     *
+     * @param sessionId Идентификатор сессии.
+     * @param from Прежний владелец.
+     * @param to Новый владелец.
+     */
+    private record Copy(long sessionId, WorkerClient from, WorkerClient to) {
+    }
+
+    /**
+     * Закрывает соединения с рабочими процессами и клиентский порт.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Ошибка закрытия маршрутизатора: {}", e.getMessage());
+        }
+        topologyLock.writeLock().lock();
+        try {
+            workers.values().forEach(WorkerClient::close);
+            workers.clear();
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Точка входа маршрутизатора: запускает заданное количество локальных рабочих процессов
+     * и принимает клиентские подключения. Аргументы: порт маршрутизатора и количество рабочих процессов.
+     *
+     * @param args Аргументы командной строки.
+     * @throws IOException Если процессы или порт не удалось запустить.
+     * @throws InterruptedException Если ожидание прервано.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int workerCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        ShardRouter router = new ShardRouter(4);
+        List<Process> processes = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroy)));
+        for (int i = 0; i < workerCount; i++) {
+            ShardWorker.LaunchedWorker worker = ShardWorker.launch();
+            processes.add(worker.process());
+            router.addWorker(worker.address());
+        }
+        LOGGER.info("Маршрутизатор принимает подключения на порту {}", router.serve(port));
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Пул соединений с одним рабочим процессом.
+     */
+    private static final class WorkerClient implements AutoCloseable {
+        private final BlockingQueue<Connection> pool;
+        private final List<Connection> all = new ArrayList<>();
+
+        private WorkerClient(String address, int connections) throws IOException {
+            int separator = address.lastIndexOf(':');
+            String host = address.substring(0, separator);
+            int port = Integer.parseInt(address.substring(separator + 1));
+            this.pool = new ArrayBlockingQueue<>(connections);
+            for (int i = 0; i < connections; i++) {
+                Connection connection = new Connection(new Socket(host, port));
+                all.add(connection);
+                pool.add(connection);
+            }
+        }
+
+        private String request(String line) throws IOException {
+            Connection connection;
+            try {
+                connection = pool.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Ожидание соединения прервано", e);
+            }
+            try {
+                return connection.request(line);
+            } finally {
+                pool.add(connection);
+            }
+        }
+
+        @Override
+        public void close() {
+            all.forEach(Connection::close);
+        }
+    }
+
+    /**
+     * Одно соединение с рабочим процессом: запрос и ответ - по одной строке.
+     */
+    private static final class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final BufferedWriter writer;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        private String request(String line) throws IOException {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+            String response = reader.readLine();
+            if (response == null) {
+                throw new IOException("Рабочий процесс закрыл соединение");
+            }
+            return response;
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.warn("Ошибка закрытия соединения: {}", e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
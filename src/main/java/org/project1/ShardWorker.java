@@ -0,0 +1,505 @@
+package org.project1;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Рабочий процесс шардированного режима: хранит свою долю игровых сессий и обрабатывает
+ * команды построчного протокола, которые пересылает {@link ShardRouter}.
+ *
+ * <p>Команды (по одной в строке, ответ - одна строка, начинающаяся с {@code OK} или {@code ERR}):
+ * <pre>
+ * NEW &lt;id&gt; &lt;попытки&gt; &lt;слово&gt;   новая игра
+ * GUESS &lt;id&gt; &lt;буква&gt;            догадка
+ * STATE &lt;id&gt;                    состояние игры
+ * LIST                          идентификаторы всех сессий через запятую
+ * COPY &lt;id&gt;                     сериализованная сессия для переноса на другой процесс (сессия остается)
+ * TAKE &lt;id&gt;                     забрать сериализованную сессию (сессия удаляется)
+ * PUT &lt;id&gt; &lt;данные&gt;             принять перенесенную сессию
+ * DROP &lt;id&gt;                     удалить сессию
+ * SHUTDOWN                      завершить процесс
+ * </pre>
+ * Состояние игры в ответе: {@code OK <PLAYING|WON|LOST> <оставшиеся попытки> <маска слова> <введенные буквы>}.
+ *
+ * <p>Если задан {@link AdmissionController}, догадки проходят через него: перегрузка и поток неверного ввода
+ * отклоняются ответом {@code ERR} до обработки, а принятые догадки применяются в потоках обработки
+ * контроля допуска. Когда сессия уходит с процесса ({@code TAKE}, {@code DROP}), ее лимиты забываются.
+ *
+ * <p>Сессии хранятся в {@link SessionStore}: давно не использованные сессии паркуются вне кучи
+ * и восстанавливаются при следующей команде. Если хранилище заполнено, новые сессии ({@code NEW}, {@code PUT})
+ * отклоняются ответом {@code ERR}, а существующие сохраняются. Неактивные сессии вытесняются по таймеру
+ * {@link TimingWheel} раз в {@value #EVICTION_INTERVAL_SECONDS} с, независимо от того, какие команды
+ * приходят. Команды над сессией выполняются через {@link SessionStore#update(long, Function)} под блокировкой
+ * состояния своей игры, поэтому догадки в разных сессиях обрабатываются параллельно.
+ */
+public class ShardWorker implements AutoCloseable {
+    /**
+     * Строка, которой процесс сообщает в стандартный вывод, что принимает подключения.
+     */
+    public static final String READY_MARKER = "SHARD-WORKER-LISTENING ";
+
+    /**
+     * Системное свойство с максимальным количеством активных сессий в куче.
+     */
+    public static final String MAX_HOT_SESSIONS_PROPERTY = "hangman.sessions.hot";
+
+    /**
+     * Системное свойство с максимальным количеством припаркованных вне кучи сессий.
+     */
+    public static final String MAX_PARKED_SESSIONS_PROPERTY = "hangman.sessions.parked";
+
+    /**
+     * Системное свойство с максимальным количеством вытесненных сессий, которые не помещаются
+     * в запись парковки и остаются в куче.
+     */
+    public static final String MAX_OVERSIZED_SESSIONS_PROPERTY = "hangman.sessions.oversized";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardWorker.class);
+    private static final char FIELD_SEPARATOR = '|';
+    private static final String AUDIT_DIR_PROPERTY = "hangman.audit.dir";
+    private static final double GLOBAL_GUESSES_PER_SECOND = 10_000;
+    private static final int GLOBAL_BURST = 1_000;
+    private static final double SESSION_GUESSES_PER_SECOND = 20;
+    private static final int SESSION_BURST = 10;
+    private static final int INVALID_INPUT_LIMIT = 20;
+    private static final long FLOOD_COOLDOWN_SECONDS = 5;
+    private static final int GUESS_QUEUE_CAPACITY = 1_024;
+    private static final int MAX_HOT_SESSIONS = 100_000;
+    private static final long SESSION_IDLE_MINUTES = 5;
+    private static final int MAX_PARKED_SESSIONS = 4_000_000;
+    private static final int MAX_OVERSIZED_SESSIONS = 10_000;
+    private static final long EVICTION_INTERVAL_SECONDS = 10;
+    private static final long TIMING_WHEEL_TICK_MILLIS = 100;
+
+    private final ServerSocket serverSocket;
+    private final SessionStore sessions;
+    private final AdmissionController admissionController;
+    private final TimingWheel timingWheel = new TimingWheel(TIMING_WHEEL_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    private final TimingWheel.Timer evictionTimer;
+    private final long evictionIntervalMillis;
+    private volatile boolean running = true;
+
+    /**
+     * Конструктор для создания рабочего процесса на локальном порту без контроля допуска.
+     *
+     * @param port Порт для подключений или 0 для выбора свободного порта.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public ShardWorker(int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * Конструктор для создания рабочего процесса на локальном порту. Лимиты хранилища сессий берутся
+     * из системных свойств {@value #MAX_HOT_SESSIONS_PROPERTY}, {@value #MAX_PARKED_SESSIONS_PROPERTY}
+     * и {@value #MAX_OVERSIZED_SESSIONS_PROPERTY}; по умолчанию процесс держит {@value #MAX_HOT_SESSIONS}
+     * активных и до {@value #MAX_PARKED_SESSIONS} припаркованных сессий. Память парковки выделяется
+     * по мере заполнения.
+     *
+     * @param port Порт для подключений или 0 для выбора свободного порта.
+     * @param admissionController Контроль допуска догадок или null, если догадки не ограничиваются.
+     *                            Закрывается вместе с процессом.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public ShardWorker(int port, AdmissionController admissionController) throws IOException {
+        this(port, admissionController, new SessionStore(
+                Integer.getInteger(MAX_HOT_SESSIONS_PROPERTY, MAX_HOT_SESSIONS), SESSION_IDLE_MINUTES, TimeUnit.MINUTES,
+                Integer.getInteger(MAX_PARKED_SESSIONS_PROPERTY, MAX_PARKED_SESSIONS),
+                Integer.getInteger(MAX_OVERSIZED_SESSIONS_PROPERTY, MAX_OVERSIZED_SESSIONS)));
+    }
+
+    /**
+     * Конструктор для создания рабочего процесса на локальном порту с заданным хранилищем сессий.
+     *
+     * @param port Порт для подключений или 0 для выбора свободного порта.
+     * @param admissionController Контроль допуска догадок или null, если догадки не ограничиваются.
+     *                            Закрывается вместе с процессом.
+     * @param sessions Хранилище сессий. Закрывается вместе с процессом.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public ShardWorker(int port, AdmissionController admissionController, SessionStore sessions) throws IOException {
+        this(port, admissionController, sessions, TimeUnit.SECONDS.toMillis(EVICTION_INTERVAL_SECONDS));
+    }
+
+    ShardWorker(int port, AdmissionController admissionController, SessionStore sessions, long evictionIntervalMillis)
+            throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.admissionController = admissionController;
+        this.sessions = sessions;
+        this.evictionIntervalMillis = evictionIntervalMillis;
+        this.evictionTimer = timingWheel.newTimer(this::evictIdleSessions);
+        timingWheel.start();
+        timingWheel.schedule(evictionTimer, evictionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Задача таймера: вытесняет неактивные сессии и ставит себя снова.
+     */
+    private void evictIdleSessions() {
+        try {
+            sessions.evictIdle();
+        } finally {
+            if (running) {
+                timingWheel.schedule(evictionTimer, evictionIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Возвращает порт, на котором процесс принимает подключения.
+     *
+     * @return Номер порта.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Принимает подключения, пока процесс не будет остановлен. Каждое подключение обслуживается
+     * своим потоком: подключений немного, это пул соединений маршрутизатора.
+     */
+    public void serve() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> serveConnection(socket), "shard-worker-connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.error("Ошибка приема подключения", e);
+                }
+            }
+        }
+    }
+
+    private void serveConnection(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(handle(line));
+                writer.newLine();
+                writer.flush();
+                if (!running) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                LOGGER.warn("Подключение к рабочему процессу закрыто с ошибкой: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Обрабатывает одну команду протокола.
+     *
+     * @param line Строка команды.
+     * @return Строка ответа.
+     */
+    public String handle(String line) {
+        String[] parts = line.trim().split(" ", 4);
+        try {
+            return switch (parts[0]) {
+                case "NEW" -> newGame(Long.parseLong(parts[1]), Integer.parseInt(parts[2]), parts[3]);
+                case "GUESS" -> guess(Long.parseLong(parts[1]), parts[2]);
+                case "STATE" -> withSession(Long.parseLong(parts[1]), ShardWorker::render);
+                case "LIST" -> list();
+                case "COPY" -> "OK " + withSession(Long.parseLong(parts[1]), ShardWorker::encode);
+                case "TAKE" -> "OK " + take(Long.parseLong(parts[1]));
+                case "PUT" -> put(Long.parseLong(parts[1]), parts[2]);
+                case "DROP" -> drop(Long.parseLong(parts[1]));
+                case "SHUTDOWN" -> {
+                    close();
+                    yield "OK";
+                }
+                default -> "ERR Неизвестная команда: " + parts[0];
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return "ERR Некорректная команда: " + line;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    /**
+     * Возвращает количество сессий процесса.
+     *
+     * @return Количество сессий.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private String newGame(long sessionId, int maxAttempts, String word) {
+        if (!WordDictionary.isValidWord(word)) {
+            throw new IllegalArgumentException("Слово не подходит для игры: " + word);
+        }
+        GameState gameState = new GameState(maxAttempts);
+        gameState.setChosenWord(word);
+        sessions.put(sessionId, gameState);
+        return render(gameState);
+    }
+
+    private String guess(long sessionId, String letter) {
+        if (admissionController != null) {
+            if (!sessions.contains(sessionId)) {
+                throw new IllegalStateException("Нет такой сессии: " + sessionId);
+            }
+            return admittedGuess(sessionId, letter);
+        }
+        if (letter.length() != 1 || !Character.isLetter(letter.charAt(0))) {
+            throw new IllegalArgumentException("Неверный ввод! Введите одну букву.");
+        }
+        return withSession(sessionId, gameState -> applyGuess(gameState, letter.charAt(0)));
+    }
+
+    /**
+     * Пропускает догадку через контроль допуска и ждет ее обработки в потоке обработки.
+     */
+    private String admittedGuess(long sessionId, String letter) {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        AdmissionController.Admission admission = admissionController.submit(sessionId, letter, guess -> {
+            try {
+                response.complete(withSession(sessionId, gameState -> applyGuess(gameState, guess)));
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        });
+        switch (admission) {
+            case ACCEPTED -> {
+                try {
+                    return response.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+            case REJECTED_INVALID_INPUT -> throw new IllegalArgumentException("Неверный ввод! Введите одну букву.");
+            case REJECTED_FLOODING -> throw new IllegalStateException("Слишком много неверных вводов, подождите");
+            case REJECTED_SESSION_RATE -> throw new IllegalStateException("Слишком частые догадки, подождите");
+            default -> throw new IllegalStateException("Сервер перегружен, повторите позже");
+        }
+    }
+
+    private static String applyGuess(GameState gameState, char letter) {
+        synchronized (gameState) {
+            if (!isOver(gameState)) {
+                gameState.updateGuessedLetters(letter);
+            }
+            return render(gameState);
+        }
+    }
+
+    private String list() {
+        StringJoiner ids = new StringJoiner(",", "OK ", "");
+        for (long sessionId : sessions.sessionIds()) {
+            ids.add(Long.toString(sessionId));
+        }
+        return ids.toString().trim();
+    }
+
+    private String take(long sessionId) {
+        String data = withSession(sessionId, gameState -> {
+            sessions.remove(sessionId);
+            return encode(gameState);
+        });
+        forgetLimits(sessionId);
+        return data;
+    }
+
+    private String drop(long sessionId) {
+        if (!sessions.remove(sessionId)) {
+            return "ERR Нет такой сессии";
+        }
+        forgetLimits(sessionId);
+        return "OK";
+    }
+
+    private void forgetLimits(long sessionId) {
+        if (admissionController != null) {
+            admissionController.removeSession(sessionId);
+        }
+    }
+
+    private String put(long sessionId, String data) {
+        GameState gameState = decode(data);
+        sessions.put(sessionId, gameState);
+        return "OK";
+    }
+
+    /**
+     * Выполняет действие над закрепленной сессией под блокировкой ее состояния игры.
+     *
+     * @throws IllegalStateException Если сессии нет.
+     */
+    private <T> T withSession(long sessionId, Function<GameState, T> action) {
+        T result = sessions.update(sessionId, action);
+        if (result == null) {
+            throw new IllegalStateException("Нет такой сессии: " + sessionId);
+        }
+        return result;
+    }
+
+    private static boolean isOver(GameState gameState) {
+        return gameState.isWordGuessed() || gameState.getHangmanState().isGameOver();
+    }
+
+    private static String render(GameState gameState) {
+        synchronized (gameState) {
+            String status = gameState.isWordGuessed() ? "WON"
+                    : gameState.getHangmanState().isGameOver() ? "LOST" : "PLAYING";
+            StringBuilder response = new StringBuilder("OK ").append(status).append(' ')
+                    .append(gameState.getRemainingAttempts()).append(' ');
+            CharSequence wordState = gameState.getCurrentWordStateView();
+            for (int i = 0; i < wordState.length(); i += 2) {
+                response.append(wordState.charAt(i));
+            }
+            response.append(' ');
+            for (int i = 0; i < gameState.getGuessCount(); i++) {
+                response.append(gameState.getGuessedLetterAt(i));
+            }
+            return response.toString();
+        }
+    }
+
+    /**
+     * Сериализует состояние игры для переноса: {@code слово|попытки|ошибки|буквы в порядке ввода}.
+     *
+     * @param gameState Состояние игры.
+     * @return Строка с сериализованным состоянием.
+     */
+    static String encode(GameState gameState) {
+        synchronized (gameState) {
+            StringBuilder data = new StringBuilder(gameState.getChosenWord())
+                    .append(FIELD_SEPARATOR).append(gameState.getHangmanState().getMaxAttempts())
+                    .append(FIELD_SEPARATOR).append(gameState.getHangmanState().getMistakes())
+                    .append(FIELD_SEPARATOR);
+            for (int i = 0; i < gameState.getGuessCount(); i++) {
+                data.append(gameState.getGuessedLetterAt(i));
+            }
+            return data.toString();
+        }
+    }
+
+    /**
+     * Восстанавливает состояние игры из строки, созданной {@link #encode(GameState)}.
+     *
+     * @param data Строка с сериализованным состоянием.
+     * @return Восстановленное состояние игры.
+     * @throws IllegalArgumentException Если строка имеет неверный формат.
+     */
+    static GameState decode(String data) {
+        String[] fields = data.split("\\" + FIELD_SEPARATOR, -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Неверный формат сессии: " + data);
+        }
+        GameState gameState = new GameState(Integer.parseInt(fields[1]));
+        gameState.setChosenWord(fields[0]);
+        gameState.restoreGuesses(fields[3].toCharArray(), Integer.parseInt(fields[2]));
+        return gameState;
+    }
+
+    /**
+     * Останавливает прием подключений.
+     */
+    @Override
+    public void close() {
+        running = false;
+        timingWheel.close();
+        if (admissionController != null) {
+            admissionController.close();
+        }
+        sessions.close();
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.warn("Ошибка закрытия рабочего процесса: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Запускает рабочий процесс в отдельной JVM на свободном локальном порту и дожидается его готовности.
+     *
+     * @return Запущенный процесс и его адрес.
+     * @throws IOException Если процесс не удалось запустить.
+     */
+    public static LaunchedWorker launch() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String property : List.of(AUDIT_DIR_PROPERTY, MAX_HOT_SESSIONS_PROPERTY, MAX_PARKED_SESSIONS_PROPERTY,
+                MAX_OVERSIZED_SESSIONS_PROPERTY)) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                command.add("-D" + property + "=" + value);
+            }
+        }
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), ShardWorker.class.getName(), "0"));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith(READY_MARKER)) {
+                Thread drain = new Thread(() -> output.lines().forEach(ignored -> { }), "shard-worker-output");
+                drain.setDaemon(true);
+                drain.start();
+                return new LaunchedWorker(process, "127.0.0.1:" + line.substring(READY_MARKER.length()).trim());
+            }
+        }
+        throw new IOException("Рабочий процесс завершился до начала работы");
+    }
+
+    /**
+     * Запущенный рабочий процесс.
+     *
+     * @param process Процесс JVM.
+     * @param address Адрес в виде {@code хост:порт}.
+     */
+    public record LaunchedWorker(Process process, String address) {
+    }
+
+    /**
+     * Точка входа рабочего процесса. Первый аргумент - порт (0 - любой свободный).
+     * Догадки проходят через контроль допуска с лимитами по умолчанию.
+     *
+     * @param args Аргументы командной строки.
+     * @throws IOException Если порт не удалось открыть.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        AdmissionController admissionController = new AdmissionController(GLOBAL_GUESSES_PER_SECOND, GLOBAL_BURST,
+                SESSION_GUESSES_PER_SECOND, SESSION_BURST, INVALID_INPUT_LIMIT, FLOOD_COOLDOWN_SECONDS,
+                TimeUnit.SECONDS, Runtime.getRuntime().availableProcessors(), GUESS_QUEUE_CAPACITY);
+        try (ShardWorker worker = new ShardWorker(port, admissionController)) {
+            System.out.println(READY_MARKER + worker.getPort());
+            System.out.flush();
+            worker.serve();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package org.project1;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поиск самых частых ключей в потоке алгоритмом Space-Saving: хранится не более {@code k} счетчиков,
+ * новый ключ при заполнении замещает ключ с минимальным счетчиком и наследует его значение как погрешность.
+ * Любой ключ с частотой больше {@code N / k} гарантированно находится среди счетчиков.
+ *
+ * <p>Для одновременных обновлений счетчики разбиты на полосы: поток обновляет свою полосу под ее
+ * собственной блокировкой, а при запросе полосы объединяются. Так же объединяются наброски
+ * разных потоков или узлов ({@link #merge(SpaceSavingTopK)}).
+ */
+public class SpaceSavingTopK {
+    private final int capacity;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * Конструктор для создания наброска.
+     *
+     * @param capacity Количество отслеживаемых ключей {@code k}.
+     * @throws IllegalArgumentException Если количество ключей не положительно.
+     */
+    public SpaceSavingTopK(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Конструктор для создания наброска с заданным количеством полос.
+     *
+     * @param capacity Количество отслеживаемых ключей {@code k}.
+     * @param stripes Количество полос (округляется вверх до степени двойки).
+     * @throws IllegalArgumentException Если параметры не положительны.
+     */
+    public SpaceSavingTopK(int capacity, int stripes) {
+        if (capacity <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("Количество ключей и полос должно быть положительным");
+        }
+        int stripeCount = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.capacity = capacity;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Увеличивает частоту ключа на единицу.
+     *
+     * @param key Ключ.
+     */
+    public void add(String key) {
+        add(key, 1);
+    }
+
+    /**
+     * Увеличивает частоту ключа.
+     *
+     * @param key Ключ.
+     * @param count Величина увеличения.
+     */
+    public void add(String key, long count) {
+        Stripe stripe = stripes[(int) Thread.currentThread().threadId() & stripeMask];
+        synchronized (stripe) {
+            stripe.offer(key, count, 0);
+        }
+    }
+
+    /**
+     * Возвращает самые частые ключи по убыванию оценки частоты.
+     *
+     * @param limit Максимальное количество ключей.
+     * @return Список ключей с оценками.
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> entries = summary();
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    /**
+     * Добавляет к наброску счетчики другого наброска.
+     *
+     * @param other Другой набросок.
+     */
+    public void merge(SpaceSavingTopK other) {
+        List<Entry> entries = other.summary();
+        Stripe stripe = stripes[(int) Thread.currentThread().threadId() & stripeMask];
+        synchronized (stripe) {
+            for (Entry entry : entries) {
+                stripe.offer(entry.key(), entry.count(), entry.error());
+            }
+        }
+    }
+
+    /**
+     * Возвращает верхнюю оценку памяти: по {@code k} счетчиков на полосу.
+     *
+     * @return Количество счетчиков.
+     */
+    public int getCounterCapacity() {
+        return capacity * stripes.length;
+    }
+
+    /**
+     * Объединяет полосы в один список из не более чем {@code k} ключей. Если полоса заполнена,
+     * отсутствующий в ней ключ мог иметь в ней частоту до ее минимального счетчика - он прибавляется
+     * к оценке и погрешности ключа.
+     */
+    private List<Entry> summary() {
+        Map<String, long[]> combined = new HashMap<>();
+        long[] floors = new long[stripes.length];
+        List<Map<String, long[]>> snapshots = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            synchronized (stripes[i]) {
+                snapshots.add(stripes[i].snapshot());
+                floors[i] = stripes[i].floor();
+            }
+        }
+        for (Map<String, long[]> snapshot : snapshots) {
+            snapshot.keySet().forEach(key -> combined.putIfAbsent(key, new long[2]));
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            Map<String, long[]> snapshot = snapshots.get(i);
+            for (Map.Entry<String, long[]> entry : combined.entrySet()) {
+                long[] counter = snapshot.get(entry.getKey());
+                entry.getValue()[0] += counter != null ? counter[0] : floors[i];
+                entry.getValue()[1] += counter != null ? counter[1] : floors[i];
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(combined.size());
+        combined.forEach((key, counter) -> entries.add(new Entry(key, counter[0], counter[1])));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed());
+        return entries.size() > capacity ? new ArrayList<>(entries.subList(0, capacity)) : entries;
+    }
+
+    /**
+     * Ключ с оценкой частоты.
+     *
+     * @param key Ключ.
+     * @param count Оценка частоты сверху.
+     * @param error Максимальное превышение оценки над истинной частотой.
+     */
+    public record Entry(String key, long count, long error) {
+    }
+
+    /**
+     * Одна полоса счетчиков. Минимальный счетчик ищется перебором: {@code k} - десятки или сотни,
+     * а замещение происходит только для новых ключей.
+     */
+    private static final class Stripe {
+        private final int capacity;
+        private final Map<String, long[]> counters;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        private void offer(String key, long count, long error) {
+            long[] counter = counters.get(key);
+            if (counter != null) {
+                counter[0] += count;
+                counter[1] += error;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(key, new long[] {count, error});
+                return;
+            }
+            String minKey = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+                if (entry.getValue()[0] < min) {
+                    min = entry.getValue()[0];
+                    minKey = entry.getKey();
+                }
+            }
+            counters.remove(minKey);
+            counters.put(key, new long[] {min + count, min + error});
+        }
+
+        private long floor() {
+            if (counters.size() < capacity) {
+                return 0;
+            }
+            long min = Long.MAX_VALUE;
+            for (long[] counter : counters.values()) {
+                min = Math.min(min, counter[0]);
+            }
+            return min;
+        }
+
+        private Map<String, long[]> snapshot() {
+            Map<String, long[]> copy = new HashMap<>(counters.size() * 2);
+            counters.forEach((key, counter) -> copy.put(key, counter.clone()));
+            return copy;
+        }
+    }
+}
\ No newline at end of file
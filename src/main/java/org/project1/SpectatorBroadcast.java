@@ -0,0 +1,215 @@
+package org.project1;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Трансляция одной игры для зрителей.
+ *
+ * <p>Каждое изменение состояния игры отрисовывается один раз в неизменяемый {@link SpectatorFrame},
+ * который раскладывается по очередям всех подписчиков по ссылке. Очередь подписчика ограничена:
+ * если зритель не успевает читать, самые старые непрочитанные кадры вытесняются новыми, и публикация
+ * никогда не ждет медленного зрителя.
+ *
+ * <p>Публикация делится на два шага: {@link #capture(GameState)} отрисовывает кадр под блокировкой
+ * состояния игры, а {@link #deliver(SpectatorFrame)} раздает готовый кадр под блокировкой трансляции,
+ * уже без блокировки игры, поэтому ход игры не ждет раздачи. Если кадры доставляются не в порядке
+ * отрисовки, устаревший кадр пропускается: кадр содержит полное состояние игры.
+ */
+public class SpectatorBroadcast {
+    private final int queueCapacity;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private SpectatorFrame lastFrame;
+
+    /**
+     * Конструктор для создания трансляции.
+     *
+     * @param queueCapacity Максимальное количество непрочитанных кадров у одного зрителя.
+     * @throws IllegalArgumentException Если емкость очереди не положительна.
+     */
+    public SpectatorBroadcast(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Емкость очереди зрителя должна быть положительной");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Подписывает нового зрителя. Если игра уже транслируется, зритель сразу получает последний кадр.
+     *
+     * @return Подписка зрителя.
+     */
+    public synchronized Subscription subscribe() {
+        Subscription subscription = new Subscription(queueCapacity);
+        subscriptions.add(subscription);
+        SpectatorFrame frame = lastFrame;
+        if (frame != null) {
+            subscription.offer(frame);
+        }
+        return subscription;
+    }
+
+    /**
+     * Отписывает зрителя.
+     *
+     * @param subscription Подписка зрителя.
+     * @return true, если зритель был подписан.
+     */
+    public boolean unsubscribe(Subscription subscription) {
+        return subscriptions.remove(subscription);
+    }
+
+    /**
+     * Отрисовывает текущее состояние игры в кадр и раздает его всем зрителям.
+     * Нельзя вызывать под блокировкой состояния игры: для этого есть {@link #capture(GameState)}
+     * и {@link #deliver(SpectatorFrame)}.
+     *
+     * @param gameState Состояние игры.
+     * @return Опубликованный кадр.
+     */
+    public SpectatorFrame publish(GameState gameState) {
+        SpectatorFrame frame = capture(gameState);
+        deliver(frame);
+        return frame;
+    }
+
+    /**
+     * Отрисовывает текущее состояние игры в кадр, не раздавая его. Номер кадра выдается под блокировкой
+     * состояния игры, поэтому номера идут в порядке изменений игры.
+     *
+     * @param gameState Состояние игры.
+     * @return Кадр для {@link #deliver(SpectatorFrame)}.
+     */
+    public SpectatorFrame capture(GameState gameState) {
+        synchronized (gameState) {
+            return new SpectatorFrame(sequence.incrementAndGet(), System.nanoTime(), render(gameState));
+        }
+    }
+
+    /**
+     * Раздает кадр всем зрителям и запоминает его для новых зрителей. Кадр старше уже разданного
+     * пропускается.
+     *
+     * @param frame Кадр из {@link #capture(GameState)}.
+     * @return true, если кадр разослан; false, если он устарел.
+     */
+    public synchronized boolean deliver(SpectatorFrame frame) {
+        if (lastFrame != null && frame.getSequence() <= lastFrame.getSequence()) {
+            return false;
+        }
+        lastFrame = frame;
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(frame);
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает количество подписанных зрителей.
+     *
+     * @return Количество зрителей.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private static String render(GameState gameState) {
+        HangmanState hangmanState = gameState.getHangmanState();
+        return "Текущее состояние слова: " + gameState.getCurrentWordStateView()
+                + "\nОставшиеся попытки: " + gameState.getRemainingAttempts()
+                + "\nВведенные ранее буквы: " + gameState.getGuessedLettersView()
+                + "\nВиселица: " + hangmanState.getCurrentStage();
+    }
+
+    /**
+     * Подписка зрителя: ограниченная кольцевая очередь кадров. Кадры добавляет трансляция под своей
+     * блокировкой, читает поток зрителя.
+     */
+    public static final class Subscription {
+        private final SpectatorFrame[] frames;
+        private int head;
+        private int size;
+        private long dropped;
+        private boolean waiting;
+
+        private Subscription(int capacity) {
+            this.frames = new SpectatorFrame[capacity];
+        }
+
+        private synchronized void offer(SpectatorFrame frame) {
+            if (size == frames.length) {
+                frames[head] = null;
+                head = (head + 1) % frames.length;
+                size--;
+                dropped++;
+            }
+            frames[(head + size) % frames.length] = frame;
+            size++;
+            if (waiting) {
+                notifyAll();
+            }
+        }
+
+        /**
+         * Забирает самый старый непрочитанный кадр, не ожидая.
+         *
+         * @return Кадр или null, если новых кадров нет.
+         */
+        public synchronized SpectatorFrame poll() {
+            if (size == 0) {
+                return null;
+            }
+            SpectatorFrame frame = frames[head];
+            frames[head] = null;
+            head = (head + 1) % frames.length;
+            size--;
+            return frame;
+        }
+
+        /**
+         * Забирает самый старый непрочитанный кадр, ожидая его появления не дольше заданного времени.
+         *
+         * @param timeout Время ожидания.
+         * @param unit Единица измерения времени ожидания.
+         * @return Кадр или null, если время ожидания истекло.
+         * @throws InterruptedException Если ожидание прервано.
+         */
+        public synchronized SpectatorFrame take(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (size == 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                waiting = true;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } finally {
+                    waiting = false;
+                }
+            }
+            return poll();
+        }
+
+        /**
+         * Возвращает количество кадров, вытесненных из очереди до прочтения.
+         *
+         * @return Количество пропущенных кадров.
+         */
+        public synchronized long getDroppedCount() {
+            return dropped;
+        }
+
+        /**
+         * Возвращает количество непрочитанных кадров.
+         *
+         * @return Длина очереди.
+         */
+        public synchronized int getPendingCount() {
+            return size;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package org.project1;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Неизменяемый кадр трансляции игры для зрителей: полное состояние игры на момент изменения,
+ * отрисованное один раз. Один и тот же объект кадра передается всем зрителям по ссылке.
+ *
+ * <p>Кадр содержит полное состояние, а не разницу с предыдущим, поэтому зритель, у которого
+ * пропущены промежуточные кадры, все равно видит актуальную игру.
+ */
+public final class SpectatorFrame {
+    private final long sequence;
+    private final long publishedNanos;
+    private final String text;
+    private final byte[] encoded;
+
+    SpectatorFrame(long sequence, long publishedNanos, String text) {
+        this.sequence = sequence;
+        this.publishedNanos = publishedNanos;
+        this.text = text;
+        this.encoded = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Возвращает порядковый номер кадра в трансляции.
+     *
+     * @return Номер кадра, начиная с 1.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Возвращает момент публикации кадра по {@link System#nanoTime()}.
+     *
+     * @return Момент публикации в наносекундах.
+     */
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+
+    /**
+     * Возвращает отрисованное состояние игры.
+     *
+     * @return Текст кадра.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Возвращает длину кадра в кодировке UTF-8.
+     *
+     * @return Количество байт.
+     */
+    public int getEncodedLength() {
+        return encoded.length;
+    }
+
+    /**
+     * Записывает кадр в кодировке UTF-8, закодированной один раз при создании кадра.
+     *
+     * @param out Поток вывода зрителя.
+     * @throws IOException Если запись не удалась.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(encoded);
+    }
+
+    /**
+     * Записывает кадр в буфер в кодировке UTF-8, закодированной один раз при создании кадра.
+     *
+     * @param out Буфер ответа зрителю.
+     * @throws java.nio.BufferOverflowException Если кадр не помещается в буфер.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.put(encoded);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,367 @@
+package org.project1;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Словарь клиента: общий для всех клиентов базовый {@link WordDictionary} и небольшая надстройка
+ * с добавленными категориями, добавленными словами и удаленными (запрещенными) словами и категориями.
+ *
+ * <p>Базовый словарь не копируется и не изменяется. Надстройка хранит только изменения: для категории
+ * с изменениями - отсортированные номера удаленных слов базы и список добавленных слов, поэтому память
+ * клиента зависит от количества его изменений, а не от размера словаря. {@link #getWordsForCategory(String)},
+ * {@link #getValidWordCount(String)}, {@link #getValidWord(String, int)} и случайный выбор объединяют слои
+ * на лету, без копирования списков. Категории без изменений обслуживает базовый словарь, включая его кеши
+ * и частоты слов.
+ *
+ * <p>Надстройка неизменяема и заменяется целиком при каждом изменении (копирование при записи),
+ * поэтому чтение не блокируется. Изменения синхронизированы. Базовый словарь не должен меняться,
+ * пока на нем построены надстройки.
+ */
+public class TenantDictionary extends WordDictionary {
+    private final WordDictionary base;
+    private volatile Map<String, Layer> layers = Map.of();
+
+    /**
+     * Конструктор для создания словаря клиента без изменений.
+     *
+     * @param base Общий базовый словарь.
+     */
+    public TenantDictionary(WordDictionary base) {
+        super(base);
+        this.base = base;
+    }
+
+    /**
+     * Возвращает базовый словарь.
+     *
+     * @return Базовый словарь.
+     */
+    public WordDictionary getBase() {
+        return base;
+    }
+
+    /**
+     * Добавляет слово в категорию. Если категории нет, она создается. Если слово было удалено
+     * из базовой категории, удаление отменяется.
+     *
+     * @param category Категория.
+     * @param word Слово.
+     * @throws IllegalArgumentException Если слово не подходит для игры или уже есть в категории.
+     */
+    public synchronized void addWord(String category, String word) {
+        if (!isValidWord(word)) {
+            throw new IllegalArgumentException("Слово не подходит для игры: " + word);
+        }
+        Layer layer = layerFor(category);
+        if (layer.contains(word)) {
+            throw new IllegalArgumentException("Слово уже есть в категории: " + word);
+        }
+        int removed = layer.baseWords.indexOf(word);
+        Layer updated = removed >= 0
+                ? layer.withRemovedIndexes(without(layer.removedIndexes, removed),
+                        without(layer.removedValidIndexes, validIndexOf(category, word)))
+                : layer.withAdded(with(layer.added, word));
+        setLayer(category, updated);
+    }
+
+    /**
+     * Добавляет категорию клиента со словами.
+     *
+     * @param category Категория.
+     * @param words Слова.
+     * @throws IllegalArgumentException Если категория уже есть или слово не подходит для игры.
+     */
+    public synchronized void addCategory(String category, List<String> words) {
+        if (getCategories().contains(category)) {
+            throw new IllegalArgumentException("Категория уже есть: " + category);
+        }
+        for (String word : words) {
+            if (!isValidWord(word)) {
+                throw new IllegalArgumentException("Слово не подходит для игры: " + word);
+            }
+        }
+        setLayer(category, Layer.EMPTY.withAdded(List.copyOf(words)));
+    }
+
+    /**
+     * Удаляет слово из категории. Слово базового словаря только помечается удаленным.
+     *
+     * @param category Категория.
+     * @param word Слово.
+     * @throws IllegalArgumentException Если слова нет в категории.
+     */
+    public synchronized void removeWord(String category, String word) {
+        Layer layer = layerFor(category);
+        if (!layer.contains(word)) {
+            throw new IllegalArgumentException("Слова нет в категории: " + word);
+        }
+        int addedIndex = layer.added.indexOf(word);
+        Layer updated;
+        if (addedIndex >= 0) {
+            List<String> added = new ArrayList<>(layer.added);
+            added.remove(addedIndex);
+            updated = layer.withAdded(List.copyOf(added));
+        } else {
+            int[] removedValidIndexes = layer.removedValidIndexes;
+            if (isValidWord(word)) {
+                removedValidIndexes = with(removedValidIndexes, validIndexOf(category, word));
+            }
+            updated = layer.withRemovedIndexes(with(layer.removedIndexes, layer.baseWords.indexOf(word)),
+                    removedValidIndexes);
+        }
+        setLayer(category, updated);
+    }
+
+    /**
+     * Удаляет категорию: она пропадает из списка категорий вместе со словами.
+     *
+     * @param category Категория.
+     * @throws IllegalArgumentException Если категории нет.
+     */
+    public synchronized void removeCategory(String category) {
+        if (!getCategories().contains(category)) {
+            throw new IllegalArgumentException("Категории нет: " + category);
+        }
+        setLayer(category, Layer.HIDDEN);
+    }
+
+    /**
+     * Проверяет, есть ли у клиента изменения в категории.
+     *
+     * @param category Категория.
+     * @return true, если категория изменена, добавлена или удалена клиентом.
+     */
+    public boolean isOverridden(String category) {
+        return layers.containsKey(category);
+    }
+
+    @Override
+    public List<String> getCategories() {
+        Map<String, Layer> current = layers;
+        List<String> categories = base.getCategories();
+        if (current.isEmpty()) {
+            return categories;
+        }
+        categories.removeIf(category -> current.get(category) == Layer.HIDDEN);
+        for (Map.Entry<String, Layer> entry : current.entrySet()) {
+            Layer layer = entry.getValue();
+            if (layer != Layer.HIDDEN && !categories.contains(entry.getKey())) {
+                categories.add(entry.getKey());
+            }
+        }
+        return categories;
+    }
+
+    @Override
+    public List<String> getWordsForCategory(String category) {
+        Layer layer = layers.get(category);
+        if (layer == null) {
+            return base.getWordsForCategory(category);
+        }
+        return layer.words();
+    }
+
+    @Override
+    public int getValidWordCount(String category) {
+        Layer layer = layers.get(category);
+        if (layer == null) {
+            return base.getValidWordCount(category);
+        }
+        return layer.baseValidCount - layer.removedValidIndexes.length + layer.added.size();
+    }
+
+    @Override
+    public String getValidWord(String category, int index) {
+        Layer layer = layers.get(category);
+        if (layer == null) {
+            return base.getValidWord(category, index);
+        }
+        int baseCount = layer.baseValidCount - layer.removedValidIndexes.length;
+        if (index < 0 || index >= baseCount + layer.added.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index >= baseCount) {
+            return layer.added.get(index - baseCount);
+        }
+        return base.getValidWord(category, skipRemoved(index, layer.removedValidIndexes));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Для категорий без изменений учитываются частоты слов базового словаря.
+     */
+    @Override
+    public boolean hasWordFrequencies(String category) {
+        return super.hasWordFrequencies(category) || !isOverridden(category) && base.hasWordFrequencies(category);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Для категорий без изменений и без частот клиента выбор делает базовый словарь.
+     */
+    @Override
+    public String getWeightedRandomWord(String category, int difficulty) {
+        if (!isOverridden(category) && !super.hasWordFrequencies(category)) {
+            return base.getWeightedRandomWord(category, difficulty);
+        }
+        return super.getWeightedRandomWord(category, difficulty);
+    }
+
+    private Layer layerFor(String category) {
+        Layer layer = layers.get(category);
+        if (layer == null) {
+            return new Layer(base.getWordsForCategory(category), base.getValidWordCount(category),
+                    Layer.NONE, Layer.NONE, List.of());
+        }
+        return layer == Layer.HIDDEN ? Layer.EMPTY : layer;
+    }
+
+    /**
+     * Заменяет надстройку копией с новым слоем категории. Частоты слов клиента для категории
+     * сбрасываются: номера слов в ней изменились.
+     */
+    private void setLayer(String category, Layer layer) {
+        Map<String, Layer> updated = new HashMap<>(layers);
+        updated.put(category, layer);
+        layers = Map.copyOf(updated);
+        clearWordFrequencies(category);
+    }
+
+    /**
+     * Номер слова среди подходящих слов базовой категории.
+     */
+    private int validIndexOf(String category, String word) {
+        int count = base.getValidWordCount(category);
+        for (int i = 0; i < count; i++) {
+            if (base.getValidWord(category, i).equals(word)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Слова нет среди подходящих слов базовой категории: " + word);
+    }
+
+    /**
+     * Переводит номер в списке без удаленных элементов в номер в исходном списке.
+     *
+     * @param index Номер в списке без удаленных элементов.
+     * @param removed Отсортированные номера удаленных элементов исходного списка.
+     * @return Номер в исходном списке.
+     */
+    private static int skipRemoved(int index, int[] removed) {
+        int result = index;
+        for (int removedIndex : removed) {
+            if (removedIndex > result) {
+                break;
+            }
+            result++;
+        }
+        return result;
+    }
+
+    private static int[] with(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position >= 0) {
+            return sorted;
+        }
+        position = -position - 1;
+        int[] result = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(sorted, position, result, position + 1, sorted.length - position);
+        return result;
+    }
+
+    private static int[] without(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position < 0) {
+            return sorted;
+        }
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        System.arraycopy(sorted, position + 1, result, position, result.length - position);
+        return result;
+    }
+
+    private static List<String> with(List<String> words, String word) {
+        List<String> result = new ArrayList<>(words.size() + 1);
+        result.addAll(words);
+        result.add(word);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Изменения клиента в одной категории.
+     *
+     * @param baseWords Слова категории в базовом словаре (не копия) или пустой список, если категория
+     *                  создана клиентом.
+     * @param baseValidCount Количество подходящих для игры слов в {@code baseWords}.
+     * @param removedIndexes Отсортированные номера удаленных слов в {@code baseWords}.
+     * @param removedValidIndexes Отсортированные номера удаленных слов среди подходящих слов базовой категории.
+     * @param added Добавленные слова.
+     */
+    private record Layer(List<String> baseWords, int baseValidCount, int[] removedIndexes, int[] removedValidIndexes,
+                         List<String> added) {
+        private static final int[] NONE = new int[0];
+        private static final Layer EMPTY = new Layer(Collections.emptyList(), 0, NONE, NONE, List.of());
+        private static final Layer HIDDEN = new Layer(Collections.emptyList(), 0, NONE, NONE, List.of());
+
+        private Layer withRemovedIndexes(int[] removed, int[] removedValid) {
+            return new Layer(baseWords, baseValidCount, removed, removedValid, added);
+        }
+
+        private Layer withAdded(List<String> words) {
+            return new Layer(baseWords, baseValidCount, removedIndexes, removedValidIndexes, words);
+        }
+
+        private boolean contains(String word) {
+            if (added.contains(word)) {
+                return true;
+            }
+            int index = baseWords.indexOf(word);
+            return index >= 0 && Arrays.binarySearch(removedIndexes, index) < 0;
+        }
+
+        private List<String> words() {
+            if (removedIndexes.length == 0 && added.isEmpty()) {
+                return baseWords;
+            }
+            return new MergedWords(this);
+        }
+    }
+
+    /**
+     * Представление слов категории: слова базы без удаленных и затем добавленные слова.
+     */
+    private static final class MergedWords extends AbstractList<String> implements RandomAccess {
+        private final Layer layer;
+        private final int baseSize;
+
+        private MergedWords(Layer layer) {
+            this.layer = layer;
+            this.baseSize = layer.baseWords.size() - layer.removedIndexes.length;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            if (index >= baseSize) {
+                return layer.added.get(index - baseSize);
+            }
+            return layer.baseWords.get(skipRemoved(index, layer.removedIndexes));
+        }
+
+        @Override
+        public int size() {
+            return baseSize + layer.added.size();
+        }
+    }
+}
\ No newline at end of file
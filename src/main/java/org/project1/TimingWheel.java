@@ -0,0 +1,280 @@
+package org.project1;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Иерархическое колесо таймеров для ограничений времени на ход.
+ *
+ * <p>Колесо состоит из нескольких уровней по {@code 2^wheelBits} ячеек. Таймер с дедлайном в пределах
+ * ближайшего оборота уровня 0 лежит в ячейке этого тика, более далекие таймеры лежат на старших уровнях
+ * и переносятся вниз, когда колесо доходит до их периода. Ячейки - двусвязные списки, поэтому
+ * постановка, сброс и отмена таймера выполняются за O(1) и без создания объектов: один {@link Timer}
+ * переиспользуется сессией на протяжении всей игры.
+ *
+ * <p>Тики продвигает один поток ({@link #start()}). Просроченные задачи выполняются в этом потоке
+ * вне блокировки колеса, поэтому они должны быть короткими.
+ */
+public class TimingWheel implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickNanos;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final Timer[][] slots;
+    private final long maxTicks;
+    private final Object lock = new Object();
+    private long currentTick;
+    private Thread ticker;
+    private volatile boolean running;
+
+    /**
+     * Конструктор для создания колеса таймеров.
+     *
+     * @param tick Длительность одного тика.
+     * @param unit Единица измерения длительности тика.
+     * @param wheelBits Количество бит на уровень, на уровне {@code 2^wheelBits} ячеек.
+     * @param levels Количество уровней колеса.
+     * @throws IllegalArgumentException Если параметры колеса некорректны.
+     */
+    public TimingWheel(long tick, TimeUnit unit, int wheelBits, int levels) {
+        if (tick <= 0 || wheelBits <= 0 || levels <= 0 || (long) wheelBits * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Некорректные параметры колеса таймеров");
+        }
+        this.tickNanos = unit.toNanos(tick);
+        this.wheelBits = wheelBits;
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.slots = new Timer[levels][1 << wheelBits];
+        this.maxTicks = 1L << (wheelBits * levels);
+    }
+
+    /**
+     * Создает колесо с 4 уровнями по 256 ячеек, что покрывает 2^32 тиков.
+     *
+     * @param tick Длительность одного тика.
+     * @param unit Единица измерения длительности тика.
+     */
+    public TimingWheel(long tick, TimeUnit unit) {
+        this(tick, unit, 8, 4);
+    }
+
+    /**
+     * Создает таймер, который можно многократно ставить и отменять.
+     *
+     * @param task Задача, выполняемая при срабатывании таймера.
+     * @return Новый неактивный таймер.
+     */
+    public Timer newTimer(Runnable task) {
+        return new Timer(this, task);
+    }
+
+    /**
+     * Ставит таймер или переставляет уже поставленный. Задержка округляется вверх до целого числа тиков
+     * и отсчитывается от текущего тика, поэтому таймер срабатывает с точностью до одного тика.
+     *
+     * @param timer Таймер этого колеса.
+     * @param delay Задержка до срабатывания.
+     * @param unit Единица измерения задержки.
+     * @throws IllegalArgumentException Если таймер создан другим колесом или задержка больше диапазона колеса.
+     */
+    public void schedule(Timer timer, long delay, TimeUnit unit) {
+        if (timer.wheel != this) {
+            throw new IllegalArgumentException("Таймер принадлежит другому колесу");
+        }
+        long ticks = Math.max(1, (unit.toNanos(delay) + tickNanos - 1) / tickNanos);
+        if (ticks >= maxTicks) {
+            throw new IllegalArgumentException("Задержка превышает диапазон колеса таймеров");
+        }
+        synchronized (lock) {
+            unlink(timer);
+            timer.deadline = currentTick + ticks;
+            insert(timer);
+        }
+    }
+
+    /**
+     * Отменяет таймер.
+     *
+     * @param timer Таймер этого колеса.
+     * @return true, если таймер был поставлен и отменен, иначе false.
+     */
+    public boolean cancel(Timer timer) {
+        synchronized (lock) {
+            return unlink(timer);
+        }
+    }
+
+    /**
+     * Запускает поток, продвигающий колесо раз в тик.
+     *
+     * @throws IllegalStateException Если колесо уже запущено.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            throw new IllegalStateException("Колесо таймеров уже запущено");
+        }
+        running = true;
+        ticker = new Thread(this::runTicks, "hangman-timing-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Останавливает поток колеса. Поставленные таймеры больше не срабатывают.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (ticker != null) {
+            LockSupport.unpark(ticker);
+        }
+    }
+
+    /**
+     * Возвращает номер текущего тика колеса.
+     *
+     * @return Количество пройденных тиков.
+     */
+    public long getCurrentTick() {
+        synchronized (lock) {
+            return currentTick;
+        }
+    }
+
+    /**
+     * Продвигает колесо на один тик и выполняет просроченные задачи.
+     * Должен вызываться только одним потоком.
+     */
+    void tick() {
+        Timer expired = null;
+        synchronized (lock) {
+            currentTick++;
+            cascade();
+            int slot = (int) (currentTick & wheelMask);
+            Timer timer = slots[0][slot];
+            while (timer != null) {
+                Timer next = timer.next;
+                unlink(timer);
+                timer.nextExpired = expired;
+                expired = timer;
+                timer = next;
+            }
+        }
+
+        while (expired != null) {
+            Timer timer = expired;
+            expired = timer.nextExpired;
+            timer.nextExpired = null;
+            try {
+                timer.task.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Ошибка в задаче таймера", e);
+            }
+        }
+    }
+
+    private void runTicks() {
+        long start = System.nanoTime();
+        long ticks = 0;
+        while (running) {
+            long wait = start + (ticks + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            tick();
+            ticks++;
+        }
+    }
+
+    /**
+     * Переносит таймеры со старших уровней, период ячейки которых начинается на текущем тике.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level + 1 < slots.length && (currentTick & ((1L << (wheelBits * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (wheelBits * level)) & wheelMask);
+            Timer timer = slots[level][slot];
+            slots[level][slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.level = -1;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void insert(Timer timer) {
+        long delta = timer.deadline - currentTick;
+        int level = 0;
+        while (level + 1 < slots.length && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((timer.deadline >>> (wheelBits * level)) & wheelMask);
+        Timer head = slots[level][slot];
+        timer.next = head;
+        timer.prev = null;
+        if (head != null) {
+            head.prev = timer;
+        }
+        slots[level][slot] = timer;
+        timer.level = level;
+        timer.slot = slot;
+    }
+
+    private boolean unlink(Timer timer) {
+        if (timer.level < 0) {
+            return false;
+        }
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.level = -1;
+        return true;
+    }
+
+    /**
+     * Переиспользуемый таймер колеса. Все поля изменяются только под блокировкой колеса.
+     */
+    public static final class Timer {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private Timer prev;
+        private Timer next;
+        private Timer nextExpired;
+        private long deadline;
+        private int level = -1;
+        private int slot;
+
+        private Timer(TimingWheel wheel, Runnable task) {
+            this.wheel = wheel;
+            this.task = task;
+        }
+
+        /**
+         * Проверяет, поставлен ли таймер.
+         *
+         * @return true, если таймер ожидает срабатывания, иначе false.
+         */
+        public boolean isScheduled() {
+            synchronized (wheel.lock) {
+                return level >= 0;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.project1;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничитель частоты по алгоритму маркерной корзины без блокировок.
+ *
+ * <p>Вместо количества маркеров хранится теоретическое время прибытия следующего запроса (GCRA):
+ * каждый принятый запрос сдвигает его на интервал между маркерами, а запрос отклоняется, если
+ * сдвинутое время ушло вперед от текущего больше чем на емкость корзины. Состояние - одно число,
+ * поэтому обновление - одна операция CAS.
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Конструктор для создания корзины.
+     *
+     * @param ratePerSecond Скорость пополнения, маркеров в секунду.
+     * @param burst Емкость корзины: сколько запросов можно принять подряд.
+     * @throws IllegalArgumentException Если параметры не положительны.
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Скорость и емкость корзины должны быть положительными");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Пытается взять маркер.
+     *
+     * @return true, если маркер взят и запрос можно принять.
+     */
+    public boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -19,4 +19,20 @@ public interface UserInterface {
      * @return Строка, введенная пользователем.
      */
     String getUserInput();
+
+    /**
+     * Отображает краткий результат хода в пакетном режиме: букву, состояние слова без пробелов
+     * (скрытые буквы - {@code -}) и оставшиеся попытки через пробел, например {@code о ---о-о 5}.
+     *
+     * @param letter Введенная буква.
+     * @param gameState Состояние игры после хода.
+     */
+    default void displayTurnResult(char letter, GameState gameState) {
+        CharSequence wordState = gameState.getCurrentWordStateView();
+        StringBuilder message = new StringBuilder().append(letter).append(' ');
+        for (int i = 0; i < wordState.length(); i += 2) {
+            message.append(wordState.charAt(i));
+        }
+        displayMessage(message.append(' ').append(gameState.getRemainingAttempts()).toString());
+    }
 }
\ No newline at end of file
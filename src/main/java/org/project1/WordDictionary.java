@@ -1,28 +1,62 @@
 package org.project1;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Класс, представляющий словарь слов для игры "Виселица".
  * Содержит слова, разделенные по категориям, и предоставляет методы для работы с ними.
+ *
+ * <p>Для категории можно загрузить частоты слов в корпусе ({@link #setWordFrequencies(String, Map)}).
+ * Тогда {@link #getWeightedRandomWord(String, int)} выбирает частые слова чаще на легком уровне
+ * и редкие - на сложном. Для каждого уровня строится своя {@link AliasTable}, поэтому выбор
+ * стоит O(1) при любом размере корпуса, а изменение частоты слова перестраивает таблицы частично.
  */
 public class WordDictionary {
+    /**
+     * Легкий уровень сложности: вес слова равен его частоте.
+     */
+    public static final int DIFFICULTY_EASY = 0;
+
+    /**
+     * Средний уровень сложности: все слова равновероятны.
+     */
+    public static final int DIFFICULTY_MEDIUM = 1;
+
+    /**
+     * Сложный уровень сложности: вес слова обратно пропорционален его частоте.
+     */
+    public static final int DIFFICULTY_HARD = 2;
+
     private final Map<String, List<String>> categoryMap;
-    private final Random random = new SecureRandom();
+    private final Random random;
+    private final Map<String, List<String>> validWordsCache = new ConcurrentHashMap<>();
+    private final Map<String, WeightedWords> weightedWords = new ConcurrentHashMap<>();
     private static final int MIN_WORD_LENGTH = 3;
+    private static final String WORD_PATTERN = "[А-Яа-яA-Za-z]+";
+    private static final long DEFAULT_WORD_FREQUENCY = 1;
+    private static final String FREQUENCIES_EXTENSION = ".freq";
 
     /**
      * Конструктор для создания экземпляра словаря.
      * Инициализирует словарь с предопределенными категориями и словами.
      */
     public WordDictionary() {
+        DictionaryLoadedEvent event = GameEvents.beginDictionaryLoad();
+        this.random = new SecureRandom();
         this.categoryMap = new HashMap<>() {{
             put("Животные", Arrays.asList("пантера", "гепард", "медведь", "пингвин", "лошадь", "заяц",
                     "обезьяна", "капибара", "свинья", "хомяк"));
@@ -45,6 +79,51 @@ public class WordDictionary {
             put("Школьные принадлежности", Arrays.asList("пенал", "карандаш", "маркер", "циркуль", "линейка",
                     "портфель", "рюкзак", "транспортир", "ластик", "корректор"));
         }};
+        commitLoadEvent(event);
+    }
+
+    /**
+     * Конструктор для создания словаря из готового набора категорий,
+     * например из отображенного в память {@link DictionarySnapshot}. Набор уже загружен, поэтому событие
+     * загрузки словаря не записывается: его записывает источник, например {@link DictionarySnapshot#open(Path)}.
+     *
+     * @param categoryMap Слова, разделенные по категориям.
+     */
+    public WordDictionary(Map<String, List<String>> categoryMap) {
+        this.random = new SecureRandom();
+        this.categoryMap = categoryMap;
+    }
+
+    /**
+     * Конструктор для словаря-надстройки, например {@link TenantDictionary}: слова и источник случайных чисел
+     * берутся из базового словаря без копирования, событие загрузки словаря не записывается.
+     *
+     * @param base Базовый словарь.
+     */
+    protected WordDictionary(WordDictionary base) {
+        this.categoryMap = base.categoryMap;
+        this.random = base.random;
+    }
+
+    private void commitLoadEvent(DictionaryLoadedEvent event) {
+        if (event != null) {
+            int wordCount = 0;
+            for (List<String> words : categoryMap.values()) {
+                wordCount += words.size();
+            }
+            GameEvents.commitDictionaryLoad(event, categoryMap.size(), wordCount);
+        }
+    }
+
+    /**
+     * Проверяет, подходит ли слово для игры: длина не меньше {@link #MIN_WORD_LENGTH}
+     * и слово состоит только из букв.
+     *
+     * @param word Проверяемое слово.
+     * @return true, если слово подходит для игры, иначе false.
+     */
+    public static boolean isValidWord(String word) {
+        return word.length() >= MIN_WORD_LENGTH && word.matches(WORD_PATTERN);
     }
 
     /**
@@ -80,8 +159,15 @@ public class WordDictionary {
             throw new IllegalArgumentException("Список слов пуст или равен null");
         }
 
+        if (words instanceof DictionarySnapshot.WordList snapshotWords) {
+            if (snapshotWords.getValidCount() == 0) {
+                throw new IllegalStateException("Нет подходящих слов в предоставленном списке");
+            }
+            return snapshotWords.getValidWord(random.nextInt(snapshotWords.getValidCount()));
+        }
+
         List<String> validWords = words.stream()
-                .filter(word -> word.length() >= MIN_WORD_LENGTH && word.matches("[А-Яа-яA-Za-z]+"))
+                .filter(WordDictionary::isValidWord)
                 .toList();
 
         if (validWords.isEmpty()) {
@@ -90,4 +176,210 @@ public class WordDictionary {
 
         return validWords.get(random.nextInt(validWords.size()));
     }
+
+    /**
+     * Возвращает количество подходящих для игры слов категории.
+     *
+     * @param category Категория.
+     * @return Количество подходящих слов; 0, если категория не найдена.
+     */
+    public int getValidWordCount(String category) {
+        List<String> words = getWordsForCategory(category);
+        if (words instanceof DictionarySnapshot.WordList snapshotWords) {
+            return snapshotWords.getValidCount();
+        }
+        return getValidWords(category, words).size();
+    }
+
+    /**
+     * Возвращает подходящее для игры слово категории по номеру.
+     * Номера стабильны, пока словарь не меняется.
+     *
+     * @param category Категория.
+     * @param index Номер от 0 до {@link #getValidWordCount(String)}.
+     * @return Подходящее слово.
+     * @throws IndexOutOfBoundsException Если номер вне диапазона.
+     */
+    public String getValidWord(String category, int index) {
+        List<String> words = getWordsForCategory(category);
+        if (words instanceof DictionarySnapshot.WordList snapshotWords) {
+            return snapshotWords.getValidWord(index);
+        }
+        return getValidWords(category, words).get(index);
+    }
+
+    /**
+     * Возвращает подходящие слова категории, отфильтрованные один раз и закешированные.
+     */
+    private List<String> getValidWords(String category, List<String> words) {
+        if (words.isEmpty()) {
+            return words;
+        }
+        return validWordsCache.computeIfAbsent(category,
+                key -> words.stream().filter(WordDictionary::isValidWord).toList());
+    }
+
+    /**
+     * Загружает частоты слов категории в корпусе и строит таблицы взвешенного выбора для всех уровней
+     * сложности. Подходящие для игры слова, которых нет в частотах, получают частоту 1.
+     *
+     * @param category Категория.
+     * @param frequencies Частоты слов.
+     * @throws IllegalArgumentException Если частота не положительна.
+     * @throws IllegalStateException Если в категории нет подходящих слов.
+     */
+    public void setWordFrequencies(String category, Map<String, Long> frequencies) {
+        int validCount = getValidWordCount(category);
+        if (validCount == 0) {
+            throw new IllegalStateException("Нет подходящих слов в категории: " + category);
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        long[] wordFrequencies = new long[validCount];
+        for (int i = 0; i < validCount; i++) {
+            String word = getValidWord(category, i);
+            indexes.put(word, i);
+            wordFrequencies[i] = checkFrequency(frequencies.getOrDefault(word, DEFAULT_WORD_FREQUENCY));
+        }
+        AliasTable[] tables = new AliasTable[DIFFICULTY_HARD + 1];
+        double[] weights = new double[validCount];
+        for (int difficulty = DIFFICULTY_EASY; difficulty <= DIFFICULTY_HARD; difficulty++) {
+            for (int i = 0; i < validCount; i++) {
+                weights[i] = weightFor(wordFrequencies[i], difficulty);
+            }
+            tables[difficulty] = new AliasTable(weights);
+        }
+        weightedWords.put(category, new WeightedWords(indexes, tables));
+    }
+
+    /**
+     * Изменяет частоту одного слова. Таблицы выбора перестраиваются только в части, содержащей слово.
+     *
+     * @param category Категория.
+     * @param word Слово.
+     * @param frequency Новая частота.
+     * @throws IllegalArgumentException Если частота не положительна или слова нет среди подходящих слов категории.
+     * @throws IllegalStateException Если для категории не загружены частоты.
+     */
+    public void setWordFrequency(String category, String word, long frequency) {
+        checkFrequency(frequency);
+        WeightedWords weighted = weightedWords.get(category);
+        if (weighted == null) {
+            throw new IllegalStateException("Для категории не загружены частоты слов: " + category);
+        }
+        Integer index = weighted.indexes.get(word);
+        if (index == null) {
+            throw new IllegalArgumentException("Слова нет среди подходящих слов категории: " + word);
+        }
+        for (int difficulty = DIFFICULTY_EASY; difficulty <= DIFFICULTY_HARD; difficulty++) {
+            weighted.tables[difficulty].setWeight(index, weightFor(frequency, difficulty));
+        }
+    }
+
+    /**
+     * Удаляет частоты слов категории: после этого слова категории выбираются равновероятно.
+     *
+     * @param category Категория.
+     */
+    public void clearWordFrequencies(String category) {
+        weightedWords.remove(category);
+    }
+
+    /**
+     * Проверяет, загружены ли частоты слов для категории.
+     *
+     * @param category Категория.
+     * @return true, если частоты загружены.
+     */
+    public boolean hasWordFrequencies(String category) {
+        return weightedWords.containsKey(category);
+    }
+
+    /**
+     * Возвращает случайное подходящее слово категории с учетом частот слов и уровня сложности.
+     * Если частоты для категории не загружены, все слова равновероятны.
+     *
+     * @param category Категория.
+     * @param difficulty Уровень сложности: {@link #DIFFICULTY_EASY}, {@link #DIFFICULTY_MEDIUM}
+     *                   или {@link #DIFFICULTY_HARD}.
+     * @return Подходящее слово.
+     * @throws IllegalArgumentException Если уровень сложности некорректен.
+     * @throws IllegalStateException Если в категории нет подходящих слов.
+     */
+    public String getWeightedRandomWord(String category, int difficulty) {
+        if (difficulty < DIFFICULTY_EASY || difficulty > DIFFICULTY_HARD) {
+            throw new IllegalArgumentException("Некорректный уровень сложности: " + difficulty);
+        }
+        WeightedWords weighted = weightedWords.get(category);
+        if (weighted != null) {
+            return getValidWord(category, weighted.tables[difficulty].sample(random));
+        }
+        int validCount = getValidWordCount(category);
+        if (validCount == 0) {
+            throw new IllegalStateException("Нет подходящих слов в категории: " + category);
+        }
+        return getValidWord(category, random.nextInt(validCount));
+    }
+
+    private static long checkFrequency(long frequency) {
+        if (frequency <= 0) {
+            throw new IllegalArgumentException("Частота слова должна быть положительной: " + frequency);
+        }
+        return frequency;
+    }
+
+    /**
+     * Вес слова на уровне сложности: частота в степени 1, 0 или -1 для легкого, среднего и сложного уровня.
+     */
+    private static double weightFor(long frequency, int difficulty) {
+        return switch (difficulty) {
+            case DIFFICULTY_EASY -> frequency;
+            case DIFFICULTY_MEDIUM -> 1;
+            default -> 1.0 / frequency;
+        };
+    }
+
+    /**
+     * Читает частоты слов из каталога: каждый файл {@code <категория>.freq} в UTF-8 содержит
+     * строки вида {@code слово частота}. Пустые строки пропускаются.
+     *
+     * @param directory Каталог с частотами.
+     * @return Частоты слов, разделенные по категориям.
+     * @throws IOException Если каталог или файлы не удалось прочитать.
+     * @throws IllegalArgumentException Если строка имеет неверный формат.
+     */
+    public static Map<String, Map<String, Long>> readWordFrequencies(Path directory) throws IOException {
+        Map<String, Map<String, Long>> frequencies = new LinkedHashMap<>();
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(FREQUENCIES_EXTENSION)).sorted().toList();
+        }
+        for (Path path : files) {
+            String fileName = path.getFileName().toString();
+            String category = fileName.substring(0, fileName.length() - FREQUENCIES_EXTENSION.length());
+            Map<String, Long> wordFrequencies = new HashMap<>();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                String[] parts = trimmed.split("\\s+");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Неверная строка частот в " + fileName + ": " + line);
+                }
+                try {
+                    wordFrequencies.put(parts[0], Long.parseLong(parts[1]));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Неверная частота в " + fileName + ": " + line, e);
+                }
+            }
+            frequencies.put(category, wordFrequencies);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Таблицы взвешенного выбора категории для каждого уровня сложности и номера слов в них.
+     */
+    private record WeightedWords(Map<String, Integer> indexes, AliasTable[] tables) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package org.project1;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Неповторяющийся выбор слов для одной игровой сессии: в каждой категории все подходящие слова
+ * выпадают по одному разу, прежде чем какое-либо повторится.
+ *
+ * <p>Порядок слов - {@link FeistelPermutation} индексов слов категории, ключ которой получен из зерна
+ * сессии, категории и номера круга. Поэтому сессия хранит только зерно и по счетчику на категорию,
+ * а не перемешанную копию списка, и следующее слово вычисляется за O(1).
+ * После полного круга начинается новый круг в другом порядке.
+ */
+public class WordSequence {
+    private final long seed;
+    private final Map<String, long[]> counters = new HashMap<>();
+
+    /**
+     * Конструктор для создания последовательности слов сессии.
+     *
+     * @param seed Зерно сессии.
+     */
+    public WordSequence(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Возвращает следующее слово категории.
+     *
+     * @param wordDictionary Словарь слов.
+     * @param category Категория.
+     * @return Слово, подходящее для игры.
+     * @throws IllegalStateException Если в категории нет подходящих слов.
+     */
+    public String next(WordDictionary wordDictionary, String category) {
+        int validCount = wordDictionary.getValidWordCount(category);
+        if (validCount == 0) {
+            throw new IllegalStateException("Нет подходящих слов в категории: " + category);
+        }
+        long counter = counters.computeIfAbsent(category, key -> new long[1])[0]++;
+        long round = counter / validCount;
+        int position = (int) (counter % validCount);
+        long key = Hashing.mix(seed ^ Hashing.hash(category)) + round;
+        return wordDictionary.getValidWord(category, new FeistelPermutation(validCount, key).apply(position));
+    }
+
+    /**
+     * Возвращает количество слов, уже выбранных в категории.
+     *
+     * @param category Категория.
+     * @return Значение счетчика категории.
+     */
+    public long getCount(String category) {
+        long[] counter = counters.get(category);
+        return counter == null ? 0 : counter[0];
+    }
+}
\ No newline at end of file
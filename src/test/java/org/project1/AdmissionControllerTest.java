@@ -0,0 +1,214 @@
+package org.project1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.project1.AdmissionController.Admission.*;
+
+public class AdmissionControllerTest {
+    private static final int LATENCY_ROUNDS = 3;
+    private static final int BOTS = 24;
+    private static final long GUESS_WORK_NANOS = 20_000;
+    private static final int LATENCY_FACTOR = 3;
+    private static final long SCHEDULER_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private long now;
+    private AdmissionController controller;
+
+    @AfterEach
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Test
+    public void testAcceptedGuessIsHandled() throws InterruptedException {
+        controller = new AdmissionController(100, 10, 10, 2, 3, 1, TimeUnit.SECONDS, 1, 4, () -> now);
+        CountDownLatch handled = new CountDownLatch(1);
+        char[] letter = new char[1];
+
+        assertEquals(ACCEPTED, controller.submit(1, " Я ", guess -> {
+            letter[0] = guess;
+            handled.countDown();
+        }), "Корректная буква должна приниматься.");
+        assertTrue(handled.await(1, TimeUnit.SECONDS), "Принятая догадка должна обрабатываться.");
+        assertEquals('я', letter[0], "Обработчик получает букву в нижнем регистре.");
+    }
+
+    @Test
+    public void testSessionAndGlobalRateLimits() {
+        controller = new AdmissionController(100, 3, 10, 2, 3, 1, TimeUnit.SECONDS, 1, 16, () -> now);
+
+        assertEquals(ACCEPTED, controller.submit(1, "а", guess -> { }));
+        assertEquals(ACCEPTED, controller.submit(1, "б", guess -> { }));
+        assertEquals(REJECTED_SESSION_RATE, controller.submit(1, "в", guess -> { }), "Сессия ограничена своей корзиной.");
+        assertEquals(ACCEPTED, controller.submit(2, "а", guess -> { }), "Другие сессии не страдают от лимита первой.");
+        assertEquals(REJECTED_GLOBAL_RATE, controller.submit(3, "а", guess -> { }), "Общий лимит ограничивает все сессии.");
+        assertEquals(2, controller.getShedCount(), "Отказы должны учитываться в метриках.");
+    }
+
+    @Test
+    public void testQueueFullIsRejected() throws InterruptedException {
+        controller = new AdmissionController(1000, 100, 1000, 100, 3, 1, TimeUnit.SECONDS, 1, 1, () -> now);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        controller.submit(1, "а", guess -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS), "Первая догадка должна занять обработчик.");
+        assertEquals(ACCEPTED, controller.submit(1, "б", guess -> { }), "Одна догадка помещается в очередь.");
+        assertEquals(REJECTED_QUEUE_FULL, controller.submit(1, "в", guess -> { }), "Переполнение очереди - явный отказ.");
+        release.countDown();
+        assertEquals(1, controller.getCount(REJECTED_QUEUE_FULL), "Отказ по очереди учитывается в метриках.");
+    }
+
+    @Test
+    public void testInvalidInputFloodBlocksSession() {
+        controller = new AdmissionController(1000, 100, 1000, 100, 3, 1, TimeUnit.SECONDS, 1, 16, () -> now);
+
+        assertEquals(REJECTED_INVALID_INPUT, controller.submit(1, "12", guess -> { }));
+        assertEquals(REJECTED_INVALID_INPUT, controller.submit(1, "", guess -> { }));
+        assertEquals(REJECTED_INVALID_INPUT, controller.submit(1, "вставленный текст", guess -> { }));
+        assertEquals(REJECTED_FLOODING, controller.submit(1, "а", guess -> { }), "Сессия с потоком мусора блокируется.");
+        assertEquals(ACCEPTED, controller.submit(2, "а", guess -> { }), "Блокировка касается только одной сессии.");
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertEquals(ACCEPTED, controller.submit(1, "а", guess -> { }), "После паузы сессия разблокируется.");
+    }
+
+    @Test
+    public void testValidInputResetsInvalidStreak() {
+        controller = new AdmissionController(1000, 100, 1000, 100, 3, 1, TimeUnit.SECONDS, 1, 16, () -> now);
+
+        controller.submit(1, "12", guess -> { });
+        controller.submit(1, "12", guess -> { });
+        controller.submit(1, "а", guess -> { });
+        assertEquals(REJECTED_INVALID_INPUT, controller.submit(1, "12", guess -> { }),
+                "Блокируются только неверные вводы подряд.");
+    }
+
+    @Test
+    public void testIdleSessionsAreForgotten() {
+        controller = new AdmissionController(1_000_000, 1_000_000, 10, 2, 3, 1, TimeUnit.SECONDS, 1, 16, () -> now);
+
+        for (long session = 0; session < 1024; session++) {
+            controller.submit(session, "12", guess -> { });
+        }
+        assertEquals(1024, controller.getSessionCount(), "До порога очистки состояние сессий хранится.");
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        controller.submit(5000, "а", guess -> { });
+        assertEquals(1, controller.getSessionCount(), "Простаивающие сессии должны забываться при очистке.");
+
+        controller.submit(5000, "12", guess -> { });
+        controller.submit(5000, "12", guess -> { });
+        controller.submit(5000, "12", guess -> { });
+        for (long session = 0; session < 1024; session++) {
+            controller.submit(session, "а", guess -> { });
+        }
+        assertEquals(REJECTED_FLOODING, controller.submit(5000, "а", guess -> { }),
+                "Активная заблокированная сессия не должна забываться.");
+    }
+
+    @Test
+    public void testWellBehavedLatencyStaysFlatUnderOverload() throws InterruptedException {
+        controller = new AdmissionController(2000, 50, 50, 5, 10, 1, TimeUnit.SECONDS, 1, 32);
+
+        measureWellBehaved(BOTS, false);
+        long baselineP99 = Long.MAX_VALUE;
+        long overloadedP99 = Long.MAX_VALUE;
+        for (int round = 0; round < LATENCY_ROUNDS; round++) {
+            baselineP99 = Math.min(baselineP99, percentile(measureWellBehaved(BOTS, false), 0.99));
+            overloadedP99 = Math.min(overloadedP99, percentile(measureWellBehaved(BOTS, true), 0.99));
+        }
+        assertTrue(overloadedP99 <= Math.max(baselineP99, SCHEDULER_TICK_NANOS) * LATENCY_FACTOR,
+                "Задержка корректных сессий не должна расти при перегрузке: было " + baselineP99 / 1000
+                        + " мкс, стало " + overloadedP99 / 1000 + " мкс");
+        assertTrue(controller.getShedCount() > controller.getCount(ACCEPTED),
+                "При десятикратной перегрузке большая часть нагрузки должна сбрасываться.");
+    }
+
+    /**
+     * Четыре корректные сессии делают по догадке раз в 40 мс рядом с ботами. Если botsSubmit,
+     * боты засыпают контроль допуска вводом в десятки раз чаще допустимого, иначе только
+     * просыпаются с той же частотой, чтобы базовый замер шёл при том же числе потоков.
+     * Возвращает задержки принятых догадок.
+     */
+    private long[] measureWellBehaved(int bots, boolean botsSubmit) throws InterruptedException {
+        AtomicInteger running = new AtomicInteger(1);
+        List<Thread> botThreads = new ArrayList<>();
+        for (int b = 0; b < bots; b++) {
+            long botSession = 1000 + b;
+            String input = b % 4 == 0 ? "вставленный текст" : "а";
+            Thread bot = new Thread(() -> {
+                while (running.get() == 1) {
+                    if (botsSubmit) {
+                        controller.submit(botSession, input, guess -> spin(GUESS_WORK_NANOS));
+                    }
+                    LockSupport.parkNanos(1_000_000);
+                }
+            });
+            bot.setDaemon(true);
+            bot.start();
+            botThreads.add(bot);
+        }
+
+        int turns = 50;
+        int sessionCount = 4;
+        long[] latencies = new long[turns * sessionCount];
+        AtomicInteger recorded = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(turns * sessionCount);
+        for (int turn = 0; turn < turns; turn++) {
+            for (int session = 0; session < sessionCount; session++) {
+                long submitted = System.nanoTime();
+                AdmissionController.Admission admission = controller.submit(session, "а", guess -> {
+                    spin(GUESS_WORK_NANOS);
+                    latencies[recorded.getAndIncrement()] = System.nanoTime() - submitted;
+                    done.countDown();
+                });
+                if (admission != ACCEPTED) {
+                    done.countDown();
+                }
+            }
+            Thread.sleep(40);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Все принятые догадки должны обработаться.");
+        running.set(0);
+        for (Thread bot : botThreads) {
+            bot.join();
+        }
+        assertTrue(recorded.get() >= latencies.length * 0.9, "Корректные сессии почти не должны получать отказы.");
+        return Arrays.copyOf(latencies, recorded.get());
+    }
+
+    private static long percentile(long[] values, double quantile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.project1;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки {@link AliasTable}: выбор номера не должен зависеть от размера корпуса,
+ * а изменение веса должно расти как √n, а не как n.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AliasTableBenchmark {
+    /**
+     * Количество слов в корпусе.
+     */
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private AliasTable table;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Частоты слов в корпусе распределены примерно по закону Ципфа.
+            weights[i] = 1.0 / (i + 1);
+        }
+        table = new AliasTable(weights);
+    }
+
+    /**
+     * Выбор одного номера.
+     */
+    @Benchmark
+    public int sample() {
+        return table.sample(random);
+    }
+
+    /**
+     * Изменение веса одного номера с частичной перестройкой таблиц.
+     */
+    @Benchmark
+    public void setWeight() {
+        table.setWeight(random.nextInt(size), random.nextDouble());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package org.project1;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AliasTableTest {
+    private static final int DRAWS = 500_000;
+
+    /**
+     * Статистика хи-квадрат наблюдаемых частот номеров относительно ожидаемых по весам.
+     */
+    private static double chiSquare(AliasTable table, double[] weights, Random random) {
+        long[] observed = new long[weights.length];
+        for (int i = 0; i < DRAWS; i++) {
+            observed[table.sample(random)]++;
+        }
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double statistic = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double expected = DRAWS * weights[i] / total;
+            if (expected == 0) {
+                assertEquals(0, observed[i], "Номер с нулевым весом не должен выбираться.");
+                continue;
+            }
+            statistic += (observed[i] - expected) * (observed[i] - expected) / expected;
+        }
+        return statistic;
+    }
+
+    @Test
+    public void testDistributionMatchesWeights() {
+        double[] weights = new double[20];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i + 1;
+        }
+        AliasTable table = new AliasTable(weights);
+
+        // Критическое значение хи-квадрат для 19 степеней свободы при уровне значимости 0.001.
+        assertTrue(chiSquare(table, weights, new Random(42)) < 43.82,
+                "Распределение выбора должно соответствовать весам.");
+        assertEquals(210, table.getTotalWeight(), 1e-9, "Сумма весов должна совпадать.");
+    }
+
+    @Test
+    public void testDistributionAfterIncrementalUpdates() {
+        Random random = new Random(7);
+        double[] weights = new double[1000];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = random.nextDouble() * 10;
+        }
+        AliasTable table = new AliasTable(weights);
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(weights.length);
+            weights[index] = i % 5 == 0 ? 0 : random.nextDouble() * 100;
+            table.setWeight(index, weights[index]);
+        }
+
+        // Критическое значение хи-квадрат для 999 степеней свободы при уровне значимости 0.001.
+        assertTrue(chiSquare(table, weights, new Random(11)) < 1143.9,
+                "После изменения весов распределение должно соответствовать новым весам.");
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i], table.getWeight(i), "Веса должны обновляться.");
+        }
+    }
+
+    @Test
+    public void testSingleNonZeroWeight() {
+        AliasTable table = new AliasTable(new double[] {0, 0, 5, 0, 0});
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(2, table.sample(random), "Должен выбираться единственный номер с ненулевым весом.");
+        }
+    }
+
+    @Test
+    public void testInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {Double.NaN}));
+
+        AliasTable table = new AliasTable(new double[] {1, 1});
+        assertThrows(IllegalArgumentException.class, () -> table.setWeight(0, Double.POSITIVE_INFINITY));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.setWeight(2, 1));
+        table.setWeight(0, 0);
+        table.setWeight(1, 0);
+        assertThrows(IllegalStateException.class, () -> table.sample(new Random()),
+                "Выбор при нулевых весах должен отклоняться.");
+    }
+}
\ No newline at end of file
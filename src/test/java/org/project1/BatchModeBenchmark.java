@@ -0,0 +1,84 @@
+package org.project1;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк прогона сценария из {@value #GAMES} игр, поданного на ввод целиком, как это делают
+ * автоматические клиенты: в пакетном режиме с {@link BatchUserInterface} и в обычном режиме
+ * с {@link ConsoleUserInterface} и выводом через журнал. Результат - игр в секунду.
+ * Вывод обоих режимов отбрасывается, журнал аудита пишется во временный каталог.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class BatchModeBenchmark {
+    private static final int GAMES = 1_000;
+
+    private byte[] script;
+    private WordDictionary wordDictionary;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("hangman.audit.dir", Files.createTempDirectory("hangman-audit").toString());
+        // Консольный вывод журнала берет System.out при настройке, поэтому поток подменяется заранее.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        wordDictionary = new WordDictionary(Map.of("Фрукты", List.of("яблоко")));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < GAMES; i++) {
+            text.append("1\n3\nя\nж\nб\nл\nо\nк\n").append(i + 1 < GAMES ? "1\n" : "2\n");
+        }
+        script = text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Пакетный режим.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void batch() {
+        BatchUserInterface userInterface = new BatchUserInterface(new ByteArrayInputStream(script),
+                OutputStream.nullOutputStream());
+        Game game = new Game(wordDictionary, userInterface);
+        game.setBatchMode(true);
+        game.startGame();
+        userInterface.flush();
+    }
+
+    /**
+     * Обычный режим со сканером и выводом через журнал.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void console() {
+        InputStream in = System.in;
+        System.setIn(new ByteArrayInputStream(script));
+        try {
+            new Game(wordDictionary, new ConsoleUserInterface()).startGame();
+        } finally {
+            System.setIn(in);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchUserInterfaceTest {
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String output(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testReadLines() {
+        BatchUserInterface userInterface = new BatchUserInterface(input("1\r\n\nяблоко\nж"), new ByteArrayOutputStream());
+
+        assertEquals("1", userInterface.getUserInput(), "Перевод строки Windows должен отбрасываться.");
+        assertEquals("", userInterface.getUserInput(), "Пустая строка должна читаться.");
+        assertEquals("яблоко", userInterface.getUserInput(), "Строка должна декодироваться из UTF-8.");
+        assertEquals("ж", userInterface.getUserInput(), "Последняя строка без перевода строки должна читаться.");
+        assertThrows(NoSuchElementException.class, userInterface::getUserInput,
+                "После конца ввода должно выбрасываться исключение.");
+    }
+
+    @Test
+    public void testReadLinesSplitAcrossReads() {
+        String line = "щ".repeat(50_000);
+        byte[] bytes = (line + "\nа\n").getBytes(StandardCharsets.UTF_8);
+        InputStream byteByByte = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                return position < bytes.length ? bytes[position++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                int read = read();
+                if (read >= 0) {
+                    buffer[offset] = (byte) read;
+                    return 1;
+                }
+                return -1;
+            }
+        };
+        BatchUserInterface userInterface = new BatchUserInterface(byteByByte, new ByteArrayOutputStream());
+
+        assertEquals(line, userInterface.getUserInput(), "Строка длиннее буфера должна читаться целиком.");
+        assertEquals("а", userInterface.getUserInput(), "Следующая строка должна читаться после длинной.");
+    }
+
+    @Test
+    public void testOutputIsBufferedUntilInputIsNeeded() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchUserInterface userInterface = new BatchUserInterface(input("1\n"), out);
+
+        userInterface.displayMessage("Неверный ввод! 😀");
+        userInterface.getUserInput();
+        assertEquals(0, out.size(), "Пока ввод доступен без ожидания, вывод должен накапливаться в буфере.");
+        assertThrows(NoSuchElementException.class, userInterface::getUserInput, "Ввод должен закончиться.");
+        assertEquals("Неверный ввод! 😀\n", output(out), "Перед ожиданием ввода вывод должен отправляться.");
+    }
+
+    @Test
+    public void testDisplayTurnResult() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchUserInterface userInterface = new BatchUserInterface(input(""), out);
+        GameState gameState = new GameState(10);
+        gameState.setChosenWord("яблоко");
+        gameState.updateGuessedLetters('о');
+        gameState.updateGuessedLetters('ж');
+
+        userInterface.displayTurnResult('ж', gameState);
+        userInterface.flush();
+        assertEquals("ж ---о-о 9\n", output(out), "Результат хода должен выводиться кратко.");
+    }
+
+    @Test
+    public void testBatchGames() {
+        StringBuilder script = new StringBuilder();
+        int games = 5_000;
+        for (int i = 0; i < games; i++) {
+            script.append("1\n3\nя\nж\nб\nл\nо\nк\n").append(i + 1 < games ? "1\n" : "2\n");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchUserInterface userInterface = new BatchUserInterface(input(script.toString()), out);
+        Game game = new Game(new WordDictionary(Map.of("Фрукты", List.of("яблоко"))), userInterface);
+        game.setBatchMode(true);
+
+        game.startGame();
+        userInterface.flush();
+
+        String expectedGame = """
+                я я----- 6
+                ж я----- 5
+                б яб---- 5
+                л ябл--- 5
+                о ябло-о 5
+                к яблоко 5
+                WON яблоко
+                """;
+        assertEquals(expectedGame.repeat(games), output(out),
+                "Многие игры подряд должны играться без роста стека и без лишнего вывода.");
+    }
+}
\ No newline at end of file
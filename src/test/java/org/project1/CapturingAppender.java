@@ -0,0 +1,136 @@
+package org.project1;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Приемник журнала для тестов, который подменяет приемник из {@code log4j2.xml}: логгеры, уровни,
+ * асинхронность и раскладка остаются рабочими, а записи кодируются раскладкой подмененного приемника
+ * в переиспользуемый буфер вместо консоли или файла. Запоминаются количество записей, байт
+ * и текст последней записи. Если у подмененного приемника нет раскладки (например, у {@code Null}),
+ * записи только считаются.
+ */
+final class CapturingAppender extends AbstractAppender implements ByteBufferDestination {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] lastEvent = new byte[BUFFER_SIZE];
+    private int lastEventLength;
+    private int eventLength;
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private CapturingAppender(Appender replaced) {
+        super(replaced.getName(), null, replaced.getLayout(), false, Property.EMPTY_ARRAY);
+    }
+
+    /**
+     * Подменяет приемник логгера.
+     *
+     * @param loggerName Имя логгера ({@link LogManager#ROOT_LOGGER_NAME} для корневого).
+     * @param appenderName Имя подменяемого приемника из {@code log4j2.xml}.
+     * @return Установленный приемник.
+     */
+    static CapturingAppender install(String loggerName, String appenderName) {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        Configuration configuration = context.getConfiguration();
+        LoggerConfig loggerConfig = configuration.getLoggerConfig(loggerName);
+        CapturingAppender appender = new CapturingAppender(configuration.getAppender(appenderName));
+        appender.start();
+        loggerConfig.removeAppender(appenderName);
+        loggerConfig.addAppender(appender, null, null);
+        context.updateLoggers();
+        return appender;
+    }
+
+    /**
+     * Возвращает рабочую настройку журнала из {@code log4j2.xml}.
+     */
+    static void restoreConfiguration() {
+        ((LoggerContext) LogManager.getContext(false)).reconfigure();
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        eventLength = 0;
+        if (getLayout() != null) {
+            getLayout().encode(event, this);
+            drain(buffer);
+        }
+        lastEventLength = eventLength;
+        events.incrementAndGet();
+    }
+
+    /**
+     * Возвращает количество записей.
+     *
+     * @return Количество записей.
+     */
+    long getEventCount() {
+        return events.get();
+    }
+
+    /**
+     * Возвращает количество байт записей.
+     *
+     * @return Количество байт.
+     */
+    long getByteCount() {
+        return bytes.get();
+    }
+
+    /**
+     * Возвращает текст последней записи (не длиннее размера буфера).
+     *
+     * @return Текст записи.
+     */
+    synchronized String getLastEvent() {
+        return new String(lastEvent, 0, lastEventLength, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public ByteBuffer drain(ByteBuffer data) {
+        data.flip();
+        consume(data);
+        data.clear();
+        return data;
+    }
+
+    @Override
+    public void writeBytes(ByteBuffer data) {
+        consume(data);
+    }
+
+    @Override
+    public void writeBytes(byte[] data, int offset, int length) {
+        int copied = Math.min(length, lastEvent.length - eventLength);
+        System.arraycopy(data, offset, lastEvent, eventLength, copied);
+        eventLength += copied;
+        bytes.addAndGet(length);
+    }
+
+    private void consume(ByteBuffer data) {
+        int length = data.remaining();
+        int copied = Math.min(length, lastEvent.length - eventLength);
+        data.get(lastEvent, eventLength, copied);
+        eventLength += copied;
+        data.position(data.limit());
+        bytes.addAndGet(length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+    private static final int SESSIONS = 100_000;
+
+    private ConsistentHashRing ring;
+
+    @BeforeEach
+    public void setUp() {
+        ring = new ConsistentHashRing(128);
+        for (String node : List.of("a", "b", "c", "d")) {
+            ring.addNode(node);
+        }
+    }
+
+    private Map<Long, String> owners() {
+        Map<Long, String> owners = new HashMap<>();
+        for (long id = 0; id < SESSIONS; id++) {
+            owners.put(id, ring.nodeFor(id));
+        }
+        return owners;
+    }
+
+    @Test
+    public void testSessionsAreBalanced() {
+        Map<String, Integer> counts = new HashMap<>();
+        owners().values().forEach(node -> counts.merge(node, 1, Integer::sum));
+
+        for (String node : ring.getNodes()) {
+            double share = counts.get(node) / (double) SESSIONS;
+            assertTrue(share > 0.15 && share < 0.35, "Доля узла " + node + " должна быть близка к 1/4: " + share);
+        }
+    }
+
+    @Test
+    public void testAddingNodeMovesOnlyItsSlice() {
+        Map<Long, String> before = owners();
+        ring.addNode("e");
+        Map<Long, String> after = owners();
+
+        int moved = 0;
+        for (long id = 0; id < SESSIONS; id++) {
+            if (!before.get(id).equals(after.get(id))) {
+                assertEquals("e", after.get(id), "Сессии могут переезжать только на новый узел.");
+                moved++;
+            }
+        }
+        double share = moved / (double) SESSIONS;
+        assertTrue(share > 0.1 && share < 0.3, "На новый узел должна переехать примерно 1/5 сессий: " + share);
+    }
+
+    @Test
+    public void testRemovingNodeMovesOnlyItsSessions() {
+        Map<Long, String> before = owners();
+        assertTrue(ring.removeNode("b"), "Узел должен удаляться с кольца.");
+        Map<Long, String> after = owners();
+
+        for (long id = 0; id < SESSIONS; id++) {
+            if (!before.get(id).equals("b")) {
+                assertEquals(before.get(id), after.get(id), "Сессии других узлов не должны переезжать.");
+            }
+        }
+        assertFalse(after.containsValue("b"), "Удаленный узел не должен владеть сессиями.");
+    }
+
+    @Test
+    public void testEmptyRing() {
+        ConsistentHashRing empty = new ConsistentHashRing(8);
+        assertThrows(IllegalStateException.class, () -> empty.nodeFor(1));
+        assertThrows(IllegalArgumentException.class, () -> ring.addNode("a"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+    private static final int KEYS = 20_000;
+    private static final int EVENTS = 500_000;
+
+    private static int[] zipfStream(long seed) {
+        Random random = new Random(seed);
+        double[] cumulative = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        int[] stream = new int[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            stream[i] = index >= 0 ? index : -index - 1;
+        }
+        return stream;
+    }
+
+    @Test
+    public void testEstimatesWithinErrorBound() {
+        double epsilon = 0.001;
+        CountMinSketch sketch = CountMinSketch.withErrorBounds(epsilon, 0.001);
+        long[] exact = new long[KEYS];
+        for (int key : zipfStream(1)) {
+            sketch.add("слово" + key);
+            exact[key]++;
+        }
+
+        int violations = 0;
+        for (int key = 0; key < KEYS; key++) {
+            long estimate = sketch.estimate("слово" + key);
+            assertTrue(estimate >= exact[key], "Оценка не может быть меньше истинной частоты.");
+            if (estimate - exact[key] > epsilon * EVENTS) {
+                violations++;
+            }
+        }
+        assertTrue(violations <= KEYS * 0.001, "Превышений погрешности слишком много: " + violations);
+    }
+
+    @Test
+    public void testMemoryDoesNotDependOnStream() {
+        CountMinSketch sketch = CountMinSketch.withErrorBounds(0.001, 0.001);
+        long memory = sketch.getMemoryBytes();
+        for (int key : zipfStream(2)) {
+            sketch.add("слово" + key);
+        }
+
+        assertEquals(memory, sketch.getMemoryBytes(), "Память наброска не должна расти с потоком.");
+        assertTrue(memory <= 256 * 1024, "Набросок с ε = 0,001 должен занимать не больше 256 КБ: " + memory);
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndMergeMatchSequential() throws InterruptedException {
+        int[] stream = zipfStream(3);
+        CountMinSketch sequential = new CountMinSketch(1024, 4);
+        for (int key : stream) {
+            sequential.add("слово" + key);
+        }
+
+        CountMinSketch shared = new CountMinSketch(1024, 4);
+        CountMinSketch merged = new CountMinSketch(1024, 4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            CountMinSketch local = new CountMinSketch(1024, 4);
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < stream.length; i += 4) {
+                    shared.add("слово" + stream[i]);
+                    local.add("слово" + stream[i]);
+                }
+                synchronized (merged) {
+                    merged.merge(CountMinSketch.fromByteArray(local.toByteArray()));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int key = 0; key < 100; key++) {
+            assertEquals(sequential.estimate("слово" + key), shared.estimate("слово" + key),
+                    "Одновременные обновления не должны теряться.");
+            assertEquals(sequential.estimate("слово" + key), merged.estimate("слово" + key),
+                    "Объединение набросков должно совпадать с общим наброском.");
+        }
+    }
+
+    @Test
+    public void testMergeRejectsDifferentSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(1024, 4).merge(new CountMinSketch(2048, 4)));
+    }
+}
\ No newline at end of file
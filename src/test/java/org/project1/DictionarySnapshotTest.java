@@ -0,0 +1,141 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionarySnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotFile;
+    private Map<String, List<String>> categoryMap;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        categoryMap = new LinkedHashMap<>();
+        categoryMap.put("Фрукты", List.of("яблоко", "инжир", "манго", "киви"));
+        categoryMap.put("Мусор", List.of("!", "ab", "12"));
+        snapshotFile = tempDir.resolve("words.dict");
+        DictionarySnapshot.write(categoryMap, snapshotFile);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        DictionarySnapshot snapshot = DictionarySnapshot.open(snapshotFile);
+
+        assertEquals(List.of("Фрукты", "Мусор"), snapshot.getCategories(), "Категории должны сохраниться в исходном порядке.");
+        assertEquals(7, snapshot.getWordCount(), "В снимке должны быть все слова.");
+        assertEquals(categoryMap.get("Фрукты"), snapshot.getWordsForCategory("Фрукты"), "Слова категории должны совпадать с исходными.");
+        assertTrue(snapshot.getWordsForCategory("Овощи").isEmpty(), "Для неизвестной категории ожидается пустой список.");
+    }
+
+    @Test
+    public void testValidityAndLengthIndex() throws IOException {
+        DictionarySnapshot snapshot = DictionarySnapshot.open(snapshotFile);
+        DictionarySnapshot.WordList fruits = (DictionarySnapshot.WordList) snapshot.getWordsForCategory("Фрукты");
+        DictionarySnapshot.WordList garbage = (DictionarySnapshot.WordList) snapshot.getWordsForCategory("Мусор");
+
+        assertEquals(4, fruits.getValidCount(), "Все фрукты подходят для игры.");
+        assertEquals(0, garbage.getValidCount(), "В категории без подходящих слов индекс валидности пуст.");
+        assertEquals("киви", fruits.getValidWord(0), "Валидные слова должны быть упорядочены по длине.");
+        assertEquals("яблоко", fruits.getValidWord(3), "Самое длинное слово должно быть последним.");
+        assertEquals(1, fruits.firstValidWithLengthAtLeast(5), "Поиск по длине должен пропускать короткие слова.");
+        assertEquals(4, fruits.firstValidWithLengthAtLeast(7), "Если длинных слов нет, возвращается количество валидных слов.");
+    }
+
+    @Test
+    public void testCorruptedFileIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(snapshotFile, bytes);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> DictionarySnapshot.open(snapshotFile));
+        assertTrue(exception.getMessage().contains("контрольная сумма"), "Поврежденный файл должен отвергаться по контрольной сумме.");
+    }
+
+    @Test
+    public void testHeaderIsCoveredByChecksum() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[28] ^= 0x01;
+        Files.write(snapshotFile, bytes);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> DictionarySnapshot.open(snapshotFile));
+        assertTrue(exception.getMessage().contains("контрольная сумма"), "Заголовок должен входить в контрольную сумму.");
+    }
+
+    @Test
+    public void testDeferredVerification() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(snapshotFile, bytes);
+
+        DictionarySnapshot snapshot = DictionarySnapshot.open(snapshotFile, false);
+        assertEquals(List.of("Фрукты", "Мусор"), snapshot.getCategories(), "Без полной проверки снимок должен открываться.");
+        assertThrows(IllegalStateException.class, snapshot::verify, "Отложенная проверка должна находить повреждение.");
+    }
+
+    @Test
+    public void testOverflowingCountsAreRejected() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(snapshotFile)).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(16, 0x40000000);
+        Files.write(snapshotFile, bytes.array());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> DictionarySnapshot.open(snapshotFile, false));
+        assertTrue(exception.getMessage().contains("размеры секций"), "Переполнение размеров не должно проходить проверку.");
+    }
+
+    @Test
+    public void testCategoryOutsideSectionIsRejected() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(snapshotFile)).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(32 + 12, Integer.MAX_VALUE);
+        Files.write(snapshotFile, bytes.array());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> DictionarySnapshot.open(snapshotFile, false));
+        assertTrue(exception.getMessage().contains("слова категории"), "Категория за пределами секции должна отвергаться при открытии.");
+    }
+
+    @Test
+    public void testForeignFileIsRejected() throws IOException {
+        Path foreign = tempDir.resolve("foreign.dict");
+        Files.writeString(foreign, "это совсем не словарь, а просто текстовый файл");
+
+        assertThrows(IllegalStateException.class, () -> DictionarySnapshot.open(foreign));
+    }
+
+    @Test
+    public void testWordDictionaryFromSnapshot() throws IOException {
+        WordDictionary wordDictionary = new WordDictionary(DictionarySnapshot.open(snapshotFile).asCategoryMap());
+
+        List<String> words = wordDictionary.getWordsForCategory("Фрукты");
+        String word = wordDictionary.getRandomValidWordFromList(words);
+        assertTrue(categoryMap.get("Фрукты").contains(word), "Случайное слово должно быть из категории снимка.");
+        assertThrows(IllegalStateException.class,
+                () -> wordDictionary.getRandomValidWordFromList(wordDictionary.getWordsForCategory("Мусор")));
+    }
+
+    @Test
+    public void testReadWordLists() throws IOException {
+        Path wordsDir = Files.createDirectory(tempDir.resolve("words"));
+        Files.write(wordsDir.resolve("flowers.txt"), List.of("роза", "", " пион "), StandardCharsets.UTF_8);
+
+        Map<String, List<String>> lists = DictionarySnapshot.readWordLists(wordsDir);
+        assertEquals(Map.of("flowers", List.of("роза", "пион")), lists, "Пустые строки и пробелы должны отбрасываться.");
+    }
+}
\ No newline at end of file
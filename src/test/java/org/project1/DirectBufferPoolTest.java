@@ -0,0 +1,75 @@
+package org.project1;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectBufferPoolTest {
+    @Test
+    public void testAcquireAndRelease() {
+        DirectBufferPool pool = new DirectBufferPool(16, 2);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+
+        assertTrue(first.isDirect(), "Буферы пула должны быть прямыми.");
+        assertEquals(16, first.capacity(), "Размер буфера должен совпадать с заданным.");
+        assertEquals(0, pool.getAvailable(), "Все буферы пула должны быть заняты.");
+
+        first.put((byte) 1);
+        second.put((byte) 2);
+        assertEquals(1, first.get(0), "Буферы не должны пересекаться.");
+
+        pool.release(first);
+        assertSame(first, pool.acquire(), "Возвращенный буфер должен выдаваться снова.");
+        assertEquals(0, first.position(), "Выданный буфер должен быть очищен.");
+        assertEquals(0, pool.getOverflowCount(), "Пул не должен переполняться.");
+    }
+
+    @Test
+    public void testOverflow() {
+        DirectBufferPool pool = new DirectBufferPool(8, 1);
+        ByteBuffer pooled = pool.acquire();
+        ByteBuffer extra = pool.acquire();
+
+        assertEquals(1, pool.getOverflowCount(), "Выдача из пустого пула должна учитываться.");
+        assertEquals(8, extra.capacity(), "Буфер вне пула должен быть того же размера.");
+
+        pool.release(pooled);
+        pool.release(extra);
+        assertEquals(1, pool.getAvailable(), "Пул не должен расти сверх емкости.");
+    }
+
+    @Test
+    public void testForeignBuffersAreDropped() {
+        DirectBufferPool pool = new DirectBufferPool(8, 2);
+        ByteBuffer pooled = pool.acquire();
+
+        pool.release(ByteBuffer.allocateDirect(8));
+        pool.release(ByteBuffer.allocate(8));
+        pool.release(pooled.duplicate());
+        assertEquals(1, pool.getAvailable(), "Чужие буферы и представления буферов пула не должны попадать в пул.");
+
+        pool.release(pooled);
+        assertEquals(2, pool.getAvailable(), "Собственный буфер должен возвращаться в пул.");
+    }
+
+    @Test
+    public void testDoubleReleaseIsRejected() {
+        DirectBufferPool pool = new DirectBufferPool(8, 2);
+        ByteBuffer pooled = pool.acquire();
+        pool.release(pooled);
+
+        assertThrows(IllegalStateException.class, () -> pool.release(pooled),
+                "Повторный возврат буфера должен отклоняться.");
+        assertNotSame(pool.acquire(), pool.acquire(), "Один буфер не должен выдаваться дважды.");
+    }
+
+    @Test
+    public void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(0, 1),
+                "Нулевой размер буфера должен отклоняться.");
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(1 << 20, 1 << 12),
+                "Слишком большой пул должен отклоняться.");
+    }
+}
\ No newline at end of file
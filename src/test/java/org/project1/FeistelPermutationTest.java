@@ -0,0 +1,44 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeistelPermutationTest {
+
+    @Test
+    public void testIsBijectionForVariousSizes() {
+        for (int size : new int[] {1, 2, 3, 7, 10, 100, 1000, 4097}) {
+            FeistelPermutation permutation = new FeistelPermutation(size, 42);
+            BitSet seen = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                int value = permutation.apply(i);
+                assertTrue(value >= 0 && value < size, "Значение должно лежать в диапазоне перестановки.");
+                assertFalse(seen.get(value), "Значения перестановки не должны повторяться, размер " + size);
+                seen.set(value);
+            }
+        }
+    }
+
+    @Test
+    public void testKeyChangesOrder() {
+        FeistelPermutation first = new FeistelPermutation(1000, 1);
+        FeistelPermutation second = new FeistelPermutation(1000, 2);
+        int same = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (first.apply(i) == second.apply(i)) {
+                same++;
+            }
+        }
+        assertTrue(same < 50, "Разные ключи должны давать разный порядок: совпадений " + same);
+        assertEquals(first.apply(17), new FeistelPermutation(1000, 1).apply(17), "Порядок определяется ключом.");
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new FeistelPermutation(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> new FeistelPermutation(5, 1).apply(5));
+    }
+}
\ No newline at end of file
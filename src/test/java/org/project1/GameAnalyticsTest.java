@@ -0,0 +1,99 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GameAnalyticsTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private GameAnalytics analytics;
+
+    @BeforeEach
+    public void setUp() {
+        analytics = new GameAnalytics(Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testTopFirstLetters() {
+        for (int i = 0; i < 30; i++) {
+            analytics.guessProcessed('о', true);
+            analytics.guessProcessed('ж', false);
+        }
+        for (int i = 0; i < 10; i++) {
+            analytics.guessProcessed('а', true);
+        }
+
+        assertEquals("о", analytics.getTopFirstLetters(1).get(0).key(), "Самая частая первая буква - 'о'.");
+        assertEquals(30, analytics.getFirstLetterCount('о'), "Частота первой буквы должна учитываться.");
+        assertEquals(0, analytics.getFirstLetterCount('ж'), "Не первые догадки не учитываются.");
+    }
+
+    @Test
+    public void testTopFailedWordsPerCategory() {
+        for (int i = 0; i < 5; i++) {
+            analytics.gameFinished("игрок", "Фрукты", "папайя", false);
+        }
+        analytics.gameFinished("игрок", "Фрукты", "яблоко", false);
+        analytics.gameFinished("игрок", "Фрукты", "манго", true);
+        analytics.gameFinished("игрок", "Животные", "жираф", false);
+
+        assertEquals("папайя", analytics.getTopFailedWords("Фрукты", 1).get(0).key(), "Чаще всего проигрывают 'папайя'.");
+        assertEquals(5, analytics.getFailedWordCount("Фрукты", "папайя"), "Количество проигрышей слова должно учитываться.");
+        assertEquals(0, analytics.getFailedWordCount("Фрукты", "манго"), "Выигранные игры не считаются проигрышами.");
+        assertEquals(2, analytics.getTopFailedWords("Фрукты", 10).size(), "Слова считаются по категориям отдельно.");
+        assertTrue(analytics.getTopFailedWords("Овощи", 10).isEmpty(), "Для категории без проигрышей список пуст.");
+    }
+
+    @Test
+    public void testDistinctPlayersPerDayAndMerge() {
+        GameAnalytics otherNode = new GameAnalytics(Clock.fixed(Instant.parse("2024-03-01T18:00:00Z"), ZoneOffset.UTC));
+        for (int i = 0; i < 1000; i++) {
+            analytics.gameFinished("игрок-" + i, "Фрукты", "яблоко", true);
+            otherNode.gameFinished("игрок-" + (i + 500), "Фрукты", "яблоко", true);
+        }
+        analytics.merge(otherNode);
+
+        assertEquals(1500, analytics.getDistinctPlayers(DAY), 30, "Игроки обоих узлов должны считаться один раз.");
+        assertEquals(0, analytics.getDistinctPlayers(DAY.plusDays(1)), "В другой день игроков не было.");
+    }
+
+    @Test
+    public void testOldDaysAreDropped() {
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(Instant.parse("2024-03-01T12:00:00Z"), Instant.parse("2024-03-02T12:00:00Z"),
+                Instant.parse("2024-03-03T12:00:00Z"), Instant.parse("2024-03-04T12:00:00Z"));
+        GameAnalytics window = new GameAnalytics(clock, 2);
+        for (int i = 0; i < 4; i++) {
+            window.gameFinished("игрок", "Фрукты", "яблоко", true);
+        }
+
+        assertEquals(2, window.getRetainedDayCount(), "Должны храниться только дни окна.");
+        assertEquals(0, window.getDistinctPlayers(DAY), "День вне окна должен отбрасываться.");
+        assertEquals(1, window.getDistinctPlayers(DAY.plusDays(3)), "Текущий день должен храниться.");
+    }
+
+    @Test
+    public void testMergeSkipsDaysOutsideWindow() {
+        GameAnalytics oldNode = new GameAnalytics(Clock.fixed(Instant.parse("2023-11-01T12:00:00Z"), ZoneOffset.UTC));
+        oldNode.gameFinished("игрок", "Фрукты", "яблоко", true);
+        analytics.merge(oldNode);
+
+        assertEquals(0, analytics.getRetainedDayCount(), "Дни вне окна не должны добавляться при объединении.");
+    }
+
+    @Test
+    public void testInvalidRetention() {
+        assertThrows(IllegalArgumentException.class, () -> new GameAnalytics(Clock.systemUTC(), 0),
+                "Окно хранения должно быть положительным.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package org.project1;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameAuditLogTest {
+    private static final int WARMUP_EVENTS = 50_000;
+    private static final int EVENTS = 20_000;
+    private static final int ROUNDS = 5;
+
+    private LoggerConfig auditConfig;
+
+    @BeforeEach
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        auditConfig = context.getConfiguration().getLoggerConfig(GameAuditLog.AUDIT_LOGGER_NAME);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CapturingAppender.restoreConfiguration();
+    }
+
+    /**
+     * Ждет, пока асинхронный логгер передаст приемнику заданное количество записей.
+     */
+    private static void awaitEvents(CapturingAppender appender, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (appender.getEventCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, appender.getEventCount(), "Все записи должны дойти до приемника аудита.");
+    }
+
+    @Test
+    public void testAuditLoggerIsAsynchronous() {
+        assertEquals(GameAuditLog.AUDIT_LOGGER_NAME, auditConfig.getName(), "Для аудита должен быть отдельный логгер.");
+        assertInstanceOf(AsyncLoggerConfig.class, auditConfig, "Логгер аудита должен быть асинхронным.");
+    }
+
+    @Test
+    public void testAuditLoggerIsSeparateFromConsole() {
+        assertFalse(auditConfig.isAdditive(), "События аудита не должны попадать в консольный вывод.");
+        assertTrue(auditConfig.getAppenders().containsKey("AUDIT_FILE"), "Аудит должен писаться в свой аппендер.");
+        assertFalse(auditConfig.getAppenders().containsKey("STDOUT_PLAIN"), "Аудит не должен писаться в консоль.");
+    }
+
+    @Test
+    public void testGarbageFreeModeEnabled() {
+        assertTrue(Constants.ENABLE_THREADLOCALS, "Для аудита без мусора должны быть включены thread-local буферы log4j2.");
+    }
+
+    @Test
+    public void testSessionIdsAreUnique() {
+        long first = GameAuditLog.nextSessionId();
+        long second = GameAuditLog.nextSessionId();
+        assertNotEquals(first, second, "Идентификаторы сессий должны быть уникальными.");
+    }
+
+    @Test
+    public void testWriteEvents() throws InterruptedException {
+        CapturingAppender audit = CapturingAppender.install(GameAuditLog.AUDIT_LOGGER_NAME, "AUDIT_FILE");
+        GameAuditLog auditLog = new GameAuditLog();
+        long sessionId = GameAuditLog.nextSessionId();
+
+        auditLog.gameStarted(sessionId, "Фрукты", "яблоко", 10);
+        awaitEvents(audit, 1);
+        assertTrue(audit.getLastEvent().endsWith("event=start session=" + sessionId
+                + " category=\"Фрукты\" word=яблоко maxAttempts=10" + System.lineSeparator()),
+                "Запись о начале игры должна содержать сессию, категорию, слово и попытки: " + audit.getLastEvent());
+        auditLog.guessProcessed(sessionId, 'я', true, 10, 1_500_000L);
+        awaitEvents(audit, 2);
+        assertTrue(audit.getLastEvent().contains("event=guess session=" + sessionId
+                + " letter=я hit=true remaining=10 elapsedUs=1500"),
+                "Запись о догадке должна содержать букву, попадание и время в микросекундах: " + audit.getLastEvent());
+        auditLog.gameFinished(sessionId, "яблоко", true, 0, 9_000_000L);
+        awaitEvents(audit, 3);
+        assertTrue(audit.getLastEvent().contains("event=finish session=" + sessionId
+                + " word=яблоко outcome=win mistakes=0 durationUs=9000"),
+                "Запись об окончании игры должна содержать исход и длительность: " + audit.getLastEvent());
+        assertTrue(audit.getLastEvent().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2},\\d{3} .*\\R"),
+                "Запись должна начинаться с метки времени: " + audit.getLastEvent());
+    }
+
+    @Test
+    public void testDisabledLogWritesNothing() throws InterruptedException {
+        CapturingAppender audit = CapturingAppender.install(GameAuditLog.AUDIT_LOGGER_NAME, "AUDIT_FILE");
+        GameAuditLog enabled = new GameAuditLog();
+        GameAuditLog disabled = new GameAuditLog(false);
+
+        disabled.guessProcessed(1, 'я', true, 10, 0);
+        enabled.warmupFinished(1, 1, 0);
+        awaitEvents(audit, 1);
+        assertTrue(audit.getLastEvent().contains("event=warmup"), "Выключенный журнал не должен ничего записывать.");
+    }
+
+    @Test
+    public void testGuessRecordsDoNotAllocate() throws InterruptedException {
+        CapturingAppender audit = CapturingAppender.install(GameAuditLog.AUDIT_LOGGER_NAME, "AUDIT_FILE");
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threadMXBean.isThreadAllocatedMemorySupported(), "JVM должна поддерживать подсчет аллокаций потока.");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        GameAuditLog auditLog = new GameAuditLog();
+        long sessionId = GameAuditLog.nextSessionId();
+        writeGuesses(auditLog, sessionId, WARMUP_EVENTS);
+
+        long threadId = Thread.currentThread().threadId();
+        long allocated = Long.MAX_VALUE;
+        int rounds = 0;
+        // Берется наименьший замер: в первых замерах еще могут завершаться компиляции C2.
+        while (rounds < ROUNDS && allocated > 0) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            writeGuesses(auditLog, sessionId, EVENTS);
+            allocated = Math.min(allocated, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+            rounds++;
+        }
+
+        awaitEvents(audit, WARMUP_EVENTS + (long) rounds * EVENTS);
+        assertEquals(0, allocated, "Запись догадки в журнал аудита не должна создавать объектов в потоке игры, выделено байт за "
+                + EVENTS + " записей: " + allocated);
+    }
+
+    private static void writeGuesses(GameAuditLog auditLog, long sessionId, int count) {
+        for (int i = 0; i < count; i++) {
+            auditLog.guessProcessed(sessionId, (char) ('а' + i % 32), (i & 1) == 0, i % 10, i * 1_000L);
+        }
+    }
+}
\ No newline at end of file
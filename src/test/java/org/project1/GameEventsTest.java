@@ -0,0 +1,198 @@
+package org.project1;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GameEventsTest {
+    private static final String[] ALPHABET = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя".split("");
+
+    @TempDir
+    Path tempDir;
+
+    private static Configuration hangmanConfiguration() throws IOException, ParseException {
+        try (Reader reader = new InputStreamReader(
+                GameEventsTest.class.getResourceAsStream("/hangman.jfc"), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    public void testRecordingContainsGameEvents() throws IOException, ParseException {
+        Path file = tempDir.resolve("hangman.jfr");
+        try (Recording recording = new Recording(hangmanConfiguration())) {
+            recording.start();
+
+            UserInterface userInterface = mock(UserInterface.class);
+            String[] inputs = new String[ALPHABET.length + 2];
+            inputs[0] = "3";
+            System.arraycopy(ALPHABET, 0, inputs, 1, ALPHABET.length);
+            inputs[inputs.length - 1] = "2";
+            when(userInterface.getUserInput()).thenReturn("1", inputs);
+            new Game(new WordDictionary(), userInterface).startGame();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        RecordedEvent dictionaryLoaded = eventsNamed(events, DictionaryLoadedEvent.NAME).get(0);
+        assertEquals(10, dictionaryLoaded.getInt("categoryCount"), "Должно записываться количество категорий.");
+        assertEquals(100, dictionaryLoaded.getInt("wordCount"), "Должно записываться количество слов.");
+
+        RecordedEvent gameStarted = eventsNamed(events, GameStartedEvent.NAME).get(0);
+        assertEquals(3, gameStarted.getInt("difficulty"), "Должен записываться уровень сложности.");
+        assertNotNull(gameStarted.getString("category"), "Должна записываться категория.");
+
+        List<RecordedEvent> guesses = eventsNamed(events, GuessProcessedEvent.NAME);
+        assertFalse(guesses.isEmpty(), "Должны записываться догадки.");
+        assertEquals('а', guesses.get(0).getChar("letter"), "Должна записываться введенная буква.");
+
+        RecordedEvent gameFinished = eventsNamed(events, GameFinishedEvent.NAME).get(0);
+        assertEquals(gameStarted.getLong("sessionId"), gameFinished.getLong("sessionId"), "События одной игры связаны сессией.");
+        assertTrue(gameFinished.getDuration().toNanos() > 0, "Длительность события - время игры.");
+        assertFalse(gameFinished.getStartTime().isBefore(gameStarted.getStartTime()),
+                "Событие завершения начинается в начале игры.");
+        long mistakes = guesses.stream().filter(guess -> !guess.getBoolean("hit")).count();
+        assertEquals(mistakes, gameFinished.getInt("mistakes"), "Количество ошибок должно совпадать с промахами.");
+    }
+
+    @Test
+    public void testSnapshotOpenIsRecordedAsDictionaryLoad() throws IOException, ParseException {
+        Path snapshot = tempDir.resolve("dictionary.bin");
+        DictionarySnapshot.write(Map.of("Фрукты", List.of("яблоко", "манго"), "Овощи", List.of("батат")), snapshot);
+        Path file = tempDir.resolve("snapshot.jfr");
+        try (Recording recording = new Recording(hangmanConfiguration())) {
+            recording.start();
+
+            new WordDictionary(DictionarySnapshot.open(snapshot).asCategoryMap());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> loads = eventsNamed(RecordingFile.readAllEvents(file), DictionaryLoadedEvent.NAME);
+        assertEquals(1, loads.size(), "Загрузка снимка должна записываться одним событием, без события словаря.");
+        assertEquals(2, loads.get(0).getInt("categoryCount"), "Должно записываться количество категорий снимка.");
+        assertEquals(3, loads.get(0).getInt("wordCount"), "Должно записываться количество слов снимка.");
+    }
+
+    @Test
+    public void testWarmupGamesAreNotRecorded() throws IOException, ParseException {
+        Path file = tempDir.resolve("warmup.jfr");
+        try (Recording recording = new Recording(hangmanConfiguration())) {
+            recording.start();
+
+            GameWarmup.run(new WordDictionary(), 20);
+            GameState gameState = new GameState(6);
+            gameState.setChosenWord("яблоко");
+            gameState.updateGuessedLetters('я');
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(eventsNamed(events, GameStartedEvent.NAME).isEmpty(), "Игры прогрева не должны записываться.");
+        assertTrue(eventsNamed(events, GameFinishedEvent.NAME).isEmpty(), "Игры прогрева не должны записываться.");
+        assertEquals(1, eventsNamed(events, GuessProcessedEvent.NAME).size(),
+                "После прогрева догадки настоящих игр должны снова записываться.");
+    }
+
+    @Test
+    public void testConversionFromImmutableStateIsNotRecorded() throws IOException, ParseException {
+        ImmutableGameState immutable = ImmutableGameState.of("яблоко", 6).withGuess('я').withGuess('ж');
+        Path file = tempDir.resolve("conversion.jfr");
+        try (Recording recording = new Recording(hangmanConfiguration())) {
+            recording.start();
+
+            GameState gameState = immutable.toGameState();
+            gameState.updateGuessedLetters('о');
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> guesses = eventsNamed(RecordingFile.readAllEvents(file), GuessProcessedEvent.NAME);
+        assertEquals(1, guesses.size(), "Восстановленные догадки не должны записываться как новые.");
+        assertEquals('о', guesses.get(0).getChar("letter"), "Должна записываться только новая догадка.");
+    }
+
+    @Test
+    public void testDisabledEventsAreNotCreated() {
+        try (Recording recording = new Recording()) {
+            recording.disable(GuessProcessedEvent.NAME);
+            recording.start();
+
+            assertNull(GameEvents.beginGuess(), "Выключенное событие не должно создаваться.");
+        }
+    }
+
+    @Test
+    public void testParkedSessionRestoreIsNotRecorded() throws IOException, ParseException {
+        GameState parked = new GameState(6);
+        parked.setChosenWord("яблоко");
+        parked.updateGuessedLetters('я');
+        parked.updateGuessedLetters('ж');
+        Path file = tempDir.resolve("unpark.jfr");
+        try (ParkedSessionSlab slab = new ParkedSessionSlab(4);
+             Recording recording = new Recording(hangmanConfiguration())) {
+            recording.start();
+
+            slab.park(1, parked);
+            GameState gameState = slab.unpark(1);
+
+            recording.stop();
+            recording.dump(file);
+            assertEquals(1, gameState.getHangmanState().getMistakes(), "Ошибки должны восстанавливаться.");
+            assertEquals(2, gameState.getGuessCount(), "Догадки должны восстанавливаться.");
+        }
+
+        assertTrue(eventsNamed(RecordingFile.readAllEvents(file), GuessProcessedEvent.NAME).isEmpty(),
+                "Парковка и восстановление сессии не должны записывать догадки.");
+    }
+
+    @Test
+    public void testMigratedSessionIsNotRecorded() throws IOException, ParseException {
+        GameState migrated = new GameState(6);
+        migrated.setChosenWord("яблоко");
+        migrated.updateGuessedLetters('я');
+        migrated.updateGuessedLetters('ж');
+        String data = ShardWorker.encode(migrated);
+        Path file = tempDir.resolve("migration.jfr");
+        try (Recording recording = new Recording(hangmanConfiguration())) {
+            recording.start();
+
+            GameState gameState = ShardWorker.decode(data);
+
+            recording.stop();
+            recording.dump(file);
+            assertEquals(1, gameState.getHangmanState().getMistakes(), "Ошибки должны восстанавливаться.");
+            assertEquals(2, gameState.getGuessCount(), "Догадки должны восстанавливаться.");
+        }
+
+        assertTrue(eventsNamed(RecordingFile.readAllEvents(file), GuessProcessedEvent.NAME).isEmpty(),
+                "Перенесенная сессия не должна записывать свою историю как новые догадки.");
+    }
+}
\ No newline at end of file
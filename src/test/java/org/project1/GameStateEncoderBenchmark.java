@@ -0,0 +1,108 @@
+package org.project1;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки кодирования состояния игры для ответа клиенту: {@link GameStateEncoder} в переиспользуемый
+ * буфер против того же JSON, собранного через {@link String#format} и {@link StringBuilder}
+ * и затем закодированного в UTF-8.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GameStateEncoderBenchmark {
+    private static final String JSON_FORMAT =
+            "{\"status\":\"%s\",\"word\":\"%s\",\"remaining\":%d,\"stage\":%d,\"maxAttempts\":%d,\"guessed\":\"%s\"}";
+
+    private GameState gameState;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        gameState = new GameState(8);
+        gameState.setChosenWord("электрификация");
+        for (char letter : "аэюкщтз".toCharArray()) {
+            gameState.updateGuessedLetters(letter);
+        }
+        buffer = ByteBuffer.allocateDirect(1024);
+    }
+
+    private String status() {
+        return gameState.isWordGuessed() ? "WON" : gameState.getHangmanState().isGameOver() ? "LOST" : "PLAYING";
+    }
+
+    private String maskedWord() {
+        return gameState.getCurrentWordState().replace(" ", "");
+    }
+
+    private String guessedLetters() {
+        return gameState.getGuessedLettersView().toString().replace(", ", "");
+    }
+
+    /**
+     * JSON через {@link GameStateEncoder} прямо в буфер.
+     */
+    @Benchmark
+    public int encoderJson() {
+        buffer.clear();
+        return GameStateEncoder.writeJson(gameState, buffer);
+    }
+
+    /**
+     * Двоичный формат через {@link GameStateEncoder}.
+     */
+    @Benchmark
+    public int encoderBinary() {
+        buffer.clear();
+        return GameStateEncoder.writeBinary(gameState, buffer);
+    }
+
+    /**
+     * JSON через {@link String#format} с копированием в тот же буфер.
+     */
+    @Benchmark
+    public int stringFormatJson() {
+        HangmanState hangmanState = gameState.getHangmanState();
+        byte[] bytes = String.format(JSON_FORMAT, status(), maskedWord(), gameState.getRemainingAttempts(),
+                hangmanState.getMistakes(), hangmanState.getMaxAttempts(), guessedLetters())
+                .getBytes(StandardCharsets.UTF_8);
+        buffer.clear();
+        buffer.put(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * JSON через {@link StringBuilder} с копированием в тот же буфер.
+     */
+    @Benchmark
+    public int stringBuilderJson() {
+        HangmanState hangmanState = gameState.getHangmanState();
+        byte[] bytes = new StringBuilder(128)
+                .append("{\"status\":\"").append(status())
+                .append("\",\"word\":\"").append(maskedWord())
+                .append("\",\"remaining\":").append(gameState.getRemainingAttempts())
+                .append(",\"stage\":").append(hangmanState.getMistakes())
+                .append(",\"maxAttempts\":").append(hangmanState.getMaxAttempts())
+                .append(",\"guessed\":\"").append(guessedLetters())
+                .append("\"}")
+                .toString().getBytes(StandardCharsets.UTF_8);
+        buffer.clear();
+        buffer.put(bytes);
+        return bytes.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package org.project1;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateEncoderTest {
+    private GameState gameState;
+
+    @BeforeEach
+    public void setUp() {
+        gameState = new GameState(6);
+        gameState.setChosenWord("яблоко");
+        gameState.updateGuessedLetters('о');
+        gameState.updateGuessedLetters('ж');
+    }
+
+    private static String json(GameState gameState) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        int written = GameStateEncoder.writeJson(gameState, buffer);
+        assertEquals(buffer.position(), written, "Количество записанных байт должно совпадать со сдвигом позиции.");
+        return new String(buffer.array(), 0, written, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testWriteJson() {
+        assertEquals("{\"status\":\"PLAYING\",\"word\":\"---о-о\",\"remaining\":5,\"stage\":1,\"maxAttempts\":6,\"guessed\":\"ож\"}",
+                json(gameState), "JSON должен содержать состояние игры.");
+
+        for (char letter : "яблк".toCharArray()) {
+            gameState.updateGuessedLetters(letter);
+        }
+        assertEquals("{\"status\":\"WON\",\"word\":\"яблоко\",\"remaining\":5,\"stage\":1,\"maxAttempts\":6,\"guessed\":\"ожяблк\"}",
+                json(gameState), "JSON должен отражать выигранную игру.");
+    }
+
+    @Test
+    public void testWriteJsonEscapesSpecialCharacters() {
+        GameState special = new GameState(10);
+        special.setChosenWord("a\"b");
+        special.updateGuessedLetters('"');
+        special.updateGuessedLetters('\\');
+        special.updateGuessedLetters('\n');
+        special.updateGuessedLetters('€');
+
+        assertEquals("{\"status\":\"PLAYING\",\"word\":\"-\\\"-\",\"remaining\":7,\"stage\":3,\"maxAttempts\":10,"
+                        + "\"guessed\":\"\\\"\\\\\\u000a€\"}",
+                json(special), "Кавычки, обратная косая черта и управляющие символы должны экранироваться.");
+    }
+
+    @Test
+    public void testWriteBinary() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int written = GameStateEncoder.writeBinary(gameState, buffer);
+
+        assertEquals(GameStateEncoder.binarySize(gameState), written, "Размер записи должен совпадать с расчетным.");
+        assertEquals(GameStateEncoder.BINARY_HEADER_SIZE + 8 * Character.BYTES, written, "Запись должна содержать слово и догадки.");
+        buffer.flip();
+        assertEquals(GameStateEncoder.STATUS_PLAYING, buffer.get(), "Игра должна продолжаться.");
+        assertEquals(6, buffer.get(), "Должно быть записано максимальное количество попыток.");
+        assertEquals(1, buffer.get(), "Должен быть записан номер этапа виселицы.");
+        assertEquals(6, buffer.get(), "Должна быть записана длина слова.");
+        assertEquals(2, buffer.get(), "Должно быть записано количество догадок.");
+        StringBuilder mask = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            char c = buffer.getChar();
+            mask.append(c == '\0' ? '-' : c);
+        }
+        assertEquals("---о-о", mask.toString(), "Скрытые буквы должны кодироваться нулем.");
+        assertEquals('о', buffer.getChar(), "Догадки должны идти в порядке ввода.");
+        assertEquals('ж', buffer.getChar(), "Догадки должны идти в порядке ввода.");
+        assertFalse(buffer.hasRemaining(), "После догадок не должно быть лишних байт.");
+    }
+
+    @Test
+    public void testOverflowLeavesBufferPositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        buffer.position(3);
+
+        assertThrows(BufferOverflowException.class, () -> GameStateEncoder.writeJson(gameState, buffer));
+        assertEquals(3, buffer.position(), "При нехватке места JSON не должен записываться частично.");
+        buffer.limit(10);
+        assertThrows(BufferOverflowException.class, () -> GameStateEncoder.writeBinary(gameState, buffer));
+        assertEquals(3, buffer.position(), "При нехватке места двоичная запись не должна записываться частично.");
+    }
+
+    private void encode(ByteBuffer buffer, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            buffer.clear();
+            GameStateEncoder.writeJson(gameState, buffer);
+            GameStateEncoder.writeBinary(gameState, buffer);
+        }
+    }
+
+    @Test
+    public void testEncodingDoesNotAllocate() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threadMXBean.isThreadAllocatedMemorySupported(), "JVM должна поддерживать подсчет аллокаций потока.");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        int iterations = 100_000;
+        for (int round = 0; round < 5; round++) {
+            encode(buffer, iterations);
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        encode(buffer, iterations);
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated <= 1024, "Кодирование не должно создавать объектов, выделено байт за "
+                + iterations + " вызовов: " + allocated);
+    }
+}
\ No newline at end of file
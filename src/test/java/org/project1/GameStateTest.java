@@ -105,4 +105,40 @@ public class GameStateTest {
 
         assertEquals(3, gameState.getRemainingAttempts(), "Количество оставшихся попыток должно уменьшаться при неверных буквах.");
     }
+
+    @Test
+    public void testCurrentWordStateViewUpdatesInPlace() {
+        CharSequence view = gameState.getCurrentWordStateView();
+        gameState.updateGuessedLetters('a');
+
+        assertSame(view, gameState.getCurrentWordStateView(), "Представление состояния слова не должно пересоздаваться.");
+        assertEquals("- a - - - a -", view.toString(), "Представление должно отражать угаданные буквы без повторного запроса.");
+    }
+
+    @Test
+    public void testGuessedLettersInGuessOrder() {
+        gameState.updateGuessedLetters('z');
+        gameState.updateGuessedLetters('h');
+        gameState.updateGuessedLetters('b');
+
+        assertEquals("z, h, b", gameState.getGuessedLettersView().toString(), "Введенные буквы должны идти в порядке ввода.");
+        assertEquals(3, gameState.getGuessCount(), "Должны учитываться все догадки.");
+        assertEquals('h', gameState.getGuessedLetterAt(1), "Догадки должны храниться в порядке ввода.");
+    }
+
+    @Test
+    public void testResetStartsOverWithSameWord() {
+        GameState gameState = new GameState(6);
+        gameState.setChosenWord("hangman");
+        gameState.updateGuessedLetters('a');
+        gameState.updateGuessedLetters('z');
+
+        gameState.reset();
+
+        assertEquals("- - - - - - -", gameState.getCurrentWordState(), "После сброса слово должно быть скрыто.");
+        assertEquals(0, gameState.getGuessCount(), "После сброса не должно быть догадок.");
+        assertEquals(6, gameState.getRemainingAttempts(), "После сброса ошибки обнуляются.");
+        assertFalse(gameState.isLetterGuessed('a'), "После сброса буквы можно вводить снова.");
+        assertEquals("", gameState.getGuessedLettersView().toString(), "Список введенных букв должен очиститься.");
+    }
 }
\ No newline at end of file
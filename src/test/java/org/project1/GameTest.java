@@ -5,7 +5,11 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyChar;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class GameTest {
@@ -90,6 +94,17 @@ public class GameTest {
         assertEquals(8, maxAttempts);
     }
 
+    @Test
+    public void testChooseDifficultyWithEmptyInputPicksExistingLevel() {
+        when(userInterface.getUserInput()).thenReturn("");
+
+        for (int i = 0; i < 100; i++) {
+            int maxAttempts = game.chooseDifficulty();
+            assertTrue(maxAttempts == 10 || maxAttempts == 8 || maxAttempts == 6,
+                    "Случайный уровень сложности должен быть одним из трех уровней.");
+        }
+    }
+
     @Test
     public void testGetValidLetterFromUser() {
         gameState = new GameState(10);
@@ -154,4 +169,60 @@ public class GameTest {
         String result = game.getGuessedLettersString();
         assertEquals("", result, "Ожидается пустая строка, так как нет угаданных букв.");
     }
+
+    @Test
+    public void testGetGuessedLettersStringKeepsGuessOrder() {
+        gameState.updateGuessedLetters('я');
+        gameState.updateGuessedLetters('ж');
+        gameState.updateGuessedLetters('б');
+        game.setGameState(gameState);
+
+        String result = game.getGuessedLettersString();
+        assertEquals("я, ж, б", result, "Ожидается строка с буквами в порядке их ввода.");
+    }
+
+    @Test
+    public void testProcessGuessFeedsAnalytics() {
+        GameAnalytics analytics = new GameAnalytics();
+        game.setAnalytics(analytics, "игрок");
+        game.setGameState(gameState);
+
+        game.processGuess('о');
+        game.processGuess('я');
+
+        assertEquals(1, analytics.getFirstLetterCount('о'), "Первая буква игры должна учитываться.");
+        assertEquals(0, analytics.getFirstLetterCount('я'), "Последующие буквы не считаются первыми.");
+    }
+
+    @Test
+    public void testInvalidInputFloodIsBounded() {
+        game.setGameState(gameState);
+        when(userInterface.getUserInput()).thenReturn("вставленный текст");
+
+        assertThrows(InvalidInputLimitException.class, () -> game.getValidLetterFromUser(),
+                "Бесконечный поток неверного ввода должен прерываться.");
+    }
+
+    @Test
+    public void testGuessAfterGameOverIsIgnored() {
+        game.setGameState(gameState);
+        game.setBatchMode(true);
+        while (!gameState.getHangmanState().isGameOver()) {
+            gameState.getHangmanState().incrementMistakes();
+        }
+        when(userInterface.getUserInput()).thenReturn("я");
+
+        assertFalse(game.processGuess('я'), "Догадка после окончания игры не применяется.");
+        game.playTurn();
+        verify(userInterface, never()).displayTurnResult(anyChar(), any());
+        assertEquals(0, gameState.getGuessCount(), "Проигнорированная догадка не должна записываться.");
+    }
+
+    @Test
+    public void testParseLetter() {
+        assertEquals('я', Game.parseLetter("  Я \n"), "Пробелы по краям пропускаются, буква приводится к нижнему регистру.");
+        assertEquals(Game.NO_LETTER, Game.parseLetter("яб"), "Две буквы - неверный ввод.");
+        assertEquals(Game.NO_LETTER, Game.parseLetter("1"), "Цифра - неверный ввод.");
+        assertEquals(Game.NO_LETTER, Game.parseLetter("   "), "Пустой ввод - неверный ввод.");
+    }
 }
\ No newline at end of file
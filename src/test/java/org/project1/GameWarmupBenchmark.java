@@ -0,0 +1,95 @@
+package org.project1;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк задержки первых {@value #FIRST_GUESSES} догадок после запуска JVM с прогревом {@link GameWarmup}
+ * и без него. Каждый замер - один прогон в новой JVM без прогрева средствами JMH, результат - среднее
+ * время одной догадки через {@link Game#processGuess(char)}. С журналом аудита в замер попадает еще
+ * асинхронная запись журнала, которая на машине с одним ядром конкурирует с игрой за процессор.
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GameWarmupBenchmark {
+    private static final int FIRST_GUESSES = 1_000;
+    private static final String ALPHABET = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+
+    /**
+     * Количество игр прогрева; 0 - без прогрева.
+     */
+    @Param({"0", "5000"})
+    public int warmupGames;
+
+    /**
+     * Писать ли журнал аудита настоящих игр.
+     */
+    @Param({"false", "true"})
+    public boolean auditLog;
+
+    private WordDictionary wordDictionary;
+    private List<String> categories;
+    private Game game;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("hangman.audit.dir", Files.createTempDirectory("hangman-audit").toString());
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        wordDictionary = new WordDictionary();
+        categories = wordDictionary.getCategories();
+        if (warmupGames > 0) {
+            GameWarmup.run(wordDictionary, warmupGames);
+        }
+        game = new Game(wordDictionary, new UserInterface() {
+            @Override
+            public void displayMessage(String message) {
+            }
+
+            @Override
+            public String getUserInput() {
+                throw new IllegalStateException("Ввод в бенчмарке не запрашивается");
+            }
+        });
+        game.setAuditLog(new GameAuditLog(auditLog));
+    }
+
+    /**
+     * Первые догадки: игры по категориям по кругу, буквы по алфавиту со сдвигом от игры к игре.
+     */
+    @Benchmark
+    @OperationsPerInvocation(FIRST_GUESSES)
+    public int firstGuesses() {
+        int guesses = 0;
+        for (int round = 0; guesses < FIRST_GUESSES; round++) {
+            GameState gameState = new GameState(10);
+            String category = categories.get(round % categories.size());
+            gameState.setChosenWord(wordDictionary.getWeightedRandomWord(category, WordDictionary.DIFFICULTY_MEDIUM));
+            game.setGameState(gameState);
+            for (int i = 0; i < ALPHABET.length() && !game.isGameOver() && guesses < FIRST_GUESSES; i++) {
+                game.processGuess(ALPHABET.charAt((round + i) % ALPHABET.length()));
+                guesses++;
+            }
+        }
+        return guesses;
+    }
+}
\ No newline at end of file
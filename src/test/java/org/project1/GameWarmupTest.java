@@ -0,0 +1,62 @@
+package org.project1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameWarmupTest {
+    @AfterEach
+    public void tearDown() {
+        CapturingAppender.restoreConfiguration();
+    }
+
+    @Test
+    public void testPlaysRequestedGames() {
+        GameWarmup.Report report = GameWarmup.run(new WordDictionary(), 300);
+
+        assertEquals(300, report.games(), "Должно быть сыграно заданное количество игр.");
+        assertTrue(report.guesses() >= 300 * 3L, "В каждой игре должно быть хотя бы несколько догадок.");
+        assertTrue(report.elapsedNanos() > 0, "Длительность прогрева должна измеряться.");
+    }
+
+    @Test
+    public void testEveryGameFinishes() {
+        // Слово из букв в конце алфавита: при любом сдвиге игра заканчивается победой или поражением.
+        WordDictionary wordDictionary = new WordDictionary(Map.of("Тест", List.of("юэя")));
+        GameWarmup.Report report = GameWarmup.run(wordDictionary, 59);
+
+        assertEquals(59, report.games(), "Все игры должны завершиться.");
+        assertEquals(List.of("юэя"), wordDictionary.getWordsForCategory("Тест"), "Словарь не должен меняться.");
+    }
+
+    @Test
+    public void testAuditPathIsWarmedWithoutRealRecords() throws InterruptedException {
+        CapturingAppender warmup = CapturingAppender.install(GameAuditLog.WARMUP_LOGGER_NAME, "DISCARD");
+        CapturingAppender audit = CapturingAppender.install(GameAuditLog.AUDIT_LOGGER_NAME, "AUDIT_FILE");
+        long sessionBefore = GameAuditLog.nextSessionId();
+
+        GameWarmup.Report report = GameWarmup.run(new WordDictionary(), 50);
+
+        assertEquals(sessionBefore + 1, GameAuditLog.nextSessionId(), "Прогрев не должен расходовать идентификаторы сессий.");
+        // Записи обоих логгеров проходят одну асинхронную очередь по порядку, запись об окончании прогрева - последняя.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (audit.getEventCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, audit.getEventCount(), "В журнал аудита должна попасть только запись об окончании прогрева.");
+        assertTrue(audit.getLastEvent().contains("event=warmup"), "Запись аудита должна сообщать об окончании прогрева.");
+        assertEquals(2L * report.games() + report.guesses(), warmup.getEventCount(),
+                "Начало, догадки и конец каждой игры прогрева должны пройти через отбрасывающий логгер.");
+    }
+
+    @Test
+    public void testInvalidGameCount() {
+        assertThrows(IllegalArgumentException.class, () -> GameWarmup.run(new WordDictionary(), 0),
+                "Нулевое количество игр должно отклоняться.");
+    }
+}
\ No newline at end of file
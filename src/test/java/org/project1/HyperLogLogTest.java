@@ -0,0 +1,72 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimateWithinStandardError() {
+        HyperLogLog hyperLogLog = new HyperLogLog(14);
+        int distinct = 1_000_000;
+        for (int i = 0; i < distinct; i++) {
+            hyperLogLog.add("игрок-" + i);
+            hyperLogLog.add("игрок-" + (i / 2));
+        }
+
+        double error = Math.abs(hyperLogLog.estimate() - distinct) / (double) distinct;
+        assertTrue(error < 3 * 1.04 / Math.sqrt(1 << 14), "Погрешность должна быть в пределах трех стандартных: " + error);
+        assertEquals(64 * 1024, hyperLogLog.getMemoryBytes(), "Память не должна зависеть от количества значений.");
+    }
+
+    @Test
+    public void testSmallCardinalityIsExactEnough() {
+        HyperLogLog hyperLogLog = new HyperLogLog(14);
+        for (int i = 0; i < 100; i++) {
+            hyperLogLog.add("игрок-" + i);
+        }
+
+        assertEquals(100, hyperLogLog.estimate(), 2, "Малые количества должны оцениваться почти точно.");
+        assertEquals(0, new HyperLogLog(14).estimate(), "Пустая оценка должна быть нулевой.");
+    }
+
+    @Test
+    public void testConcurrentShardsMergeIntoSameRegisters() throws InterruptedException {
+        HyperLogLog sequential = new HyperLogLog(12);
+        for (int i = 0; i < 200_000; i++) {
+            sequential.add("игрок-" + i);
+        }
+
+        HyperLogLog shared = new HyperLogLog(12);
+        HyperLogLog merged = new HyperLogLog(12);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                HyperLogLog local = new HyperLogLog(12);
+                for (int i = offset; i < 200_000; i += 4) {
+                    shared.add("игрок-" + i);
+                    local.add("игрок-" + i);
+                }
+                merged.merge(HyperLogLog.fromByteArray(local.toByteArray()));
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertArrayEquals(sequential.toByteArray(), shared.toByteArray(), "Одновременные обновления не должны теряться.");
+        assertArrayEquals(sequential.toByteArray(), merged.toByteArray(), "Объединение должно совпадать с общей оценкой.");
+    }
+
+    @Test
+    public void testInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(14).merge(new HyperLogLog(12)));
+    }
+}
\ No newline at end of file
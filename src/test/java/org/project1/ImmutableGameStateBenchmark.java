@@ -0,0 +1,84 @@
+package org.project1;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки ветвления состояния игры: догадка на неизменяемом состоянии со структурным разделением
+ * ({@link ImmutableGameState#withGuess(char)}) против полной копии изменяемого состояния
+ * ({@link GameState#GameState(GameState)}) с последующей догадкой.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ImmutableGameStateBenchmark {
+    private static final String WORD = "электрификация";
+    private static final String BRANCH_LETTERS = "абвгдежзйлмнопрстуфхцчшщъыьэюя";
+
+    /**
+     * Количество догадок, сделанных до ветвления.
+     */
+    @Param({"4", "12"})
+    public int guessesBeforeFork;
+
+    private GameState mutableState;
+    private ImmutableGameState immutableState;
+    private char[] branches;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        mutableState = new GameState(10);
+        mutableState.setChosenWord(WORD);
+        String played = "ьъщшчхуюэтфыжзбвдгмнспяорлейикца".substring(0, guessesBeforeFork);
+        for (char letter : played.toCharArray()) {
+            mutableState.updateGuessedLetters(letter);
+        }
+        immutableState = ImmutableGameState.from(mutableState);
+
+        StringBuilder free = new StringBuilder();
+        for (char letter : BRANCH_LETTERS.toCharArray()) {
+            if (!mutableState.isLetterGuessed(letter)) {
+                free.append(letter);
+            }
+        }
+        branches = free.toString().toCharArray();
+    }
+
+    private char nextBranch() {
+        char letter = branches[next];
+        next = next + 1 == branches.length ? 0 : next + 1;
+        return letter;
+    }
+
+    /**
+     * Ветвление неизменяемого состояния: один новый узел, остальное общее с исходным состоянием.
+     */
+    @Benchmark
+    public ImmutableGameState forkImmutable() {
+        return immutableState.withGuess(nextBranch());
+    }
+
+    /**
+     * Ветвление полной копией изменяемого состояния.
+     */
+    @Benchmark
+    public GameState forkDeepCopy() {
+        GameState copy = new GameState(mutableState);
+        copy.updateGuessedLetters(nextBranch());
+        return copy;
+    }
+}
\ No newline at end of file
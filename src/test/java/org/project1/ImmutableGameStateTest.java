@@ -0,0 +1,140 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImmutableGameStateTest {
+
+    @Test
+    public void testWithGuessLeavesOriginalUnchanged() {
+        ImmutableGameState initial = ImmutableGameState.of("яблоко", 6);
+        ImmutableGameState hit = initial.withGuess('о');
+        ImmutableGameState miss = initial.withGuess('ж');
+
+        assertEquals("- - - - - -", initial.getCurrentWordState(), "Исходное состояние не должно меняться.");
+        assertEquals(0, initial.getGuessCount(), "В исходном состоянии не должно быть догадок.");
+        assertEquals("- - - о - о", hit.getCurrentWordState(),
+                "Угаданная буква должна открываться во всех позициях.");
+        assertEquals(6, hit.getRemainingAttempts(), "Верная буква не должна уменьшать количество попыток.");
+        assertEquals(5, miss.getRemainingAttempts(), "Неверная буква должна уменьшать количество попыток.");
+        assertFalse(miss.isLetterGuessed('о'), "Ветви состояния не должны влиять друг на друга.");
+        assertSame(initial, hit.getPrevious(), "Новое состояние должно ссылаться на исходное.");
+    }
+
+    @Test
+    public void testMatchesMutableStateAfterSameGuesses() {
+        String word = "hangman";
+        String guesses = "zhaxqngm";
+        GameState mutable = new GameState(6);
+        mutable.setChosenWord(word);
+        ImmutableGameState immutable = ImmutableGameState.of(word, 6);
+
+        for (char guess : guesses.toCharArray()) {
+            mutable.updateGuessedLetters(guess);
+            immutable = immutable.withGuess(guess);
+            assertEquals(mutable.getCurrentWordState(), immutable.getCurrentWordState(),
+                    "Состояние слова должно совпадать с изменяемым состоянием.");
+            assertEquals(mutable.getRemainingAttempts(), immutable.getRemainingAttempts(),
+                    "Количество попыток должно совпадать с изменяемым состоянием.");
+            assertEquals(mutable.isWordGuessed(), immutable.isWordGuessed(),
+                    "Признак угаданного слова должен совпадать с изменяемым состоянием.");
+        }
+        assertTrue(immutable.isWordGuessed(), "Слово должно быть угадано.");
+        assertEquals(guesses.length(), immutable.getGuessCount(), "Количество догадок должно совпадать.");
+        for (int i = 0; i < guesses.length(); i++) {
+            assertEquals(guesses.charAt(i), immutable.getGuessedLetterAt(i), "Догадки должны храниться в порядке ввода.");
+        }
+    }
+
+    @Test
+    public void testRepeatedGuessIsRejected() {
+        ImmutableGameState state = ImmutableGameState.of("Кот", 6).withGuess('К');
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> state.withGuess('к'));
+        assertEquals("Эта буква уже вводилась ранее!", exception.getMessage(),
+                "При повторном вводе буквы должно выбрасываться исключение.");
+    }
+
+    @Test
+    public void testLettersOutsidePackedAlphabet() {
+        ImmutableGameState state = ImmutableGameState.of("αβα", 6).withGuess('α').withGuess('ω');
+
+        assertTrue(state.isLetterGuessed('α'), "Буква вне алфавита должна находиться по цепочке догадок.");
+        assertEquals("α - α", state.getCurrentWordState(), "Буква вне алфавита должна открываться в слове.");
+        assertEquals(5, state.getRemainingAttempts(), "Промах буквой вне алфавита должен считаться ошибкой.");
+        assertThrows(IllegalArgumentException.class, () -> state.withGuess('ω'),
+                "Повтор буквы вне алфавита должен отклоняться.");
+        assertTrue(state.withGuess('β').isWordGuessed(), "Слово должно быть угадано.");
+    }
+
+    @Test
+    public void testMistakesAreCappedAndGameIsOver() {
+        ImmutableGameState state = ImmutableGameState.of("ёж", 6);
+        for (char guess : "абвгдеиклм".toCharArray()) {
+            state = state.withGuess(guess);
+        }
+        assertTrue(state.isGameOver(), "Игра должна быть проиграна.");
+        assertEquals(0, state.getRemainingAttempts(), "Количество ошибок не должно превышать максимум.");
+    }
+
+    @Test
+    public void testConversionToAndFromMutableState() {
+        GameState mutable = new GameState(8);
+        mutable.setChosenWord("виселица");
+        mutable.updateGuessedLetters('и');
+        mutable.updateGuessedLetters('ю');
+        mutable.getHangmanState().incrementMistakes();
+
+        ImmutableGameState immutable = ImmutableGameState.from(mutable);
+        assertEquals(2, immutable.getMistakes(), "Ошибки за время хода должны сохраняться.");
+        assertEquals(mutable.getCurrentWordState(), immutable.getCurrentWordState(),
+                "Состояние слова должно совпадать после преобразования.");
+
+        GameState restored = immutable.withGuess('в').toGameState();
+        assertEquals("в и - - - и - -", restored.getCurrentWordState(), "Восстановленное состояние должно включать новую догадку.");
+        assertEquals(2, restored.getHangmanState().getMistakes(), "Ошибки должны сохраняться при обратном преобразовании.");
+        assertEquals(3, restored.getGuessCount(), "Догадки должны сохраняться при обратном преобразовании.");
+        assertEquals(2, mutable.getGuessCount(), "Исходное изменяемое состояние не должно меняться.");
+    }
+
+    @Test
+    public void testLongHistoryConversion() {
+        String letters = "абвгдеёжзийклмнопрстуфхцчшщъыьэюяabcdefghijklmnopqrstuvwxyzαβγ";
+        ImmutableGameState immutable = ImmutableGameState.of("ёжαz", 6);
+        GameState mutable = new GameState(6);
+        mutable.setChosenWord("ёжαz");
+        for (char letter : letters.toCharArray()) {
+            immutable = immutable.withGuess(letter);
+            mutable.updateGuessedLetters(letter);
+        }
+
+        GameState restored = immutable.toGameState();
+        assertEquals(letters.length(), restored.getGuessCount(), "Все догадки должны сохраняться.");
+        for (int i = 0; i < letters.length(); i++) {
+            assertEquals(letters.charAt(i), restored.getGuessedLetterAt(i), "Догадки должны сохранять порядок ввода.");
+        }
+        assertEquals(mutable.getCurrentWordState(), restored.getCurrentWordState(), "Состояние слова должно совпадать.");
+        assertEquals(mutable.getGuessedLettersView().toString(), restored.getGuessedLettersView().toString(),
+                "Строка введенных букв должна совпадать.");
+        assertEquals(mutable.getGuessedLetters(), restored.getGuessedLetters(), "Угаданные буквы должны совпадать.");
+        assertEquals(mutable.getHangmanState().getMistakes(), restored.getHangmanState().getMistakes(),
+                "Ошибки должны быть ограничены максимумом так же, как при игре.");
+    }
+
+    @Test
+    public void testDeepCopyOfMutableStateIsIndependent() {
+        GameState original = new GameState(6);
+        original.setChosenWord("кот");
+        original.updateGuessedLetters('к');
+
+        GameState copy = new GameState(original);
+        copy.updateGuessedLetters('т');
+        copy.updateGuessedLetters('ы');
+
+        assertEquals("к - -", original.getCurrentWordState(), "Изменение копии не должно влиять на исходное состояние.");
+        assertEquals(6, original.getRemainingAttempts(), "Ошибки копии не должны влиять на исходное состояние.");
+        assertEquals("к - т", copy.getCurrentWordState(), "Копия должна продолжать игру с состояния исходного.");
+        assertEquals("к, т, ы", copy.getGuessedLettersView().toString(), "Копия должна хранить всю историю догадок.");
+    }
+}
\ No newline at end of file
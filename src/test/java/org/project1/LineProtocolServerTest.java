@@ -0,0 +1,293 @@
+package org.project1;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineProtocolServerTest {
+    private static final String LETTERS = "оеаинтсрвлкмдпуяыьгзбчйхжшюцщэфъё";
+
+    private LineProtocolServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        startServer(new WordDictionary());
+    }
+
+    private void startServer(WordDictionary wordDictionary) throws IOException {
+        startServer(wordDictionary, null);
+    }
+
+    private void startServer(WordDictionary wordDictionary, GameAnalytics analytics) throws IOException {
+        server = new LineProtocolServer(wordDictionary, 0);
+        server.setAnalytics(analytics);
+        serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, "line-protocol-server-test");
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        server.close();
+        serverThread.join(5_000);
+    }
+
+    /**
+     * Клиент протокола: ответ - строки до строки JSON, строки {@code OK} или строки ошибки включительно.
+     */
+    private final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final BufferedReader in;
+        private String preamble;
+
+        private Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(5_000);
+            out = socket.getOutputStream();
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        private void write(String text) throws IOException {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        private String read() throws IOException {
+            StringBuilder lines = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("{") || line.startsWith("ERR") || line.startsWith("OK")) {
+                    preamble = lines.toString();
+                    return line;
+                }
+                lines.append(line).append('\n');
+            }
+            return null;
+        }
+
+        /**
+         * Читает строки трансляции до строки с заданным началом.
+         */
+        private String readFrameLine(String prefix) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return line;
+                }
+            }
+            return null;
+        }
+
+        private String send(String line) throws IOException {
+            write(line + "\n");
+            return read();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static void awaitConnections(LineProtocolServer server, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (server.getConnectionCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, server.getConnectionCount(), "Сервер должен учитывать открытые подключения.");
+    }
+
+    @Test
+    public void testPlayGameUntilFinished() throws IOException {
+        try (Client client = new Client()) {
+            String state = client.send("NEW 3");
+            assertTrue(state.startsWith("{\"status\":\"PLAYING\""), "Новая игра должна начаться: " + state);
+            assertTrue(state.contains("\"maxAttempts\":6"), "Сложный уровень - 6 попыток: " + state);
+            assertEquals(new HangmanState(6).getCurrentStage() + "\n", client.preamble,
+                    "Перед состоянием должна идти начальная виселица.");
+
+            int guesses = 0;
+            while (state.contains("PLAYING")) {
+                state = client.send(String.valueOf(LETTERS.charAt(guesses++)));
+                assertTrue(state.startsWith("{"), "Догадка должна возвращать состояние игры: " + state);
+            }
+            assertTrue(state.contains("WON") || state.contains("LOST"), "Игра должна завершиться: " + state);
+            assertEquals(guesses, server.getGuessCount(), "Сервер должен учитывать догадки.");
+            assertEquals("ERR Игра окончена, отправьте NEW", client.send("я"),
+                    "После окончания игры догадки должны отклоняться.");
+        }
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("ERR Игра не начата, отправьте NEW", client.send("а"), "Догадка без игры должна отклоняться.");
+            assertEquals("ERR Игра не начата, отправьте NEW", client.send("STATE"), "Состояние без игры должно отклоняться.");
+            assertEquals("ERR Уровень сложности - число от 1 до 3", client.send("NEW 4"), "Неверный уровень должен отклоняться.");
+            assertEquals("ERR Неверный ввод! Введите одну букву.", client.send("NEWS"), "Неизвестная команда должна отклоняться.");
+            assertTrue(client.send("new").startsWith("{"), "Команды не должны зависеть от регистра.");
+            assertEquals("ERR Неверный ввод! Введите одну букву.", client.send("аб"), "Две буквы должны отклоняться.");
+            assertEquals("ERR Неверный ввод! Введите одну букву.", client.send("1"), "Цифра должна отклоняться.");
+            assertTrue(client.send(" Ж \r").startsWith("{"), "Пробелы и регистр буквы не должны мешать.");
+            assertEquals("ERR Эта буква уже вводилась ранее!", client.send("ж"), "Повторная буква должна отклоняться.");
+        }
+    }
+
+    @Test
+    public void testPipelinedAndSplitCommands() throws IOException, InterruptedException {
+        try (Client client = new Client()) {
+            client.write("NEW 1\nа\nб\nSTATE\n");
+            assertTrue(client.read().contains("\"guessed\":\"\""), "Первый ответ - новая игра.");
+            assertTrue(client.read().contains("\"guessed\":\"а\""), "Второй ответ - первая догадка.");
+            assertTrue(client.read().contains("\"guessed\":\"аб\""), "Третий ответ - вторая догадка.");
+            assertTrue(client.read().contains("\"guessed\":\"аб\""), "Четвертый ответ - состояние.");
+
+            client.write("ST");
+            Thread.sleep(50);
+            client.write("ATE\n");
+            assertTrue(client.read().contains("\"guessed\":\"аб\""), "Команда, пришедшая частями, должна собираться.");
+        }
+    }
+
+    @Test
+    public void testTooLongLineClosesConnection() throws IOException {
+        try (Client client = new Client()) {
+            client.write("а".repeat(LineProtocolServer.MAX_LINE_LENGTH));
+            assertEquals("ERR Слишком длинная строка", client.read(), "Слишком длинная строка должна отклоняться.");
+            assertNull(client.in.readLine(), "После слишком длинной строки подключение должно закрываться.");
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsDoNotBlockActiveOnes() throws IOException, InterruptedException {
+        List<Socket> idle = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                idle.add(new Socket(InetAddress.getLoopbackAddress(), server.getPort()));
+            }
+            awaitConnections(server, 2_000);
+            try (Client client = new Client()) {
+                assertTrue(client.send("NEW 2").contains("\"maxAttempts\":8"), "Активное подключение должно обслуживаться.");
+                client.write("QUIT\n");
+                assertNull(client.in.readLine(), "QUIT должен закрывать подключение.");
+            }
+            awaitConnections(server, 2_000);
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+        }
+        awaitConnections(server, 0);
+    }
+
+    @Test
+    public void testSessionErrorClosesOnlyThatConnection() throws IOException, InterruptedException {
+        tearDown();
+        // Слово не помещается в буфер ответа: ошибка кодирования должна закрыть только это подключение.
+        startServer(new WordDictionary(Map.of("Длинные", List.of("а".repeat(2_000)))));
+        try (Client idle = new Client(); Client client = new Client()) {
+            assertNull(client.send("NEW 1"), "Подключение с ошибкой должно закрываться.");
+            assertEquals("ERR Игра не начата, отправьте NEW", idle.send("STATE"),
+                    "Остальные подключения должны продолжать обслуживаться.");
+            awaitConnections(server, 1);
+        }
+    }
+
+    @Test
+    public void testCategoryWithoutValidWords() throws IOException, InterruptedException {
+        tearDown();
+        startServer(new WordDictionary(Map.of("Пустая", List.of("!!"))));
+        try (Client idle = new Client(); Client client = new Client()) {
+            assertNull(client.send("NEW"), "Подключение с ошибкой должно закрываться.");
+            assertEquals("ERR Игра не начата, отправьте NEW", idle.send("STATE"),
+                    "Остальные подключения должны продолжать обслуживаться.");
+        }
+    }
+
+    @Test
+    public void testLoadClient() throws IOException {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        LineProtocolLoadClient.Result result = LineProtocolLoadClient.run(address, 8, 100, 1, TimeUnit.SECONDS);
+
+        assertTrue(result.guesses() > 0, "Нагрузочный клиент должен делать догадки.");
+        assertTrue(result.games() > 0, "Нагрузочный клиент должен завершать игры.");
+        assertTrue(server.getGuessCount() >= result.guesses(), "Сервер должен обработать все догадки клиента.");
+    }
+
+    @Test
+    public void testAnalyticsRecordsGames() throws IOException, InterruptedException {
+        tearDown();
+        GameAnalytics analytics = new GameAnalytics();
+        startServer(new WordDictionary(Map.of("Фрукты", List.of("яблоко"))), analytics);
+        try (Client client = new Client()) {
+            client.send("NEW 3");
+            String state = null;
+            for (char letter : "щъёфцш".toCharArray()) {
+                state = client.send(String.valueOf(letter));
+            }
+            assertTrue(state.contains("LOST"), "Шесть промахов на сложном уровне - проигрыш: " + state);
+        }
+        assertEquals(1, analytics.getFirstLetterCount('щ'), "Первая догадка должна учитываться в аналитике.");
+        assertEquals(0, analytics.getFirstLetterCount('ъ'), "Остальные догадки не считаются первыми.");
+        assertEquals(1, analytics.getFailedWordCount("Фрукты", "яблоко"), "Проигранная игра должна учитываться.");
+        assertEquals(1, analytics.getDistinctPlayers(LocalDate.now()), "Игрок должен учитываться за день.");
+    }
+
+    @Test
+    public void testSpectatorWatchesGame() throws IOException {
+        try (Client player = new Client(); Client watcher = new Client()) {
+            assertEquals("ERR Нет игры с таким номером", watcher.send("WATCH 1"), "Нельзя смотреть подключение без игры.");
+            player.send("NEW 1");
+            String id = player.send("ID").substring("OK ".length());
+            assertEquals("ERR Нет игры с таким номером", watcher.send("WATCH 999"), "Нельзя смотреть несуществующую игру.");
+            assertEquals("OK", watcher.send("WATCH " + id), "Зритель должен подписаться на игру.");
+            assertEquals("FRAME 1", watcher.readFrameLine("FRAME"), "Зритель сразу получает текущий кадр.");
+            assertEquals("Введенные ранее буквы: ", watcher.readFrameLine("Введенные"),
+                    "Первый кадр - игра без догадок.");
+
+            player.send("я");
+            assertEquals("FRAME 2", watcher.readFrameLine("FRAME"), "Догадка игрока публикует новый кадр.");
+            assertEquals("Введенные ранее буквы: я", watcher.readFrameLine("Введенные"),
+                    "Кадр должен показывать догадку игрока.");
+            assertTrue(watcher.send("STATE").startsWith("ERR"), "Зритель может отправлять свои команды.");
+        }
+    }
+
+    @Test
+    public void testPlayerDisconnectKeepsSpectator() throws IOException, InterruptedException {
+        try (Client watcher = new Client()) {
+            try (Client player = new Client()) {
+                player.send("NEW 2");
+                String id = player.send("ID").substring("OK ".length());
+                assertEquals("OK", watcher.send("WATCH " + id));
+                player.write("QUIT\n");
+                assertNull(player.in.readLine(), "QUIT должен закрывать подключение игрока.");
+            }
+            awaitConnections(server, 1);
+            assertTrue(watcher.send("NEW 1").startsWith("{"), "Зритель продолжает обслуживаться после ухода игрока.");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveTimeLimitTest {
+    private TimingWheel timingWheel;
+    private GameState gameState;
+    private AtomicInteger expirations;
+    private MoveTimeLimit moveTimeLimit;
+
+    @BeforeEach
+    public void setUp() {
+        timingWheel = new TimingWheel(1, TimeUnit.SECONDS);
+        gameState = new GameState(6);
+        gameState.setChosenWord("hangman");
+        expirations = new AtomicInteger();
+        moveTimeLimit = new MoveTimeLimit(timingWheel, gameState, 3, TimeUnit.SECONDS, expirations::incrementAndGet);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            timingWheel.tick();
+        }
+    }
+
+    @Test
+    public void testMistakeOnTimeout() {
+        moveTimeLimit.restart();
+        advance(3);
+
+        assertEquals(1, gameState.getHangmanState().getMistakes(), "По истечении времени должна засчитываться ошибка.");
+        assertEquals(1, expirations.get(), "Игрок должен уведомляться об истечении времени.");
+        advance(3);
+        assertEquals(2, gameState.getHangmanState().getMistakes(), "После ошибки отсчет должен начинаться заново.");
+    }
+
+    @Test
+    public void testRestartOnGuess() {
+        moveTimeLimit.restart();
+        advance(2);
+        gameState.updateGuessedLetters('h');
+        moveTimeLimit.restart();
+        advance(2);
+
+        assertEquals(0, gameState.getHangmanState().getMistakes(), "Догадка должна сбрасывать отсчет времени.");
+    }
+
+    @Test
+    public void testStopsWhenGameIsOver() {
+        moveTimeLimit.restart();
+        advance(3 * 6 + 10);
+
+        assertTrue(gameState.getHangmanState().isGameOver(), "Игра должна закончиться, когда время истекло на всех ходах.");
+        assertEquals(6, expirations.get(), "После окончания игры таймер не должен перезапускаться.");
+    }
+
+    @Test
+    public void testStop() {
+        moveTimeLimit.restart();
+        moveTimeLimit.stop();
+        advance(10);
+
+        assertEquals(0, gameState.getHangmanState().getMistakes(), "Остановленный отсчет не должен засчитывать ошибки.");
+    }
+
+    @Test
+    public void testStaleExpirationAfterRestartIsIgnored() {
+        int[] expirationsBeforeGuess = {-1};
+        TimingWheel.Timer guess = timingWheel.newTimer(() -> {
+            expirationsBeforeGuess[0] = expirations.get();
+            moveTimeLimit.restart();
+        });
+        timingWheel.schedule(guess, 3, TimeUnit.SECONDS);
+        moveTimeLimit.restart();
+        advance(3);
+
+        assertEquals(0, expirationsBeforeGuess[0], "Догадка должна прийти между срабатыванием таймера и ошибкой.");
+        assertEquals(0, gameState.getHangmanState().getMistakes(),
+                "Срабатывание, опередившее перезапуск отсчета, не должно засчитывать ошибку.");
+        advance(3);
+        assertEquals(1, gameState.getHangmanState().getMistakes(), "Перезапущенный отсчет должен продолжать работать.");
+    }
+
+    @Test
+    public void testStaleExpirationAfterStopIsIgnored() {
+        TimingWheel.Timer gameEnd = timingWheel.newTimer(moveTimeLimit::stop);
+        timingWheel.schedule(gameEnd, 3, TimeUnit.SECONDS);
+        moveTimeLimit.restart();
+        advance(3);
+
+        assertEquals(0, gameState.getHangmanState().getMistakes(),
+                "Срабатывание, опередившее остановку отсчета, не должно засчитывать ошибку.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package org.project1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkedSessionSlabTest {
+    private static final int SESSIONS = 100_000;
+
+    private ParkedSessionSlab slab;
+
+    @BeforeEach
+    public void setUp() {
+        slab = new ParkedSessionSlab(SESSIONS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slab.close();
+    }
+
+    private GameState newGame(String word, char... guesses) {
+        GameState gameState = new GameState(8);
+        gameState.setChosenWord(word);
+        for (char guess : guesses) {
+            gameState.updateGuessedLetters(guess);
+        }
+        return gameState;
+    }
+
+    @Test
+    public void testParkAndUnpark() {
+        assertTrue(slab.park(7, newGame("капибара", 'а', 'ж')), "Сессия должна парковаться.");
+        assertTrue(slab.contains(7), "Припаркованная сессия должна находиться по идентификатору.");
+
+        GameState restored = slab.unpark(7);
+        assertEquals("- а - - - а - а", restored.getCurrentWordState(), "Состояние слова должно восстановиться.");
+        assertEquals(7, restored.getRemainingAttempts(), "Ошибки должны восстановиться.");
+        assertNull(slab.unpark(7), "После восстановления запись освобождается.");
+    }
+
+    @Test
+    public void testFullCapacityAndSlotReuse() {
+        for (long id = 0; id < SESSIONS; id++) {
+            assertTrue(slab.park(id * 31, newGame("hangman", 'h')), "Хранилище должно вмещать заявленное количество сессий.");
+        }
+        assertFalse(slab.park(-1, newGame("hangman")), "Сверх емкости парковать нельзя.");
+
+        for (long id = 0; id < SESSIONS; id += 2) {
+            assertTrue(slab.remove(id * 31), "Сессия должна удаляться.");
+        }
+        for (long id = 1; id < SESSIONS; id += 2) {
+            assertTrue(slab.contains(id * 31), "Удаление соседей по индексу не должно терять другие сессии.");
+        }
+        assertEquals(SESSIONS / 2, slab.size(), "Размер должен учитывать удаления.");
+        assertTrue(slab.park(-1, newGame("hangman")), "Освободившиеся записи должны переиспользоваться.");
+    }
+
+    @Test
+    public void testTooLongWordDoesNotFit() {
+        GameState gameState = newGame("а".repeat(ParkedSessionSlab.MAX_WORD_LENGTH + 1));
+
+        assertFalse(ParkedSessionSlab.fits(gameState), "Слишком длинное слово не помещается в запись.");
+        assertFalse(slab.park(1, gameState), "Не помещающаяся сессия не должна парковаться.");
+    }
+
+    @Test
+    public void testLargeCapacityIsAllocatedOnDemand() {
+        try (ParkedSessionSlab large = new ParkedSessionSlab(1 << 29)) {
+            for (long id = 0; id < ParkedSessionSlab.CHUNK_RECORDS + 1; id++) {
+                assertTrue(large.park(id, newGame("hangman", 'h')), "Сессии должны парковаться за границей блока.");
+            }
+            assertEquals("h - - - - - -", large.unpark(ParkedSessionSlab.CHUNK_RECORDS).getCurrentWordState(),
+                    "Сессия из второго блока должна восстанавливаться.");
+            assertEquals(ParkedSessionSlab.CHUNK_RECORDS, large.size());
+        }
+    }
+}
\ No newline at end of file
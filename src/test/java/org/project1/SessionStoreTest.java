@@ -0,0 +1,242 @@
+package org.project1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionStoreTest {
+    private long now;
+    private SessionStore sessionStore;
+
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+        sessionStore = new SessionStore(2, 10, TimeUnit.SECONDS, 100, 2, () -> now);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionStore.close();
+    }
+
+    private GameState newGame(String word, char... guesses) {
+        GameState gameState = new GameState(6);
+        gameState.setChosenWord(word);
+        for (char guess : guesses) {
+            gameState.updateGuessedLetters(guess);
+        }
+        return gameState;
+    }
+
+    @Test
+    public void testHitForHotSession() {
+        GameState gameState = newGame("hangman");
+        sessionStore.put(1, gameState);
+
+        assertSame(gameState, sessionStore.get(1), "Активная сессия должна возвращаться без восстановления.");
+        assertEquals(1, sessionStore.getHits(), "Обращение к активной сессии считается попаданием.");
+    }
+
+    @Test
+    public void testMissForUnknownSession() {
+        assertNull(sessionStore.get(42), "Для неизвестной сессии ожидается null.");
+        assertEquals(1, sessionStore.getMisses(), "Обращение к неизвестной сессии считается промахом.");
+    }
+
+    @Test
+    public void testIdleSessionIsParkedAndRehydrated() {
+        sessionStore.put(1, newGame("hangman", 'h', 'z', 'a'));
+        now = TimeUnit.SECONDS.toNanos(11);
+
+        assertEquals(1, sessionStore.evictIdle(), "Неактивная сессия должна вытесняться по времени.");
+        assertEquals(0, sessionStore.getHotSize(), "После вытеснения в куче не должно остаться сессий.");
+        assertEquals(1, sessionStore.getParkedSize(), "Вытесненная сессия должна быть припаркована.");
+
+        GameState restored = sessionStore.get(1);
+        assertEquals("h a - - - a -", restored.getCurrentWordState(), "Состояние слова должно восстановиться.");
+        assertEquals("h, z, a", restored.getGuessedLettersView().toString(), "Порядок догадок должен восстановиться.");
+        assertEquals(5, restored.getRemainingAttempts(), "Количество попыток должно восстановиться.");
+        assertEquals(1, sessionStore.getRehydrations(), "Восстановление должно учитываться.");
+        assertEquals(0, sessionStore.getParkedSize(), "Восстановленная сессия больше не припаркована.");
+    }
+
+    @Test
+    public void testMistakesFromTimeoutsAreRestored() {
+        GameState gameState = newGame("hangman", 'h');
+        gameState.getHangmanState().incrementMistakes();
+        sessionStore.put(1, gameState);
+        now = TimeUnit.SECONDS.toNanos(11);
+        sessionStore.evictIdle();
+
+        assertEquals(1, sessionStore.get(1).getHangmanState().getMistakes(), "Ошибки по времени тоже должны восстанавливаться.");
+    }
+
+    @Test
+    public void testRecentlyUsedSessionIsNotEvicted() {
+        sessionStore.put(1, newGame("hangman"));
+        sessionStore.put(2, newGame("capybara"));
+        now = TimeUnit.SECONDS.toNanos(8);
+        sessionStore.get(1);
+        now = TimeUnit.SECONDS.toNanos(12);
+
+        assertEquals(1, sessionStore.evictIdle(), "Вытесняться должна только неактивная сессия.");
+        assertEquals(1, sessionStore.getHotSize(), "Недавно использованная сессия должна остаться в куче.");
+    }
+
+    @Test
+    public void testSizeLimitEvictsLeastRecentlyUsed() {
+        sessionStore.put(1, newGame("hangman"));
+        sessionStore.put(2, newGame("capybara"));
+        sessionStore.get(1);
+        sessionStore.put(3, newGame("penguin"));
+
+        assertEquals(2, sessionStore.getHotSize(), "Количество активных сессий не должно превышать лимит.");
+        assertEquals(1, sessionStore.getEvictions(), "Превышение лимита должно вытеснять сессию.");
+        assertEquals(1, sessionStore.getParkedSize(), "Вытесненной должна быть давно не использованная сессия.");
+        assertEquals("- - - - - - - -", sessionStore.get(2).getCurrentWordState(), "Вытесненная сессия должна восстанавливаться.");
+    }
+
+    @Test
+    public void testRemove() {
+        sessionStore.put(1, newGame("hangman"));
+        sessionStore.put(2, newGame("capybara"));
+        sessionStore.put(3, newGame("penguin"));
+
+        assertTrue(sessionStore.remove(1), "Припаркованная сессия должна удаляться.");
+        assertTrue(sessionStore.remove(3), "Активная сессия должна удаляться.");
+        assertFalse(sessionStore.remove(1), "Повторное удаление ничего не делает.");
+        assertNull(sessionStore.get(1), "Удаленная сессия не должна находиться.");
+    }
+
+    @Test
+    public void testNewSessionRejectedWhenFull() {
+        SessionStore smallStore = new SessionStore(1, 10, TimeUnit.SECONDS, 1, 0, () -> now);
+        smallStore.put(1, newGame("hangman"));
+        smallStore.put(2, newGame("capybara"));
+
+        assertThrows(IllegalStateException.class, () -> smallStore.put(3, newGame("penguin")),
+                "Новая сессия должна отклоняться, если вытесняемую сессию некуда положить.");
+        assertEquals(1, smallStore.getRejected(), "Отказ должен учитываться.");
+        assertEquals(2, smallStore.size(), "Существующие сессии не должны теряться.");
+        assertEquals("- - - - - - -", smallStore.get(1).getCurrentWordState(), "Припаркованная сессия должна восстанавливаться.");
+        assertEquals("- - - - - - - -", smallStore.get(2).getCurrentWordState(), "Активная сессия должна остаться.");
+        smallStore.put(2, newGame("capybara", 'a'));
+        assertEquals(2, smallStore.size(), "Существующую сессию можно заменить и в заполненном хранилище.");
+        smallStore.close();
+    }
+
+    @Test
+    public void testOversizedSessionsAreLimited() {
+        String longWord = "a".repeat(ParkedSessionSlab.MAX_WORD_LENGTH + 1);
+        sessionStore.put(1, newGame(longWord));
+        sessionStore.put(2, newGame(longWord));
+        sessionStore.put(3, newGame(longWord));
+        sessionStore.put(4, newGame(longWord));
+
+        assertEquals(2, sessionStore.getOversizedSize(), "В куче вне лимита активных остается не больше своего лимита.");
+        assertThrows(IllegalStateException.class, () -> sessionStore.put(5, newGame(longWord)),
+                "Сверх лимита не помещающихся сессий новые сессии должны отклоняться.");
+        now = TimeUnit.SECONDS.toNanos(11);
+        assertEquals(0, sessionStore.evictIdle(), "Неактивную сессию некуда вытеснить, она остается активной.");
+        assertEquals(4, sessionStore.size(), "Существующие сессии не должны теряться.");
+    }
+
+    @Test
+    public void testOversizedSessionStaysOnHeap() {
+        String longWord = "a".repeat(ParkedSessionSlab.MAX_WORD_LENGTH + 1);
+        sessionStore.put(1, newGame(longWord, 'a'));
+        now = TimeUnit.SECONDS.toNanos(11);
+
+        assertEquals(1, sessionStore.evictIdle(), "Неактивная сессия вытесняется из лимита активных.");
+        assertEquals(1, sessionStore.getOversizedSize(), "Не помещающаяся в запись сессия должна остаться в куче.");
+        assertEquals(0, sessionStore.getRejected(), "Не помещающаяся в запись сессия не должна теряться.");
+        assertTrue(sessionStore.contains(1));
+        assertEquals(longWord, sessionStore.get(1).getChosenWord(), "Сессия с длинным словом должна находиться.");
+        assertEquals(1, sessionStore.getHotSize(), "После обращения сессия снова активна.");
+        assertTrue(sessionStore.remove(1));
+        assertEquals(0, sessionStore.size());
+    }
+
+    @Test
+    public void testUpdateChangesParkedSession() {
+        sessionStore.put(1, newGame("hangman"));
+        now = TimeUnit.SECONDS.toNanos(11);
+        sessionStore.evictIdle();
+
+        assertEquals(Integer.valueOf(5), sessionStore.update(1, gameState -> {
+            gameState.updateGuessedLetters('z');
+            return gameState.getRemainingAttempts();
+        }), "Действие должно выполняться над восстановленной сессией.");
+        assertNull(sessionStore.update(2, GameState::getRemainingAttempts), "Для неизвестной сессии ожидается null.");
+        now = TimeUnit.SECONDS.toNanos(22);
+        sessionStore.evictIdle();
+        assertEquals(5, sessionStore.get(1).getRemainingAttempts(), "Изменение должно сохраняться при парковке.");
+    }
+
+    @Test
+    public void testSessionIds() {
+        sessionStore.put(1, newGame("hangman"));
+        sessionStore.put(2, newGame("capybara"));
+        sessionStore.put(3, newGame("penguin"));
+        sessionStore.put(4, newGame("a".repeat(ParkedSessionSlab.MAX_WORD_LENGTH + 1)));
+
+        long[] ids = sessionStore.sessionIds();
+        Arrays.sort(ids);
+        assertArrayEquals(new long[] {1, 2, 3, 4}, ids, "Должны перечисляться активные, припаркованные и оставленные в куче сессии.");
+        assertEquals(4, sessionStore.size());
+    }
+
+    @Test
+    public void testUpdatesOfDifferentSessionsRunInParallel() throws Exception {
+        sessionStore.put(1, newGame("hangman"));
+        sessionStore.put(2, newGame("capybara"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> sessionStore.update(1, gameState -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return gameState.getRemainingAttempts();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> fast = CompletableFuture.supplyAsync(() -> sessionStore.update(2, gameState -> {
+            gameState.updateGuessedLetters('z');
+            return gameState.getRemainingAttempts();
+        }));
+        assertEquals(Integer.valueOf(5), fast.get(5, TimeUnit.SECONDS),
+                "Действие над другой сессией не должно ждать медленного действия.");
+        release.countDown();
+        assertEquals(Integer.valueOf(6), slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSessionIsNotEvictedDuringUpdate() {
+        GameState gameState = newGame("hangman");
+        sessionStore.put(1, gameState);
+
+        sessionStore.update(1, state -> {
+            sessionStore.put(2, newGame("capybara"));
+            sessionStore.put(3, newGame("penguin"));
+            now = TimeUnit.SECONDS.toNanos(11);
+            sessionStore.evictIdle();
+            state.updateGuessedLetters('z');
+            return null;
+        });
+
+        assertEquals(2, sessionStore.getParkedSize(), "Вытесняться должны только незакрепленные сессии.");
+        assertEquals(1, sessionStore.getHotSize(), "Закрепленная сессия должна остаться активной.");
+        assertSame(gameState, sessionStore.get(1), "Закрепленная сессия должна остаться в куче.");
+        assertEquals(5, sessionStore.get(1).getRemainingAttempts(), "Изменение закрепленной сессии не должно теряться.");
+    }
+}
\ No newline at end of file
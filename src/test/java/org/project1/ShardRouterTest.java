@@ -0,0 +1,215 @@
+package org.project1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardRouterTest {
+    private static final int SESSIONS = 200;
+
+    private final List<Process> processes = new ArrayList<>();
+    private final List<ShardWorker> inProcessWorkers = new ArrayList<>();
+    private ShardRouter router;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        router = new ShardRouter(2);
+        for (int i = 0; i < 2; i++) {
+            router.addWorker(launchWorker());
+        }
+        for (long id = 0; id < SESSIONS; id++) {
+            router.forward("NEW " + id + " 6 яблоко");
+            router.forward("GUESS " + id + " я");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        router.close();
+        processes.forEach(Process::destroy);
+        inProcessWorkers.forEach(ShardWorker::close);
+    }
+
+    private String launchWorker() throws IOException {
+        ShardWorker.LaunchedWorker worker = ShardWorker.launch();
+        processes.add(worker.process());
+        return worker.address();
+    }
+
+    private String startInProcess(ShardWorker worker) {
+        inProcessWorkers.add(worker);
+        Thread thread = new Thread(worker::serve, "test-shard-worker");
+        thread.setDaemon(true);
+        thread.start();
+        return "127.0.0.1:" + worker.getPort();
+    }
+
+    private Map<Long, String> owners() {
+        Map<Long, String> owners = new HashMap<>();
+        for (long id = 0; id < SESSIONS; id++) {
+            owners.put(id, router.workerFor(id));
+        }
+        return owners;
+    }
+
+    private void assertAllSessionsIntact() throws IOException {
+        for (long id = 0; id < SESSIONS; id++) {
+            assertEquals("OK PLAYING 6 я----- я", router.forward("STATE " + id), "Сессия " + id + " должна сохраниться.");
+        }
+    }
+
+    @Test
+    public void testSessionsAreSpreadAcrossWorkers() throws IOException {
+        assertEquals(2, owners().values().stream().distinct().count(), "Сессии должны распределяться по всем процессам.");
+        assertAllSessionsIntact();
+    }
+
+    @Test
+    public void testAddingWorkerMovesOnlyAffectedSessions() throws IOException {
+        Map<Long, String> before = owners();
+        String address = launchWorker();
+        int moved = router.addWorker(address);
+        Map<Long, String> after = owners();
+
+        long changed = before.keySet().stream().filter(id -> !before.get(id).equals(after.get(id))).count();
+        assertEquals(changed, moved, "Переносятся только сессии, сменившие владельца.");
+        assertTrue(moved > 0 && moved < SESSIONS, "Новый процесс должен получить часть сессий.");
+        assertAllSessionsIntact();
+        assertTrue(router.forward("GUESS 0 б").startsWith("OK PLAYING 6 яб"), "Игра должна продолжаться после переноса.");
+    }
+
+    @Test
+    public void testRemovingWorkerKeepsSessions() throws IOException {
+        String removed = router.workerFor(0);
+        router.removeWorker(removed);
+
+        assertFalse(owners().containsValue(removed), "Удаленный процесс не должен владеть сессиями.");
+        assertAllSessionsIntact();
+    }
+
+    @Test
+    public void testClientConnection() throws IOException {
+        int port = router.serve(0);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("GUESS 5 о\n");
+            writer.flush();
+            assertEquals("OK PLAYING 6 я--о-о яо", reader.readLine(), "Маршрутизатор должен пересылать команды клиентов.");
+        }
+    }
+
+    @Test
+    public void testDuplicateWorkerIsRejected() throws IOException {
+        String address = router.workerFor(0);
+
+        assertThrows(IllegalArgumentException.class, () -> router.addWorker(address),
+                "Повторное добавление процесса должно отклоняться.");
+        assertEquals(2, owners().values().stream().distinct().count(), "Топология не должна меняться.");
+        assertAllSessionsIntact();
+    }
+
+    @Test
+    public void testFailedMoveKeepsSessionOnPreviousWorker() throws IOException {
+        try (ShardRouter local = new ShardRouter(1)) {
+            ShardWorker source = new ShardWorker(0);
+            local.addWorker(startInProcess(source));
+            for (long id = 0; id < SESSIONS; id++) {
+                local.forward("NEW " + id + " 6 яблоко");
+            }
+            ShardWorker rejecting = new ShardWorker(0) {
+                @Override
+                public String handle(String line) {
+                    return line.startsWith("PUT") ? "ERR Нет места" : super.handle(line);
+                }
+            };
+
+            assertThrows(IOException.class, () -> local.addWorker(startInProcess(rejecting)),
+                    "Сбой переноса должен сообщаться.");
+            assertEquals(SESSIONS, source.getSessionCount(), "Непринятая сессия должна остаться у прежнего процесса.");
+        }
+    }
+
+    /**
+     * Рабочий процесс, который падает (обрывает соединение и перестает принимать подключения)
+     * на заданной по счету команде {@code PUT}.
+     */
+    private static ShardWorker dyingOnPut(int put) throws IOException {
+        return new ShardWorker(0) {
+            private final AtomicInteger puts = new AtomicInteger();
+
+            @Override
+            public String handle(String line) {
+                if (line.startsWith("PUT") && puts.incrementAndGet() == put) {
+                    close();
+                    throw new IllegalStateException("Рабочий процесс упал");
+                }
+                return super.handle(line);
+            }
+        };
+    }
+
+    @Test
+    public void testTargetDyingDuringAddKeepsTopology() throws IOException {
+        try (ShardRouter local = new ShardRouter(1)) {
+            ShardWorker source = new ShardWorker(0);
+            String sourceAddress = startInProcess(source);
+            local.addWorker(sourceAddress);
+            for (long id = 0; id < SESSIONS; id++) {
+                local.forward("NEW " + id + " 6 яблоко");
+            }
+
+            assertThrows(IOException.class, () -> local.addWorker(startInProcess(dyingOnPut(5))),
+                    "Падение нового процесса во время переноса должно сообщаться.");
+            assertEquals(SESSIONS, source.getSessionCount(), "Сессии должны остаться у прежнего процесса.");
+            for (long id = 0; id < SESSIONS; id++) {
+                assertEquals(sourceAddress, local.workerFor(id), "Кольцо не должно переключаться на упавший процесс.");
+                assertTrue(local.forward("STATE " + id).startsWith("OK PLAYING"), "Сессия " + id + " должна быть доступна.");
+            }
+        }
+    }
+
+    @Test
+    public void testTargetDyingDuringRemoveKeepsTopology() throws IOException {
+        try (ShardRouter local = new ShardRouter(1)) {
+            ShardWorker removed = new ShardWorker(0);
+            String removedAddress = startInProcess(removed);
+            local.addWorker(removedAddress);
+            local.addWorker(startInProcess(dyingOnPut(3)));
+            for (long id = 0; id < SESSIONS; id++) {
+                local.forward("NEW " + id + " 6 яблоко");
+            }
+            int owned = removed.getSessionCount();
+
+            assertThrows(IOException.class, () -> local.removeWorker(removedAddress),
+                    "Падение процесса, принимающего сессии, должно сообщаться.");
+            assertEquals(owned, removed.getSessionCount(), "Сессии должны остаться у удаляемого процесса.");
+            for (long id = 0; id < SESSIONS; id++) {
+                if (local.workerFor(id).equals(removedAddress)) {
+                    owned--;
+                    assertTrue(local.forward("STATE " + id).startsWith("OK PLAYING"),
+                            "Сессия " + id + " должна оставаться доступной.");
+                }
+            }
+            assertEquals(0, owned, "Процесс должен остаться на кольце со всеми своими сессиями.");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package org.project1;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк масштабирования шардированного режима: пропускная способность догадок через
+ * {@link ShardRouter} при разном количестве рабочих процессов. Рабочие процессы - отдельные JVM
+ * на этой же машине, поэтому рост упирается в количество ядер.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardScalingBenchmark {
+    private static final int SESSIONS = 10_000;
+    private static final String LETTERS = "абвгдежзийклмнопрстуфхцчшщъыьэюя";
+
+    /**
+     * Маршрутизатор с запущенными рабочими процессами и заранее созданными сессиями.
+     */
+    @State(Scope.Benchmark)
+    public static class Cluster {
+        @Param({"1", "2", "4"})
+        public int workers;
+
+        ShardRouter router;
+        final List<Process> processes = new ArrayList<>();
+
+        @Setup
+        public void setUp() throws IOException {
+            router = new ShardRouter(8);
+            for (int i = 0; i < workers; i++) {
+                ShardWorker.LaunchedWorker worker = ShardWorker.launch();
+                processes.add(worker.process());
+                router.addWorker(worker.address());
+            }
+            for (long id = 0; id < SESSIONS; id++) {
+                router.forward("NEW " + id + " 1000 абракадабра");
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            router.close();
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    /**
+     * Догадка в случайной сессии. Повторные буквы возвращают ошибку, но проходят тот же путь
+     * через маршрутизатор и рабочий процесс.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(8)
+    public String guess(Cluster cluster) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long sessionId = random.nextInt(SESSIONS);
+        char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        return cluster.router.forward("GUESS " + sessionId + " " + letter);
+    }
+}
\ No newline at end of file
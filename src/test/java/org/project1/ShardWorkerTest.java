@@ -0,0 +1,152 @@
+package org.project1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardWorkerTest {
+    private ShardWorker worker;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        worker = new ShardWorker(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        worker.close();
+    }
+
+    @Test
+    public void testPlayGame() {
+        assertEquals("OK PLAYING 6 ------ ", worker.handle("NEW 7 6 яблоко"), "Новая игра должна начинаться со скрытого слова.");
+        assertEquals("OK PLAYING 6 ---о-о о", worker.handle("GUESS 7 о"), "Угаданная буква должна открываться.");
+        assertEquals("OK PLAYING 5 ---о-о ож", worker.handle("GUESS 7 ж"), "Ошибка должна уменьшать попытки.");
+        assertEquals("OK PLAYING 5 ---о-о ож", worker.handle("STATE 7"), "Состояние должно сохраняться между командами.");
+    }
+
+    @Test
+    public void testErrors() {
+        worker.handle("NEW 7 6 яблоко");
+
+        assertTrue(worker.handle("GUESS 7 12").startsWith("ERR"), "Ввод не из одной буквы должен отвергаться.");
+        assertTrue(worker.handle("STATE 8").startsWith("ERR"), "Неизвестная сессия должна давать ошибку.");
+        assertTrue(worker.handle("NEW 9 6 ab").startsWith("ERR"), "Неподходящее слово должно отвергаться.");
+        assertTrue(worker.handle("FOO").startsWith("ERR"), "Неизвестная команда должна давать ошибку.");
+        worker.handle("GUESS 7 я");
+        assertTrue(worker.handle("GUESS 7 я").startsWith("ERR"), "Повторная буква должна давать ошибку.");
+    }
+
+    @Test
+    public void testTakeAndPutMoveSession() throws IOException {
+        worker.handle("NEW 7 6 яблоко");
+        worker.handle("GUESS 7 я");
+        worker.handle("GUESS 7 ж");
+
+        String data = worker.handle("TAKE 7");
+        assertEquals("OK яблоко|6|1|яж", data, "Сессия должна сериализоваться со словом, ошибками и догадками.");
+        assertEquals(0, worker.getSessionCount(), "Забранная сессия должна удаляться.");
+
+        try (ShardWorker other = new ShardWorker(0)) {
+            assertEquals("OK", other.handle("PUT 7 " + data.substring(3)), "Перенесенная сессия должна приниматься.");
+            assertEquals("OK PLAYING 5 я----- яж", other.handle("STATE 7"), "Перенесенная сессия должна продолжаться с того же места.");
+        }
+    }
+
+    @Test
+    public void testCopyKeepsSession() {
+        worker.handle("NEW 7 6 яблоко");
+        worker.handle("GUESS 7 я");
+
+        assertEquals("OK яблоко|6|0|я", worker.handle("COPY 7"), "Копия должна сериализовать сессию.");
+        assertEquals(1, worker.getSessionCount(), "Скопированная сессия должна оставаться.");
+        assertEquals("OK", worker.handle("DROP 7"));
+        assertEquals(0, worker.getSessionCount(), "Удаленная сессия должна пропадать.");
+    }
+
+    @Test
+    public void testList() {
+        assertEquals("OK", worker.handle("LIST"), "Без сессий список пуст.");
+        worker.handle("NEW 1 6 яблоко");
+        worker.handle("NEW 2 6 манго");
+
+        String list = worker.handle("LIST");
+        assertTrue(list.equals("OK 1,2") || list.equals("OK 2,1"), "В списке должны быть все сессии: " + list);
+    }
+
+    @Test
+    public void testGuessesPassAdmissionControl() throws IOException {
+        AdmissionController admissionController = new AdmissionController(1000, 100, 0.001, 3, 2, 1, TimeUnit.MINUTES, 1, 16);
+        try (ShardWorker limited = new ShardWorker(0, admissionController)) {
+            limited.handle("NEW 7 6 яблоко");
+
+            assertEquals("OK PLAYING 6 я----- я", limited.handle("GUESS 7 я"), "Принятая догадка должна применяться.");
+            assertTrue(limited.handle("GUESS 7 я").startsWith("ERR"), "Ошибки обработки догадки должны возвращаться.");
+            assertTrue(limited.handle("GUESS 7 б").startsWith("OK"));
+            assertEquals("ERR Слишком частые догадки, подождите", limited.handle("GUESS 7 л"),
+                    "Догадки сверх лимита сессии должны отклоняться до обработки.");
+
+            limited.handle("NEW 8 6 яблоко");
+            limited.handle("GUESS 8 12");
+            limited.handle("GUESS 8 12");
+            assertEquals("ERR Слишком много неверных вводов, подождите", limited.handle("GUESS 8 я"),
+                    "Сессия с потоком неверного ввода должна блокироваться.");
+            assertEquals(2, admissionController.getSessionCount());
+            assertEquals("OK", limited.handle("DROP 8"));
+            assertEquals(1, admissionController.getSessionCount(), "Лимиты удаленной сессии должны забываться.");
+        }
+    }
+
+    @Test
+    public void testSessionsSurviveParking() throws IOException {
+        SessionStore sessionStore = new SessionStore(1, 1, TimeUnit.MINUTES, 16);
+        try (ShardWorker small = new ShardWorker(0, null, sessionStore)) {
+            small.handle("NEW 1 6 яблоко");
+            small.handle("GUESS 1 я");
+            small.handle("NEW 2 6 манго");
+            small.handle("NEW 3 6 " + "а".repeat(ParkedSessionSlab.MAX_WORD_LENGTH + 1));
+
+            assertEquals(2, sessionStore.getParkedSize() + sessionStore.getOversizedSize(),
+                    "Сверх лимита активных сессии должны вытесняться.");
+            assertEquals("OK PLAYING 5 я----- яж", small.handle("GUESS 1 ж"), "Припаркованная сессия должна продолжаться.");
+            assertTrue(small.handle("STATE 3").startsWith("OK PLAYING 6 "), "Сессия с длинным словом не должна теряться.");
+            assertEquals(3, small.getSessionCount());
+            assertEquals("OK яблоко|6|1|яж", small.handle("TAKE 1"));
+            assertEquals(2, small.getSessionCount(), "Забранная сессия должна удаляться.");
+        }
+    }
+
+    @Test
+    public void testNewGameRejectedWhenStoreIsFull() throws IOException {
+        try (ShardWorker small = new ShardWorker(0, null, new SessionStore(1, 1, TimeUnit.MINUTES, 1, 0))) {
+            small.handle("NEW 1 6 яблоко");
+            small.handle("NEW 2 6 манго");
+
+            assertEquals("ERR Хранилище сессий заполнено, повторите позже", small.handle("NEW 3 6 груша"),
+                    "Новая игра должна отклоняться, если хранилище заполнено.");
+            assertTrue(small.handle("STATE 1").startsWith("OK PLAYING"), "Существующие сессии не должны теряться.");
+            assertTrue(small.handle("STATE 2").startsWith("OK PLAYING"), "Существующие сессии не должны теряться.");
+        }
+    }
+
+    @Test
+    public void testIdleSessionsAreEvictedByTimer() throws IOException, InterruptedException {
+        SessionStore sessionStore = new SessionStore(16, 50, TimeUnit.MILLISECONDS, 16);
+        try (ShardWorker timed = new ShardWorker(0, null, sessionStore, 100)) {
+            timed.handle("NEW 1 6 яблоко");
+            timed.handle("GUESS 1 я");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sessionStore.getParkedSize() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, sessionStore.getParkedSize(), "Неактивная сессия должна вытесняться по таймеру без новых команд.");
+            assertEquals("OK PLAYING 6 я----- я", timed.handle("STATE 1"), "Вытесненная сессия должна продолжаться.");
+        }
+    }
+}
\ No newline at end of file
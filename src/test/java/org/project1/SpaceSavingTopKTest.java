@@ -0,0 +1,82 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceSavingTopKTest {
+    private static final int KEYS = 10_000;
+    private static final int EVENTS = 200_000;
+
+    private static int[] skewedStream(long seed) {
+        Random random = new Random(seed);
+        int[] stream = new int[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            stream[i] = random.nextInt(4) == 0 ? random.nextInt(10) : random.nextInt(KEYS);
+        }
+        return stream;
+    }
+
+    private static void assertHeavyHittersFound(List<SpaceSavingTopK.Entry> top, long[] exact) {
+        for (int key = 0; key < 10; key++) {
+            String name = "слово" + key;
+            SpaceSavingTopK.Entry entry = top.stream().filter(e -> e.key().equals(name)).findFirst().orElse(null);
+            assertNotNull(entry, "Частое слово " + name + " должно быть найдено.");
+            assertTrue(entry.count() >= exact[key], "Оценка не может быть меньше истинной частоты.");
+            assertTrue(entry.count() - entry.error() <= exact[key], "Погрешность должна покрывать превышение оценки.");
+        }
+    }
+
+    @Test
+    public void testFindsHeavyHitters() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(50, 1);
+        long[] exact = new long[KEYS];
+        for (int key : skewedStream(1)) {
+            topK.add("слово" + key);
+            exact[key]++;
+        }
+
+        List<SpaceSavingTopK.Entry> top = topK.top(10);
+        assertEquals(10, top.size(), "Должно вернуться запрошенное количество слов.");
+        assertHeavyHittersFound(top, exact);
+        assertTrue(top.get(0).count() >= top.get(9).count(), "Слова должны быть упорядочены по убыванию.");
+    }
+
+    @Test
+    public void testConcurrentStripesAndMerge() throws InterruptedException {
+        int[] stream = skewedStream(2);
+        long[] exact = new long[KEYS];
+        for (int key : stream) {
+            exact[key]++;
+        }
+
+        SpaceSavingTopK shared = new SpaceSavingTopK(50, 4);
+        SpaceSavingTopK merged = new SpaceSavingTopK(50, 1);
+        List<SpaceSavingTopK> locals = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            SpaceSavingTopK local = new SpaceSavingTopK(50, 1);
+            locals.add(local);
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < stream.length; i += 4) {
+                    shared.add("слово" + stream[i]);
+                    local.add("слово" + stream[i]);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        locals.forEach(merged::merge);
+
+        assertHeavyHittersFound(shared.top(50), exact);
+        assertHeavyHittersFound(merged.top(50), exact);
+        assertEquals(200, shared.getCounterCapacity(), "Память ограничена k счетчиками на полосу.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package org.project1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки {@link SpectatorBroadcast}: стоимость раздачи кадра всем зрителям и задержка доставки
+ * кадра последнему из зрителей.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpectatorBroadcastBenchmark {
+
+    /**
+     * Трансляция с подписчиками, которые не читают кадры: очереди заполнены, и каждая публикация
+     * вытесняет старый кадр.
+     */
+    @State(Scope.Benchmark)
+    public static class FanOutState {
+        @Param({"10000"})
+        public int subscribers;
+
+        SpectatorBroadcast broadcast;
+        GameState gameState;
+
+        @Setup
+        public void setUp() {
+            broadcast = new SpectatorBroadcast(4);
+            for (int i = 0; i < subscribers; i++) {
+                broadcast.subscribe();
+            }
+            gameState = new GameState(6);
+            gameState.setChosenWord("яблоко");
+            gameState.updateGuessedLetters('о');
+        }
+    }
+
+    /**
+     * Раздача одного кадра всем зрителям, включая отрисовку состояния.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SpectatorFrame fanOut(FanOutState state) {
+        return state.broadcast.publish(state.gameState);
+    }
+
+    /**
+     * Трансляция, зрителей которой читают несколько потоков.
+     */
+    @State(Scope.Benchmark)
+    public static class DeliveryState {
+        @Param({"10000"})
+        public int subscribers;
+
+        @Param({"2"})
+        public int readers;
+
+        SpectatorBroadcast broadcast;
+        GameState gameState;
+        final AtomicInteger undelivered = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        volatile boolean running;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            broadcast = new SpectatorBroadcast(4);
+            gameState = new GameState(6);
+            gameState.setChosenWord("яблоко");
+            running = true;
+            List<List<SpectatorBroadcast.Subscription>> groups = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                groups.add(new ArrayList<>());
+            }
+            for (int i = 0; i < subscribers; i++) {
+                groups.get(i % readers).add(broadcast.subscribe());
+            }
+            for (List<SpectatorBroadcast.Subscription> group : groups) {
+                Thread thread = new Thread(() -> read(group), "spectator-reader");
+                thread.setDaemon(true);
+                thread.start();
+                threads.add(thread);
+            }
+        }
+
+        private void read(List<SpectatorBroadcast.Subscription> group) {
+            while (running) {
+                boolean idle = true;
+                for (SpectatorBroadcast.Subscription subscription : group) {
+                    if (subscription.poll() != null) {
+                        undelivered.decrementAndGet();
+                        idle = false;
+                    }
+                }
+                if (idle) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            running = false;
+        }
+    }
+
+    /**
+     * Публикация кадра и ожидание, пока его прочтут все зрители: задержка доставки последнему зрителю.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SpectatorFrame deliverToAll(DeliveryState state) {
+        state.undelivered.addAndGet(state.subscribers);
+        SpectatorFrame frame = state.broadcast.publish(state.gameState);
+        while (state.undelivered.get() > 0) {
+            LockSupport.parkNanos(1_000);
+        }
+        return frame;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class SpectatorBroadcastTest {
+    private SpectatorBroadcast broadcast;
+    private GameState gameState;
+
+    @BeforeEach
+    public void setUp() {
+        broadcast = new SpectatorBroadcast(2);
+        gameState = new GameState(6);
+        gameState.setChosenWord("яблоко");
+    }
+
+    @Test
+    public void testFrameIsSharedByReference() {
+        List<SpectatorBroadcast.Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            subscriptions.add(broadcast.subscribe());
+        }
+        gameState.updateGuessedLetters('о');
+        SpectatorFrame frame = broadcast.publish(gameState);
+
+        for (SpectatorBroadcast.Subscription subscription : subscriptions) {
+            assertSame(frame, subscription.poll(), "Все зрители должны получать один и тот же объект кадра.");
+        }
+        assertTrue(frame.getText().contains("- - - о - о"), "Кадр должен содержать состояние слова.");
+        assertTrue(frame.getText().contains("Оставшиеся попытки: 6"), "Кадр должен содержать оставшиеся попытки.");
+    }
+
+    @Test
+    public void testSlowSubscriberDropsOldestFrames() {
+        SpectatorBroadcast.Subscription slow = broadcast.subscribe();
+        SpectatorFrame last = null;
+        for (char letter : "ожцщ".toCharArray()) {
+            gameState.updateGuessedLetters(letter);
+            last = broadcast.publish(gameState);
+        }
+
+        assertEquals(2, slow.getPendingCount(), "Очередь зрителя ограничена емкостью.");
+        assertEquals(2, slow.getDroppedCount(), "Лишние кадры должны вытесняться.");
+        assertEquals(3, slow.poll().getSequence(), "Вытесняются самые старые кадры.");
+        assertSame(last, slow.poll(), "Последний кадр должен сохраниться.");
+        assertNull(slow.poll(), "После чтения очередь пуста.");
+    }
+
+    @Test
+    public void testLateSubscriberGetsLastFrame() throws InterruptedException {
+        SpectatorFrame frame = broadcast.publish(gameState);
+        SpectatorBroadcast.Subscription late = broadcast.subscribe();
+
+        assertSame(frame, late.take(1, TimeUnit.SECONDS), "Новый зритель сразу получает последний кадр.");
+        assertNull(late.take(10, TimeUnit.MILLISECONDS), "Без новых кадров ожидание заканчивается по времени.");
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        SpectatorBroadcast.Subscription subscription = broadcast.subscribe();
+        assertTrue(broadcast.unsubscribe(subscription), "Зритель должен отписываться.");
+        broadcast.publish(gameState);
+
+        assertNull(subscription.poll(), "Отписанный зритель не получает кадры.");
+        assertEquals(0, broadcast.getSubscriberCount(), "Зрителей не осталось.");
+    }
+
+    @Test
+    public void testStaleFrameIsNotDelivered() {
+        SpectatorBroadcast.Subscription subscription = broadcast.subscribe();
+        SpectatorFrame older = broadcast.capture(gameState);
+        gameState.updateGuessedLetters('о');
+        SpectatorFrame newer = broadcast.capture(gameState);
+
+        assertTrue(broadcast.deliver(newer), "Новый кадр должен раздаваться.");
+        assertFalse(broadcast.deliver(older), "Кадр старше разданного должен пропускаться.");
+        assertSame(newer, subscription.poll(), "Зритель должен получить только новый кадр.");
+        assertNull(subscription.poll(), "Устаревший кадр не должен попадать в очередь.");
+        assertSame(newer, broadcast.subscribe().poll(), "Новый зритель должен получить последний кадр.");
+    }
+
+    @Test
+    public void testGuessDoesNotHoldGameLockDuringDelivery() throws Exception {
+        Game game = new Game(mock(WordDictionary.class), mock(UserInterface.class));
+        game.setGameState(gameState);
+        game.setSpectatorBroadcast(broadcast);
+        SpectatorBroadcast.Subscription subscription = broadcast.subscribe();
+
+        Thread player = new Thread(() -> game.processGuess('о'));
+        synchronized (subscription) {
+            player.start();
+            while (player.getState() != Thread.State.BLOCKED) {
+                Thread.onSpinWait();
+            }
+            CompletableFuture<Void> gameLock = CompletableFuture.runAsync(() -> {
+                synchronized (gameState) {
+                    assertEquals(1, gameState.getGuessCount(), "Догадка должна быть применена до раздачи кадра.");
+                }
+            });
+            gameLock.get(5, TimeUnit.SECONDS);
+        }
+        player.join();
+
+        assertTrue(subscription.poll().getText().contains("- - - о - о"), "Зритель должен получить кадр после догадки.");
+    }
+
+    @Test
+    public void testWriteEncodedFrame() throws IOException {
+        SpectatorFrame frame = broadcast.publish(gameState);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        frame.writeTo(out);
+
+        assertEquals(frame.getText(), out.toString(StandardCharsets.UTF_8), "Кадр должен записываться в UTF-8.");
+        assertEquals(out.size(), frame.getEncodedLength(), "Длина кадра должна совпадать с записанной.");
+    }
+}
\ No newline at end of file
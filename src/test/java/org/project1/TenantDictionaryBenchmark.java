@@ -0,0 +1,151 @@
+package org.project1;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки {@link TenantDictionary} на {@value #TENANTS} клиентах, у каждого из которых одна своя категория
+ * и два запрещенных слова. Методы {@code build*} создают словари всех клиентов и сообщают в счетчике
+ * {@code bytesPerTenant}, сколько памяти кучи остается занятой в расчете на одного клиента: с надстройками
+ * над общей базой и с копиями базового словаря. JMH суммирует счетчик по итерациям измерения, поэтому его
+ * нужно разделить на количество итераций; время этих методов включает принудительную сборку мусора.
+ * Методы {@code lookup*} выбирают слово из измененной категории.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class TenantDictionaryBenchmark {
+    private static final int TENANTS = 10_000;
+    private static final String CATEGORY = "Фрукты";
+
+    private WordDictionary base;
+    private TenantDictionary overlay;
+    private WordDictionary copy;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        base = new WordDictionary();
+        overlay = buildOverlay(0);
+        copy = buildCopy(0);
+        random = new SplittableRandom(42);
+    }
+
+    private TenantDictionary buildOverlay(int tenant) {
+        TenantDictionary dictionary = new TenantDictionary(base);
+        dictionary.addCategory("Клиент" + tenant, List.of("малина", "клубника", "смородина"));
+        dictionary.removeWord(CATEGORY, "яблоко");
+        dictionary.removeWord(CATEGORY, "манго");
+        return dictionary;
+    }
+
+    private WordDictionary buildCopy(int tenant) {
+        Map<String, List<String>> categories = new HashMap<>();
+        for (String category : base.getCategories()) {
+            categories.put(category, new ArrayList<>(base.getWordsForCategory(category)));
+        }
+        categories.put("Клиент" + tenant, List.of("малина", "клубника", "смородина"));
+        categories.get(CATEGORY).remove("яблоко");
+        categories.get(CATEGORY).remove("манго");
+        return new WordDictionary(categories);
+    }
+
+    /**
+     * Занятая память кучи в расчете на одного клиента.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+        /**
+         * Байт на клиента.
+         */
+        public long bytesPerTenant;
+
+        private long before;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            before = usedHeap();
+        }
+
+        private void measure(Object[] tenants) {
+            bytesPerTenant = (usedHeap() - before) / tenants.length;
+        }
+
+        private static long usedHeap() {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            return MEMORY.getHeapMemoryUsage().getUsed();
+        }
+    }
+
+    /**
+     * Словари всех клиентов как надстройки над общей базой.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TenantDictionary[] buildOverlays(Footprint footprint) {
+        TenantDictionary[] tenants = new TenantDictionary[TENANTS];
+        for (int i = 0; i < TENANTS; i++) {
+            tenants[i] = buildOverlay(i);
+        }
+        footprint.measure(tenants);
+        return tenants;
+    }
+
+    /**
+     * Словари всех клиентов как копии базы.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public WordDictionary[] buildCopies(Footprint footprint) {
+        WordDictionary[] tenants = new WordDictionary[TENANTS];
+        for (int i = 0; i < TENANTS; i++) {
+            tenants[i] = buildCopy(i);
+        }
+        footprint.measure(tenants);
+        return tenants;
+    }
+
+    /**
+     * Выбор подходящего слова по номеру через надстройку.
+     */
+    @Benchmark
+    public String lookupOverlay() {
+        return overlay.getValidWord(CATEGORY, random.nextInt(overlay.getValidWordCount(CATEGORY)));
+    }
+
+    /**
+     * Выбор подходящего слова по номеру из полной копии.
+     */
+    @Benchmark
+    public String lookupCopy() {
+        return copy.getValidWord(CATEGORY, random.nextInt(copy.getValidWordCount(CATEGORY)));
+    }
+}
\ No newline at end of file
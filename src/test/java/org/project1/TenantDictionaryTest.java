@@ -0,0 +1,122 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantDictionaryTest {
+    private WordDictionary base;
+    private TenantDictionary tenant;
+
+    @BeforeEach
+    public void setUp() {
+        base = new WordDictionary();
+        tenant = new TenantDictionary(base);
+    }
+
+    private static Set<String> validWords(WordDictionary dictionary, String category) {
+        Set<String> words = new HashSet<>();
+        for (int i = 0; i < dictionary.getValidWordCount(category); i++) {
+            words.add(dictionary.getValidWord(category, i));
+        }
+        return words;
+    }
+
+    @Test
+    public void testUnchangedTenantSharesBase() {
+        assertEquals(new HashSet<>(base.getCategories()), new HashSet<>(tenant.getCategories()),
+                "Без изменений категории должны совпадать с базовыми.");
+        assertSame(base.getWordsForCategory("Фрукты"), tenant.getWordsForCategory("Фрукты"),
+                "Без изменений список слов должен браться из базы без копирования.");
+        assertEquals(base.getValidWordCount("Фрукты"), tenant.getValidWordCount("Фрукты"),
+                "Количество подходящих слов должно совпадать с базовым.");
+    }
+
+    @Test
+    public void testRemoveAndAddWords() {
+        tenant.removeWord("Фрукты", "яблоко");
+        tenant.addWord("Фрукты", "банан");
+
+        List<String> words = tenant.getWordsForCategory("Фрукты");
+        assertEquals(10, words.size(), "Одно слово удалено и одно добавлено.");
+        assertFalse(words.contains("яблоко"), "Удаленное слово не должно возвращаться.");
+        assertEquals("банан", words.get(9), "Добавленное слово должно идти после слов базы.");
+        assertEquals("грейпфрут", words.get(8), "Слова после удаленного должны сдвигаться.");
+
+        Set<String> valid = validWords(tenant, "Фрукты");
+        assertEquals(10, valid.size(), "Подходящие слова должны объединять слои без повторов.");
+        assertTrue(valid.contains("банан") && !valid.contains("яблоко"), "Подходящие слова должны учитывать изменения.");
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals("яблоко", tenant.getWeightedRandomWord("Фрукты", WordDictionary.DIFFICULTY_MEDIUM),
+                    "Удаленное слово не должно выпадать.");
+        }
+
+        assertTrue(base.getWordsForCategory("Фрукты").contains("яблоко"), "База не должна меняться.");
+        assertTrue(new TenantDictionary(base).getWordsForCategory("Фрукты").contains("яблоко"),
+                "Изменения одного клиента не должны видеть другие клиенты.");
+
+        tenant.addWord("Фрукты", "яблоко");
+        tenant.removeWord("Фрукты", "банан");
+        assertEquals(base.getWordsForCategory("Фрукты"), tenant.getWordsForCategory("Фрукты"),
+                "Отмена изменений должна возвращать слова базы.");
+        assertEquals(validWords(base, "Фрукты"), validWords(tenant, "Фрукты"),
+                "Отмена изменений должна возвращать подходящие слова базы.");
+    }
+
+    @Test
+    public void testCategories() {
+        tenant.addCategory("Ягоды", List.of("малина", "клубника"));
+        tenant.removeCategory("Спорт");
+
+        List<String> categories = tenant.getCategories();
+        assertTrue(categories.contains("Ягоды"), "Добавленная категория должна быть в списке.");
+        assertFalse(categories.contains("Спорт"), "Удаленная категория не должна быть в списке.");
+        assertEquals(10, categories.size(), "Одна категория добавлена и одна удалена.");
+        assertEquals(List.of("малина", "клубника"), tenant.getWordsForCategory("Ягоды"),
+                "Слова добавленной категории должны возвращаться.");
+        assertTrue(tenant.getWordsForCategory("Спорт").isEmpty(), "У удаленной категории нет слов.");
+        assertEquals(0, tenant.getValidWordCount("Спорт"), "У удаленной категории нет подходящих слов.");
+        assertTrue(Set.of("малина", "клубника").contains(tenant.getWeightedRandomWord("Ягоды", 0)),
+                "Слово должно выбираться из добавленной категории.");
+
+        tenant.addWord("Спорт", "крикет");
+        assertEquals(List.of("крикет"), tenant.getWordsForCategory("Спорт"),
+                "Категория, созданная заново, не должна содержать слова базы.");
+    }
+
+    @Test
+    public void testInvalidChanges() {
+        assertThrows(IllegalArgumentException.class, () -> tenant.addWord("Фрукты", "яблоко"),
+                "Слово, которое уже есть, не должно добавляться.");
+        assertThrows(IllegalArgumentException.class, () -> tenant.addWord("Фрукты", "ок"),
+                "Слишком короткое слово не должно добавляться.");
+        assertThrows(IllegalArgumentException.class, () -> tenant.removeWord("Фрукты", "банан"),
+                "Отсутствующее слово не должно удаляться.");
+        assertThrows(IllegalArgumentException.class, () -> tenant.addCategory("Фрукты", List.of("банан")),
+                "Существующая категория не должна добавляться.");
+        assertThrows(IllegalArgumentException.class, () -> tenant.removeCategory("Ягоды"),
+                "Отсутствующая категория не должна удаляться.");
+    }
+
+    @Test
+    public void testWordFrequencies() {
+        base.setWordFrequencies("Фрукты", Map.of("яблоко", 1_000_000L));
+        assertTrue(tenant.hasWordFrequencies("Фрукты"), "Частоты базы должны действовать у клиента.");
+        assertEquals("яблоко", tenant.getWeightedRandomWord("Фрукты", WordDictionary.DIFFICULTY_EASY),
+                "На легком уровне должно выпадать частое слово базы.");
+
+        tenant.removeWord("Фрукты", "инжир");
+        assertFalse(tenant.hasWordFrequencies("Фрукты"), "Частоты базы не действуют на измененную категорию.");
+        tenant.setWordFrequencies("Фрукты", Map.of("папайя", 1_000_000L));
+        assertEquals("папайя", tenant.getWeightedRandomWord("Фрукты", WordDictionary.DIFFICULTY_EASY),
+                "Частоты клиента должны строиться по объединенным словам.");
+        assertTrue(base.getWeightedRandomWord("Фрукты", WordDictionary.DIFFICULTY_EASY).equals("яблоко"),
+                "Частоты клиента не должны менять базу.");
+    }
+}
\ No newline at end of file
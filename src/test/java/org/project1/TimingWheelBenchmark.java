@@ -0,0 +1,126 @@
+package org.project1;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки {@link TimingWheel}: пропускная способность постановки и отмены таймеров
+ * при большом количестве сессий и отклонение момента срабатывания от срока.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    /**
+     * Колесо без потока тиков с заранее поставленными таймерами всех сессий.
+     */
+    @State(Scope.Benchmark)
+    public static class ArmCancelState {
+        @Param({"10000", "100000"})
+        public int sessions;
+
+        TimingWheel wheel;
+        TimingWheel.Timer[] timers;
+
+        @Setup
+        public void setUp() {
+            wheel = new TimingWheel(10, TimeUnit.MILLISECONDS);
+            timers = new TimingWheel.Timer[sessions];
+            for (int i = 0; i < sessions; i++) {
+                timers[i] = wheel.newTimer(() -> { });
+                wheel.schedule(timers[i], 1 + i % 120, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Сброс таймера сессии после догадки: переставляет таймер на новый срок.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void rearm(ArmCancelState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TimingWheel.Timer timer = state.timers[random.nextInt(state.sessions)];
+        state.wheel.schedule(timer, 1 + random.nextInt(120), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Отмена и повторная постановка таймера, как при завершении и начале игры.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean cancelAndArm(ArmCancelState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TimingWheel.Timer timer = state.timers[random.nextInt(state.sessions)];
+        boolean cancelled = state.wheel.cancel(timer);
+        state.wheel.schedule(timer, 1 + random.nextInt(120), TimeUnit.SECONDS);
+        return cancelled;
+    }
+
+    /**
+     * Запущенное колесо с фоновой нагрузкой из таймеров других сессий.
+     */
+    @State(Scope.Benchmark)
+    public static class SkewState {
+        @Param({"10000"})
+        public int backgroundTimers;
+
+        TimingWheel wheel;
+        TimingWheel.Timer timer;
+        volatile long firedNanos;
+        Thread waiter;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < backgroundTimers; i++) {
+                wheel.schedule(wheel.newTimer(() -> { }), 1 + i % 60_000, TimeUnit.MILLISECONDS);
+            }
+            timer = wheel.newTimer(() -> {
+                firedNanos = System.nanoTime();
+                LockSupport.unpark(waiter);
+            });
+            wheel.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            wheel.close();
+        }
+    }
+
+    /**
+     * Время от постановки таймера на 5 мс до его срабатывания. Отклонение от срока -
+     * результат минус 5 мс; оно укладывается в один тик (1 мс) плюс точность планировщика ОС.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long fireSkew(SkewState state) {
+        state.waiter = Thread.currentThread();
+        state.firedNanos = 0;
+        long start = System.nanoTime();
+        state.wheel.schedule(state.timer, 5, TimeUnit.MILLISECONDS);
+        while (state.firedNanos == 0) {
+            LockSupport.parkNanos(100_000);
+        }
+        return state.firedNanos - start;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+    private TimingWheel timingWheel;
+    private List<Long> firedAt;
+
+    @BeforeEach
+    public void setUp() {
+        timingWheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 2, 3);
+        firedAt = new ArrayList<>();
+    }
+
+    private TimingWheel.Timer recordingTimer() {
+        return timingWheel.newTimer(() -> firedAt.add(timingWheel.getCurrentTick()));
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            timingWheel.tick();
+        }
+    }
+
+    @Test
+    public void testTimerFiresOnDeadline() {
+        TimingWheel.Timer timer = recordingTimer();
+        timingWheel.schedule(timer, 3, TimeUnit.MILLISECONDS);
+
+        advance(2);
+        assertTrue(firedAt.isEmpty(), "Таймер не должен срабатывать раньше срока.");
+        advance(1);
+        assertEquals(List.of(3L), firedAt, "Таймер должен сработать ровно на своем тике.");
+        assertFalse(timer.isScheduled(), "Сработавший таймер больше не должен быть поставлен.");
+    }
+
+    @Test
+    public void testCascadeFromUpperLevels() {
+        for (int delay : new int[] {5, 17, 40, 63}) {
+            timingWheel.schedule(recordingTimer(), delay, TimeUnit.MILLISECONDS);
+        }
+
+        advance(63);
+        assertEquals(List.of(5L, 17L, 40L, 63L), firedAt, "Таймеры со старших уровней должны срабатывать точно в срок.");
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel.Timer timer = recordingTimer();
+        timingWheel.schedule(timer, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(timingWheel.cancel(timer), "Поставленный таймер должен отменяться.");
+        assertFalse(timingWheel.cancel(timer), "Повторная отмена ничего не делает.");
+        advance(30);
+        assertTrue(firedAt.isEmpty(), "Отмененный таймер не должен срабатывать.");
+    }
+
+    @Test
+    public void testRescheduleMovesDeadline() {
+        TimingWheel.Timer timer = recordingTimer();
+        timingWheel.schedule(timer, 4, TimeUnit.MILLISECONDS);
+        advance(3);
+        timingWheel.schedule(timer, 10, TimeUnit.MILLISECONDS);
+
+        advance(20);
+        assertEquals(List.of(13L), firedAt, "Перестановка таймера должна заменять прежний срок.");
+    }
+
+    @Test
+    public void testDelayRoundedUpToTick() {
+        timingWheel.schedule(recordingTimer(), 0, TimeUnit.MILLISECONDS);
+        timingWheel.schedule(recordingTimer(), 1500, TimeUnit.MICROSECONDS);
+
+        advance(2);
+        assertEquals(List.of(1L, 2L), firedAt, "Задержка должна округляться вверх до целого тика.");
+    }
+
+    @Test
+    public void testDelayOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> timingWheel.schedule(recordingTimer(), 64, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTickerThreadFiresTimers() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS)) {
+            wheel.start();
+            wheel.schedule(wheel.newTimer(fired::countDown), 5, TimeUnit.MILLISECONDS);
+            assertTrue(fired.await(5, TimeUnit.SECONDS), "Поток колеса должен выполнять просроченные задачи.");
+        }
+    }
+}
\ No newline at end of file
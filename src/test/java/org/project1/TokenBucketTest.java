@@ -0,0 +1,41 @@
+package org.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+    private long now;
+
+    @Test
+    public void testBurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(10, 3, () -> now);
+
+        assertTrue(bucket.tryAcquire(), "Первый запрос из корзины должен приниматься.");
+        assertTrue(bucket.tryAcquire(), "Запросы в пределах емкости должны приниматься.");
+        assertTrue(bucket.tryAcquire(), "Запросы в пределах емкости должны приниматься.");
+        assertFalse(bucket.tryAcquire(), "Сверх емкости запросы должны отклоняться.");
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertTrue(bucket.tryAcquire(), "Через интервал пополнения маркер появляется снова.");
+        assertFalse(bucket.tryAcquire(), "Пополняется по одному маркеру за интервал.");
+    }
+
+    @Test
+    public void testIdleTimeDoesNotExceedBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, () -> now);
+        now += TimeUnit.SECONDS.toNanos(60);
+
+        assertTrue(bucket.tryAcquire(), "После простоя корзина полна.");
+        assertTrue(bucket.tryAcquire(), "После простоя корзина полна.");
+        assertFalse(bucket.tryAcquire(), "Простой не накапливает маркеры сверх емкости.");
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
\ No newline at end of file
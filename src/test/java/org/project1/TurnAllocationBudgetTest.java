@@ -0,0 +1,108 @@
+package org.project1;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Бюджет аллокаций игрового хода: цикл догадка - обновление - отрисовка в установившемся режиме
+ * не должен создавать объектов. Журнал работает с рабочей настройкой из {@code log4j2.xml} (уровни,
+ * раскладки, асинхронный аудит), подменены только консольный и файловый приемники
+ * ({@link CapturingAppender}), чтобы не выводить сотни тысяч строк; записи при этом форматируются
+ * рабочими раскладками, а метки времени берутся из часов, выбранных в {@code log4j2.component.properties}.
+ */
+public class TurnAllocationBudgetTest {
+    private static final int WARMUP_TURNS = 100_000;
+    private static final int TURNS = 100_000;
+    /**
+     * Количество замеров. В первом замере после прогрева еще могут завершаться компиляции C2, а до них
+     * временные объекты, которые C2 устраняет анализом выхода, создаются; поэтому берется наименьший замер.
+     * Любое выделение на каждом ходу дает не меньше 16 байт на ход в каждом замере.
+     */
+    private static final int ROUNDS = 5;
+    /**
+     * Бюджет замера без записи JFR. Во время записи JFR с включенным событием {@link GuessProcessedEvent}
+     * каждый ход создает объект события (около 48 байт), это цена включенной записи, а не хода игры;
+     * поэтому тест проверяет, что события выключены, и не закладывает эту цену в бюджет.
+     */
+    private static final long ALLOCATION_BUDGET_BYTES = 0;
+    private static final String[] SCRIPT = {"ж", " Я ", "б", "ц", "л", "о", "щ", "к"};
+
+    private CapturingAppender console;
+    private CapturingAppender audit;
+
+    @BeforeEach
+    public void setUp() {
+        console = CapturingAppender.install(LogManager.ROOT_LOGGER_NAME, "STDOUT_PLAIN");
+        audit = CapturingAppender.install(GameAuditLog.AUDIT_LOGGER_NAME, "AUDIT_FILE");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CapturingAppender.restoreConfiguration();
+    }
+
+    /**
+     * Интерфейс, выдающий заранее заготовленные ответы по кругу.
+     */
+    private static final class ScriptedUserInterface implements UserInterface {
+        private int next;
+
+        @Override
+        public void displayMessage(String message) {
+        }
+
+        @Override
+        public String getUserInput() {
+            String input = SCRIPT[next];
+            next = (next + 1) % SCRIPT.length;
+            return input;
+        }
+    }
+
+    private static void playTurns(Game game, GameState gameState, int turns) {
+        for (int i = 0; i < turns; i++) {
+            if (game.isGameOver()) {
+                gameState.reset();
+            }
+            game.playTurn();
+        }
+    }
+
+    @Test
+    public void testSteadyStateTurnsDoNotAllocate() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        enableAllocationCounting(threadMXBean);
+
+        Game game = new Game(new WordDictionary(), new ScriptedUserInterface());
+        GameState gameState = new GameState(6);
+        gameState.setChosenWord("яблоко");
+        game.setGameState(gameState);
+        playTurns(game, gameState, WARMUP_TURNS);
+
+        assertNull(GameEvents.beginGuess(), "Замер должен идти без записи событий JFR.");
+        long threadId = Thread.currentThread().threadId();
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && allocated > ALLOCATION_BUDGET_BYTES; round++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            playTurns(game, gameState, TURNS);
+            allocated = Math.min(allocated, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        assertTrue(console.getEventCount() > TURNS, "Ход должен выводить состояние игры в журнал.");
+        assertTrue(audit.getEventCount() > 0, "Догадки должны записываться в журнал аудита.");
+        assertTrue(allocated <= ALLOCATION_BUDGET_BYTES,
+                "Ход игры не должен создавать объектов, выделено байт за " + TURNS + " ходов: " + allocated);
+    }
+
+    private static void enableAllocationCounting(ThreadMXBean threadMXBean) {
+        assertTrue(threadMXBean.isThreadAllocatedMemorySupported(), "JVM должна поддерживать подсчет аллокаций потока.");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+}
\ No newline at end of file
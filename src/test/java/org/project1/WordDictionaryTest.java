@@ -2,8 +2,15 @@ package org.project1;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,4 +62,83 @@ public class WordDictionaryTest {
             wordDictionary.getRandomValidWordFromList(invalidWords);
         }, "Ожидается исключение при отсутствии валидных слов в списке");
     }
+
+    @Test
+    public void testIsValidWord() {
+        assertTrue(WordDictionary.isValidWord("яблоко"), "Слово из букв длиной от 3 символов подходит для игры");
+        assertFalse(WordDictionary.isValidWord("ab"), "Слишком короткое слово не подходит для игры");
+        assertFalse(WordDictionary.isValidWord("r2d2"), "Слово с цифрами не подходит для игры");
+    }
+
+    @Test
+    public void testValidWordsByIndex() {
+        WordDictionary dictionary = new WordDictionary(Map.of("Фрукты", List.of("яблоко", "ab", "манго")));
+
+        assertEquals(2, dictionary.getValidWordCount("Фрукты"), "Неподходящие слова не считаются.");
+        assertEquals("яблоко", dictionary.getValidWord("Фрукты", 0), "Слова доступны по номеру.");
+        assertEquals("манго", dictionary.getValidWord("Фрукты", 1), "Неподходящие слова пропускаются.");
+        assertEquals(0, dictionary.getValidWordCount("Овощи"), "В неизвестной категории нет слов.");
+    }
+
+    private Map<String, Integer> countWeightedDraws(String category, int difficulty, int draws) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < draws; i++) {
+            counts.merge(wordDictionary.getWeightedRandomWord(category, difficulty), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    public void testWeightedWordsFollowDifficulty() {
+        wordDictionary.setWordFrequencies("Фрукты", Map.of("яблоко", 1000L, "манго", 10L));
+        int draws = 20_000;
+
+        Map<String, Integer> easy = countWeightedDraws("Фрукты", WordDictionary.DIFFICULTY_EASY, draws);
+        // Вес яблока 1000 из 1000 + 10 + 8 * 1.
+        assertEquals(draws * 1000.0 / 1018, easy.get("яблоко"), draws * 0.02,
+                "На легком уровне частое слово должно выпадать пропорционально частоте.");
+
+        Map<String, Integer> hard = countWeightedDraws("Фрукты", WordDictionary.DIFFICULTY_HARD, draws);
+        assertTrue(hard.getOrDefault("яблоко", 0) < draws / 500,
+                "На сложном уровне частое слово должно выпадать редко.");
+        assertTrue(hard.get("манго") < hard.get("инжир"),
+                "На сложном уровне слово с частотой 10 должно выпадать реже слова с частотой 1.");
+
+        Map<String, Integer> medium = countWeightedDraws("Фрукты", WordDictionary.DIFFICULTY_MEDIUM, draws);
+        assertEquals(draws / 10.0, medium.get("яблоко"), draws * 0.02, "На среднем уровне слова должны быть равновероятны.");
+    }
+
+    @Test
+    public void testSetWordFrequencyUpdatesSampling() {
+        wordDictionary.setWordFrequencies("Фрукты", Map.of());
+        wordDictionary.setWordFrequency("Фрукты", "манго", 1_000_000);
+
+        Map<String, Integer> easy = countWeightedDraws("Фрукты", WordDictionary.DIFFICULTY_EASY, 10_000);
+        assertTrue(easy.get("манго") > 9_900, "После изменения частоты слово должно выпадать чаще.");
+        assertThrows(IllegalArgumentException.class, () -> wordDictionary.setWordFrequency("Фрукты", "кот", 1));
+        assertThrows(IllegalArgumentException.class, () -> wordDictionary.setWordFrequency("Фрукты", "манго", 0));
+        assertThrows(IllegalStateException.class, () -> wordDictionary.setWordFrequency("Овощи", "батат", 1),
+                "Без загруженных частот изменение частоты должно отклоняться.");
+    }
+
+    @Test
+    public void testWeightedWordWithoutFrequenciesIsUniform() {
+        assertFalse(wordDictionary.hasWordFrequencies("Овощи"), "Частоты не должны быть загружены.");
+        String word = wordDictionary.getWeightedRandomWord("Овощи", WordDictionary.DIFFICULTY_HARD);
+        assertTrue(wordDictionary.getWordsForCategory("Овощи").contains(word), "Слово должно быть из категории.");
+        assertThrows(IllegalArgumentException.class, () -> wordDictionary.getWeightedRandomWord("Овощи", 3));
+    }
+
+    @Test
+    public void testReadWordFrequencies(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("fruits.freq"), "яблоко 120\n\nманго\t7\n", StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("fruits.txt"), "яблоко\n", StandardCharsets.UTF_8);
+
+        Map<String, Map<String, Long>> frequencies = WordDictionary.readWordFrequencies(directory);
+        assertEquals(Map.of("fruits", Map.of("яблоко", 120L, "манго", 7L)), frequencies,
+                "Частоты должны читаться из файлов .freq.");
+
+        Files.writeString(directory.resolve("vegetables.freq"), "батат много\n", StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> WordDictionary.readWordFrequencies(directory));
+    }
 }
\ No newline at end of file
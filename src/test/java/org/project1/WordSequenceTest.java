@@ -0,0 +1,78 @@
+package org.project1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordSequenceTest {
+    private WordDictionary wordDictionary;
+
+    @BeforeEach
+    public void setUp() {
+        wordDictionary = new WordDictionary(Map.of(
+                "Фрукты", List.of("яблоко", "манго", "инжир", "ab", "помело", "папайя"),
+                "Пусто", List.of("ab")));
+    }
+
+    private static List<String> draw(WordSequence sequence, WordDictionary dictionary, String category, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            words.add(sequence.next(dictionary, category));
+        }
+        return words;
+    }
+
+    @Test
+    public void testEveryWordOnceBeforeRepeat() {
+        WordSequence sequence = new WordSequence(7);
+
+        List<String> firstRound = draw(sequence, wordDictionary, "Фрукты", 5);
+        List<String> secondRound = draw(sequence, wordDictionary, "Фрукты", 5);
+
+        Set<String> expected = Set.of("яблоко", "манго", "инжир", "помело", "папайя");
+        assertEquals(expected, new HashSet<>(firstRound), "За круг должны выпасть все подходящие слова по разу.");
+        assertEquals(expected, new HashSet<>(secondRound), "Следующий круг тоже содержит все слова по разу.");
+        assertEquals(10, sequence.getCount("Фрукты"), "Счетчик категории считает выбранные слова.");
+    }
+
+    @Test
+    public void testLargeCategoryHasNoRepeats() {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder word = new StringBuilder("слово");
+            for (int rest = i; rest > 0; rest /= 32) {
+                word.append((char) ('а' + rest % 32));
+            }
+            words.add(word.toString());
+        }
+        WordDictionary dictionary = new WordDictionary(Map.of("Много", words));
+        WordSequence sequence = new WordSequence(99);
+
+        Set<String> drawn = new HashSet<>(draw(sequence, dictionary, "Много", words.size()));
+        assertEquals(words.size(), drawn.size(), "В большой категории слова не должны повторяться до конца круга.");
+    }
+
+    @Test
+    public void testSessionsAndCategoriesAreIndependent() {
+        List<String> first = draw(new WordSequence(1), wordDictionary, "Фрукты", 5);
+        List<String> second = draw(new WordSequence(2), wordDictionary, "Фрукты", 5);
+        List<String> again = draw(new WordSequence(1), wordDictionary, "Фрукты", 5);
+
+        assertEquals(first, again, "Порядок слов определяется зерном сессии.");
+        assertNotEquals(first, second, "У разных сессий должен быть разный порядок.");
+    }
+
+    @Test
+    public void testCategoryWithoutValidWords() {
+        WordSequence sequence = new WordSequence(1);
+        assertThrows(IllegalStateException.class, () -> sequence.next(wordDictionary, "Пусто"));
+        assertThrows(IllegalStateException.class, () -> sequence.next(wordDictionary, "Нет такой"));
+    }
+}
\ No newline at end of file